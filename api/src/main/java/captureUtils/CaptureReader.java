@@ -0,0 +1,98 @@
+package captureUtils;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads records written by {@link CaptureWriter}, in file order.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class CaptureReader implements Closeable {
+  private static final CaptureRecord.Type[] TYPES = CaptureRecord.Type.values();
+
+  private final DataInputStream in;
+  private final long startEpochMillis;
+  private long timeMicros;
+
+  /**
+   * Opens a capture file and validates its header.
+   *
+   * @param path the file to read
+   * @throws IOException if the file cannot be read or is not a capture file
+   */
+  public CaptureReader(String path) throws IOException {
+    in = new DataInputStream(new BufferedInputStream(new FileInputStream(path), 64 * 1024));
+    if (in.readInt() != CaptureWriter.MAGIC) {
+      in.close();
+      throw new IOException("Not a capture file: " + path);
+    }
+    byte version = in.readByte();
+    if (version != CaptureWriter.VERSION) {
+      in.close();
+      throw new IOException("Unsupported capture version " + version);
+    }
+    startEpochMillis = in.readLong();
+  }
+
+  /**
+   * @return wall-clock time at which the capture started, in epoch milliseconds
+   */
+  public long getStartEpochMillis() {
+    return startEpochMillis;
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the record, or null at the end of the file (including a truncated last record)
+   * @throws IOException if reading fails or the file is corrupt
+   */
+  public CaptureRecord next() throws IOException {
+    int typeByte = in.read();
+    if (typeByte < 0) {
+      return null;
+    }
+    if (typeByte >= TYPES.length) {
+      throw new IOException("Corrupt capture record type " + typeByte);
+    }
+    try {
+      CaptureRecord.Type type = TYPES[typeByte];
+      int session = (int) readVarint();
+      timeMicros += readVarint();
+      String message = null;
+      if (type == CaptureRecord.Type.IN || type == CaptureRecord.Type.OUT) {
+        byte[] bytes = new byte[(int) readVarint()];
+        in.readFully(bytes);
+        message = new String(bytes, StandardCharsets.UTF_8);
+      }
+      return new CaptureRecord(type, session, timeMicros, message);
+    } catch (EOFException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /** Reads an unsigned LEB128 varint. */
+  private long readVarint() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Corrupt varint in capture");
+  }
+}
@@ -0,0 +1,26 @@
+package captureUtils;
+
+/**
+ * One decoded entry of a capture file.
+ *
+ * @param type what happened
+ * @param session id of the client session
+ * @param timeMicros microseconds since the start of the capture
+ * @param message the protocol line for IN/OUT records, otherwise null
+ * @version 1.0
+ * @created October 2026
+ */
+public record CaptureRecord(Type type, int session, long timeMicros, String message) {
+
+  /** Kind of record; the ordinal is the on-disk type byte. */
+  public enum Type {
+    /** A client connected. */
+    OPEN,
+    /** The server received a message. */
+    IN,
+    /** The server sent a message. */
+    OUT,
+    /** The connection was closed. */
+    CLOSE
+  }
+}
@@ -0,0 +1,152 @@
+package captureUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appends protocol traffic to a compact binary capture file.
+ *
+ * <p>File layout: the magic number {@link #MAGIC}, a version byte and the capture start time in
+ * epoch milliseconds, followed by records of the form {@code type, session, delta, [length,
+ * bytes]}. Session, delta (microseconds since the previous record) and length are unsigned
+ * varints, and only IN/OUT records carry a UTF-8 message. A typical MOVE record takes about a
+ * dozen bytes.
+ *
+ * <p>All methods are thread-safe; I/O errors disable the writer instead of propagating into the
+ * caller's protocol handling.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class CaptureWriter implements Closeable {
+
+  /** "TTTC" in ASCII. */
+  public static final int MAGIC = 0x54545443;
+
+  /** Current format version. */
+  public static final byte VERSION = 1;
+
+  private final DataOutputStream out;
+  private final AtomicInteger sessions = new AtomicInteger();
+  private final long startNanos;
+  private long lastMicros;
+  private boolean failed;
+
+  /**
+   * Creates the capture file, overwriting any existing one.
+   *
+   * @param path the file to write
+   * @throws IOException if the file cannot be created
+   */
+  public CaptureWriter(String path) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 64 * 1024));
+    startNanos = System.nanoTime();
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeLong(System.currentTimeMillis());
+  }
+
+  /**
+   * Starts a new session, e.g. for a newly accepted connection.
+   *
+   * @return the id to pass to the other record methods
+   */
+  public int openSession() {
+    int session = sessions.incrementAndGet();
+    write(CaptureRecord.Type.OPEN, session, null);
+    return session;
+  }
+
+  /**
+   * Records a message received from the client.
+   *
+   * @param session the session id
+   * @param message the protocol line
+   */
+  public void inbound(int session, String message) {
+    write(CaptureRecord.Type.IN, session, message);
+  }
+
+  /**
+   * Records a message sent to the client.
+   *
+   * @param session the session id
+   * @param message the protocol line
+   */
+  public void outbound(int session, String message) {
+    write(CaptureRecord.Type.OUT, session, message);
+  }
+
+  /**
+   * Records the end of a session.
+   *
+   * @param session the session id
+   */
+  public void closeSession(int session) {
+    write(CaptureRecord.Type.CLOSE, session, null);
+  }
+
+  /** Writes buffered records to disk. */
+  public synchronized void flush() {
+    if (failed) {
+      return;
+    }
+    try {
+      out.flush();
+    } catch (IOException e) {
+      failed = true;
+    }
+  }
+
+  /** Flushes and closes the file. */
+  @Override
+  public synchronized void close() {
+    try {
+      out.close();
+    } catch (IOException e) {
+      failed = true;
+    }
+  }
+
+  /**
+   * @return whether writing stopped because of an I/O error
+   */
+  public synchronized boolean hasFailed() {
+    return failed;
+  }
+
+  /** Encodes one record. */
+  private synchronized void write(CaptureRecord.Type type, int session, String message) {
+    if (failed) {
+      return;
+    }
+    long micros = (System.nanoTime() - startNanos) / 1000;
+    try {
+      out.writeByte(type.ordinal());
+      writeVarint(session);
+      writeVarint(Math.max(0, micros - lastMicros));
+      lastMicros = Math.max(lastMicros, micros);
+      if (message != null) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        out.write(bytes);
+      }
+    } catch (IOException e) {
+      failed = true;
+    }
+  }
+
+  /** Writes an unsigned LEB128 varint. */
+  private void writeVarint(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+}
@@ -23,6 +23,17 @@ public class ClientMessageBuilder {
     return ClientMessages.HELLO + " " + username;
   }
 
+  /**
+   * Constructs the HELLO message a client sends to the node it was redirected to.
+   *
+   * @param username the player's username
+   * @param ticket the ticket from the REDIRECT message, or 0 for a plain login
+   * @return formatted HELLO command with ticket, or without one if it is 0
+   */
+  public static String hello(String username, long ticket) {
+    return ticket == 0 ? hello(username) : ClientMessages.HELLO + " " + username + " " + ticket;
+  }
+
   /**
    * Constructs a MOVE command with grid coordinates.
    *
@@ -34,6 +45,26 @@ public class ClientMessageBuilder {
     return ClientMessages.MOVE + " " + x + " " + y;
   }
 
+  /**
+   * Constructs a PREMOVE command queueing a move for the client's next turn.
+   *
+   * @param x the row index
+   * @param y the column index
+   * @return formatted PREMOVE command
+   */
+  public static String premove(int x, int y) {
+    return ClientMessages.PREMOVE + " " + x + " " + y;
+  }
+
+  /**
+   * Constructs a PREMOVE command without coordinates, dropping the queued move.
+   *
+   * @return PREMOVE command
+   */
+  public static String cancelPremove() {
+    return ClientMessages.PREMOVE.toString();
+  }
+
   /**
    * Constructs a QUIT message indicating player is leaving.
    *
@@ -42,4 +73,122 @@ public class ClientMessageBuilder {
   public static String quit() {
     return ClientMessages.QUIT.toString();
   }
+
+  /**
+   * Constructs a LEADERBOARD request.
+   *
+   * @param count how many top players to fetch
+   * @return formatted LEADERBOARD command
+   */
+  public static String leaderboard(int count) {
+    return ClientMessages.LEADERBOARD + " " + count;
+  }
+
+  /**
+   * Constructs a JOIN request for one game from a named queue.
+   *
+   * @param queue the queue name
+   * @return formatted JOIN command
+   */
+  public static String join(String queue) {
+    return ClientMessages.JOIN + " " + queue;
+  }
+
+  /**
+   * Constructs a LEAVE message withdrawing from a named queue.
+   *
+   * @param queue the queue name
+   * @return formatted LEAVE command
+   */
+  public static String leave(String queue) {
+    return ClientMessages.LEAVE + " " + queue;
+  }
+
+  /**
+   * Tags a MOVE, OK or QUIT command with the game it is meant for.
+   *
+   * @param gameId the id from the game's tagged START
+   * @param command the command, e.g. built by {@link #move}
+   * @return formatted GAME command like "GAME 42 MOVE 1 2"
+   */
+  public static String game(long gameId, String command) {
+    return ClientMessages.GAME + " " + gameId + " " + command;
+  }
+
+  /**
+   * Constructs a WATCH request for the game of another player.
+   *
+   * @param player the name of a player whose game to watch
+   * @return formatted WATCH command
+   */
+  public static String watch(String player) {
+    return ClientMessages.WATCH + " " + player;
+  }
+
+  /**
+   * Constructs an UNWATCH message to stop spectating.
+   *
+   * @return UNWATCH command
+   */
+  public static String unwatch() {
+    return ClientMessages.UNWATCH.toString();
+  }
+
+  /**
+   * Constructs a REQUEUE message asking for another game on the same connection.
+   *
+   * @return REQUEUE command
+   */
+  public static String requeue() {
+    return ClientMessages.REQUEUE.toString();
+  }
+
+  /**
+   * Constructs a REMATCH message offering or accepting a game against the previous opponent.
+   *
+   * @return REMATCH command
+   */
+  public static String rematch() {
+    return ClientMessages.REMATCH.toString();
+  }
+
+  /**
+   * Constructs the LINK message a gateway opens a multiplexed link with (see {@code
+   * linkUtils.LinkFrames}).
+   *
+   * @return LINK command
+   */
+  public static String link() {
+    return ClientMessages.LINK.toString();
+  }
+
+  /**
+   * Constructs the LINK message for servers that only accept gateways knowing a shared secret.
+   *
+   * @param secret the shared secret; empty for none
+   * @return LINK command
+   */
+  public static String link(String secret) {
+    return secret.isEmpty() ? link() : ClientMessages.LINK + " " + secret;
+  }
+
+  /**
+   * Constructs a round-trip probe to the server.
+   *
+   * @param token value the server echoes in its PONG
+   * @return formatted PING command
+   */
+  public static String ping(long token) {
+    return ClientMessages.PING + " " + token;
+  }
+
+  /**
+   * Constructs the answer to a server's PING.
+   *
+   * @param token the token of the PING, unchanged
+   * @return formatted PONG command
+   */
+  public static String pong(String token) {
+    return ClientMessages.PONG + " " + token;
+  }
 }
@@ -15,6 +15,45 @@ public enum ClientMessages {
   /** Sent by the client to indicate their move during the game. */
   MOVE,
 
+  /**
+   * Queues a move during the opponent's turn; the server plays it right after the opponent's move
+   * if the cell is still free. Without coordinates the queued move is dropped.
+   */
+  PREMOVE,
+
   /** Indicates that the client wants to quit the game or disconnect. */
-  QUIT
+  QUIT,
+
+  /** Requests the top of the rating leaderboard and the client's own rank. */
+  LEADERBOARD,
+
+  /** Subscribes to the live game of the given player as a spectator. */
+  WATCH,
+
+  /** Stops spectating. */
+  UNWATCH,
+
+  /** Asks for one more game from the named queue; its messages are tagged with GAME. */
+  JOIN,
+
+  /** Withdraws from the named queue. */
+  LEAVE,
+
+  /** Wraps a MOVE, PREMOVE, OK or QUIT for one of several games: "GAME id command". */
+  GAME,
+
+  /** Queues the logged-in client for another game after the previous one ended. */
+  REQUEUE,
+
+  /** Offers or accepts another game against the opponent of the previous game. */
+  REMATCH,
+
+  /** Sent by a gateway instead of HELLO: the connection carries many client sessions. */
+  LINK,
+
+  /** Probes the round-trip time to the server, which echoes the token in PONG right away. */
+  PING,
+
+  /** Answers a server's PING with its token. */
+  PONG
 }
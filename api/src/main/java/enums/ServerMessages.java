@@ -28,5 +28,29 @@ public enum ServerMessages {
   ERROR,
 
   /** Informs the client that the opponent has disconnected. */
-  DISCONNECT
+  DISCONNECT,
+
+  /** Answers a leaderboard request with the client's rank and the best players. */
+  LEADERBOARD,
+
+  /** Sends a spectator the current board of the game it watches. */
+  BOARD,
+
+  /** Wraps a message that belongs to one of several games: "GAME id message". */
+  GAME,
+
+  /** Tells the client that the opponent of its previous game offers a rematch. */
+  REMATCH,
+
+  /**
+   * Sends the client to another server node, where its next game is hosted, or with ticket 0 to
+   * the successor of a draining server.
+   */
+  REDIRECT,
+
+  /** Probes the round-trip time; the client echoes the token in PONG right away. */
+  PING,
+
+  /** Answers a client's PING with its token. */
+  PONG
 }
@@ -0,0 +1,68 @@
+package linkUtils;
+
+/**
+ * Framing of the multiplexed links between a gateway and the game servers behind it.
+ *
+ * <p>A gateway opens a link with a single {@code LINK} line; after that every line on the link is
+ * a frame for one client session, identified by a number the gateway picks. {@code D <session>
+ * <line>} carries one protocol line of the session in either direction; the first one opens the
+ * session on the server. {@code C <session>} closes it: from the gateway when the client is gone,
+ * from the server when it ended the connection.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class LinkFrames {
+
+  /** Kind of a frame carrying a protocol line. */
+  public static final char DATA = 'D';
+
+  /** Kind of a frame closing a session. */
+  public static final char CLOSE = 'C';
+
+  private LinkFrames() {}
+
+  /**
+   * @param session the session id
+   * @param line the protocol line, without line break
+   * @return the DATA frame
+   */
+  public static String data(long session, String line) {
+    return DATA + " " + session + " " + line;
+  }
+
+  /**
+   * @param session the session id
+   * @return the CLOSE frame
+   */
+  public static String close(long session) {
+    return CLOSE + " " + session;
+  }
+
+  /**
+   * @param frame a received frame
+   * @return its kind, {@link #DATA} or {@link #CLOSE}
+   */
+  public static char kind(String frame) {
+    return frame.isEmpty() ? 0 : frame.charAt(0);
+  }
+
+  /**
+   * @param frame a received frame
+   * @return the session id
+   * @throws NumberFormatException if the frame has no valid session id
+   */
+  public static long session(String frame) {
+    int end = frame.indexOf(' ', 2);
+    return Long.parseLong(frame.substring(2, end < 0 ? frame.length() : end));
+  }
+
+  /**
+   * @param frame a received DATA frame
+   * @return the protocol line it carries, empty if there is none
+   */
+  public static String payload(String frame) {
+    int start = frame.indexOf(' ', 2);
+    return start < 0 ? "" : frame.substring(start + 1);
+  }
+}
@@ -88,4 +88,116 @@ public class ServerMessageBuilder {
   public static String disconnect() {
     return ServerMessages.DISCONNECT.toString();
   }
+
+  /**
+   * Lists the best players and the receiving client's own rank.
+   *
+   * @param rank the client's rank (1 = best), or 0 if the client is not rated yet
+   * @param total number of ranked players
+   * @param names usernames of the best players, best first
+   * @param ratings ratings matching {@code names}
+   * @return a protocol string like "LEADERBOARD 7 1250 Alice 1712 Bob 1690"
+   */
+  public static String leaderboard(int rank, int total, String[] names, int[] ratings) {
+    StringBuilder message = new StringBuilder();
+    message.append(ServerMessages.LEADERBOARD).append(' ').append(rank).append(' ').append(total);
+    for (int i = 0; i < names.length; i++) {
+      message.append(' ').append(names[i]).append(' ').append(ratings[i]);
+    }
+    return message.toString();
+  }
+
+  /**
+   * Tags a message with the game it belongs to, for clients that play several games on one
+   * connection.
+   *
+   * @param gameId the id of the game
+   * @param message any game message, e.g. built by {@link #move}
+   * @return a protocol string like "GAME 42 MOVE Alice 1 2"
+   */
+  public static String game(long gameId, String message) {
+    return ServerMessages.GAME + " " + gameId + " " + message;
+  }
+
+  /**
+   * Describes a game to a spectator: players, board and whose move it is. MOVE, WINNER and DRAW
+   * messages follow as the game goes on.
+   *
+   * @param gameId the id of the watched game
+   * @param cross the name of the X player
+   * @param circle the name of the O player
+   * @param cells the board row by row, nine characters of X, O or '.'
+   * @param circleToMove whether O moves next
+   * @return a protocol string like "BOARD 42 Alice Bob X...O.... X"
+   */
+  public static String board(
+      long gameId, String cross, String circle, String cells, boolean circleToMove) {
+    return ServerMessages.BOARD
+        + " "
+        + gameId
+        + " "
+        + cross
+        + " "
+        + circle
+        + " "
+        + cells
+        + " "
+        + (circleToMove ? "O" : "X");
+  }
+
+  /**
+   * Offers a rematch on behalf of the previous opponent; the client accepts by sending REMATCH
+   * itself.
+   *
+   * @param player the username of the player offering the rematch
+   * @return a protocol string like "REMATCH Alice"
+   */
+  public static String rematch(String player) {
+    return ServerMessages.REMATCH + " " + player;
+  }
+
+  /**
+   * Sends the client to the server node that hosts its next game. The client connects there and
+   * logs in with {@code HELLO <username> <ticket>}.
+   *
+   * @param host the node's host
+   * @param port the node's port
+   * @param ticket proof of the assignment, to be presented at login
+   * @return a protocol string like "REDIRECT localhost 8082 1234567"
+   */
+  public static String redirect(String host, int port, long ticket) {
+    return ServerMessages.REDIRECT + " " + host + " " + port + " " + ticket;
+  }
+
+  /**
+   * Sends the client to another server instance, e.g. the successor of a draining server. The
+   * ticket is 0, so the client logs in there with a plain {@code HELLO <username>}.
+   *
+   * @param host the instance's host
+   * @param port the instance's port
+   * @return a protocol string like "REDIRECT localhost 8082 0"
+   */
+  public static String redirect(String host, int port) {
+    return redirect(host, port, 0);
+  }
+
+  /**
+   * Builds a round-trip probe.
+   *
+   * @param token value the client must echo in its PONG
+   * @return a protocol string like "PING 81234567890"
+   */
+  public static String ping(long token) {
+    return ServerMessages.PING + " " + token;
+  }
+
+  /**
+   * Answers a client's PING.
+   *
+   * @param token the token of the PING, unchanged
+   * @return a protocol string like "PONG 17"
+   */
+  public static String pong(String token) {
+    return ServerMessages.PONG + " " + token;
+  }
 }
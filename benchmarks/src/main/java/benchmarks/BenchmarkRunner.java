@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ *
+ * <p>Accepts the usual JMH command line, but unless {@code -rf}/{@code -rff} are given, results are
+ * written as JSON to {@code jmh-results/<timestamp>.json} so that runs from different commits can
+ * be compared with any JMH result viewer or diff tool.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class BenchmarkRunner {
+
+  /**
+   * Runs the selected benchmarks.
+   *
+   * @param args JMH command-line arguments (e.g. a benchmark regex, {@code -p}, {@code -prof gc})
+   * @throws CommandLineOptionException if the arguments cannot be parsed
+   * @throws RunnerException if the benchmark run fails
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      File directory = new File("jmh-results");
+      directory.mkdirs();
+      String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+      options.result(new File(directory, timestamp + ".json").getPath());
+    }
+
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import clientEnumUtils.ClientEnumHandler;
+import clientEnumUtils.ClientMessageBuilder;
+import enums.ClientMessages;
+import enums.ServerMessages;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import serverEnumUtils.ServerEnumHandler;
+import serverEnumUtils.ServerMessageBuilder;
+
+/**
+ * Decoding and encoding costs of the text protocol in the {@code api} module.
+ *
+ * <p>The keyword parameter covers the first, the last and an unknown enum constant, because
+ * {@code enumFinder} scans the constants linearly.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolBenchmark {
+
+  /** Keyword to look up; only the enumFinder benchmarks are parameterised by it. */
+  @State(Scope.Thread)
+  public static class Keyword {
+    @Param({"HELLO", "QUIT", "DISCONNECT", "UNKNOWN"})
+    public String value;
+  }
+
+  public String player = "Alice";
+  public String opponent = "Bob";
+  public int x = 1;
+  public int y = 2;
+
+  @Benchmark
+  public ClientMessages clientEnumFinder(Keyword keyword) {
+    return ClientEnumHandler.enumFinder(keyword.value);
+  }
+
+  @Benchmark
+  public ServerMessages serverEnumFinder(Keyword keyword) {
+    return ServerEnumHandler.enumFinder(keyword.value);
+  }
+
+  @Benchmark
+  public String clientHello() {
+    return ClientMessageBuilder.hello(player);
+  }
+
+  @Benchmark
+  public String clientMove() {
+    return ClientMessageBuilder.move(x, y);
+  }
+
+  @Benchmark
+  public String serverStart() {
+    return ServerMessageBuilder.start(player, opponent);
+  }
+
+  @Benchmark
+  public String serverTurn() {
+    return ServerMessageBuilder.turn(player);
+  }
+
+  @Benchmark
+  public String serverMove() {
+    return ServerMessageBuilder.move(player, x, y);
+  }
+
+  @Benchmark
+  public String serverWinner() {
+    return ServerMessageBuilder.winner(player);
+  }
+}
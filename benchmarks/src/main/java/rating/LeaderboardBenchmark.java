@@ -0,0 +1,73 @@
+package rating;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leaderboard maintenance and queries with up to a million ranked players: moving one player after
+ * a game, publishing a snapshot, fetching the top ten and computing one player's rank.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LeaderboardBenchmark {
+
+  @Param({"10000", "1000000"})
+  public int players;
+
+  private final SplittableRandom random = new SplittableRandom(42);
+  private Leaderboard leaderboard;
+  private float[] ratings;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ratings = new float[players];
+    int[] ids = new int[players];
+    for (int id = 0; id < players; id++) {
+      ids[id] = id;
+      ratings[id] = (float) (1500 + 200 * random.nextDouble(-3, 3));
+    }
+    leaderboard = new Leaderboard();
+    leaderboard.build(ids, ratings, players);
+    leaderboard.publish();
+  }
+
+  @Benchmark
+  public void updateAndPublish() {
+    int id = random.nextInt(players);
+    float rating = ratings[id] + (float) random.nextDouble(-16, 16);
+    leaderboard.update(id, ratings[id], rating);
+    ratings[id] = rating;
+    leaderboard.publish();
+  }
+
+  @Benchmark
+  public List<Leaderboard.Entry> topTen() {
+    return leaderboard.snapshot().top(10);
+  }
+
+  @Benchmark
+  public int rankOf() {
+    int id = random.nextInt(players);
+    return leaderboard.snapshot().rankOf(ratings[id], id);
+  }
+}
@@ -0,0 +1,78 @@
+package serverController;
+
+import admin.ServerSnapshot;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of an admin snapshot with many live games: capturing the lock-free state, and capturing
+ * plus rendering the full text answer.
+ *
+ * <p>Games reuse a small pool of logged-in connections (each connection sits in many games), so a
+ * hundred thousand games don't need two hundred thousand sockets; the snapshot only walks the game
+ * registry and reads each game's state word, so this does not change what is measured.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AdminSnapshotBenchmark {
+
+  private static final int PLAYERS = 2000;
+
+  @Param({"1000", "100000"})
+  public int liveGames;
+
+  private Server server;
+  private final StringBuilder out = new StringBuilder(1 << 20);
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = new Server(0, false);
+    Connection[] players = new Connection[PLAYERS];
+    for (int i = 0; i < PLAYERS; i++) {
+      players[i] = FakeSocket.login(server, "player" + i);
+      server.removeConnection(players[i]);
+    }
+    for (int i = 0; i < liveGames; i++) {
+      GameManager game =
+          server.startGame(players[(2 * i) % PLAYERS], players[(2 * i + 1) % PLAYERS]);
+      game.playerMove(game.getPlayerCross(), 1, 1);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.terminate();
+  }
+
+  @Benchmark
+  public ServerSnapshot capture() {
+    return ServerSnapshot.capture(server);
+  }
+
+  @Benchmark
+  public int captureAndWrite() throws IOException {
+    out.setLength(0);
+    ServerSnapshot.capture(server).write(out);
+    return out.length();
+  }
+}
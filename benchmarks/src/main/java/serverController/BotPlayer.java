@@ -0,0 +1,322 @@
+package serverController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import cluster.Coordinator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Blocking bot player for the harnesses that run a real server: one socket read on one thread.
+ *
+ * <p>The bot logs in, answers every PING, follows REDIRECTs to another server and keeps the board
+ * of each game it plays, so that by default it answers YOUR_TURN with the first free cell.
+ * Subclasses decide how long it plays and react to the events their measurement needs. Tagged
+ * games are told apart by their id; the untagged game has the id {@link #UNTAGGED}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+abstract class BotPlayer implements Runnable {
+
+  /** Id passed to the callbacks for the game that is not tagged with GAME. */
+  static final long UNTAGGED = 0;
+
+  protected final String name;
+  private final int port;
+  private final CountDownLatch done;
+  private final Map<Long, int[]> boards = new HashMap<>();
+  private volatile Socket socket;
+  private volatile boolean stopped;
+  private PrintWriter out;
+  private long[] samples = new long[64];
+  private int recorded;
+
+  /**
+   * @param name the username sent in HELLO
+   * @param port local port of the server to log in to
+   * @param done counted down once the bot has stopped
+   */
+  BotPlayer(String name, int port, CountDownLatch done) {
+    this.name = name;
+    this.port = port;
+    this.done = done;
+  }
+
+  /**
+   * Starts a server with all its threads for bots to play on. No admin console is opened, so that
+   * several servers can run in one process.
+   *
+   * @param port the port to accept players on
+   * @return the running server
+   */
+  static Server startServer(int port) {
+    return startServer(port, null);
+  }
+
+  /**
+   * Starts a server like {@link #startServer(int)}, as a node of a cluster.
+   *
+   * @param port the port to accept players on
+   * @param coordinator the cluster's coordinator, or null to run standalone
+   * @return the running server
+   */
+  static Server startServer(int port, Coordinator coordinator) {
+    System.setProperty("tictactoe.admin.port", "0");
+    return new Server(port, true, coordinator);
+  }
+
+  /**
+   * Starts a bot on its own daemon thread.
+   *
+   * @param bot the bot
+   */
+  static void start(BotPlayer bot) {
+    Thread thread = new Thread(bot, "Bot-" + bot.name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Collects the samples of several bots that have stopped.
+   *
+   * @param bots the bots
+   * @return every sample the bots recorded, sorted
+   */
+  static long[] samples(BotPlayer[] bots) {
+    long[] all = new long[0];
+    for (BotPlayer bot : bots) {
+      int from = all.length;
+      all = Arrays.copyOf(all, from + bot.recorded);
+      System.arraycopy(bot.samples, 0, all, from, bot.recorded);
+    }
+    Arrays.sort(all);
+    return all;
+  }
+
+  /**
+   * @param sorted sorted samples
+   * @param fraction the percentile as a fraction, e.g. 0.99
+   * @return the sample at that percentile, or 0 if there are none
+   */
+  static double percentile(long[] sorted, double fraction) {
+    return sorted.length == 0 ? 0 : sorted[(int) (sorted.length * fraction)];
+  }
+
+  @Override
+  public void run() {
+    try {
+      BufferedReader in = connect("127.0.0.1", port);
+      send(ClientMessageBuilder.hello(name));
+      loggedIn();
+      String line;
+      while (keepPlaying()) {
+        line = in.readLine();
+        if (line == null) {
+          if (!stopped) {
+            lost(null);
+          }
+          return;
+        }
+        if (line.startsWith("REDIRECT ")) {
+          String[] parts = line.split(" ");
+          in = connect(parts[1], Integer.parseInt(parts[2]));
+          send(ClientMessageBuilder.hello(name, Long.parseLong(parts[3])));
+          redirected();
+        } else {
+          handle(line);
+        }
+      }
+      send(ClientMessageBuilder.quit());
+    } catch (IOException e) {
+      if (!stopped) {
+        lost(e);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      close();
+      done.countDown();
+    }
+  }
+
+  /** Stops the bot from another thread by closing its socket. */
+  void stop() {
+    stopped = true;
+    close();
+  }
+
+  /**
+   * @return whether to read the next line; once false the bot sends QUIT and stops
+   */
+  protected abstract boolean keepPlaying();
+
+  /** Called after HELLO has been sent on the first connection. */
+  protected void loggedIn() {}
+
+  /** Called after the bot followed a REDIRECT and sent HELLO to the new server. */
+  protected void redirected() {}
+
+  /**
+   * Called when a game starts.
+   *
+   * @param game the game's id
+   * @param cross whether the bot plays X
+   */
+  protected void started(long game, boolean cross) {}
+
+  /**
+   * Called for every move in a game, after it has been put on the board.
+   *
+   * @param game the game's id
+   * @param own whether the bot made the move
+   */
+  protected void moved(long game, boolean own) {}
+
+  /**
+   * Called when it is the bot's turn; plays the first free cell.
+   *
+   * @param game the game's id
+   * @throws InterruptedException if interrupted while thinking
+   */
+  protected void turn(long game) throws InterruptedException {
+    move(game, firstFree(game));
+  }
+
+  /**
+   * Called when a game has been won, lost or drawn.
+   *
+   * @param game the game's id
+   */
+  protected void ended(long game) {}
+
+  /**
+   * Called for every ERROR; prints it.
+   *
+   * @param line the whole line
+   */
+  protected void error(String line) {
+    System.err.println(name + ": " + line);
+  }
+
+  /**
+   * Called when the connection ends while the bot still wants to play; prints the cause.
+   *
+   * @param cause the failure, or null if the server closed the connection
+   */
+  protected void lost(IOException cause) {
+    if (cause != null) {
+      System.err.println(name + ": " + cause);
+    }
+  }
+
+  /**
+   * Records one measurement, e.g. a latency in nanoseconds, for {@link #samples}.
+   *
+   * @param sample the measurement
+   */
+  protected void record(long sample) {
+    if (recorded == samples.length) {
+      samples = Arrays.copyOf(samples, recorded * 2);
+    }
+    samples[recorded++] = sample;
+  }
+
+  /**
+   * Sends one line to the server.
+   *
+   * @param line the message
+   */
+  protected void send(String line) {
+    out.println(line);
+  }
+
+  /**
+   * Sends a MOVE, wrapped in GAME for a tagged game.
+   *
+   * @param game the game's id
+   * @param cell the cell, row by row from 0
+   */
+  protected void move(long game, int cell) {
+    String move = ClientMessageBuilder.move(cell / 3, cell % 3);
+    send(game == UNTAGGED ? move : ClientMessageBuilder.game(game, move));
+  }
+
+  /**
+   * @param game the game's id
+   * @return the occupied cells as a bit mask, bit {@code 3 * row + column}
+   */
+  protected int board(long game) {
+    int[] board = boards.get(game);
+    return board != null ? board[0] : 0;
+  }
+
+  /**
+   * @param game the game's id
+   * @return the first cell that is not taken, or 9 if the board is full
+   */
+  protected int firstFree(long game) {
+    return Integer.numberOfTrailingZeros(~board(game) & 0x1FF);
+  }
+
+  private void handle(String line) throws InterruptedException {
+    String[] parts = line.split(" ");
+    long game = UNTAGGED;
+    int at = 0;
+    if (parts[0].equals("GAME")) {
+      game = Long.parseLong(parts[1]);
+      at = 2;
+    }
+    switch (parts[at]) {
+      case "PING" -> send(ClientMessageBuilder.pong(parts[at + 1]));
+      case "START" -> {
+        boards.put(game, new int[1]);
+        started(game, parts[at + 1].equals(name));
+      }
+      case "MOVE" -> {
+        int[] board = boards.computeIfAbsent(game, id -> new int[1]);
+        board[0] |= 1 << (Integer.parseInt(parts[at + 2]) * 3 + Integer.parseInt(parts[at + 3]));
+        moved(game, parts[at + 1].equals(name));
+      }
+      case "YOUR_TURN" -> {
+        if (parts[at + 1].equals(name)) {
+          turn(game);
+        }
+      }
+      case "WINNER", "DRAW" -> {
+        boards.remove(game);
+        ended(game);
+      }
+      case "ERROR" -> error(line);
+      default -> {}
+    }
+  }
+
+  private BufferedReader connect(String host, int port) throws IOException {
+    close();
+    Socket opened = new Socket(host, port);
+    opened.setTcpNoDelay(true);
+    socket = opened;
+    out = new PrintWriter(opened.getOutputStream(), true);
+    return new BufferedReader(
+        new InputStreamReader(opened.getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  private void close() {
+    try {
+      Socket current = socket;
+      if (current != null) {
+        current.close();
+      }
+    } catch (IOException e) {
+      // Closing only
+    }
+  }
+}
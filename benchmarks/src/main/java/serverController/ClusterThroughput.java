@@ -0,0 +1,125 @@
+package serverController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import cluster.EmbeddedCoordinator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Games per second of a cluster of 1, 2 and 4 nodes.
+ *
+ * <p>Starts the nodes in this process on consecutive local ports around one shared {@link
+ * EmbeddedCoordinator}, then connects bot players spread evenly over the nodes. Bots follow every
+ * REDIRECT to the game node, play the first free cell and send REQUEUE after each game, so the
+ * global queue pairs players across nodes all the time. The run reports games per second and how
+ * many logins were redirects. All nodes share this machine's cores, so the numbers show the cost
+ * of routing rather than the capacity of separate machines.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar serverController.ClusterThroughput
+ * [--players=N] [--seconds=N] [--port=P]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class ClusterThroughput {
+
+  /** One bot: plays games until the deadline, moving to whichever node it is sent to. */
+  private static final class Bot extends BotPlayer {
+    private final long deadline;
+    private final AtomicInteger finished;
+    private final AtomicInteger redirects;
+
+    Bot(
+        String name,
+        int port,
+        long deadline,
+        CountDownLatch done,
+        AtomicInteger finished,
+        AtomicInteger redirects) {
+      super(name, port, done);
+      this.deadline = deadline;
+      this.finished = finished;
+      this.redirects = redirects;
+    }
+
+    @Override
+    protected boolean keepPlaying() {
+      return System.nanoTime() < deadline;
+    }
+
+    @Override
+    protected void redirected() {
+      redirects.incrementAndGet();
+    }
+
+    @Override
+    protected void ended(long game) {
+      finished.incrementAndGet();
+      send(ClientMessageBuilder.requeue());
+    }
+  }
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args optional {@code --players}, {@code --seconds} and {@code --port}
+   * @throws Exception if interrupted or a server cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int players = 100;
+    int seconds = 5;
+    int port = 18080;
+    for (String arg : args) {
+      if (arg.startsWith("--players=")) {
+        players = Integer.parseInt(arg.substring("--players=".length()));
+      } else if (arg.startsWith("--seconds=")) {
+        seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+      } else if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+
+    int round = 0;
+    for (int nodes : new int[] {1, 2, 4}) {
+      run(nodes, players, seconds, port + 10 * round++);
+    }
+    System.exit(0);
+  }
+
+  private static void run(int nodes, int players, int seconds, int basePort) throws Exception {
+    EmbeddedCoordinator coordinator = new EmbeddedCoordinator();
+    List<Server> servers = new ArrayList<>();
+    for (int i = 0; i < nodes; i++) {
+      servers.add(BotPlayer.startServer(basePort + i, coordinator));
+    }
+    Thread.sleep(200);
+
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+    CountDownLatch done = new CountDownLatch(players);
+    AtomicInteger finished = new AtomicInteger();
+    AtomicInteger redirects = new AtomicInteger();
+    for (int i = 0; i < players; i++) {
+      String name = "n" + nodes + "bot" + i;
+      BotPlayer.start(new Bot(name, basePort + i % nodes, deadline, done, finished, redirects));
+    }
+    // Bots stuck waiting for a game at the deadline are released by the shutdown below
+    done.await(seconds + 5L, TimeUnit.SECONDS);
+
+    System.out.printf(
+        "%d node(s), %d players: %.1f games/s, %d redirects (%.2f per game)%n",
+        nodes,
+        players,
+        finished.get() / 2.0 / seconds,
+        redirects.get(),
+        redirects.get() * 2.0 / Math.max(1, finished.get()));
+    for (Server server : servers) {
+      server.terminate();
+    }
+    Thread.sleep(200);
+  }
+}
@@ -0,0 +1,96 @@
+package serverController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.Socket;
+
+/**
+ * Heap held by each idle, logged-in connection.
+ *
+ * <p>Logs {@code --connections} players in on in-memory sockets and lets the {@link Pinger} probe
+ * them {@code --probes} times, each answered with a PONG, so that every connection's protocol trace
+ * is as full as it gets while the player waits in the queue. The heap is measured after a full GC
+ * once the sockets exist and again after the connections have been logged in and probed; the
+ * difference per connection is everything the server keeps for an idle player: the connection,
+ * its trace, its I/O buffers and its entries in the server's maps and queues. Reading threads are
+ * not started, their stacks are not heap. Run it with {@code -Dtictactoe.io.pooled=false} to
+ * measure connections that keep their buffers.
+ *
+ * <p>The sockets are {@link FakeSocket}s created before the first measurement, so the figures
+ * leave out what a real socket, its file descriptor and its JDK streams cost; that is the same
+ * with or without pooled buffers, so the two runs can be compared but neither is the whole cost of
+ * a connection.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar serverController.ConnectionFootprint
+ * [--connections=N] [--probes=N]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class ConnectionFootprint {
+
+  private static final long INTERVAL_MILLIS = 5000;
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args optional {@code --connections} and {@code --probes}
+   * @throws InterruptedException if interrupted while waiting for the GC
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int count = 20_000;
+    int probes = 40;
+    for (String arg : args) {
+      if (arg.startsWith("--connections=")) {
+        count = Integer.parseInt(arg.substring("--connections=".length()));
+      } else if (arg.startsWith("--probes=")) {
+        probes = Integer.parseInt(arg.substring("--probes=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    Server server = new Server(0, false);
+    Pinger pinger = new Pinger(server, INTERVAL_MILLIS, 6 * INTERVAL_MILLIS, false);
+
+    Socket[] sockets = new Socket[count];
+    for (int i = 0; i < count; i++) {
+      sockets[i] = new FakeSocket();
+    }
+    Connection[] connections = new Connection[count];
+    long before = usedHeap();
+
+    for (int i = 0; i < count; i++) {
+      connections[i] = new Connection(server, sockets[i]);
+      connections[i].handleMessage("HELLO player" + i);
+    }
+    long now = System.nanoTime();
+    for (int probe = 0; probe < probes; probe++) {
+      now += INTERVAL_MILLIS * 1_000_000L;
+      pinger.sweep(now);
+      for (Connection connection : connections) {
+        connection.handleMessage("PONG " + connection.getPingSentAt());
+      }
+    }
+    long after = usedHeap();
+
+    System.out.printf(
+        "%d idle connections, %d probes each: %d bytes of heap per connection (%s I/O buffers)%n",
+        count,
+        probes,
+        (after - before) / count,
+        Boolean.parseBoolean(System.getProperty("tictactoe.io.pooled", "true"))
+            ? "pooled"
+            : "per-connection");
+    server.terminate();
+  }
+
+  /** Heap in use after the collector has had a few chances to clear everything unreachable. */
+  private static long usedHeap() throws InterruptedException {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
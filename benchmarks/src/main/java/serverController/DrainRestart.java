@@ -0,0 +1,164 @@
+package serverController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import cluster.Node;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Restart check for {@link Server#drain}: no game may be aborted when a server is replaced under
+ * steady load.
+ *
+ * <p>Starts an old server on {@code --port} and bot players that play the first free cell and send
+ * REQUEUE after each game, thinking {@code --think} milliseconds before each move so that games are
+ * in progress when the drain starts. After {@code --seconds} a new server starts on the next port
+ * and the old one drains to it while a round of games is being played. Bots follow the REDIRECT
+ * like real clients. Once the old server has terminated the load runs on the new one for another
+ * {@code --seconds}. A game counts as aborted if a bot loses its connection or gets an error
+ * between START and the result; a bot that loses its connection outside a game was dropped instead
+ * of handed off.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar serverController.DrainRestart
+ * [--players=N] [--seconds=N] [--think=MS] [--deadline=N] [--port=P]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class DrainRestart {
+
+  private static final AtomicInteger finished = new AtomicInteger();
+  private static final AtomicInteger aborted = new AtomicInteger();
+  private static final AtomicInteger dropped = new AtomicInteger();
+  private static final AtomicInteger redirects = new AtomicInteger();
+  private static volatile boolean stop;
+
+  /** One bot: plays until stopped, following the hand-off to the new server. */
+  private static final class Bot extends BotPlayer {
+    private final long think;
+    private boolean playing;
+
+    Bot(String name, int port, long think, CountDownLatch done) {
+      super(name, port, done);
+      this.think = think;
+    }
+
+    @Override
+    protected boolean keepPlaying() {
+      return !stop;
+    }
+
+    @Override
+    protected void redirected() {
+      redirects.incrementAndGet();
+    }
+
+    @Override
+    protected void started(long game, boolean cross) {
+      playing = true;
+    }
+
+    @Override
+    protected void turn(long game) throws InterruptedException {
+      Thread.sleep(think);
+      super.turn(game);
+    }
+
+    @Override
+    protected void ended(long game) {
+      playing = false;
+      finished.incrementAndGet();
+      send(ClientMessageBuilder.requeue());
+    }
+
+    @Override
+    protected void error(String line) {
+      super.error(line);
+      if (playing) {
+        aborted.incrementAndGet();
+        playing = false;
+      }
+    }
+
+    @Override
+    protected void lost(IOException cause) {
+      super.lost(cause);
+      (playing ? aborted : dropped).incrementAndGet();
+    }
+  }
+
+  /**
+   * Runs the check.
+   *
+   * @param args optional {@code --players}, {@code --seconds}, {@code --think}, {@code
+   *     --deadline} and {@code --port}
+   * @throws Exception if interrupted or a server cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int players = 40;
+    int seconds = 3;
+    int think = 50;
+    int deadline = 30;
+    int port = 18080;
+    for (String arg : args) {
+      if (arg.startsWith("--players=")) {
+        players = Integer.parseInt(arg.substring("--players=".length()));
+      } else if (arg.startsWith("--seconds=")) {
+        seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+      } else if (arg.startsWith("--think=")) {
+        think = Integer.parseInt(arg.substring("--think=".length()));
+      } else if (arg.startsWith("--deadline=")) {
+        deadline = Integer.parseInt(arg.substring("--deadline=".length()));
+      } else if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    Server old = BotPlayer.startServer(port);
+    Thread.sleep(200);
+    CountDownLatch done = new CountDownLatch(players);
+    Bot[] bots = new Bot[players];
+    for (int i = 0; i < players; i++) {
+      bots[i] = new Bot("bot" + i, port, think, done);
+      BotPlayer.start(bots[i]);
+    }
+    Thread.sleep(seconds * 1000L);
+
+    Server next = BotPlayer.startServer(port + 1);
+    Thread.sleep(200);
+    // The MatchMaker starts games in rounds; drain while a round is being played
+    while (old.getGames().size() < players / 4) {
+      Thread.sleep(5);
+    }
+    int live = old.getGames().size();
+    int beforeDrain = finished.get();
+    long drainStart = System.nanoTime();
+    old.drain(new Node("127.0.0.1", port + 1), deadline * 1000L);
+    old.awaitTermination();
+    double drainSeconds = (System.nanoTime() - drainStart) / 1e9;
+    int duringDrain = finished.get() - beforeDrain;
+
+    Thread.sleep(seconds * 1000L);
+    stop = true;
+    for (Bot bot : bots) {
+      bot.stop();
+    }
+    done.await(5, TimeUnit.SECONDS);
+    next.terminate();
+
+    System.out.printf(
+        "%d players: %d games finished, %d in progress when the drain started and %d finished"
+            + " while draining, drain took %.2f s%n",
+        players,
+        finished.get() / 2,
+        live,
+        duringDrain / 2,
+        drainSeconds);
+    System.out.printf(
+        "%d redirects, %d aborted games, %d dropped connections%n",
+        redirects.get(), aborted.get() / 2, dropped.get());
+    System.exit(aborted.get() == 0 && dropped.get() == 0 ? 0 : 1);
+  }
+}
@@ -0,0 +1,78 @@
+package serverController;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Unconnected socket whose streams are in-memory, so {@link Connection} objects can be created
+ * without any network I/O. Everything written to it is discarded unless an output stream is given.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+class FakeSocket extends Socket {
+  private final InputStream input = new ByteArrayInputStream(new byte[0]);
+  private final OutputStream output;
+
+  FakeSocket() {
+    this(OutputStream.nullOutputStream());
+  }
+
+  /**
+   * @param output receives everything the server sends on this socket
+   */
+  FakeSocket(OutputStream output) {
+    this.output = output;
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return input;
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return output;
+  }
+
+  /** Closes the output stream too, like closing a real socket fails its pending writes. */
+  @Override
+  public synchronized void close() throws IOException {
+    super.close();
+    output.close();
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return InetAddress.getLoopbackAddress();
+  }
+
+  /**
+   * Creates a connection on a fake socket and logs it in under the given name.
+   *
+   * @param server the server the player is registered with
+   * @param name the username sent in HELLO
+   * @return the authenticated, queued connection
+   */
+  static Connection login(Server server, String name) {
+    return login(server, name, OutputStream.nullOutputStream());
+  }
+
+  /**
+   * Creates a connection whose outgoing messages go to the given stream and logs it in.
+   *
+   * @param server the server the player is registered with
+   * @param name the username sent in HELLO
+   * @param output receives the server's messages
+   * @return the authenticated, queued connection
+   */
+  static Connection login(Server server, String name, OutputStream output) {
+    Connection connection = new Connection(server, new FakeSocket(output));
+    connection.handleMessage("HELLO " + name);
+    return connection;
+  }
+}
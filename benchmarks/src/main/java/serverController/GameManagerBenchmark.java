@@ -0,0 +1,54 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Move handling and win/draw detection in {@link GameManager}: one benchmark invocation plays a
+ * complete game, including the START/YOUR_TURN/MOVE/WINNER messages written to both players.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameManagerBenchmark {
+
+  @Param({"win", "draw"})
+  public String outcome;
+
+  private Server server;
+  private Connection alice;
+  private Connection bob;
+  private int[][] moves;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = new Server(0, false);
+    alice = FakeSocket.login(server, "Alice");
+    bob = FakeSocket.login(server, "Bob");
+    moves = outcome.equals("win") ? GameScripts.WIN : GameScripts.DRAW;
+  }
+
+  @Benchmark
+  public GameManager playGame() {
+    GameManager game = new GameManager(alice, bob, server);
+    GameScripts.play(game, moves);
+    return game;
+  }
+}
@@ -0,0 +1,70 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sustained matchmaking: every invocation queues two players, pairs them with {@link MatchMaker},
+ * plays a full game, after which the game deregisters itself, with and without the {@link GamePool}.
+ *
+ * <p>Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes per game) and {@code
+ * gc.count} between {@code poolCapacity=0} and the default capacity.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GamePoolBenchmark {
+
+  @Param({"0", "1024"})
+  public int poolCapacity;
+
+  private Server server;
+  private MatchMaker matchMaker;
+  private Connection alice;
+  private Connection bob;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    System.setProperty("tictactoe.gamePool.capacity", Integer.toString(poolCapacity));
+    server = new Server(0, false);
+    matchMaker = new MatchMaker(server, false);
+    alice = FakeSocket.login(server, "Alice");
+    bob = FakeSocket.login(server, "Bob");
+    server.removeConnection(alice);
+    server.removeConnection(bob);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.terminate();
+  }
+
+  @Benchmark
+  public GameManager matchAndPlay() {
+    server.addAuthenticatedConnection(alice);
+    server.addAuthenticatedConnection(bob);
+    matchMaker.matchPlayers();
+
+    GameManager game = alice.getGameManager();
+    GameScripts.play(game, GameScripts.WIN);
+    return game;
+  }
+}
@@ -0,0 +1,75 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Game lifecycle bookkeeping while many other games are live: registering a game, finding it by
+ * player and by id, and its self-deregistration on completion should cost the same with ten or ten
+ * thousand running games.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GameRegistryBenchmark {
+
+  @Param({"10", "10000"})
+  public int liveGames;
+
+  private Server server;
+  private Connection alice;
+  private Connection bob;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = new Server(0, false);
+    for (int i = 0; i < liveGames; i++) {
+      Connection first = FakeSocket.login(server, "live" + (2 * i));
+      Connection second = FakeSocket.login(server, "live" + (2 * i + 1));
+      server.removeConnection(first);
+      server.removeConnection(second);
+      server.startGame(first, second);
+    }
+    alice = FakeSocket.login(server, "Alice");
+    bob = FakeSocket.login(server, "Bob");
+    server.removeConnection(alice);
+    server.removeConnection(bob);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.terminate();
+  }
+
+  @Benchmark
+  public boolean gameLifecycle() {
+    GameManager game = server.startGame(alice, bob);
+    GameRegistry games = server.getGames();
+    boolean found = games.byPlayer("Alice") == game && games.get(game.getId()) == game;
+    GameScripts.play(game, GameScripts.WIN);
+    return found && games.get(game.getId()) == null;
+  }
+
+  @Benchmark
+  public boolean nameExists() {
+    return server.nameExists("live1");
+  }
+}
@@ -0,0 +1,45 @@
+package serverController;
+
+/**
+ * Scripted games that the benchmarks play straight into a {@link GameManager}, without clients.
+ * Moves are (row, column) pairs and alternate between X and O, X first.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class GameScripts {
+
+  /** Five moves ending with X's diagonal win. */
+  static final int[][] WIN = {{0, 0}, {0, 1}, {1, 1}, {0, 2}, {2, 2}};
+
+  /** Nine moves ending in a draw. */
+  static final int[][] DRAW = {
+    {0, 0}, {1, 1}, {0, 1}, {0, 2}, {2, 0}, {1, 0}, {1, 2}, {2, 1}, {2, 2}
+  };
+
+  private GameScripts() {}
+
+  /**
+   * Plays a whole script.
+   *
+   * @param game a started game in which nobody has moved yet
+   * @param moves the script
+   */
+  static void play(GameManager game, int[][] moves) {
+    for (int i = 0; i < moves.length; i++) {
+      play(game, moves, i);
+    }
+  }
+
+  /**
+   * Plays one move of a script, by whichever player's turn it is.
+   *
+   * @param game a game in which the script's earlier moves have been played
+   * @param moves the script
+   * @param move index of the move to play
+   */
+  static void play(GameManager game, int[][] moves, int move) {
+    Connection player = (move % 2 == 0) ? game.getPlayerCross() : game.getPlayerCircle();
+    game.playerMove(player, moves[move][0], moves[move][1]);
+  }
+}
@@ -0,0 +1,264 @@
+package serverController;
+
+import gameLogic.Board;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency stress test of {@link GameManager}'s state transitions.
+ *
+ * <p>For every game, one thread per player fires random moves and premoves (including out-of-range
+ * and out-of-turn ones) as fast as it can until the game ends, while in some games a third thread
+ * quits one of the players or terminates the game at a random moment. After each game the final
+ * {@link GameState} word and the messages both players received are checked:
+ *
+ * <ul>
+ *   <li>X and O cells are disjoint, the move counter equals the number of taken cells, X has
+ *       exactly as many cells as O or one more, and the turn bit matches the move parity;
+ *   <li>a won game has exactly one winning line, belonging to the last mover; a drawn game is full
+ *       without a line; an aborted game has no line;
+ *   <li>the game is settled and not busy, so it can be recycled;
+ *   <li>each player saw one MOVE per move (the quitter may miss the ones that raced the quit) and
+ *       exactly the result messages the outcome implies.
+ * </ul>
+ *
+ * <p>Games run on a pooled instance, so recycling is exercised as well. Usage: {@code
+ * java -cp benchmarks/target/benchmarks.jar serverController.GameStateStress [--games=N]
+ * [--seed=S]}. Exits with status 1 if any invariant is violated.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class GameStateStress {
+
+  /** Counts MOVE, WINNER and DRAW lines written to one connection. */
+  private static final class MessageCounter extends OutputStream {
+    private final StringBuilder line = new StringBuilder();
+    int moves;
+    int results;
+
+    @Override
+    public synchronized void write(int b) {
+      if (b == '\n') {
+        String text = line.toString().trim();
+        if (text.startsWith("MOVE ")) {
+          moves++;
+        } else if (text.startsWith("WINNER ") || text.equals("DRAW")) {
+          results++;
+        }
+        line.setLength(0);
+      } else {
+        line.append((char) b);
+      }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        write(bytes[i]);
+      }
+    }
+
+    synchronized void reset() {
+      line.setLength(0);
+      moves = 0;
+      results = 0;
+    }
+  }
+
+  private final Server server = new Server(0, false);
+  private final ExecutorService racers = Executors.newFixedThreadPool(3);
+  private final AtomicLong attempts = new AtomicLong();
+  private final long[] outcomes = new long[4];
+  private long violations;
+  private int nextName;
+
+  /**
+   * Runs the stress test.
+   *
+   * @param args optional {@code --games} and {@code --seed}
+   * @throws Exception if a racer thread fails
+   */
+  public static void main(String[] args) throws Exception {
+    long games = 200_000;
+    long seed = 42;
+    for (String arg : args) {
+      if (arg.startsWith("--games=")) {
+        games = Long.parseLong(arg.substring("--games=".length()));
+      } else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+
+    GameStateStress stress = new GameStateStress();
+    long start = System.nanoTime();
+    stress.run(games, new SplittableRandom(seed));
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(
+        "%d games, %d move attempts in %.1f s (%.0f attempts/s)%n",
+        games, stress.attempts.get(), seconds, stress.attempts.get() / seconds);
+    System.out.printf(
+        "won %d, drawn %d, aborted %d; pool created %d, reused %d%n",
+        stress.outcomes[GameState.WON],
+        stress.outcomes[GameState.DRAWN],
+        stress.outcomes[GameState.ABORTED],
+        stress.server.getGamePool().getCreated(),
+        stress.server.getGamePool().getReused());
+    System.out.println(stress.violations + " invariant violations");
+
+    stress.racers.shutdownNow();
+    stress.server.terminate();
+    System.exit(stress.violations == 0 ? 0 : 1);
+  }
+
+  private void run(long games, SplittableRandom random) throws Exception {
+    MessageCounter aliceOut = new MessageCounter();
+    MessageCounter bobOut = new MessageCounter();
+    Connection alice = login(aliceOut);
+    Connection bob = login(bobOut);
+
+    for (long game = 0; game < games; game++) {
+      aliceOut.reset();
+      bobOut.reset();
+      GameManager gameManager = server.startGame(alice, bob);
+      server.removeConnection(alice);
+      server.removeConnection(bob);
+
+      // 0 = play it out, 1 = someone quits, 2 = server terminates
+      int disruption = random.nextInt(8) == 0 ? 1 + random.nextInt(2) : 0;
+      Connection quitter = random.nextBoolean() ? alice : bob;
+      int delay = random.nextInt(200);
+
+      List<Future<?>> tasks = new ArrayList<>(3);
+      for (Connection player : List.of(alice, bob)) {
+        long racerSeed = random.nextLong();
+        tasks.add(racers.submit(() -> race(gameManager, player, racerSeed)));
+      }
+      if (disruption != 0) {
+        tasks.add(
+            racers.submit(
+                () -> {
+                  for (int i = 0; i < delay; i++) {
+                    Thread.onSpinWait();
+                  }
+                  if (disruption == 1) {
+                    gameManager.quit(quitter);
+                  } else {
+                    gameManager.terminate();
+                  }
+                }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+
+      long state = gameManager.getState();
+      // A quit only takes effect if it came before the end of the game
+      boolean quit = disruption == 1 && GameState.status(state) == GameState.ABORTED;
+      check(game, state, gameManager, quit ? quitter : null, alice, aliceOut, bob, bobOut);
+      outcomes[GameState.status(state)]++;
+
+        if (quit) {
+        // The quitter's connection was closed; log in a replacement
+        if (quitter == alice) {
+          alice = login(aliceOut);
+        } else {
+          bob = login(bobOut);
+        }
+      }
+    }
+  }
+
+  /** Fires random moves and premoves for one player until the game has ended. */
+  private void race(GameManager gameManager, Connection player, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    long fired = 0;
+    while (gameManager.isGameRunning()) {
+      if (random.nextInt(4) == 0) {
+        gameManager.playerPremove(player, random.nextInt(-1, 4), random.nextInt(-1, 4));
+      } else {
+        gameManager.playerMove(player, random.nextInt(-1, 4), random.nextInt(-1, 4));
+      }
+      fired++;
+    }
+    attempts.addAndGet(fired);
+  }
+
+  private void check(
+      long game,
+      long state,
+      GameManager gameManager,
+      Connection quitter,
+      Connection alice,
+      MessageCounter aliceOut,
+      Connection bob,
+      MessageCounter bobOut) {
+    int crosses = GameState.crosses(state);
+    int circles = GameState.circles(state);
+    int count = GameState.moveCount(state);
+    int crossCount = Integer.bitCount(crosses);
+    int circleCount = Integer.bitCount(circles);
+    boolean crossLine = Board.isWinning(crosses);
+    boolean circleLine = Board.isWinning(circles);
+    int status = GameState.status(state);
+
+    expect(game, (crosses & circles) == 0, "X and O overlap");
+    expect(game, count == crossCount + circleCount, "move counter does not match the board");
+    expect(game, crossCount - circleCount == 0 || crossCount - circleCount == 1, "move imbalance");
+    expect(game, GameState.isCircleToMove(state) == (count % 2 == 1), "turn does not match parity");
+    expect(game, GameState.isSettled(state) && !GameState.isBusy(state), "not settled");
+    expect(game, gameManager.isRecyclable(), "not recyclable");
+
+    switch (status) {
+      case GameState.WON -> {
+        boolean crossMovedLast = count % 2 == 1;
+        expect(game, crossLine == crossMovedLast && circleLine != crossMovedLast, "bad winner");
+      }
+      case GameState.DRAWN ->
+          expect(game, (crosses | circles) == Board.FULL && !crossLine && !circleLine, "bad draw");
+      case GameState.ABORTED -> expect(game, !crossLine && !circleLine, "aborted after a line");
+      default -> expect(game, false, "still running");
+    }
+
+    for (Connection player : List.of(alice, bob)) {
+      MessageCounter out = player == alice ? aliceOut : bobOut;
+      int expectedResults;
+      if (status == GameState.WON || status == GameState.DRAWN) {
+        expectedResults = 1;
+      } else if (quitter != null) {
+        expectedResults = player == quitter ? 0 : 1;
+      } else {
+        expectedResults = 0;
+      }
+      // The quitter's socket is closed at once and may miss the MOVE of a move racing the quit,
+      // or both of a move and the premove played right after it, which are written together
+      int missed = count - out.moves;
+      expect(game, missed == 0 || (player == quitter && missed <= 2), "MOVE messages lost");
+      expect(game, out.results == expectedResults, "wrong number of result messages");
+    }
+  }
+
+  private void expect(long game, boolean condition, String violation) {
+    if (!condition) {
+      violations++;
+      if (violations <= 20) {
+        System.out.println("game " + game + ": " + violation);
+      }
+    }
+  }
+
+  private Connection login(OutputStream output) {
+    Connection connection = FakeSocket.login(server, "player" + nextName++, output);
+    server.removeConnection(connection);
+    return connection;
+  }
+}
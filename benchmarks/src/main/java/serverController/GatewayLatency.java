@@ -0,0 +1,135 @@
+package serverController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import gateway.Gateway;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Latency the gateway adds to every move.
+ *
+ * <p>Starts a real server and a gateway in front of it on local ports. Pairs of bot players play
+ * the first free cell until each has finished {@code --games} games, with a REMATCH after each one
+ * so that no time is spent in the matchmaker, once connected to the server directly and once
+ * through the gateway. A move's latency is the time from sending MOVE until the server's MOVE for
+ * it comes back. Both paths run once to warm up before the measured round.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar serverController.GatewayLatency
+ * [--pairs=N] [--games=N] [--links=N] [--port=P]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class GatewayLatency {
+
+  /** One bot: plays its games over one connection and records each move's latency. */
+  private static final class Bot extends BotPlayer {
+    private final int games;
+    private int played;
+    private long sentAt;
+
+    Bot(String name, int port, int games, CountDownLatch done) {
+      super(name, port, done);
+      this.games = games;
+    }
+
+    @Override
+    protected boolean keepPlaying() {
+      return played < games;
+    }
+
+    @Override
+    protected void turn(long game) {
+      sentAt = System.nanoTime();
+      move(game, firstFree(game));
+    }
+
+    @Override
+    protected void moved(long game, boolean own) {
+      if (own && sentAt != 0) {
+        record(System.nanoTime() - sentAt);
+        sentAt = 0;
+      }
+    }
+
+    @Override
+    protected void ended(long game) {
+      if (++played < games) {
+        send(ClientMessageBuilder.rematch());
+      }
+    }
+  }
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args optional {@code --pairs}, {@code --games}, {@code --links} and {@code --port}
+   * @throws Exception if interrupted or a server cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int pairs = 10;
+    int games = 200;
+    int links = 2;
+    int port = 18080;
+    for (String arg : args) {
+      if (arg.startsWith("--pairs=")) {
+        pairs = Integer.parseInt(arg.substring("--pairs=".length()));
+      } else if (arg.startsWith("--games=")) {
+        games = Integer.parseInt(arg.substring("--games=".length()));
+      } else if (arg.startsWith("--links=")) {
+        links = Integer.parseInt(arg.substring("--links=".length()));
+      } else if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    Server server = BotPlayer.startServer(port);
+    Gateway gateway = new Gateway(0, List.of("localhost:" + port), links);
+    new Thread(gateway, "Gateway").start();
+    Thread.sleep(300);
+
+    run("warm-up direct", port, pairs, games);
+    run("warm-up gateway", gateway.getPort(), pairs, games);
+    long[] direct = run("direct", port, pairs, games);
+    long[] routed = run("gateway", gateway.getPort(), pairs, games);
+
+    System.out.printf(
+        "%d pairs, %d links: gateway adds %.1f us at p50 and %.1f us at p99 per move%n",
+        pairs,
+        links,
+        (BotPlayer.percentile(routed, 0.5) - BotPlayer.percentile(direct, 0.5)) / 1e3,
+        (BotPlayer.percentile(routed, 0.99) - BotPlayer.percentile(direct, 0.99)) / 1e3);
+
+    gateway.terminate();
+    server.terminate();
+    System.exit(0);
+  }
+
+  /** Plays one round on the given port and returns the sorted move latencies in nanoseconds. */
+  private static long[] run(String label, int port, int pairs, int games) throws Exception {
+    CountDownLatch done = new CountDownLatch(pairs * 2);
+    Bot[] bots = new Bot[pairs * 2];
+    long start = System.nanoTime();
+    for (int i = 0; i < bots.length; i++) {
+      bots[i] = new Bot(label.replace(' ', '-') + i, port, games, done);
+      BotPlayer.start(bots[i]);
+    }
+    done.await();
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    long[] latencies = BotPlayer.samples(bots);
+    System.out.printf(
+        "  %-16s %6d moves in %5.2f s  p50 %7.1f  p90 %7.1f  p99 %8.1f  max %8.1f us%n",
+        label,
+        latencies.length,
+        seconds,
+        BotPlayer.percentile(latencies, 0.5) / 1e3,
+        BotPlayer.percentile(latencies, 0.9) / 1e3,
+        BotPlayer.percentile(latencies, 0.99) / 1e3,
+        latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e3);
+    // Let the server log the bots out before the next round
+    Thread.sleep(300);
+    return latencies;
+  }
+}
@@ -0,0 +1,57 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pairing throughput of one {@link MatchMaker} pass over a queue of waiting players, including
+ * GameManager set-up and the START messages.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchMakerBenchmark {
+
+  @Param({"2", "100", "1000"})
+  public int queued;
+
+  private Server server;
+  private MatchMaker matchMaker;
+
+  @Setup(Level.Invocation)
+  public void fillQueue() {
+    server = new Server(0, false);
+    matchMaker = new MatchMaker(server, false);
+    for (int i = 0; i < queued; i++) {
+      FakeSocket.login(server, "player" + i);
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void stopGames() {
+    server.terminate();
+  }
+
+  @Benchmark
+  public int matchPlayers() {
+    return matchMaker.matchPlayers();
+  }
+}
@@ -0,0 +1,72 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of rejecting an invalid MOVE line, from {@link Connection#handleMessage} to the ERROR
+ * written back. X has taken the center and O is to move; X keeps sending moves, and every one of
+ * them is refused.
+ *
+ * <p>{@code malformed} has non-numeric coordinates, {@code outOfRange} lies off the board, {@code
+ * outOfTurn} is a free cell while O is to move, and {@code occupied} is X's own center. Run with
+ * {@code -prof gc}: the rejection itself allocates nothing, so what remains is the PrintWriter's
+ * encoding of the reply.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveRejectBenchmark {
+
+  @Param({"malformed", "outOfRange", "outOfTurn", "occupied"})
+  public String kind;
+
+  private Server server;
+  private Connection spammer;
+  private String line;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = new Server(0, false);
+    Connection alice = FakeSocket.login(server, "Alice");
+    Connection bob = FakeSocket.login(server, "Bob");
+    GameManager game = server.startGame(alice, bob);
+    spammer = game.getPlayerCross();
+    spammer.handleMessage("MOVE 1 1");
+    line =
+        switch (kind) {
+          case "malformed" -> "MOVE a b";
+          case "outOfRange" -> "MOVE 7 -1";
+          case "outOfTurn" -> "MOVE 0 0";
+          default -> "MOVE 1 1";
+        };
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.terminate();
+  }
+
+  @Benchmark
+  public boolean reject() {
+    return spammer.handleMessage(line);
+  }
+}
@@ -0,0 +1,112 @@
+package serverController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server threads and sockets while each player plays many games at once over one connection.
+ *
+ * <p>Starts a real server on a local port and connects bot players over TCP. Every bot logs in
+ * once and JOINs {@code --games} named queues, so the matchmaker puts it into that many tagged
+ * games at the same time. Bots play the first free cell, addressing each game by its id. The run
+ * reports the peak number of live games against the server's thread and socket counts, which stay
+ * at one per player however many games each player has.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar serverController.MultiGameSessions
+ * [--players=N] [--games=N] [--port=P]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class MultiGameSessions {
+
+  /** One bot: joins its queues once and plays a tagged game in each until all have ended. */
+  private static final class Bot extends BotPlayer {
+    private final int queues;
+    private final AtomicInteger finished;
+    private int ended;
+
+    Bot(String name, int port, int queues, CountDownLatch done, AtomicInteger finished) {
+      super(name, port, done);
+      this.queues = queues;
+      this.finished = finished;
+    }
+
+    @Override
+    protected boolean keepPlaying() {
+      return ended < queues;
+    }
+
+    @Override
+    protected void loggedIn() {
+      // Joining takes the bot out of the login queue, so it only gets tagged games
+      for (int i = 0; i < queues; i++) {
+        send(ClientMessageBuilder.join("q" + i));
+      }
+    }
+
+    @Override
+    protected void ended(long game) {
+      ended++;
+      finished.incrementAndGet();
+    }
+  }
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args optional {@code --players}, {@code --games} and {@code --port}
+   * @throws InterruptedException if interrupted while the bots play
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int players = 100;
+    int games = 20;
+    int port = 18080;
+    for (String arg : args) {
+      if (arg.startsWith("--players=")) {
+        players = Integer.parseInt(arg.substring("--players=".length()));
+      } else if (arg.startsWith("--games=")) {
+        games = Integer.parseInt(arg.substring("--games=".length()));
+      } else if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    int baseline = Thread.activeCount();
+    Server server = BotPlayer.startServer(port);
+    Thread.sleep(200);
+    int idle = Thread.activeCount() - baseline;
+
+    CountDownLatch done = new CountDownLatch(players);
+    AtomicInteger finished = new AtomicInteger();
+    for (int i = 0; i < players; i++) {
+      BotPlayer.start(new Bot("bot" + i, port, games, done, finished));
+    }
+
+    long start = System.nanoTime();
+    int peakGames = 0;
+    int peakThreads = 0;
+    int peakConnections = 0;
+    while (done.getCount() > 0 && System.nanoTime() - start < 120_000_000_000L) {
+      Thread.sleep(20);
+      peakGames = Math.max(peakGames, server.getGames().size());
+      peakConnections = Math.max(peakConnections, server.getConnections().size());
+      // Bot threads are still alive until the latch is down
+      peakThreads = Math.max(peakThreads, Thread.activeCount() - baseline - idle - players);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(
+        "%d players x %d concurrent games: %d games finished in %.1f s%n",
+        players, games, finished.get() / 2, seconds);
+    System.out.printf(
+        "peak live games %d, peak connections %d, peak connection threads %d (%.1f games per"
+            + " socket)%n",
+        peakGames, peakConnections, peakThreads, peakGames * 2.0 / Math.max(1, peakConnections));
+
+    server.terminate();
+    System.exit(0);
+  }
+}
@@ -0,0 +1,62 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Duplicate-name check performed on every HELLO, measured against growing numbers of logged-in
+ * players. Half of the players are queued, the other half are paired into games.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameExistsBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int players;
+
+  private Server server;
+  private String existingName;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = new Server(0, false);
+    for (int i = 0; i < players; i += 2) {
+      Connection first = FakeSocket.login(server, "player" + i);
+      Connection second = FakeSocket.login(server, "player" + (i + 1));
+      if (i < players / 2) {
+        server.removeConnection(first);
+        server.removeConnection(second);
+        server.addGame(new GameManager(first, second, server));
+      }
+    }
+    existingName = "player" + (players - 1);
+  }
+
+  @Benchmark
+  public boolean existingName() {
+    return server.nameExists(existingName);
+  }
+
+  @Benchmark
+  public boolean newName() {
+    return server.nameExists("newcomer");
+  }
+}
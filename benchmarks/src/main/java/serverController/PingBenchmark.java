@@ -0,0 +1,81 @@
+package serverController;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-connection cost of round-trip probing over many logged-in connections.
+ *
+ * <p>{@code walk} is a {@link Pinger} pass in which no connection is due, which is what nine of
+ * ten passes are. {@code probe} is a pass that pings every connection plus handling each one's PONG
+ * on the reading side, so it includes formatting, the connection's trace and the RTT update. The
+ * Pinger has no sender threads here, so the benchmark thread writes the PINGs itself.
+ * Results are per connection. Both passes are linear in the number of connections, so a probe
+ * every five seconds on 100k connections costs {@code 20000 * probe + 180000 * walk} of CPU time
+ * per second.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PingBenchmark {
+
+  private static final int CONNECTIONS = 100_000;
+  private static final long INTERVAL_MILLIS = 5000;
+
+  private Server server;
+  private Pinger pinger;
+  private Connection[] connections;
+  private long now;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = new Server(0, false);
+    pinger = new Pinger(server, INTERVAL_MILLIS, 6 * INTERVAL_MILLIS, false);
+    connections = new Connection[CONNECTIONS];
+    for (int i = 0; i < CONNECTIONS; i++) {
+      connections[i] = FakeSocket.login(server, "player" + i);
+    }
+    now = System.nanoTime();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pinger.terminate();
+    server.terminate();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CONNECTIONS)
+  public int walk() {
+    return pinger.sweep(now);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CONNECTIONS)
+  public int probe() {
+    now += INTERVAL_MILLIS * 1_000_000L;
+    int sent = pinger.sweep(now);
+    for (Connection connection : connections) {
+      connection.handleMessage("PONG " + connection.getPingSentAt());
+    }
+    return sent;
+  }
+}
@@ -0,0 +1,161 @@
+package serverController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time a game takes with and without premoves.
+ *
+ * <p>Starts a real server on a local port. Pairs of bot players play the first free cell until each
+ * has finished {@code --games} games, with a REMATCH after each one, once answering every
+ * YOUR_TURN with a MOVE and once queueing a PREMOVE as soon as their own move comes back: the cell
+ * after the one the opponent is going to take. A premove is played by the thread applying the
+ * opponent's move, so that move costs no YOUR_TURN round trip. A game's time runs from START to
+ * its result at the X player. Both modes run once to warm up before the measured round.
+ *
+ * <p>Usage: {@code java -cp benchmarks/target/benchmarks.jar serverController.PremoveLatency
+ * [--pairs=N] [--games=N] [--port=P]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class PremoveLatency {
+
+  private static final AtomicInteger errors = new AtomicInteger();
+
+  /** One bot: plays its games over one connection and records each game's time as X. */
+  private static final class Bot extends BotPlayer {
+    private final int games;
+    private final boolean premoves;
+    private int played;
+    private boolean cross;
+    private boolean queued;
+    private long startedAt;
+
+    Bot(String name, int port, int games, boolean premoves, CountDownLatch done) {
+      super(name, port, done);
+      this.games = games;
+      this.premoves = premoves;
+    }
+
+    @Override
+    protected boolean keepPlaying() {
+      return played < games;
+    }
+
+    @Override
+    protected void started(long game, boolean cross) {
+      this.cross = cross;
+      queued = false;
+      startedAt = System.nanoTime();
+    }
+
+    @Override
+    protected void moved(long game, boolean own) {
+      if (!own) {
+        return;
+      }
+      queued = false;
+      // The opponent takes the first free cell, so queue the one after it
+      int free = ~board(game) & 0x1FF;
+      free &= free - 1;
+      if (premoves && free != 0) {
+        int cell = Integer.numberOfTrailingZeros(free);
+        send(ClientMessageBuilder.premove(cell / 3, cell % 3));
+        queued = true;
+      }
+    }
+
+    @Override
+    protected void turn(long game) throws InterruptedException {
+      // A queued premove that arrives on this turn is played as a move
+      if (!queued) {
+        super.turn(game);
+      }
+    }
+
+    @Override
+    protected void ended(long game) {
+      if (cross) {
+        record(System.nanoTime() - startedAt);
+      }
+      if (++played < games) {
+        send(ClientMessageBuilder.rematch());
+      }
+    }
+
+    @Override
+    protected void error(String line) {
+      errors.incrementAndGet();
+      super.error(line);
+    }
+  }
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args optional {@code --pairs}, {@code --games} and {@code --port}
+   * @throws Exception if interrupted or a server cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int pairs = 10;
+    int games = 200;
+    int port = 18080;
+    for (String arg : args) {
+      if (arg.startsWith("--pairs=")) {
+        pairs = Integer.parseInt(arg.substring("--pairs=".length()));
+      } else if (arg.startsWith("--games=")) {
+        games = Integer.parseInt(arg.substring("--games=".length()));
+      } else if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    Server server = BotPlayer.startServer(port);
+    Thread.sleep(300);
+
+    run("warm-up moves", port, pairs, games, false);
+    run("warm-up premoves", port, pairs, games, true);
+    long[] moves = run("moves", port, pairs, games, false);
+    long[] premoves = run("premoves", port, pairs, games, true);
+
+    System.out.printf(
+        "%d pairs: premoves save %.1f us at p50 and %.1f us at p99 per game, %d errors%n",
+        pairs,
+        (BotPlayer.percentile(moves, 0.5) - BotPlayer.percentile(premoves, 0.5)) / 1e3,
+        (BotPlayer.percentile(moves, 0.99) - BotPlayer.percentile(premoves, 0.99)) / 1e3,
+        errors.get());
+
+    server.terminate();
+    System.exit(errors.get() == 0 ? 0 : 1);
+  }
+
+  /** Plays one round and returns the sorted game times in nanoseconds. */
+  private static long[] run(String label, int port, int pairs, int games, boolean premoves)
+      throws Exception {
+    CountDownLatch done = new CountDownLatch(pairs * 2);
+    Bot[] bots = new Bot[pairs * 2];
+    long start = System.nanoTime();
+    for (int i = 0; i < bots.length; i++) {
+      bots[i] = new Bot(label.replace(' ', '-') + i, port, games, premoves, done);
+      BotPlayer.start(bots[i]);
+    }
+    done.await();
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    long[] times = BotPlayer.samples(bots);
+    System.out.printf(
+        "  %-16s %6d games in %5.2f s  p50 %7.1f  p90 %7.1f  p99 %8.1f us%n",
+        label,
+        times.length,
+        seconds,
+        BotPlayer.percentile(times, 0.5) / 1e3,
+        BotPlayer.percentile(times, 0.9) / 1e3,
+        BotPlayer.percentile(times, 0.99) / 1e3);
+    // Let the server log the bots out before the next round
+    Thread.sleep(300);
+    return times;
+  }
+}
@@ -0,0 +1,233 @@
+package serverController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Player move latency while thousands of spectators watch the game.
+ *
+ * <p>Plays the same nine-move draw over and over between two players. Before each game every
+ * spectator sends WATCH and the players wait until the boards are out; then each {@link
+ * GameManager#playerMove} call is timed on the player's thread, with a short think time between
+ * moves. A few spectators never drain their socket, so the run also exercises dropping stalled
+ * spectators. The same number of games is first played without spectators as a baseline. At the
+ * end the messages every healthy spectator received are counted.
+ *
+ * <p>Usage: {@code java -Xmx4g -cp benchmarks/target/benchmarks.jar
+ * serverController.SpectatorLatency [--spectators=N] [--stalled=N] [--games=N] [--think=MS]}.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class SpectatorLatency {
+
+  /** Counts the lines a spectator receives. */
+  private static final class Counter extends OutputStream {
+    private int boards;
+    private int moves;
+    private int results;
+    private int errors;
+    private int lineStart = -1;
+    private byte first;
+
+    @Override
+    public synchronized void write(int b) {
+      if (lineStart < 0) {
+        first = (byte) b;
+        lineStart = 0;
+      }
+      if (b == '\n') {
+        switch (first) {
+          case 'B' -> boards++;
+          case 'M' -> moves++;
+          case 'D', 'W' -> results++;
+          default -> errors++;
+        }
+        lineStart = -1;
+      }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        write(bytes[i]);
+      }
+    }
+
+    synchronized int results() {
+      return results;
+    }
+
+    synchronized int joins() {
+      return boards + errors;
+    }
+  }
+
+  /** A spectator whose socket never accepts data; writes block until the socket is closed. */
+  private static final class Stalled extends OutputStream {
+    private boolean closed;
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+      while (!closed) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      throw new IOException("closed");
+    }
+
+    @Override
+    public synchronized void close() {
+      closed = true;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Runs the measurement.
+   *
+   * @param args optional {@code --spectators}, {@code --stalled}, {@code --games} and {@code
+   *     --think}
+   * @throws Exception if interrupted
+   */
+  public static void main(String[] args) throws Exception {
+    int spectators = 10_000;
+    int stalled = 8;
+    int games = 200;
+    int think = 10;
+    for (String arg : args) {
+      if (arg.startsWith("--spectators=")) {
+        spectators = Integer.parseInt(arg.substring("--spectators=".length()));
+      } else if (arg.startsWith("--stalled=")) {
+        stalled = Integer.parseInt(arg.substring("--stalled=".length()));
+      } else if (arg.startsWith("--games=")) {
+        games = Integer.parseInt(arg.substring("--games=".length()));
+      } else if (arg.startsWith("--think=")) {
+        think = Integer.parseInt(arg.substring("--think=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    if (System.getProperty("tictactoe.spectator.stallMillis") == null) {
+      System.setProperty("tictactoe.spectator.stallMillis", "200");
+    }
+
+    Server server = new Server(0, false);
+    Connection alice = FakeSocket.login(server, "Alice");
+    Connection bob = FakeSocket.login(server, "Bob");
+    server.removeConnection(alice);
+    server.removeConnection(bob);
+
+    // Warm up and baseline
+    Counter[] none = new Counter[0];
+    play(server, alice, bob, new Connection[0], none, games, think);
+    long[] baseline = play(server, alice, bob, new Connection[0], none, games, think);
+
+    Counter[] counters = new Counter[spectators];
+    Connection[] watchers = new Connection[spectators + stalled];
+    for (int i = 0; i < spectators; i++) {
+      counters[i] = new Counter();
+      watchers[i] = new Connection(server, new FakeSocket(counters[i]));
+    }
+    for (int i = 0; i < stalled; i++) {
+      watchers[spectators + i] = new Connection(server, new FakeSocket(new Stalled()));
+    }
+
+    long start = System.nanoTime();
+    long[] watched = play(server, alice, bob, watchers, counters, games, think);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    // Wait for the fan-out to finish
+    long deadline = System.nanoTime() + 60_000_000_000L;
+    long received;
+    do {
+      Thread.sleep(50);
+      received = 0;
+      for (Counter counter : counters) {
+        received += counter.results();
+      }
+    } while (received < (long) spectators * games && System.nanoTime() < deadline);
+    double drained = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf("move latency, %d games of 9 moves (us):%n", games);
+    print("no spectators", baseline);
+    print(spectators + " spectators + " + stalled + " stalled", watched);
+
+    long boards = 0;
+    long moves = 0;
+    long results = 0;
+    long errors = 0;
+    for (Counter counter : counters) {
+      synchronized (counter) {
+        boards += counter.boards;
+        moves += counter.moves;
+        results += counter.results;
+        errors += counter.errors;
+      }
+    }
+    System.out.printf(
+        "games with spectators played in %.2f s, all events delivered after %.2f s%n",
+        seconds, drained);
+    System.out.printf(
+        "delivered: %d boards, %d moves, %d results, %d errors (expected %d results);"
+            + " %d spectators still watching%n",
+        boards, moves, results, errors, (long) spectators * games, server.getSpectators().size());
+
+    server.terminate();
+    System.exit(0);
+  }
+
+  /** Plays games with the given spectators and returns every move's latency in nanoseconds. */
+  private static long[] play(
+      Server server,
+      Connection alice,
+      Connection bob,
+      Connection[] watchers,
+      Counter[] counters,
+      int games,
+      int think)
+      throws InterruptedException {
+    long[] latencies = new long[games * GameScripts.DRAW.length];
+    int next = 0;
+    for (int game = 0; game < games; game++) {
+      GameManager gameManager = server.startGame(alice, bob);
+      for (Connection watcher : watchers) {
+        watcher.handleMessage("WATCH Alice");
+      }
+      awaitJoins(counters, game + 1);
+      for (int i = 0; i < GameScripts.DRAW.length; i++) {
+        Thread.sleep(think);
+        long begin = System.nanoTime();
+        GameScripts.play(gameManager, GameScripts.DRAW, i);
+        latencies[next++] = System.nanoTime() - begin;
+      }
+    }
+    return latencies;
+  }
+
+  /** Waits until every healthy spectator got its BOARD (or an error) for the given game. */
+  private static void awaitJoins(Counter[] counters, int games) throws InterruptedException {
+    for (Counter counter : counters) {
+      while (counter.joins() < games) {
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  private static void print(String label, long[] latencies) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    System.out.printf(
+        "  %-32s p50 %7.2f  p99 %7.2f  p99.9 %7.2f  max %8.2f%n",
+        label,
+        sorted[sorted.length / 2] / 1e3,
+        sorted[(int) (sorted.length * 0.99)] / 1e3,
+        sorted[(int) (sorted.length * 0.999)] / 1e3,
+        sorted[sorted.length - 1] / 1e3);
+  }
+}
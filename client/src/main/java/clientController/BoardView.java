@@ -0,0 +1,90 @@
+package clientController;
+
+/**
+ * The game board as the {@link Controller} sees it, whatever node draws it. Cells are addressed by
+ * row and column; every method takes constant time, so a move costs the same on any board size.
+ *
+ * <p>{@code layout.fxml} picks the implementation: {@link ButtonBoard} with one button per cell,
+ * or {@link CanvasBoard}, which paints all cells on one canvas and suits large boards.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public interface BoardView {
+
+  /** Receives clicks on cells. */
+  @FunctionalInterface
+  interface CellHandler {
+
+    /**
+     * @param x row index of the clicked cell
+     * @param y column index of the clicked cell
+     */
+    void cellClicked(int x, int y);
+  }
+
+  /**
+   * @return the number of rows, which equals the number of columns
+   */
+  int getSize();
+
+  /**
+   * Sets what happens when the player clicks a cell; clicks on a disabled board are ignored.
+   *
+   * @param handler the click handler
+   */
+  void setOnCellClicked(CellHandler handler);
+
+  /** Empties every cell and drops the premove highlight. */
+  void reset();
+
+  /**
+   * @param x row index
+   * @param y column index
+   * @return whether the cell holds no mark
+   */
+  boolean isFree(int x, int y);
+
+  /**
+   * Puts a mark into a cell.
+   *
+   * @param x row index
+   * @param y column index
+   * @param symbol the mark, "X" or "O"
+   * @param own whether the mark is the player's own, which is drawn in the accent color
+   */
+  void mark(int x, int y, String symbol, boolean own);
+
+  /**
+   * Shows the player's own move before the server confirmed it, in a lighter color. {@link #mark}
+   * confirms it and {@link #clear} takes it back.
+   *
+   * @param x row index
+   * @param y column index
+   * @param symbol the player's mark, "X" or "O"
+   */
+  void markPending(int x, int y, String symbol);
+
+  /**
+   * Empties one cell, e.g. to take back a move the server refused.
+   *
+   * @param x row index
+   * @param y column index
+   */
+  void clear(int x, int y);
+
+  /**
+   * Highlights the cell of the queued premove, replacing the previous highlight.
+   *
+   * @param x row index, or -1 to remove the highlight
+   * @param y column index
+   */
+  void setPremove(int x, int y);
+
+  /**
+   * Enables or disables clicks on the board; implemented by the board's node.
+   *
+   * @param disable whether clicks are ignored
+   */
+  void setDisable(boolean disable);
+}
@@ -0,0 +1,124 @@
+package clientController;
+
+import javafx.scene.control.Button;
+import javafx.scene.layout.GridPane;
+
+/**
+ * Board with one styled {@link Button} per cell. The buttons are kept in an array indexed by cell,
+ * so a move finds its button without walking the grid's children.
+ *
+ * <p>Every cell is a node of the scene graph, which is fine for the 3×3 game; use {@link
+ * CanvasBoard} for large boards.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class ButtonBoard extends GridPane implements BoardView {
+
+  private static final String EMPTY_STYLE =
+      "-fx-background-color: white; -fx-border-color: #b0bec5; -fx-font-size: 24px;"
+          + " -fx-font-weight: bold;";
+  private static final String PENDING_STYLE =
+      "-fx-text-fill: #90caf9; -fx-font-size: 24px; -fx-font-weight: bold;";
+  private static final String PREMOVE_STYLE =
+      "-fx-background-color: #e3f2fd; -fx-border-color: #1976d2; -fx-border-width: 2;"
+          + " -fx-font-size: 24px; -fx-font-weight: bold;";
+
+  private int size;
+  private Button[] cells = new Button[0];
+  private int premove = -1;
+  private CellHandler handler = (x, y) -> {};
+
+  /** Creates a 3×3 board. */
+  public ButtonBoard() {
+    setSize(3);
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Rebuilds the board with the given number of rows and columns; settable from FXML.
+   *
+   * @param size the number of rows
+   */
+  public void setSize(int size) {
+    this.size = size;
+    getChildren().clear();
+    cells = new Button[size * size];
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        Button button = new Button();
+        button.setMinSize(100, 100);
+        button.setStyle(EMPTY_STYLE);
+        int row = x;
+        int column = y;
+        button.setOnAction(event -> handler.cellClicked(row, column));
+        cells[x * size + y] = button;
+        add(button, y, x);
+      }
+    }
+    premove = -1;
+  }
+
+  @Override
+  public void setOnCellClicked(CellHandler handler) {
+    this.handler = handler;
+  }
+
+  @Override
+  public void reset() {
+    for (Button button : cells) {
+      button.setText("");
+      button.setStyle(EMPTY_STYLE);
+    }
+    premove = -1;
+  }
+
+  @Override
+  public boolean isFree(int x, int y) {
+    return cells[x * size + y].getText().isEmpty();
+  }
+
+  @Override
+  public void mark(int x, int y, String symbol, boolean own) {
+    int cell = x * size + y;
+    if (cell == premove) {
+      premove = -1;
+    }
+    cells[cell].setText(symbol);
+    cells[cell].setStyle(
+        "-fx-text-fill: "
+            + (own ? "#1976d2" : "#616161")
+            + "; -fx-font-size: 24px; -fx-font-weight: bold;");
+  }
+
+  @Override
+  public void markPending(int x, int y, String symbol) {
+    int cell = x * size + y;
+    if (cell == premove) {
+      premove = -1;
+    }
+    cells[cell].setText(symbol);
+    cells[cell].setStyle(PENDING_STYLE);
+  }
+
+  @Override
+  public void clear(int x, int y) {
+    cells[x * size + y].setText("");
+    cells[x * size + y].setStyle(EMPTY_STYLE);
+  }
+
+  @Override
+  public void setPremove(int x, int y) {
+    if (premove >= 0 && cells[premove].getText().isEmpty()) {
+      cells[premove].setStyle(EMPTY_STYLE);
+    }
+    premove = x < 0 ? -1 : x * size + y;
+    if (premove >= 0) {
+      cells[premove].setStyle(PREMOVE_STYLE);
+    }
+  }
+}
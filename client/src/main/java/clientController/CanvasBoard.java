@@ -0,0 +1,183 @@
+package clientController;
+
+import java.util.Arrays;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Board painted on a single {@link Canvas}, for boards far larger than 3×3.
+ *
+ * <p>The marks live in a byte per cell. A click is mapped to its cell by dividing the coordinates
+ * by the cell size, and a change repaints only the changed cell; the canvas keeps the rest of its
+ * pixels, so a move costs the same on a 3×3 and a 100×100 board. The whole board is painted only
+ * when it is reset or resized. The scene graph holds one node however large the board is.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class CanvasBoard extends Canvas implements BoardView {
+
+  private static final byte EMPTY = 0;
+  private static final byte CROSS = 1;
+  private static final byte CIRCLE = 2;
+  private static final byte OWN = 4;
+  private static final byte PENDING = 8;
+
+  private static final Color BACKGROUND = Color.WHITE;
+  private static final Color GRID = Color.web("#b0bec5");
+  private static final Color ACCENT = Color.web("#1976d2");
+  private static final Color OTHER = Color.web("#616161");
+  private static final Color PENDING_COLOR = Color.web("#90caf9");
+  private static final Color PREMOVE = Color.web("#e3f2fd");
+
+  private int size = 3;
+  private double cellSize = 100;
+  private byte[] cells = new byte[size * size];
+  private int premove = -1;
+  private CellHandler handler = (x, y) -> {};
+
+  /** Creates a 3×3 board with 100-pixel cells. */
+  public CanvasBoard() {
+    setOnMouseClicked(
+        event -> {
+          int x = (int) (event.getY() / cellSize);
+          int y = (int) (event.getX() / cellSize);
+          if (x >= 0 && x < size && y >= 0 && y < size) {
+            handler.cellClicked(x, y);
+          }
+        });
+    resize();
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Sets the number of rows and columns and clears the board; settable from FXML.
+   *
+   * @param size the number of rows
+   */
+  public void setSize(int size) {
+    this.size = size;
+    resize();
+  }
+
+  /**
+   * @return the width and height of one cell in pixels
+   */
+  public double getCellSize() {
+    return cellSize;
+  }
+
+  /**
+   * Sets the width and height of one cell and clears the board; settable from FXML.
+   *
+   * @param cellSize the cell size in pixels
+   */
+  public void setCellSize(double cellSize) {
+    this.cellSize = cellSize;
+    resize();
+  }
+
+  @Override
+  public void setOnCellClicked(CellHandler handler) {
+    this.handler = handler;
+  }
+
+  @Override
+  public void reset() {
+    if (cells.length != size * size) {
+      cells = new byte[size * size];
+    } else {
+      Arrays.fill(cells, EMPTY);
+    }
+    premove = -1;
+    GraphicsContext g = getGraphicsContext2D();
+    g.setFill(BACKGROUND);
+    g.fillRect(0, 0, getWidth(), getHeight());
+    for (int cell = 0; cell < cells.length; cell++) {
+      paint(cell);
+    }
+  }
+
+  @Override
+  public boolean isFree(int x, int y) {
+    return cells[x * size + y] == EMPTY;
+  }
+
+  @Override
+  public void mark(int x, int y, String symbol, boolean own) {
+    int cell = x * size + y;
+    cells[cell] = (byte) ((symbol.equals("X") ? CROSS : CIRCLE) | (own ? OWN : 0));
+    if (cell == premove) {
+      premove = -1;
+    }
+    paint(cell);
+  }
+
+  @Override
+  public void markPending(int x, int y, String symbol) {
+    int cell = x * size + y;
+    cells[cell] = (byte) ((symbol.equals("X") ? CROSS : CIRCLE) | PENDING);
+    if (cell == premove) {
+      premove = -1;
+    }
+    paint(cell);
+  }
+
+  @Override
+  public void clear(int x, int y) {
+    int cell = x * size + y;
+    cells[cell] = EMPTY;
+    paint(cell);
+  }
+
+  @Override
+  public void setPremove(int x, int y) {
+    int previous = premove;
+    premove = x < 0 ? -1 : x * size + y;
+    if (previous >= 0) {
+      paint(previous);
+    }
+    if (premove >= 0) {
+      paint(premove);
+    }
+  }
+
+  /** Adapts the canvas to the board's size and paints the empty board. */
+  private void resize() {
+    setWidth(size * cellSize);
+    setHeight(size * cellSize);
+    reset();
+  }
+
+  /** Repaints one cell: background, border and mark. */
+  private void paint(int cell) {
+    GraphicsContext g = getGraphicsContext2D();
+    double left = (cell % size) * cellSize;
+    double top = (cell / size) * cellSize;
+    byte mark = cells[cell];
+
+    g.setFill(cell == premove && mark == EMPTY ? PREMOVE : BACKGROUND);
+    g.fillRect(left, top, cellSize, cellSize);
+    g.setStroke(cell == premove && mark == EMPTY ? ACCENT : GRID);
+    g.setLineWidth(1);
+    g.strokeRect(left + 0.5, top + 0.5, cellSize - 1, cellSize - 1);
+    if (mark == EMPTY) {
+      return;
+    }
+
+    double inset = cellSize * 0.25;
+    g.setStroke((mark & PENDING) != 0 ? PENDING_COLOR : (mark & OWN) != 0 ? ACCENT : OTHER);
+    g.setLineWidth(Math.max(1, cellSize / 16));
+    if ((mark & CROSS) != 0) {
+      g.strokeLine(left + inset, top + inset, left + cellSize - inset, top + cellSize - inset);
+      g.strokeLine(left + cellSize - inset, top + inset, left + inset, top + cellSize - inset);
+    } else {
+      g.strokeOval(left + inset, top + inset, cellSize - 2 * inset, cellSize - 2 * inset);
+    }
+  }
+}
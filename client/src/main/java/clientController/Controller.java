@@ -2,17 +2,13 @@ package clientController;
 
 import clientEnumUtils.ClientMessageBuilder;
 import enums.ServerMessages;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
-import java.util.Objects;
-
-import javafx.application.Platform;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,23 +26,45 @@ public class Controller {
 
   private static final Logger log = LoggerFactory.getLogger(Controller.class);
 
+  /** Server or gateway to connect to, {@code -Dtictactoe.host} and {@code -Dtictactoe.port}. */
+  private static final String SERVER_HOST = System.getProperty("tictactoe.host", "localhost");
+
+  private static final int SERVER_PORT = Integer.getInteger("tictactoe.port", 8080);
+
+  /**
+   * Whether a click during the opponent's turn queues a premove, {@code -Dtictactoe.premoves}
+   * (default true).
+   */
+  private static final boolean PREMOVES =
+      Boolean.parseBoolean(System.getProperty("tictactoe.premoves", "true"));
+
   @FXML private TextField usernameField;
+  @FXML private TextField watchField;
   @FXML private VBox loginScreen;
   @FXML private VBox waitingScreen;
   @FXML private VBox gameScreen;
-  @FXML private GridPane gameGrid;
+  @FXML private BoardView board;
+  @FXML private HBox afterGameButtons;
   @FXML private Label statusLabel;
   @FXML private Label playerLabel;
   @FXML private Label opponentLabel;
 
-  private Socket socket;
-  private BufferedReader in;
-  private PrintWriter out;
+  @FXML private Label connectionLabel;
+
+  private ServerLink link;
+  private AnimationTimer frames;
+  private final List<ServerLink.Event> events = new ArrayList<>();
   private String username;
   private String opponent;
   private String mySymbol;
   private String opponentSymbol;
   private boolean isMyTurn = false;
+  private boolean playing = false;
+  private int premoveCell = -1;
+  private int pendingCell = -1;
+  private LocalRules rules;
+  private boolean spectating = false;
+  private String crossName;
 
   /** Initializes the controller after FXML loading. Sets up the empty game grid. */
   @FXML
@@ -56,27 +74,17 @@ public class Controller {
   }
 
   /**
-   * Creates the 3×3 grid of buttons used for the Tic Tac Toe board. Each button, when clicked, will
-   * attempt to send a move to the server.
+   * Connects the board from the layout to the move handling: a click on a cell attempts to send a
+   * move to the server.
    */
   private void initializeGameGrid() {
-    gameGrid.getChildren().clear();
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 3; j++) {
-        Button button = new Button();
-        button.setMinSize(100, 100);
-        button.setStyle(
-            "-fx-background-color: white; -fx-border-color: #b0bec5; -fx-font-size: 24px; -fx-font-weight: bold;");
-        int finalI = i, finalJ = j;
-        button.setOnAction(event -> makeMove(finalI, finalJ, button));
-        gameGrid.add(button, j, i);
-      }
-    }
+    rules = new LocalRules(board.getSize());
+    board.setOnCellClicked(this::makeMove);
   }
 
   /**
-   * Handles the Login button click. Validates the username, connects to the server, sends HELLO,
-   * and processes the response.
+   * Handles the Login button click. Validates the username and starts a {@link ServerLink}, which
+   * connects and logs in in the background; the answer arrives with the next frames.
    */
   @FXML
   private void handleLogin() {
@@ -85,163 +93,299 @@ public class Controller {
       showAlert("Please enter your username.");
       return;
     }
+    if (link != null) {
+      return;
+    }
 
     try {
       log.info("Connecting to server...");
-      socket = new Socket("localhost", 8080);
-      in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-      out = new PrintWriter(socket.getOutputStream(), true);
-
-      out.println(ClientMessageBuilder.hello(username));
-      log.info("Sent username to server: {}", username);
-
-      String response = in.readLine();
-      if (response == null) {
-        showAlert("No response from server.");
-        log.error("Null response from server.");
-        return;
+      link = new ServerLink(SERVER_HOST, SERVER_PORT, username);
+    } catch (IOException e) {
+      log.error("Failed to open the server link.", e);
+      showAlert("Failed to connect to server.");
+      return;
+    }
+    link.start();
+    frames =
+        new AnimationTimer() {
+          @Override
+          public void handle(long now) {
+            dispatchEvents();
+          }
+        };
+    frames.start();
+    setConnectionLabel("Connecting...");
+  }
+
+  /**
+   * Handles the Quit button click. While spectating, stops watching and returns to the waiting
+   * screen. Otherwise sends QUIT, closes the server link, and resets the UI to the login screen.
+   */
+  @FXML
+  private void handleQuit() {
+    if (spectating) {
+      send(ClientMessageBuilder.unwatch());
+      log.info("Sent unwatch request to server.");
+      spectating = false;
+      resetGameGrid();
+      showWaitingScreen();
+      statusLabel.setText("");
+      return;
+    }
+    if (link != null) {
+      send(ClientMessageBuilder.quit());
+      log.info("Sent quit request to server.");
+    }
+    stopLink();
+
+    resetGameGrid();
+    showLoginScreen();
+    statusLabel.setText("");
+  }
+
+  /** Handles the Leaderboard button click. Asks the server for the ten best players. */
+  @FXML
+  private void handleLeaderboard() {
+    send(ClientMessageBuilder.leaderboard(10));
+    log.info("Sent leaderboard request to server.");
+  }
+
+  /**
+   * Handles the Play again button after a game. Queues for a new opponent on the same connection.
+   */
+  @FXML
+  private void handlePlayAgain() {
+    send(ClientMessageBuilder.requeue());
+    log.info("Sent requeue request to server.");
+    showAfterGameButtons(false);
+    resetGameGrid();
+    showWaitingScreen();
+    statusLabel.setText("");
+  }
+
+  /**
+   * Handles the Rematch button after a game. Offers the same opponent another game, or accepts
+   * the opponent's offer; the game starts as soon as both have asked.
+   */
+  @FXML
+  private void handleRematch() {
+    send(ClientMessageBuilder.rematch());
+    log.info("Sent rematch request to server.");
+    showAfterGameButtons(false);
+    setStatusLabel("Waiting for " + opponent + " to accept the rematch...");
+  }
+
+  /** Handles the Watch button click. Asks to spectate the game of the entered player. */
+  @FXML
+  private void handleWatch() {
+    String player = watchField.getText().trim();
+    if (!player.isEmpty()) {
+      send(ClientMessageBuilder.watch(player));
+      log.info("Sent watch request for {} to server.", player);
+    }
+  }
+
+  /**
+   * Handles the events the server link queued since the last frame. Runs on the JavaFX application
+   * thread once per pulse, so a burst of messages costs one pass and one layout.
+   */
+  private void dispatchEvents() {
+    if (link == null || link.drain(events) == 0) {
+      return;
+    }
+    for (ServerLink.Event event : events) {
+      if (event.isMessage()) {
+        handleServerMessage(event.message());
+      } else {
+        handleLinkStatus(event.status(), event.message());
       }
+    }
+    events.clear();
+  }
 
-      String[] parts = response.split(" ");
-      ServerMessages messageType = ServerEnumHandler.enumFinder(parts[0]);
+  /**
+   * Updates the UI for one message from the server.
+   *
+   * @param line the server's message
+   */
+  private void handleServerMessage(String line) {
+    log.info("Received message from server: {}", line);
+    String[] parts = line.split(" ");
+    ServerMessages command = ServerEnumHandler.enumFinder(parts[0]);
+    if (command == null) {
+      log.warn("Unknown command received from server: {}", parts[0]);
+      return;
+    }
 
-      if (messageType == ServerMessages.WELCOME) {
+    switch (command) {
+      case WELCOME -> {
+        setConnectionLabel(null);
         showWaitingScreen();
-        new Thread(this::listenToServer).start();
-      } else if (messageType == ServerMessages.ERROR) {
+      }
+      case START -> {
+        spectating = false;
+        playing = true;
+        String player1 = parts[1];
+        String player2 = parts[2];
+        opponent = player1.equals(username) ? player2 : player1;
+
+        mySymbol = player1.equals(username) ? "X" : "O";
+        opponentSymbol = mySymbol.equals("X") ? "O" : "X";
+
+        resetGameGrid();
+        showAfterGameButtons(false);
+        showGameScreen();
+        playerLabel.setText("You: " + username + " (" + mySymbol + ")");
+        opponentLabel.setText("Opponent: " + opponent + " (" + opponentSymbol + ")");
+        setStatusLabel("Waiting...");
+      }
+      case YOUR_TURN -> {
+        isMyTurn = parts[1].equals(username);
+        board.setDisable(!isMyTurn && !PREMOVES);
+        setStatusLabel(isMyTurn ? "Status: Your turn" : "Status: Opponent's turn");
+      }
+      case MOVE -> markMove(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+      case BOARD -> showBoard(parts);
+      case WINNER -> {
+        playing = false;
+        String winner = parts[1];
+        if (spectating) {
+          setStatusLabel(winner + " won");
+        } else {
+          board.setDisable(true);
+          showAfterGameButtons(true);
+          setStatusLabel(winner.equals(username) ? "You won!" : "You lost.");
+          showAlert(winner.equals(username) ? "You won!" : "You lost.");
+        }
+      }
+      case DRAW -> {
+        playing = false;
+        board.setDisable(true);
+        setStatusLabel("Draw");
+        if (!spectating) {
+          showAfterGameButtons(true);
+          showAlert("The game ended in a draw!");
+        }
+      }
+      case ERROR -> {
         StringBuilder errorMessage = new StringBuilder();
         for (int i = 1; i < parts.length; i++) {
           errorMessage.append(parts[i]).append(" ");
         }
-        String errorText = errorMessage.toString().trim();
-        log.warn("Login failed: {}", errorText);
-        showAlert("Error: " + errorText);
-        socket.close();
-      } else {
-        log.error("Unexpected login response: {}", response);
-        showAlert("Unexpected response from server: " + response);
-        socket.close();
+        String error = errorMessage.toString().trim();
+        if (error.equals("Premove cancelled")) {
+          // The opponent took the cell; the turn follows as usual
+          clearPremove();
+        } else {
+          rollBackPendingMove();
+          showAlert("Error: " + error);
+        }
       }
-
-    } catch (IOException e) {
-      log.error("Failed to connect to server.", e);
-      showAlert("Failed to connect to server.");
+      case DISCONNECT -> {
+        playing = false;
+        showAlert("Opponent disconnected.");
+        setStatusLabel("Opponent left the game.");
+        board.setDisable(true);
+      }
+      case REMATCH -> offerRematch(parts[1]);
+      case LEADERBOARD -> {
+        StringBuilder board = new StringBuilder();
+        for (int i = 3; i + 1 < parts.length; i += 2) {
+          board.append((i - 1) / 2).append(". ").append(parts[i]);
+          board.append(" (").append(parts[i + 1]).append(")\n");
+        }
+        String rank = parts[1].equals("0") ? "unranked" : parts[1] + " of " + parts[2];
+        board.append("\nYour rank: ").append(rank);
+        showAlert(board.toString());
+      }
+      default -> log.warn("Unhandled command received from server: {}", parts[0]);
     }
   }
 
   /**
-   * Handles the Quit button click. Sends QUIT, closes the socket, and resets the UI to the login
-   * screen.
+   * Shows a change of the server link's status. A lost connection ends the game in progress, since
+   * the server forfeits it; once the link is back the player waits in the queue again.
+   *
+   * @param status the link's new status
+   * @param reason why the status changed, if known
    */
-  @FXML
-  private void handleQuit() {
-    try {
-      if (out != null) {
-        out.println(ClientMessageBuilder.quit());
-        log.info("Sent quit request to server.");
+  private void handleLinkStatus(ServerLink.Status status, String reason) {
+    switch (status) {
+      case RECONNECTING -> {
+        boolean inGame = playing;
+        playing = false;
+        isMyTurn = false;
+        spectating = false;
+        board.setDisable(true);
+        setConnectionLabel(
+            reason + ", reconnecting..." + (inGame ? " The game in progress is lost." : ""));
       }
-      if (socket != null && !socket.isClosed()) {
-        socket.close();
-        log.info("Socket closed.");
+      case ONLINE -> {
+        setConnectionLabel(null);
+        resetGameGrid();
+        showAfterGameButtons(false);
+        showWaitingScreen();
       }
-    } catch (IOException e) {
-      log.error("Error while closing socket.", e);
+      case REFUSED -> {
+        stopLink();
+        setConnectionLabel(null);
+        showLoginScreen();
+        showAlert("Error: " + reason);
+      }
+      default -> {}
     }
+  }
 
-    Platform.runLater(
-        () -> {
-          resetGameGrid();
-          loginScreen.setVisible(true);
-          waitingScreen.setVisible(false);
-          gameScreen.setVisible(false);
-          statusLabel.setText("");
+  /**
+   * Tells the player that the previous opponent wants a rematch. After the game the Rematch button
+   * accepts; from the waiting screen the player is asked directly.
+   *
+   * @param player the opponent offering the rematch
+   */
+  private void offerRematch(String player) {
+    if (gameScreen.isVisible()) {
+      setStatusLabel(player + " wants a rematch");
+      return;
+    }
+    Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+    alert.setTitle("Rematch");
+    alert.setHeaderText("Rematch");
+    alert.setContentText(player + " wants a rematch. Play again?");
+    // Shown without waiting, since events are handled during a frame
+    alert.setOnHidden(
+        event -> {
+          if (alert.getResult() == ButtonType.OK) {
+            send(ClientMessageBuilder.rematch());
+            log.info("Accepted rematch with {}.", player);
+          }
         });
+    alert.show();
   }
 
   /**
-   * Continuously listens for messages from the server and dispatches handling onto the JavaFX
-   * application thread when UI updates are needed.
+   * Shows a watched game: "BOARD id cross circle cells toMove". Later MOVE messages update it.
+   *
+   * @param parts the split BOARD message
    */
-  private void listenToServer() {
-    try {
-      String line;
-      while ((line = in.readLine()) != null) {
-        log.info("Received message from server: {}", line);
-        String[] parts = line.split(" ");
-        ServerMessages command = ServerEnumHandler.enumFinder(parts[0]);
-
-        switch (Objects.requireNonNull(command)) {
-          case START -> {
-            String player1 = parts[1];
-            String player2 = parts[2];
-            opponent = player1.equals(username) ? player2 : player1;
-
-            mySymbol = player1.equals(username) ? "X" : "O";
-            opponentSymbol = mySymbol.equals("X") ? "O" : "X";
-
-            Platform.runLater(
-                () -> {
-                  showGameScreen();
-                  playerLabel.setText("You: " + username + " (" + mySymbol + ")");
-                  opponentLabel.setText("Opponent: " + opponent + " (" + opponentSymbol + ")");
-                  setStatusLabel("Waiting...");
-                });
-          }
-          case YOUR_TURN -> {
-            isMyTurn = parts[1].equals(username);
-            Platform.runLater(
-                () -> {
-                  gameGrid.setDisable(!isMyTurn);
-                  setStatusLabel(isMyTurn ? "Status: Your turn" : "Status: Opponent's turn");
-                });
-          }
-          case MOVE -> {
-            String player = parts[1];
-            int x = Integer.parseInt(parts[2]);
-            int y = Integer.parseInt(parts[3]);
-            Platform.runLater(() -> markMove(player, x, y));
-          }
-          case WINNER -> {
-            String winner = parts[1];
-            Platform.runLater(
-                () -> {
-                  gameGrid.setDisable(true);
-                  setStatusLabel(winner.equals(username) ? "You won!" : "You lost.");
-                  showAlert(winner.equals(username) ? "You won!" : "You lost.");
-                });
-          }
-          case DRAW ->
-              Platform.runLater(
-                  () -> {
-                    gameGrid.setDisable(true);
-                    setStatusLabel("Draw");
-                    showAlert("The game ended in a draw!");
-                  });
-          case ERROR -> {
-            StringBuilder errorMessage = new StringBuilder();
-            for (int i = 1; i < parts.length; i++) {
-              errorMessage.append(parts[i]).append(" ");
-            }
-            Platform.runLater(() -> showAlert("Error: " + errorMessage.toString().trim()));
-          }
-          case DISCONNECT ->
-              Platform.runLater(
-                  () -> {
-                    showAlert("Opponent disconnected.");
-                    setStatusLabel("Opponent left the game.");
-                    gameGrid.setDisable(true);
-                  });
-          default -> log.warn("Unknown command received from server: {}", parts[0]);
-        }
-      }
-    } catch (IOException e) {
-      if (socket.isClosed()) {
-        log.info("Socket closed, listener thread exiting normally.");
-      } else {
-        log.error("Connection to server lost.", e);
-        Platform.runLater(() -> showAlert("Connection to server lost."));
+  private void showBoard(String[] parts) {
+    spectating = true;
+    crossName = parts[2];
+    String circleName = parts[3];
+    String cells = parts[4];
+    String toMove = parts[5].equals("X") ? crossName : circleName;
+    resetGameGrid();
+    showGameScreen();
+    board.setDisable(true);
+    playerLabel.setText("X: " + crossName);
+    opponentLabel.setText("O: " + circleName);
+    int size = board.getSize();
+    for (int cell = 0; cell < cells.length(); cell++) {
+      char mark = cells.charAt(cell);
+      if (mark != '.') {
+        markMove(mark == 'X' ? crossName : circleName, cell / size, cell % size);
       }
     }
+    setStatusLabel("Watching, " + toMove + " to move");
   }
 
   /**
@@ -252,50 +396,137 @@ public class Controller {
    * @param y column index (0–2)
    */
   private void markMove(String player, int x, int y) {
-    Button btn = getButtonAt(x, y);
-    if (btn != null && btn.getText().isEmpty()) {
-      btn.setText(player.equals(username) ? mySymbol : opponentSymbol);
-      btn.setStyle(
-          "-fx-text-fill: "
-              + (player.equals(username) ? "#1976d2" : "#616161")
-              + "; -fx-font-size: 24px; -fx-font-weight: bold;");
+    if (spectating) {
+      if (board.isFree(x, y)) {
+        board.mark(x, y, player.equals(crossName) ? "X" : "O", false);
+      }
+      return;
     }
+    boolean own = player.equals(username);
+    boolean confirmed = false;
+    if (own) {
+      // Either the premove was played or a move of its own replaced it
+      clearPremove();
+      confirmed = pendingCell == x * board.getSize() + y;
+      if (confirmed) {
+        pendingCell = -1;
+      } else {
+        rollBackPendingMove();
+      }
+    }
+    if (!confirmed && !board.isFree(x, y)) {
+      return;
+    }
+    String symbol = own ? mySymbol : opponentSymbol;
+    board.mark(x, y, symbol, own);
+    rules.apply(x, y, symbol.equals("X"));
   }
 
   /**
-   * Sends a move command to the server if it's the client's turn and the cell is empty.
+   * Takes back the move shown before the server confirmed it, after the server refused it, and
+   * gives the player the turn again.
+   */
+  private void rollBackPendingMove() {
+    if (pendingCell < 0) {
+      return;
+    }
+    board.clear(pendingCell / board.getSize(), pendingCell % board.getSize());
+    pendingCell = -1;
+    if (playing) {
+      isMyTurn = true;
+      board.setDisable(false);
+      setStatusLabel("Status: Your turn");
+    }
+  }
+
+  /**
+   * Sends a move command to the server if it's the client's turn and the local rules allow the
+   * move, and shows it at once as pending until the server confirms it. During the opponent's turn
+   * the click queues a premove instead, which the server plays right after the opponent's move;
+   * clicking the queued cell again drops it.
    *
-   * @param x row index (0–2)
-   * @param y column index (0–2)
-   * @param btn the UI button representing the cell
+   * @param x row index
+   * @param y column index
    */
-  private void makeMove(int x, int y, Button btn) {
-    if (!btn.getText().isEmpty() || !isMyTurn) return;
+  private void makeMove(int x, int y) {
+    if (!board.isFree(x, y)) return;
+    if (!isMyTurn) {
+      if (PREMOVES && playing && !spectating) {
+        premove(x, y);
+      }
+      return;
+    }
+    String refusal = rules.check(x, y, mySymbol.equals("X"));
+    if (refusal != null) {
+      log.info("Move ({}, {}) not sent: {}", x, y, refusal);
+      return;
+    }
 
-    out.println(ClientMessageBuilder.move(x, y));
+    send(ClientMessageBuilder.move(x, y));
     log.info("Move sent: ({}, {})", x, y);
+    // Shown at once; the server's MOVE confirms it and an ERROR takes it back
+    pendingCell = x * board.getSize() + y;
+    board.markPending(x, y, mySymbol);
     isMyTurn = false;
-    Platform.runLater(
-        () -> {
-          setStatusLabel("Opponent's turn");
-          gameGrid.setDisable(true);
-        });
+    setStatusLabel("Opponent's turn");
+    board.setDisable(!PREMOVES);
   }
 
   /**
-   * Finds the button in the grid at the specified coordinates.
+   * Queues a premove on the given cell, or drops the queued one if it is the same cell.
    *
-   * @param row row index (0–2)
-   * @param col column index (0–2)
-   * @return the Button at that position, or {@code null} if none found
+   * @param x row index
+   * @param y column index
    */
-  private Button getButtonAt(int row, int col) {
-    for (javafx.scene.Node node : gameGrid.getChildren()) {
-      if (GridPane.getRowIndex(node) == row && GridPane.getColumnIndex(node) == col) {
-        return (Button) node;
-      }
+  private void premove(int x, int y) {
+    int cell = x * board.getSize() + y;
+    if (cell == premoveCell) {
+      send(ClientMessageBuilder.cancelPremove());
+      clearPremove();
+      return;
+    }
+    send(ClientMessageBuilder.premove(x, y));
+    log.info("Premove sent: ({}, {})", x, y);
+    premoveCell = cell;
+    board.setPremove(x, y);
+  }
+
+  /** Removes the highlight of the queued premove, if any. */
+  private void clearPremove() {
+    if (premoveCell >= 0) {
+      premoveCell = -1;
+      board.setPremove(-1, -1);
+    }
+  }
+
+  /** Stops the frame timer and closes the server link after it has written what was queued. */
+  private void stopLink() {
+    if (frames != null) {
+      frames.stop();
+      frames = null;
+    }
+    if (link != null) {
+      link.close();
+      link = null;
+    }
+  }
+
+  /**
+   * Queues a message for the server; nothing is sent without a server link.
+   *
+   * @param message the protocol line
+   */
+  private void send(String message) {
+    if (link != null) {
+      link.send(message);
     }
-    return null;
+  }
+
+  /** Switches the UI to the login screen. */
+  private void showLoginScreen() {
+    loginScreen.setVisible(true);
+    waitingScreen.setVisible(false);
+    gameScreen.setVisible(false);
   }
 
   /** Switches the UI to the waiting‐for‐match screen. */
@@ -305,15 +536,22 @@ public class Controller {
     gameScreen.setVisible(false);
   }
 
-  /** Clears all marks from the game grid and resets button styles. */
+  /** Clears all marks from the board. */
   private void resetGameGrid() {
-    for (javafx.scene.Node node : gameGrid.getChildren()) {
-      if (node instanceof Button) {
-        ((Button) node).setText("");
-        node.setStyle(
-            "-fx-background-color: white; -fx-border-color: #cccccc; -fx-font-size: 24px; -fx-font-weight: bold;");
-      }
-    }
+    premoveCell = -1;
+    pendingCell = -1;
+    board.reset();
+    rules.reset();
+  }
+
+  /**
+   * Shows or hides the Play again and Rematch buttons offered after a game.
+   *
+   * @param visible whether the buttons are shown
+   */
+  private void showAfterGameButtons(boolean visible) {
+    afterGameButtons.setVisible(visible);
+    afterGameButtons.setManaged(visible);
   }
 
   /** Switches the UI to the active game screen. */
@@ -333,6 +571,17 @@ public class Controller {
     statusLabel.setText(message);
   }
 
+  /**
+   * Shows the state of the connection below the screens, or hides the label.
+   *
+   * @param message the text, or null to hide it
+   */
+  private void setConnectionLabel(String message) {
+    connectionLabel.setVisible(message != null);
+    connectionLabel.setManaged(message != null);
+    connectionLabel.setText(message == null ? "" : message);
+  }
+
   /**
    * Displays an informational alert dialog with the given message.
    *
@@ -344,6 +593,6 @@ public class Controller {
     alert.setTitle("Message");
     alert.setHeaderText("Message");
     alert.setContentText(message);
-    alert.showAndWait();
+    alert.show();
   }
 }
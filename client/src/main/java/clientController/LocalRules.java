@@ -0,0 +1,105 @@
+package clientController;
+
+import java.util.Arrays;
+
+/**
+ * The client's copy of the game rules: which cells are taken, whose turn it is and whether the game
+ * is over. It follows the moves the server confirmed, so the client can refuse a click the server
+ * would answer with an ERROR without sending it.
+ *
+ * <p>The board has {@code size} rows and columns, X moves first, and a player wins with a full row,
+ * column or diagonal. The server stays the authority; these checks only save round trips.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class LocalRules {
+
+  private static final byte EMPTY = 0;
+  private static final byte CROSS = 1;
+  private static final byte CIRCLE = 2;
+
+  private final int size;
+  private final byte[] cells;
+  private int moves;
+  private boolean over;
+
+  /**
+   * Creates an empty board.
+   *
+   * @param size the number of rows and columns
+   */
+  public LocalRules(int size) {
+    this.size = size;
+    this.cells = new byte[size * size];
+  }
+
+  /** Empties the board for a new game. */
+  public void reset() {
+    Arrays.fill(cells, EMPTY);
+    moves = 0;
+    over = false;
+  }
+
+  /**
+   * Checks a move the way the server would.
+   *
+   * @param x row index
+   * @param y column index
+   * @param cross whether X makes the move
+   * @return null if the move is legal, otherwise the server's error text for it
+   */
+  public String check(int x, int y, boolean cross) {
+    if (over) {
+      return "Game over";
+    }
+    if (x < 0 || x >= size || y < 0 || y >= size) {
+      return "Invalid position";
+    }
+    if (cells[x * size + y] != EMPTY) {
+      return "Cell already occupied";
+    }
+    if (cross != (moves % 2 == 0)) {
+      return "Not your move";
+    }
+    return null;
+  }
+
+  /**
+   * Records a move the server confirmed and ends the game on a full line or a full board.
+   *
+   * @param x row index
+   * @param y column index
+   * @param cross whether X made the move
+   */
+  public void apply(int x, int y, boolean cross) {
+    byte mark = cross ? CROSS : CIRCLE;
+    cells[x * size + y] = mark;
+    moves++;
+    if (moves == cells.length || isLine(x, y, mark)) {
+      over = true;
+    }
+  }
+
+  /**
+   * @return whether the last applied move ended the game
+   */
+  public boolean isOver() {
+    return over;
+  }
+
+  /** Checks the row, column and diagonals through the cell of the last move. */
+  private boolean isLine(int x, int y, byte mark) {
+    boolean row = true;
+    boolean column = true;
+    boolean diagonal = x == y;
+    boolean antiDiagonal = x + y == size - 1;
+    for (int i = 0; i < size; i++) {
+      row &= cells[x * size + i] == mark;
+      column &= cells[i * size + y] == mark;
+      diagonal &= cells[i * size + i] == mark;
+      antiDiagonal &= cells[i * size + size - 1 - i] == mark;
+    }
+    return row || column || diagonal || antiDiagonal;
+  }
+}
@@ -0,0 +1,471 @@
+package clientController;
+
+import clientEnumUtils.ClientMessageBuilder;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The client's connection to the server, run by one background thread with non-blocking I/O so
+ * that the JavaFX application thread never waits for the network.
+ *
+ * <p>The thread connects, logs in with HELLO and then reads and writes whatever is ready. Lines
+ * from the server are queued as {@link Event}s together with changes of the link's {@link Status};
+ * the UI takes all queued events at once with {@link #drain}, once per frame. {@link #send} only
+ * queues a line and wakes the thread. The link handles a few messages itself: it answers PING, it
+ * follows REDIRECT to the node named in it, and it sends a PING of its own when the server has been
+ * silent for half the idle timeout.
+ *
+ * <p>Connecting and logging in must finish within {@code -Dtictactoe.connectTimeoutMillis} (default
+ * 5000), and a server that stays silent for {@code -Dtictactoe.idleTimeoutMillis} (default 15000)
+ * counts as lost. If the first login fails the link reports {@link Status#REFUSED} and stops. Once
+ * it has been online, a lost connection is reported as {@link Status#RECONNECTING} and the link
+ * logs in again with growing pauses until it succeeds or is closed. The server forfeits the game of
+ * a lost connection, so the player starts over in the matchmaking queue.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class ServerLink implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(ServerLink.class);
+
+  private static final long MIN_BACKOFF_MILLIS = 250;
+  private static final long MAX_BACKOFF_MILLIS = 8000;
+
+  /** State of the link as shown to the player. */
+  public enum Status {
+    /** The first connection is being opened. */
+    CONNECTING,
+    /** Logged in; after {@link #RECONNECTING} this means logged in again on a new connection. */
+    ONLINE,
+    /** The connection was lost and the link is logging in again. */
+    RECONNECTING,
+    /** The first login failed; the event's message says why. The link has stopped. */
+    REFUSED,
+    /** Closed by {@link #close}. */
+    CLOSED
+  }
+
+  /**
+   * One item for the UI: a line from the server, or a change of the link's status.
+   *
+   * @param status the new status, or null for a server message
+   * @param message the server's line, or a reason for a status change
+   */
+  public record Event(Status status, String message) {
+
+    /**
+     * @return whether the event is a server message rather than a status change
+     */
+    public boolean isMessage() {
+      return status == null;
+    }
+  }
+
+  private final String host;
+  private final int port;
+  private final String username;
+  private final long connectTimeoutNanos;
+  private final long idleTimeoutNanos;
+  private final Queue<Event> inbox = new ConcurrentLinkedQueue<>();
+  private final Queue<String> outbox = new ConcurrentLinkedQueue<>();
+  private final Selector selector;
+  private volatile boolean closing;
+
+  // Owned by the link's thread
+  private SocketChannel channel;
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+  private ByteBuffer writeBuffer = ByteBuffer.allocate(8192);
+  private byte[] line = new byte[256];
+  private int lineLength;
+  private long loginDeadline;
+  private long lastReadAt;
+  private boolean probing;
+  private boolean loggedIn;
+  private boolean everOnline;
+  private Status reported = Status.CONNECTING;
+  private long retryAt;
+  private long backoffMillis = MIN_BACKOFF_MILLIS;
+
+  /**
+   * Creates the link with timeouts from the system properties; {@link #start} connects.
+   *
+   * @param host server or gateway host
+   * @param port server or gateway port
+   * @param username name to log in with
+   * @throws IOException if no selector can be opened
+   */
+  public ServerLink(String host, int port, String username) throws IOException {
+    this(
+        host,
+        port,
+        username,
+        Long.getLong("tictactoe.connectTimeoutMillis", 5000),
+        Long.getLong("tictactoe.idleTimeoutMillis", 15_000));
+  }
+
+  /**
+   * Creates the link; {@link #start} connects.
+   *
+   * @param host server or gateway host
+   * @param port server or gateway port
+   * @param username name to log in with
+   * @param connectTimeoutMillis time allowed for connecting and logging in
+   * @param idleTimeoutMillis silence after which the server counts as lost
+   * @throws IOException if no selector can be opened
+   */
+  public ServerLink(
+      String host, int port, String username, long connectTimeoutMillis, long idleTimeoutMillis)
+      throws IOException {
+    this.host = host;
+    this.port = port;
+    this.username = username;
+    this.connectTimeoutNanos = connectTimeoutMillis * 1_000_000L;
+    this.idleTimeoutNanos = idleTimeoutMillis * 1_000_000L;
+    this.selector = Selector.open();
+  }
+
+  /** Starts the link's thread, which connects and logs in. */
+  public void start() {
+    Thread thread = new Thread(this, "ServerLink");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Queues a line for the server. Lines queued while the link is reconnecting are dropped, since
+   * they belong to the lost session.
+   *
+   * @param message the protocol line without line break
+   */
+  public void send(String message) {
+    outbox.add(message);
+    selector.wakeup();
+  }
+
+  /**
+   * Moves every queued event to the given collection, in the order the events happened.
+   *
+   * @param into the collection to add the events to
+   * @return the number of events moved
+   */
+  public int drain(Collection<Event> into) {
+    int count = 0;
+    Event event;
+    while ((event = inbox.poll()) != null) {
+      into.add(event);
+      count++;
+    }
+    return count;
+  }
+
+  /** Closes the link after writing the lines queued so far, e.g. a QUIT. */
+  public void close() {
+    closing = true;
+    selector.wakeup();
+  }
+
+  /** Main loop: connects, then serves the connection and reconnects until closed. */
+  @Override
+  public void run() {
+    log.info("Connecting to {}:{}", host, port);
+    open(host, port, ClientMessageBuilder.hello(username));
+    try {
+      while (true) {
+        selector.select(Math.max(1, nextTimeoutNanos(System.nanoTime()) / 1_000_000L));
+        for (SelectionKey key : selector.selectedKeys()) {
+          if (key.isValid() && key.isConnectable()) {
+            finishConnect();
+          }
+          if (key.isValid() && key.isReadable()) {
+            read();
+          }
+        }
+        selector.selectedKeys().clear();
+
+        if (channel != null && channel.isConnected()) {
+          queueOutbox();
+          flush();
+        } else if (channel == null) {
+          outbox.clear();
+        }
+        if (closing && (channel == null || !loggedIn || isFlushed())) {
+          break;
+        }
+        checkTimers(System.nanoTime());
+      }
+    } catch (IOException e) {
+      log.error("Server link failed", e);
+    } finally {
+      closeChannel();
+      try {
+        selector.close();
+      } catch (IOException e) {
+        log.debug("Failed to close selector", e);
+      }
+      report(Status.CLOSED, null);
+      log.info("Server link closed");
+    }
+  }
+
+  /**
+   * Starts a non-blocking connect and queues the login line, which is written once connected.
+   *
+   * @param targetHost host to connect to
+   * @param targetPort port to connect to
+   * @param hello the HELLO line to log in with
+   */
+  private void open(String targetHost, int targetPort, String hello) {
+    readBuffer.clear();
+    writeBuffer.clear();
+    writeBuffer.flip();
+    lineLength = 0;
+    loggedIn = false;
+    probing = false;
+    loginDeadline = System.nanoTime() + connectTimeoutNanos;
+    retryAt = 0;
+    try {
+      channel = SocketChannel.open();
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      channel.connect(new InetSocketAddress(targetHost, targetPort));
+      channel.register(selector, SelectionKey.OP_CONNECT);
+      append(hello);
+    } catch (IOException e) {
+      lost("Failed to connect to server", e);
+    }
+  }
+
+  private void finishConnect() {
+    try {
+      if (channel.finishConnect()) {
+        channel.register(selector, SelectionKey.OP_READ);
+        lastReadAt = System.nanoTime();
+      }
+    } catch (IOException e) {
+      lost("Failed to connect to server", e);
+    }
+  }
+
+  /** Reads what is available and handles every complete line. */
+  private void read() {
+    int read;
+    try {
+      read = channel.read(readBuffer);
+    } catch (IOException e) {
+      lost("Connection to server lost", e);
+      return;
+    }
+    if (read < 0) {
+      lost("Connection to server lost", null);
+      return;
+    }
+    lastReadAt = System.nanoTime();
+    probing = false;
+    readBuffer.flip();
+    SocketChannel current = channel;
+    while (readBuffer.hasRemaining() && channel == current) {
+      byte b = readBuffer.get();
+      if (b == '\n') {
+        int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        lineLength = 0;
+        handle(new String(line, 0, length, StandardCharsets.UTF_8));
+      } else {
+        if (lineLength == line.length) {
+          line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+      }
+    }
+    // A handled line may have replaced the connection, which resets the buffer
+    if (channel == current) {
+      readBuffer.clear();
+    }
+  }
+
+  /**
+   * Handles one line from the server: the login answer, the messages the link answers itself, or
+   * a message for the UI.
+   */
+  private void handle(String message) {
+    String[] parts = message.split(" ");
+    String keyword = parts[0];
+    if (!loggedIn) {
+      if (keyword.equals("WELCOME")) {
+        loggedIn = true;
+        backoffMillis = MIN_BACKOFF_MILLIS;
+        // After a redirect or reconnect the UI only learns that the link is back
+        if (!everOnline) {
+          inbox.add(new Event(null, message));
+        }
+        everOnline = true;
+        report(Status.ONLINE, null);
+      } else if (keyword.equals("ERROR")) {
+        lost(message.substring(Math.min(message.length(), "ERROR ".length())), null);
+      } else if (keyword.equals("PING") && parts.length > 1) {
+        append(ClientMessageBuilder.pong(parts[1]));
+      }
+      return;
+    }
+    switch (keyword) {
+      case "PING" -> {
+        if (parts.length > 1) {
+          append(ClientMessageBuilder.pong(parts[1]));
+        }
+      }
+      case "PONG" -> {
+        // Answer to the link's own probe; reading it already reset the idle timer
+      }
+      case "REDIRECT" -> {
+        if (parts.length < 4) {
+          inbox.add(new Event(null, message));
+          return;
+        }
+        log.info("Redirected to {}:{}", parts[1], parts[2]);
+        closeChannel();
+        try {
+          open(
+              parts[1],
+              Integer.parseInt(parts[2]),
+              ClientMessageBuilder.hello(username, Long.parseLong(parts[3])));
+        } catch (NumberFormatException e) {
+          lost("Invalid redirect " + message, null);
+        }
+      }
+      default -> inbox.add(new Event(null, message));
+    }
+  }
+
+  /**
+   * Ends the current connection. Before the first login the link gives up; afterwards it logs in
+   * again on the configured server once the pause has passed, doubling the pause each time.
+   *
+   * @param reason what the player is told
+   * @param cause the error, if any
+   */
+  private void lost(String reason, IOException cause) {
+    closeChannel();
+    if (closing) {
+      return;
+    }
+    if (!everOnline) {
+      log.warn("Login failed: {}", reason, cause);
+      report(Status.REFUSED, reason);
+      closing = true;
+      return;
+    }
+    log.info("{}, reconnecting in {} ms", reason, backoffMillis, cause);
+    report(Status.RECONNECTING, reason);
+    retryAt = System.nanoTime() + backoffMillis * 1_000_000L;
+    backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+  }
+
+  /** Enforces the login and idle timeouts and starts due reconnects. */
+  private void checkTimers(long now) {
+    if (channel == null) {
+      if (retryAt != 0 && now - retryAt >= 0 && !closing) {
+        open(host, port, ClientMessageBuilder.hello(username));
+      }
+    } else if (!loggedIn) {
+      if (now - loginDeadline > 0) {
+        lost("Server did not answer in time", null);
+      }
+    } else if (now - lastReadAt > idleTimeoutNanos) {
+      lost("Server not responding", null);
+    } else if (!probing && now - lastReadAt > idleTimeoutNanos / 2) {
+      probing = true;
+      append(ClientMessageBuilder.ping(now));
+      flush();
+    }
+  }
+
+  /**
+   * @return nanoseconds until the next timer of {@link #checkTimers} is due
+   */
+  private long nextTimeoutNanos(long now) {
+    long due;
+    if (channel == null) {
+      due = retryAt != 0 ? retryAt : now + idleTimeoutNanos;
+    } else if (!loggedIn) {
+      due = loginDeadline;
+    } else {
+      due = lastReadAt + (probing ? idleTimeoutNanos : idleTimeoutNanos / 2);
+    }
+    return due - now;
+  }
+
+  /** Moves the lines queued by the UI into the write buffer, once logged in. */
+  private void queueOutbox() {
+    if (!loggedIn) {
+      return;
+    }
+    String message;
+    while ((message = outbox.poll()) != null) {
+      append(message);
+    }
+  }
+
+  /** Adds a line to the write buffer, growing it if needed. */
+  private void append(String message) {
+    byte[] bytes = (message + "\n").getBytes(StandardCharsets.UTF_8);
+    writeBuffer.compact();
+    if (writeBuffer.remaining() < bytes.length) {
+      ByteBuffer grown = ByteBuffer.allocate(writeBuffer.capacity() * 2 + bytes.length);
+      writeBuffer.flip();
+      grown.put(writeBuffer);
+      writeBuffer = grown;
+    }
+    writeBuffer.put(bytes);
+    writeBuffer.flip();
+  }
+
+  /** Writes as much as the socket takes and waits for it to take more if anything is left. */
+  private void flush() {
+    try {
+      if (writeBuffer.hasRemaining()) {
+        channel.write(writeBuffer);
+      }
+      SelectionKey key = channel.keyFor(selector);
+      int ops = SelectionKey.OP_READ | (writeBuffer.hasRemaining() ? SelectionKey.OP_WRITE : 0);
+      if (key != null && key.interestOps() != ops) {
+        key.interestOps(ops);
+      }
+    } catch (IOException e) {
+      lost("Connection to server lost", e);
+    }
+  }
+
+  private boolean isFlushed() {
+    return outbox.isEmpty() && !writeBuffer.hasRemaining();
+  }
+
+  private void closeChannel() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        log.debug("Failed to close channel", e);
+      }
+      channel = null;
+    }
+  }
+
+  /** Queues a status change for the UI unless it repeats the last one. */
+  private void report(Status status, String reason) {
+    if (status != reported) {
+      reported = status;
+      inbox.add(new Event(status, reason));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package gateway;
+
+/**
+ * A game server behind the gateway and its links. Owned by the gateway's selector thread.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class Backend {
+  final String host;
+  final int port;
+  /** Link slots; an empty or closed slot is reopened by the gateway. */
+  final BackendLink[] links;
+  /** When closed links may be reopened, in {@link System#nanoTime()} units. */
+  long retryAt;
+
+  /**
+   * @param host the server's host
+   * @param port the server's client port
+   * @param links number of links to keep open to it
+   */
+  Backend(String host, int port, int links) {
+    this.host = host;
+    this.port = port;
+    this.links = new BackendLink[links];
+    this.retryAt = System.nanoTime();
+  }
+
+  /**
+   * Parses a "host:port" address.
+   *
+   * @param address the address
+   * @param links number of links to keep open to it
+   * @return the backend
+   */
+  static Backend parse(String address, int links) {
+    int colon = address.lastIndexOf(':');
+    if (colon <= 0) {
+      throw new IllegalArgumentException("Expected host:port, got " + address);
+    }
+    return new Backend(
+        address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)), links);
+  }
+
+  /**
+   * @param host a host
+   * @param port a port
+   * @return whether this is the server at that address
+   */
+  boolean is(String host, int port) {
+    return this.port == port && this.host.equals(host);
+  }
+
+  @Override
+  public String toString() {
+    return host + ":" + port;
+  }
+}
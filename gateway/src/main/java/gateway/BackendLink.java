@@ -0,0 +1,38 @@
+package gateway;
+
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One multiplexed, pipelined connection from the gateway to a game server. Owned by the gateway's
+ * selector thread.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class BackendLink extends LineChannel {
+  private final Gateway gateway;
+
+  /** The game server this link goes to. */
+  final Backend backend;
+  /** The client sessions on this link by session id. */
+  final Map<Long, ClientSession> sessions = new HashMap<>();
+
+  /**
+   * @param gateway the gateway
+   * @param backend the game server
+   * @param channel the link's socket, connecting
+   * @param maxBuffer the most bytes either buffer may hold
+   */
+  BackendLink(Gateway gateway, Backend backend, SocketChannel channel, int maxBuffer) {
+    super(channel, maxBuffer);
+    this.gateway = gateway;
+    this.backend = backend;
+  }
+
+  @Override
+  void line(String frame) {
+    gateway.fromBackend(this, frame);
+  }
+}
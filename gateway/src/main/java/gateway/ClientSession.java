@@ -0,0 +1,41 @@
+package gateway;
+
+import java.nio.channels.SocketChannel;
+
+/**
+ * A client connected to the gateway. Owned by the gateway's selector thread.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class ClientSession extends LineChannel {
+  private final Gateway gateway;
+
+  /** Id of the session on its current link; every link the session moves to gets a new one. */
+  long id;
+  /** The link to the game server the session is on, or null. */
+  BackendLink link;
+  /** The logged-in username, or null. */
+  String name;
+  /** The username of a HELLO awaiting its answer, or null. */
+  String pendingName;
+  /** Whether the next WELCOME answers a login the gateway made for the client. */
+  boolean relogin;
+  /** Whether the client is in a game started by its login queue. */
+  boolean playing;
+
+  /**
+   * @param gateway the gateway
+   * @param channel the client's socket
+   * @param maxBuffer the most bytes either buffer may hold
+   */
+  ClientSession(Gateway gateway, SocketChannel channel, int maxBuffer) {
+    super(channel, maxBuffer);
+    this.gateway = gateway;
+  }
+
+  @Override
+  void line(String line) {
+    gateway.fromClient(this, line);
+  }
+}
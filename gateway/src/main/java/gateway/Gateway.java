@@ -0,0 +1,482 @@
+package gateway;
+
+import clientEnumUtils.ClientMessageBuilder;
+import enums.ServerMessages;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import linkUtils.LinkFrames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import serverEnumUtils.ServerEnumHandler;
+import serverEnumUtils.ServerMessageBuilder;
+
+/**
+ * Connection-routing gateway in front of one or more game servers.
+ *
+ * <p>Clients connect to the gateway exactly as to a server. The gateway keeps their sockets and
+ * carries their traffic over a few multiplexed links per server (see {@link LinkFrames}), on which
+ * frames of all sessions are pipelined without waiting for answers. A single selector thread serves
+ * every client socket and link.
+ *
+ * <p>The gateway tracks each client's login itself, so the client's TCP session outlives its game
+ * server. If a link breaks, its clients are logged in again on the least loaded server that is
+ * reachable, or as soon as one is, and wait in its queue; a client who was playing is told with
+ * {@code ERROR Game server lost}. A {@code REDIRECT} from a clustered server is followed by the
+ * gateway instead of the client. New sessions always go to the link with the fewest sessions, so
+ * restarted or added servers take their share of new logins.
+ *
+ * <p>Usage: {@code java -jar tictactoe-gateway.jar [--port=9090] [--backends=localhost:8080,...]
+ * [--links=2]}; the gateway stops when a line is entered.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class Gateway implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(Gateway.class);
+
+  private static final int CLIENT_BUFFER = 64 * 1024;
+  private static final int LINK_BUFFER = 16 * 1024 * 1024;
+  private static final long RETRY_NANOS = 1_000_000_000L;
+  private static final String LINK_SECRET = System.getProperty("tictactoe.link.secret", "");
+
+  private final Selector selector;
+  private final ServerSocketChannel serverChannel;
+  private final List<Backend> backends = new ArrayList<>();
+  private final int linksPerBackend;
+  private final Set<ClientSession> homeless = new LinkedHashSet<>();
+  private long nextSession;
+  private volatile boolean keepAlive = true;
+
+  /**
+   * Binds the client port. Links are opened once {@link #run} starts.
+   *
+   * @param port the port clients connect to, or 0 for any free port
+   * @param backends "host:port" of each game server
+   * @param linksPerBackend links to keep open to each game server
+   * @throws IOException if the port cannot be bound
+   */
+  public Gateway(int port, List<String> backends, int linksPerBackend) throws IOException {
+    this.linksPerBackend = linksPerBackend;
+    for (String address : backends) {
+      this.backends.add(Backend.parse(address, linksPerBackend));
+    }
+    this.selector = Selector.open();
+    this.serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress(port));
+    serverChannel.configureBlocking(false);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+  }
+
+  /**
+   * Runs a gateway until a line is read from standard input.
+   *
+   * @param args optional {@code --port=P}, {@code --backends=host:port,...} and {@code --links=N}
+   * @throws IOException if the port cannot be bound
+   */
+  public static void main(String[] args) throws IOException {
+    int port = 9090;
+    String backends = "localhost:8080";
+    int links = 2;
+    for (String arg : args) {
+      if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else if (arg.startsWith("--backends=")) {
+        backends = arg.substring("--backends=".length());
+      } else if (arg.startsWith("--links=")) {
+        links = Integer.parseInt(arg.substring("--links=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    Gateway gateway = new Gateway(port, List.of(backends.split(",")), links);
+    new Thread(gateway, "Gateway").start();
+    System.out.println("Gateway listening on port " + port + ", press Enter to stop");
+    System.in.read();
+    gateway.terminate();
+  }
+
+  /** Selector loop: accepts clients, moves lines between clients and links, reopens links. */
+  @Override
+  public void run() {
+    log.info("Gateway listening on port {} for {}", getPort(), backends);
+    try {
+      while (keepAlive) {
+        reconnect(System.nanoTime());
+        selector.select(RETRY_NANOS / 1_000_000);
+        for (SelectionKey key : selector.selectedKeys()) {
+          handle(key);
+        }
+        selector.selectedKeys().clear();
+      }
+    } catch (IOException e) {
+      log.error("Gateway selector failed", e);
+    } finally {
+      shutdown();
+    }
+  }
+
+  /** Stops the gateway, closing every client and link. */
+  public void terminate() {
+    keepAlive = false;
+    selector.wakeup();
+  }
+
+  /**
+   * @return the port clients connect to
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  private void handle(SelectionKey key) {
+    if (!key.isValid()) {
+      return;
+    }
+    if (key.isAcceptable()) {
+      accept();
+      return;
+    }
+    LineChannel endpoint = (LineChannel) key.attachment();
+    try {
+      if (key.isConnectable()) {
+        endpoint.channel.finishConnect();
+        linkUp((BackendLink) endpoint);
+      }
+      if (key.isValid() && key.isWritable()) {
+        endpoint.flush();
+      }
+      if (key.isValid() && key.isReadable() && !endpoint.read()) {
+        lost(endpoint);
+      }
+    } catch (IOException e) {
+      log.debug("Channel failed", e);
+      lost(endpoint);
+    } catch (RuntimeException e) {
+      log.error("Failed to handle {}", endpoint.channel, e);
+      lost(endpoint);
+    }
+  }
+
+  private void lost(LineChannel endpoint) {
+    if (endpoint instanceof BackendLink link) {
+      linkDown(link);
+    } else {
+      drop((ClientSession) endpoint);
+    }
+  }
+
+  private void accept() {
+    try {
+      SocketChannel channel;
+      while ((channel = serverChannel.accept()) != null) {
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+        ClientSession session = new ClientSession(this, channel, CLIENT_BUFFER);
+        session.key = channel.register(selector, SelectionKey.OP_READ, session);
+      }
+    } catch (IOException e) {
+      log.warn("Failed to accept client", e);
+    }
+  }
+
+  /**
+   * Passes a client's line to its game server. A malformed HELLO is answered here.
+   *
+   * @param session the client
+   * @param line the line
+   */
+  void fromClient(ClientSession session, String line) {
+    if (session.name == null && line.startsWith("HELLO")) {
+      String[] parts = line.split(" ");
+      if (parts.length != 2 || !parts[0].equals("HELLO")) {
+        reply(session, ServerMessageBuilder.error("InvalidCommand"));
+        return;
+      }
+      session.pendingName = parts[1];
+    }
+    if (session.link == null) {
+      BackendLink link = leastLoadedLink();
+      if (link == null || session.name != null) {
+        // A logged-in client without a link waits for its relogin
+        reply(session, ServerMessageBuilder.error("Server unavailable"));
+        return;
+      }
+      attach(session, link);
+    }
+    sendFrame(session.link, LinkFrames.data(session.id, line));
+  }
+
+  /**
+   * Passes a frame from a game server to its client, following redirects.
+   *
+   * @param link the link the frame arrived on
+   * @param frame the frame
+   */
+  void fromBackend(BackendLink link, String frame) {
+    ClientSession session;
+    try {
+      session = link.sessions.get(LinkFrames.session(frame));
+    } catch (RuntimeException e) {
+      log.warn("Malformed frame from {}: {}", link.backend, frame);
+      return;
+    }
+    if (session == null) {
+      return;
+    }
+    if (LinkFrames.kind(frame) == LinkFrames.CLOSE) {
+      link.sessions.remove(session.id);
+      session.link = null;
+      drop(session);
+      return;
+    }
+
+    String line = LinkFrames.payload(frame);
+    String[] parts = line.split(" ");
+    ServerMessages type = ServerEnumHandler.enumFinder(parts[0]);
+    if (session.relogin) {
+      session.relogin = false;
+      if (type == ServerMessages.WELCOME) {
+        return;
+      }
+      session.name = null;
+    }
+    if (type == ServerMessages.WELCOME) {
+      session.name = session.pendingName;
+      session.pendingName = null;
+    } else if (type == ServerMessages.ERROR && session.pendingName != null) {
+      session.pendingName = null;
+    } else if (type == ServerMessages.REDIRECT && parts.length == 4) {
+      int port;
+      long ticket;
+      try {
+        port = Integer.parseInt(parts[2]);
+        ticket = Long.parseLong(parts[3]);
+      } catch (NumberFormatException e) {
+        // Only this session is lost; the link and its other sessions carry on
+        log.warn("Malformed redirect from {}: {}", link.backend, line);
+        reply(session, ServerMessageBuilder.error("Server unavailable"));
+        drop(session);
+        return;
+      }
+      follow(session, parts[1], port, ticket);
+      return;
+    } else if (type == ServerMessages.START) {
+      session.playing = true;
+    } else if (type == ServerMessages.WINNER || type == ServerMessages.DRAW) {
+      session.playing = false;
+    }
+    reply(session, line);
+  }
+
+  /** Moves a client to the game server a REDIRECT names and logs it in there with the ticket. */
+  private void follow(ClientSession session, String host, int port, long ticket) {
+    Backend target = null;
+    for (Backend backend : backends) {
+      if (backend.is(host, port)) {
+        target = backend;
+      }
+    }
+    if (target == null) {
+      // Another node of the cluster; keep links to it for later logins too
+      target = new Backend(host, port, linksPerBackend);
+      backends.add(target);
+      log.info("Discovered game server {}", target);
+    }
+    reconnect(target, System.nanoTime());
+    BackendLink link = leastLoadedLink(target);
+    detach(session);
+    if (link == null) {
+      reply(session, ServerMessageBuilder.error("Server unavailable"));
+      drop(session);
+      return;
+    }
+    attach(session, link);
+    session.relogin = true;
+    sendFrame(link, LinkFrames.data(session.id, ClientMessageBuilder.hello(session.name, ticket)));
+  }
+
+  /** Opens the links of every game server whose retry time has come. */
+  private void reconnect(long now) {
+    for (Backend backend : backends) {
+      if (now - backend.retryAt >= 0) {
+        reconnect(backend, now);
+      }
+    }
+  }
+
+  /** Opens the missing links of one game server. */
+  private void reconnect(Backend backend, long now) {
+    for (int i = 0; i < backend.links.length; i++) {
+      BackendLink link = backend.links[i];
+      if (link != null && link.channel.isOpen()) {
+        continue;
+      }
+      backend.retryAt = now + RETRY_NANOS;
+      try {
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+        link = new BackendLink(this, backend, channel, LINK_BUFFER);
+        link.key = channel.register(selector, SelectionKey.OP_CONNECT, link);
+        backend.links[i] = link;
+        link.send(ClientMessageBuilder.link(LINK_SECRET));
+        if (channel.connect(new InetSocketAddress(backend.host, backend.port))) {
+          linkUp(link);
+        }
+      } catch (IOException e) {
+        log.debug("Failed to open link to {}", backend, e);
+        if (link != null) {
+          linkDown(link);
+        }
+      }
+    }
+  }
+
+  /** Sends what was queued while connecting and logs waiting clients in again. */
+  private void linkUp(BackendLink link) throws IOException {
+    log.info("Link to {} is up", link.backend);
+    link.flush();
+    List<ClientSession> waiting = new ArrayList<>(homeless);
+    homeless.clear();
+    for (ClientSession session : waiting) {
+      relogin(session);
+    }
+  }
+
+  /** Closes a broken link and logs its clients in again elsewhere. */
+  private void linkDown(BackendLink link) {
+    if (link.channel.isOpen() || !link.sessions.isEmpty()) {
+      log.warn("Link to {} is down with {} sessions", link.backend, link.sessions.size());
+    }
+    link.close();
+    List<ClientSession> orphans = new ArrayList<>(link.sessions.values());
+    link.sessions.clear();
+    for (ClientSession session : orphans) {
+      session.link = null;
+      session.relogin = false;
+      if (session.playing) {
+        session.playing = false;
+        reply(session, ServerMessageBuilder.error("Game server lost"));
+      }
+      if (session.pendingName != null) {
+        session.pendingName = null;
+        reply(session, ServerMessageBuilder.error("Server unavailable"));
+      }
+      if (session.name != null && session.channel.isOpen()) {
+        relogin(session);
+      }
+    }
+  }
+
+  /** Logs a client in again on the least loaded link, or parks it until a link is up. */
+  private void relogin(ClientSession session) {
+    BackendLink link = leastLoadedLink();
+    if (link == null || !link.channel.isConnected()) {
+      homeless.add(session);
+      return;
+    }
+    attach(session, link);
+    session.relogin = true;
+    sendFrame(link, LinkFrames.data(session.id, ClientMessageBuilder.hello(session.name)));
+  }
+
+  /** Returns the open link with the fewest sessions, preferring connected ones, or null. */
+  private BackendLink leastLoadedLink() {
+    BackendLink best = null;
+    for (Backend backend : backends) {
+      BackendLink candidate = leastLoadedLink(backend);
+      if (candidate != null && better(candidate, best)) {
+        best = candidate;
+      }
+    }
+    return best;
+  }
+
+  private static BackendLink leastLoadedLink(Backend backend) {
+    BackendLink best = null;
+    for (BackendLink link : backend.links) {
+      if (link != null && link.channel.isOpen() && better(link, best)) {
+        best = link;
+      }
+    }
+    return best;
+  }
+
+  private static boolean better(BackendLink link, BackendLink than) {
+    if (than == null) {
+      return true;
+    }
+    boolean connected = link.channel.isConnected();
+    if (connected != than.channel.isConnected()) {
+      return connected;
+    }
+    return link.sessions.size() < than.sessions.size();
+  }
+
+  private void attach(ClientSession session, BackendLink link) {
+    session.id = ++nextSession;
+    session.link = link;
+    link.sessions.put(session.id, session);
+  }
+
+  /** Takes a client off its link, closing its session on the game server. */
+  private void detach(ClientSession session) {
+    BackendLink link = session.link;
+    if (link != null) {
+      session.link = null;
+      link.sessions.remove(session.id);
+      sendFrame(link, LinkFrames.close(session.id));
+    }
+  }
+
+  private void sendFrame(BackendLink link, String frame) {
+    try {
+      link.send(frame);
+    } catch (IOException e) {
+      log.debug("Failed to write to link to {}", link.backend, e);
+      linkDown(link);
+    }
+  }
+
+  private void reply(ClientSession session, String line) {
+    try {
+      session.send(line);
+    } catch (IOException e) {
+      log.debug("Failed to write to client", e);
+      drop(session);
+    }
+  }
+
+  /** Closes a client's socket and its session on the game server. */
+  private void drop(ClientSession session) {
+    homeless.remove(session);
+    detach(session);
+    session.close();
+  }
+
+  private void shutdown() {
+    for (SelectionKey key : selector.keys()) {
+      if (key.attachment() instanceof LineChannel endpoint) {
+        endpoint.close();
+      }
+    }
+    try {
+      serverChannel.close();
+      selector.close();
+    } catch (IOException e) {
+      log.debug("Error closing selector", e);
+    }
+    log.info("Gateway stopped");
+  }
+}
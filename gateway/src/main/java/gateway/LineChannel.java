@@ -0,0 +1,124 @@
+package gateway;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A non-blocking socket exchanging protocol lines, driven by the gateway's selector thread.
+ *
+ * <p>Both buffers grow on demand up to a limit. Output that cannot be written right away stays
+ * buffered and the key waits for OP_WRITE; if the peer does not read and the buffer reaches its
+ * limit, sending fails and the caller drops the channel.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+abstract class LineChannel {
+  private static final int INITIAL_BUFFER = 512;
+
+  final SocketChannel channel;
+  SelectionKey key;
+  private final int maxBuffer;
+  private ByteBuffer input = ByteBuffer.allocate(INITIAL_BUFFER);
+  private ByteBuffer output = ByteBuffer.allocate(INITIAL_BUFFER);
+
+  /**
+   * @param channel the socket, already non-blocking
+   * @param maxBuffer the most bytes either buffer may hold
+   */
+  LineChannel(SocketChannel channel, int maxBuffer) {
+    this.channel = channel;
+    this.maxBuffer = maxBuffer;
+  }
+
+  /**
+   * Handles one received line.
+   *
+   * @param line the line without line break
+   */
+  abstract void line(String line);
+
+  /**
+   * Reads the available bytes and handles every complete line.
+   *
+   * @return false when the peer has closed the connection
+   * @throws IOException if reading fails or a line exceeds the buffer limit
+   */
+  boolean read() throws IOException {
+    if (channel.read(input) < 0) {
+      return false;
+    }
+    input.flip();
+    int lineStart = input.position();
+    for (int i = lineStart; i < input.limit(); i++) {
+      if (input.get(i) == '\n') {
+        int end = i > lineStart && input.get(i - 1) == '\r' ? i - 1 : i;
+        line(new String(input.array(), lineStart, end - lineStart, StandardCharsets.UTF_8));
+        lineStart = i + 1;
+        if (!channel.isOpen()) {
+          return true;
+        }
+      }
+    }
+    input.position(lineStart);
+    input.compact();
+    if (!input.hasRemaining()) {
+      input = grow(input);
+    }
+    return true;
+  }
+
+  /**
+   * Appends a line to the output and writes as much as the socket takes.
+   *
+   * @param line the line without line break
+   * @throws IOException if writing fails or the peer is too far behind
+   */
+  void send(String line) throws IOException {
+    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+    while (output.remaining() < bytes.length + 1) {
+      output = grow(output);
+    }
+    output.put(bytes).put((byte) '\n');
+    if (channel.isConnected()) {
+      flush();
+    }
+  }
+
+  /**
+   * Writes buffered output, waiting for OP_WRITE if the socket buffer is full.
+   *
+   * @throws IOException if writing fails
+   */
+  void flush() throws IOException {
+    output.flip();
+    channel.write(output);
+    output.compact();
+    int ops = SelectionKey.OP_READ | (output.position() > 0 ? SelectionKey.OP_WRITE : 0);
+    if (key.isValid() && key.interestOps() != ops) {
+      key.interestOps(ops);
+    }
+  }
+
+  /** Closes the socket, which also cancels its key. */
+  void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Nothing left to do with it
+    }
+  }
+
+  private ByteBuffer grow(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() >= maxBuffer) {
+      throw new IOException("Buffer limit of " + maxBuffer + " bytes reached");
+    }
+    ByteBuffer larger = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, maxBuffer));
+    buffer.flip();
+    larger.put(buffer);
+    return larger;
+  }
+}
@@ -0,0 +1,103 @@
+package loadgen;
+
+/**
+ * Log-linear latency histogram with roughly 6% relative precision, recording microseconds from 1
+ * µs up to about 19 hours in a fixed array.
+ *
+ * <p>Not thread-safe: each worker owns its histograms and the reporter merges them.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAGNITUDES = 33;
+
+  private final long[] counts = new long[MAGNITUDES * SUB_BUCKETS];
+  private long total;
+  private long max;
+
+  /**
+   * Records one latency sample.
+   *
+   * @param nanos the measured latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long micros = Math.max(0, nanos / 1000);
+    counts[indexOf(micros)]++;
+    total++;
+    max = Math.max(max, micros);
+  }
+
+  /**
+   * Adds all samples of another histogram to this one.
+   *
+   * @param other the histogram to merge
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    total += other.total;
+    max = Math.max(max, other.max);
+  }
+
+  /**
+   * @return the number of recorded samples
+   */
+  public long count() {
+    return total;
+  }
+
+  /**
+   * @return the largest recorded latency in microseconds
+   */
+  public long max() {
+    return max;
+  }
+
+  /**
+   * Returns the latency below which the given fraction of samples falls.
+   *
+   * @param quantile a value between 0 and 1, e.g. 0.99
+   * @return the upper bound of the matching bucket in microseconds, or 0 if empty
+   */
+  public long percentile(double quantile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(quantile * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Maps a value to its bucket: values below {@code SUB_BUCKETS} get exact buckets, larger values
+   * share {@code SUB_BUCKETS} buckets per power of two.
+   */
+  private static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int index = shift * SUB_BUCKETS + (int) (value >>> shift);
+    return Math.min(index, MAGNITUDES * SUB_BUCKETS - 1);
+  }
+
+  /** Returns the largest value that maps to the given bucket. */
+  private static long upperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,117 @@
+package loadgen;
+
+/**
+ * Settings of a load-generator run, parsed from {@code --key=value} command-line arguments.
+ *
+ * <p>Recognised keys: {@code host}, {@code port}, {@code players}, {@code workers}, {@code
+ * connectRate} (new connections per second), {@code duration} (seconds), {@code requeue}
+ * (fraction of finished games after which the player stays connected and sends REQUEUE), {@code
+ * rematch} (chance that such a player offers its opponent a REMATCH first), {@code reconnect}
+ * (fraction of the remaining finished games after which the player reconnects instead of
+ * leaving), {@code abandon} (chance per turn to quit mid-game), {@code think} (milliseconds before
+ * each move), {@code script} (comma-separated cell preference 0-8, random moves if absent), {@code
+ * seed} and {@code report} (seconds between interim reports).
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class LoadConfig {
+
+  String host = "localhost";
+  int port = 8080;
+  int players = 1000;
+  int workers = Runtime.getRuntime().availableProcessors();
+  int connectRate = 2000;
+  long durationSeconds = 60;
+  double requeueRatio = 0.0;
+  double rematchRatio = 0.0;
+  double reconnectRatio = 1.0;
+  double abandonRate = 0.0;
+  long thinkMillis = 0;
+  int[] script = null;
+  long seed = System.nanoTime();
+  long reportSeconds = 5;
+
+  /**
+   * Parses command-line arguments on top of the defaults.
+   *
+   * @param args arguments in the form {@code --key=value}
+   * @return the resulting configuration
+   * @throws IllegalArgumentException if an argument is malformed or unknown
+   */
+  public static LoadConfig parse(String[] args) {
+    LoadConfig config = new LoadConfig();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --key=value but got " + arg);
+      }
+      String key = arg.substring(2, separator);
+      String value = arg.substring(separator + 1);
+      switch (key) {
+        case "host" -> config.host = value;
+        case "port" -> config.port = Integer.parseInt(value);
+        case "players" -> config.players = Integer.parseInt(value);
+        case "workers" -> config.workers = Integer.parseInt(value);
+        case "connectRate" -> config.connectRate = Integer.parseInt(value);
+        case "duration" -> config.durationSeconds = Long.parseLong(value);
+        case "requeue" -> config.requeueRatio = Double.parseDouble(value);
+        case "rematch" -> config.rematchRatio = Double.parseDouble(value);
+        case "reconnect" -> config.reconnectRatio = Double.parseDouble(value);
+        case "abandon" -> config.abandonRate = Double.parseDouble(value);
+        case "think" -> config.thinkMillis = Long.parseLong(value);
+        case "script" -> config.script = parseScript(value);
+        case "seed" -> config.seed = Long.parseLong(value);
+        case "report" -> config.reportSeconds = Long.parseLong(value);
+        default -> throw new IllegalArgumentException("Unknown option " + key);
+      }
+    }
+    return config;
+  }
+
+  /**
+   * Parses a comma-separated list of cell indices.
+   *
+   * @param value the list, e.g. "4,0,8"
+   * @return the cell indices in preference order
+   */
+  private static int[] parseScript(String value) {
+    String[] parts = value.split(",");
+    int[] cells = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      cells[i] = Integer.parseInt(parts[i].trim());
+      if (cells[i] < 0 || cells[i] > 8) {
+        throw new IllegalArgumentException("Script cell out of range: " + cells[i]);
+      }
+    }
+    return cells;
+  }
+
+  @Override
+  public String toString() {
+    return "players="
+        + players
+        + " workers="
+        + workers
+        + " target="
+        + host
+        + ":"
+        + port
+        + " duration="
+        + durationSeconds
+        + "s requeue="
+        + requeueRatio
+        + " rematch="
+        + rematchRatio
+        + " reconnect="
+        + reconnectRatio
+        + " abandon="
+        + abandonRate
+        + " think="
+        + thinkMillis
+        + "ms moves="
+        + (script == null ? "random" : "scripted")
+        + " seed="
+        + seed;
+  }
+}
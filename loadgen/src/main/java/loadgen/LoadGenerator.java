@@ -0,0 +1,88 @@
+package loadgen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Headless load generator: simulates many players against a running server from one process,
+ * without JavaFX, using non-blocking sockets spread over a few selector threads.
+ *
+ * <p>Prints throughput, error rates and latency percentiles for each protocol step periodically and
+ * at the end of the run. See {@link LoadConfig} for the options.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class LoadGenerator {
+  private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+  /**
+   * Runs the load test.
+   *
+   * @param args options in the form {@code --key=value}
+   * @throws IOException if a selector cannot be opened
+   * @throws InterruptedException if interrupted while waiting for workers
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    LoadConfig config = LoadConfig.parse(args);
+    log.info("Starting load test: {}", config);
+
+    SplittableRandom seeds = new SplittableRandom(config.seed);
+    List<Worker> workers = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int w = 0; w < config.workers; w++) {
+      List<SimulatedPlayer> players = new ArrayList<>();
+      for (int id = w; id < config.players; id += config.workers) {
+        players.add(new SimulatedPlayer(id));
+      }
+      Worker worker = new Worker(config, players, seeds.nextLong());
+      Thread thread = new Thread(worker, "LoadWorker-" + w);
+      workers.add(worker);
+      threads.add(thread);
+      thread.start();
+    }
+
+    long start = System.nanoTime();
+    long deadline = start + config.durationSeconds * 1_000_000_000L;
+    long reportNanos = Math.max(1, config.reportSeconds) * 1_000_000_000L;
+    long nextReport = start + reportNanos;
+
+    while (System.nanoTime() < deadline && threads.stream().anyMatch(Thread::isAlive)) {
+      Thread.sleep(100);
+      long now = System.nanoTime();
+      if (now >= nextReport) {
+        System.out.println(merge(workers).format((now - start) / 1e9));
+        nextReport += reportNanos;
+      }
+    }
+
+    for (Worker worker : workers) {
+      worker.terminate();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    System.out.println("=== Final report after " + String.format("%.1f", elapsed) + " s ===");
+    System.out.println(merge(workers).format(elapsed));
+  }
+
+  /**
+   * Sums the metrics of all workers.
+   *
+   * @param workers the workers
+   * @return merged metrics
+   */
+  private static Metrics merge(List<Worker> workers) {
+    Metrics total = new Metrics();
+    for (Worker worker : workers) {
+      total.add(worker.metrics);
+    }
+    return total;
+  }
+}
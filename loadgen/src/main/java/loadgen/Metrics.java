@@ -0,0 +1,114 @@
+package loadgen;
+
+/**
+ * Counters and latency histograms of one worker, or the merged totals of all workers.
+ *
+ * <p>Each worker writes only its own instance. Interim reports read them without synchronization
+ * and may therefore be slightly stale; the final report is taken after all workers have stopped.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class Metrics {
+  private static final Step[] STEPS = Step.values();
+
+  final LatencyHistogram[] latencies = new LatencyHistogram[STEPS.length];
+  final long[] errors = new long[STEPS.length];
+  long gamesFinished;
+  long gamesAbandoned;
+  long requeues;
+  long rematchOffers;
+  long redirects;
+  long messagesSent;
+  long messagesReceived;
+
+  /** Creates empty metrics. */
+  public Metrics() {
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Records a successful protocol step.
+   *
+   * @param step the completed step
+   * @param nanos how long the step took
+   */
+  void success(Step step, long nanos) {
+    latencies[step.ordinal()].record(nanos);
+  }
+
+  /**
+   * Records a failed protocol step.
+   *
+   * @param step the failed step
+   */
+  void failure(Step step) {
+    errors[step.ordinal()]++;
+  }
+
+  /**
+   * Adds the values of another instance to this one.
+   *
+   * @param other the metrics to merge
+   */
+  void add(Metrics other) {
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i].add(other.latencies[i]);
+      errors[i] += other.errors[i];
+    }
+    gamesFinished += other.gamesFinished;
+    gamesAbandoned += other.gamesAbandoned;
+    requeues += other.requeues;
+    rematchOffers += other.rematchOffers;
+    redirects += other.redirects;
+    messagesSent += other.messagesSent;
+    messagesReceived += other.messagesReceived;
+  }
+
+  /**
+   * Formats the metrics as a human-readable table.
+   *
+   * @param elapsedSeconds the measured period used for rates
+   * @return the report text
+   */
+  String format(double elapsedSeconds) {
+    StringBuilder report = new StringBuilder();
+    double seconds = Math.max(elapsedSeconds, 0.001);
+    report.append(
+        String.format(
+            "games/s %.1f (finished %d, abandoned %d, requeued %d, rematch offers %d,"
+                + " redirects %d)  msgs/s out %.0f in %.0f%n",
+            gamesFinished / 2.0 / seconds,
+            gamesFinished / 2,
+            gamesAbandoned,
+            requeues,
+            rematchOffers,
+            redirects,
+            messagesSent / seconds,
+            messagesReceived / seconds));
+    report.append(
+        String.format(
+            "%-8s %10s %8s %8s %9s %9s %9s %9s %9s%n",
+            "step", "ok", "errors", "err%", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+    for (Step step : STEPS) {
+      LatencyHistogram histogram = latencies[step.ordinal()];
+      long ok = histogram.count();
+      long failed = errors[step.ordinal()];
+      report.append(
+          String.format(
+              "%-8s %10d %8d %7.2f%% %9d %9d %9d %9d %9d%n",
+              step,
+              ok,
+              failed,
+              ok + failed == 0 ? 0.0 : 100.0 * failed / (ok + failed),
+              histogram.percentile(0.50),
+              histogram.percentile(0.90),
+              histogram.percentile(0.99),
+              histogram.percentile(0.999),
+              histogram.max()));
+    }
+    return report.toString();
+  }
+}
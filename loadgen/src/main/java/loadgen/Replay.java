@@ -0,0 +1,298 @@
+package loadgen;
+
+import captureUtils.CaptureReader;
+import captureUtils.CaptureRecord;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays a traffic capture recorded with {@code -Dtictactoe.capture.file} against a fresh server
+ * and diffs the server's responses against the captured ones.
+ *
+ * <p>Every captured session gets its own socket. Client messages are sent at their original
+ * offsets divided by the speed factor ({@code --speed=1}, {@code --speed=10} or {@code
+ * --speed=max}). Before each message the session also waits, up to {@code --gate=<ms>}, until it
+ * has received as many responses as the original session had at that point, so causal order is
+ * kept even when running as fast as possible.
+ *
+ * <p>Responses can legitimately differ where the server is non-deterministic (who plays X, which
+ * queued players are paired), so the report separates exact session matches from differences in
+ * message counts per keyword.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class Replay {
+  private static final Logger log = LoggerFactory.getLogger(Replay.class);
+
+  /** Captured traffic of one client session. */
+  private static final class Session {
+    final int id;
+    long openMicros;
+    final List<CaptureRecord> events = new ArrayList<>();
+    final List<String> expected = new ArrayList<>();
+    final List<String> received = new ArrayList<>();
+
+    Session(int id) {
+      this.id = id;
+    }
+  }
+
+  private final String host;
+  private final int port;
+  private final double speed;
+  private final long gateMillis;
+  private long startNanos;
+
+  /**
+   * @param host server host
+   * @param port server port
+   * @param speed time compression factor, or {@link Double#POSITIVE_INFINITY} for no delays
+   * @param gateMillis how long to wait for outstanding responses before sending anyway
+   */
+  public Replay(String host, int port, double speed, long gateMillis) {
+    this.host = host;
+    this.port = port;
+    this.speed = speed;
+    this.gateMillis = gateMillis;
+  }
+
+  /**
+   * Runs a replay.
+   *
+   * @param args {@code --file=<capture>} plus optional {@code --host}, {@code --port}, {@code
+   *     --speed} and {@code --gate}
+   * @throws IOException if the capture cannot be read
+   * @throws InterruptedException if interrupted while waiting for sessions
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Map<String, String> options = new TreeMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --key=value but got " + arg);
+      }
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    String file = options.get("file");
+    if (file == null) {
+      System.err.println("Usage: Replay --file=<capture> [--host=localhost] [--port=8080]"
+          + " [--speed=1|10|max] [--gate=5000]");
+      return;
+    }
+    String speedOption = options.getOrDefault("speed", "1");
+    double speed =
+        speedOption.equals("max") ? Double.POSITIVE_INFINITY : Double.parseDouble(speedOption);
+
+    Replay replay =
+        new Replay(
+            options.getOrDefault("host", "localhost"),
+            Integer.parseInt(options.getOrDefault("port", "8080")),
+            speed,
+            Long.parseLong(options.getOrDefault("gate", "5000")));
+    List<Session> sessions = load(file);
+    log.info("Replaying {} sessions from {} at speed {}", sessions.size(), file, speedOption);
+    replay.run(sessions);
+    System.out.println(report(sessions));
+  }
+
+  /**
+   * Groups the records of a capture file by session.
+   *
+   * @param file the capture file
+   * @return sessions in order of their first record
+   */
+  private static List<Session> load(String file) throws IOException {
+    Map<Integer, Session> sessions = new LinkedHashMap<>();
+    try (CaptureReader reader = new CaptureReader(file)) {
+      CaptureRecord record;
+      while ((record = reader.next()) != null) {
+        Session session = sessions.get(record.session());
+        if (session == null) {
+          session = new Session(record.session());
+          session.openMicros = record.timeMicros();
+          sessions.put(record.session(), session);
+        }
+        if (record.type() == CaptureRecord.Type.OUT) {
+          session.expected.add(record.message());
+        }
+        if (record.type() != CaptureRecord.Type.OPEN) {
+          session.events.add(record);
+        }
+      }
+    }
+    return new ArrayList<>(sessions.values());
+  }
+
+  /** Plays all sessions concurrently and waits for them to finish. */
+  private void run(List<Session> sessions) throws InterruptedException {
+    startNanos = System.nanoTime();
+    List<Thread> threads = new ArrayList<>();
+    for (Session session : sessions) {
+      Thread thread = new Thread(() -> play(session), "Replay-" + session.id);
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  /** Connects, sends the captured client messages and collects the responses of one session. */
+  private void play(Session session) {
+    try {
+      sleepUntil(session.openMicros);
+      try (Socket socket = new Socket()) {
+        socket.connect(new InetSocketAddress(host, port));
+        socket.setTcpNoDelay(true);
+        Thread reader = new Thread(() -> collect(socket, session), "ReplayReader-" + session.id);
+        reader.start();
+
+        OutputStream out = socket.getOutputStream();
+        int outstanding = 0;
+        for (CaptureRecord event : session.events) {
+          if (event.type() == CaptureRecord.Type.OUT) {
+            outstanding++;
+            continue;
+          }
+          sleepUntil(event.timeMicros());
+          awaitResponses(session, outstanding);
+          if (event.type() == CaptureRecord.Type.CLOSE) {
+            break;
+          }
+          out.write((event.message() + "\n").getBytes(StandardCharsets.UTF_8));
+          out.flush();
+        }
+        awaitResponses(session, outstanding);
+        socket.shutdownOutput();
+        reader.join(gateMillis);
+      }
+    } catch (IOException e) {
+      log.warn("Session {} failed: {}", session.id, e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Reads server lines into the session until the socket closes. */
+  private void collect(Socket socket, Session session) {
+    try {
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      String line;
+      while ((line = in.readLine()) != null) {
+        synchronized (session) {
+          session.received.add(line);
+          session.notifyAll();
+        }
+      }
+    } catch (IOException e) {
+      // Socket closed by the session thread
+    }
+  }
+
+  /** Waits until the session has received at least the given number of responses. */
+  private void awaitResponses(Session session, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + gateMillis;
+    synchronized (session) {
+      while (session.received.size() < count) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          return;
+        }
+        session.wait(remaining);
+      }
+    }
+  }
+
+  /** Sleeps until the scaled capture offset is reached. */
+  private void sleepUntil(long captureMicros) throws InterruptedException {
+    if (Double.isInfinite(speed)) {
+      return;
+    }
+    long targetNanos = startNanos + (long) (captureMicros * 1000 / speed);
+    long remaining = targetNanos - System.nanoTime();
+    if (remaining > 0) {
+      Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+    }
+  }
+
+  /**
+   * Compares expected and received responses.
+   *
+   * @param sessions the replayed sessions
+   * @return the report text
+   */
+  private static String report(List<Session> sessions) {
+    int identical = 0;
+    Map<String, long[]> keywordCounts = new TreeMap<>();
+    StringBuilder mismatches = new StringBuilder();
+    int shown = 0;
+
+    for (Session session : sessions) {
+      List<String> received;
+      synchronized (session) {
+        received = new ArrayList<>(session.received);
+      }
+      for (String line : session.expected) {
+        keywordCounts.computeIfAbsent(keyword(line), k -> new long[2])[0]++;
+      }
+      for (String line : received) {
+        keywordCounts.computeIfAbsent(keyword(line), k -> new long[2])[1]++;
+      }
+
+      if (received.equals(session.expected)) {
+        identical++;
+        continue;
+      }
+      if (shown++ < 10) {
+        int index = 0;
+        while (index < received.size()
+            && index < session.expected.size()
+            && received.get(index).equals(session.expected.get(index))) {
+          index++;
+        }
+        mismatches.append(
+            String.format(
+                "  session %d differs at response %d: expected '%s', got '%s'%n",
+                session.id,
+                index,
+                index < session.expected.size() ? session.expected.get(index) : "<end>",
+                index < received.size() ? received.get(index) : "<end>"));
+      }
+    }
+
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format("Sessions: %d, identical responses: %d%n", sessions.size(), identical));
+    report.append(String.format("%-12s %10s %10s%n", "keyword", "captured", "replayed"));
+    for (Map.Entry<String, long[]> entry : keywordCounts.entrySet()) {
+      report.append(
+          String.format(
+              "%-12s %10d %10d%n", entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+    }
+    if (mismatches.length() > 0) {
+      report.append("First differences:").append(System.lineSeparator()).append(mismatches);
+    }
+    return report.toString();
+  }
+
+  /** Returns the protocol keyword of a line. */
+  private static String keyword(String line) {
+    int space = line.indexOf(' ');
+    return space < 0 ? line : line.substring(0, space);
+  }
+}
@@ -0,0 +1,77 @@
+package loadgen;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * State of one simulated player. Owned and mutated only by its {@link Worker} thread.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+class SimulatedPlayer {
+
+  /** Where the player is in its session. */
+  enum Phase {
+    /** Waiting for a connection slot. */
+    IDLE,
+    /** TCP connect in progress. */
+    CONNECTING,
+    /** HELLO sent, waiting for WELCOME. */
+    LOGGING_IN,
+    /** Logged in, waiting for START. */
+    QUEUED,
+    /** Reconnecting to the cluster node a REDIRECT named; still waiting for START. */
+    REDIRECTING,
+    /** In a game. */
+    PLAYING,
+    /** Left for good. */
+    DONE
+  }
+
+  final int id;
+  /** Incremented for every session and every game, so moves scheduled for an earlier one drop. */
+  int generation;
+  String name;
+  Phase phase = Phase.IDLE;
+
+  SocketChannel channel;
+  SelectionKey key;
+  final ByteBuffer input = ByteBuffer.allocate(512);
+  final ByteBuffer output = ByteBuffer.allocate(256);
+
+  /** Start of the step currently being measured, in {@link System#nanoTime()} units. */
+  long stepStart;
+  /** When the last MOVE was sent, or 0 if no move is awaiting its echo. */
+  long moveSentAt;
+  /** When a delayed move is due, or 0 if none is scheduled. */
+  long moveDueAt;
+  /** Occupied cells of the current game as a 9-bit mask (bit = row * 3 + column). */
+  int board;
+  /** Whether a REMATCH offer of this player is pending. */
+  boolean rematchOffered;
+  /** Ticket of the REDIRECT being followed, or 0. */
+  long ticket;
+
+  /**
+   * @param id stable index of the player, used to derive unique usernames
+   */
+  SimulatedPlayer(int id) {
+    this.id = id;
+  }
+
+  /** Starts a new session with a fresh username, so reconnects never collide with the old one. */
+  void nextSession() {
+    generation++;
+    name = "sim" + id + "g" + generation;
+    input.clear();
+    output.clear();
+    stepStart = 0;
+    moveSentAt = 0;
+    moveDueAt = 0;
+    board = 0;
+    rematchOffered = false;
+    ticket = 0;
+  }
+}
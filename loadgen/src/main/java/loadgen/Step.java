@@ -0,0 +1,20 @@
+package loadgen;
+
+/**
+ * Protocol steps whose latency and failures are measured separately.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public enum Step {
+  /** TCP connect until the socket is established. */
+  CONNECT,
+  /** HELLO sent until WELCOME received. */
+  LOGIN,
+  /** WELCOME received until START received (time spent in the matchmaking queue). */
+  MATCH,
+  /** MOVE sent until the server echoes the move back. */
+  MOVE,
+  /** Connection lost while the player expected to stay connected. */
+  SESSION
+}
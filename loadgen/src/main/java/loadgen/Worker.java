@@ -0,0 +1,474 @@
+package loadgen;
+
+import clientEnumUtils.ClientMessageBuilder;
+import enums.ServerMessages;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import serverEnumUtils.ServerEnumHandler;
+
+/**
+ * Drives a share of the simulated players over non-blocking sockets from a single selector
+ * thread.
+ *
+ * <p>Each player logs in, waits for a match, answers YOUR_TURN with a random or scripted legal
+ * move, and after the game either queues again on the same connection (optionally offering a
+ * rematch first), reconnects under a new name or leaves, according to {@link LoadConfig}. A
+ * player redirected to another cluster node moves there under the same name. All player state is
+ * confined to this thread.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+class Worker implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(Worker.class);
+
+  /** A move postponed by the configured think time. */
+  private record PendingMove(SimulatedPlayer player, int generation, long dueAt) {}
+
+  private final LoadConfig config;
+  private final InetSocketAddress address;
+  private final Selector selector;
+  private final SplittableRandom random;
+  private final ArrayDeque<SimulatedPlayer> idle = new ArrayDeque<>();
+  private final ArrayDeque<PendingMove> pendingMoves = new ArrayDeque<>();
+  private final double connectsPerNano;
+
+  final Metrics metrics = new Metrics();
+  private volatile boolean keepAlive = true;
+  private int active;
+
+  /**
+   * @param config the run settings
+   * @param players the players driven by this worker
+   * @param seed seed of this worker's move and mix decisions
+   * @throws IOException if the selector cannot be opened
+   */
+  Worker(LoadConfig config, List<SimulatedPlayer> players, long seed) throws IOException {
+    this.config = config;
+    this.address = new InetSocketAddress(config.host, config.port);
+    this.selector = Selector.open();
+    this.random = new SplittableRandom(seed);
+    this.connectsPerNano = config.connectRate / (double) config.workers / 1e9;
+    this.idle.addAll(players);
+    this.active = players.size();
+  }
+
+  /** Main loop: opens connections at the configured rate and handles socket events. */
+  @Override
+  public void run() {
+    long start = System.nanoTime();
+    long opened = 0;
+    try {
+      while (keepAlive && active > 0) {
+        long now = System.nanoTime();
+        long allowed = (long) ((now - start) * connectsPerNano) + 1;
+        while (!idle.isEmpty() && opened < allowed) {
+          connect(idle.poll(), now);
+          opened++;
+        }
+        runDueMoves(now);
+
+        selector.select(idle.isEmpty() && pendingMoves.isEmpty() ? 50 : 1);
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          handle(key, (SimulatedPlayer) key.attachment());
+        }
+      }
+    } catch (IOException e) {
+      log.error("Selector failed", e);
+    } finally {
+      shutdown();
+    }
+  }
+
+  /** Asks the worker to quit all players and stop. */
+  void terminate() {
+    keepAlive = false;
+    selector.wakeup();
+  }
+
+  /**
+   * Starts a new session for a player: opens a non-blocking connection.
+   *
+   * @param player the idle player
+   * @param now current time in nanoseconds
+   */
+  private void connect(SimulatedPlayer player, long now) {
+    player.nextSession();
+    player.phase = SimulatedPlayer.Phase.CONNECTING;
+    player.stepStart = now;
+    try {
+      open(player, address, now);
+    } catch (IOException e) {
+      metrics.failure(Step.CONNECT);
+      closeSession(player, true);
+    }
+  }
+
+  /** Opens a non-blocking connection for the player to the given server. */
+  private void open(SimulatedPlayer player, SocketAddress server, long now) throws IOException {
+    SocketChannel channel = SocketChannel.open();
+    channel.configureBlocking(false);
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    player.channel = channel;
+    player.key = channel.register(selector, SelectionKey.OP_CONNECT, player);
+    if (channel.connect(server)) {
+      connected(player, now);
+    }
+  }
+
+  /**
+   * Follows a REDIRECT: drops the connection to this node and logs in on the game node with the
+   * ticket. The MATCH step keeps running until the START there.
+   */
+  private void redirect(SimulatedPlayer player, String host, int port, long ticket, long now) {
+    metrics.redirects++;
+    try {
+      player.channel.close();
+    } catch (IOException e) {
+      log.debug("Error closing channel", e);
+    }
+    player.phase = SimulatedPlayer.Phase.REDIRECTING;
+    player.ticket = ticket;
+    player.input.clear();
+    player.output.clear();
+    try {
+      open(player, new InetSocketAddress(host, port), now);
+    } catch (IOException e) {
+      connectionLost(player);
+    }
+  }
+
+  /**
+   * Dispatches a ready selection key.
+   *
+   * @param key the selected key
+   * @param player the player attached to it
+   */
+  private void handle(SelectionKey key, SimulatedPlayer player) {
+    long now = System.nanoTime();
+    try {
+      if (key.isConnectable()) {
+        player.channel.finishConnect();
+        connected(player, now);
+        return;
+      }
+      if (key.isWritable()) {
+        flush(player);
+      }
+      if (key.isReadable()) {
+        read(player, now);
+      }
+    } catch (IOException e) {
+      connectionLost(player);
+    }
+  }
+
+  /** Records the connect latency and sends HELLO, or HELLO with the ticket after a REDIRECT. */
+  private void connected(SimulatedPlayer player, long now) throws IOException {
+    player.key.interestOps(SelectionKey.OP_READ);
+    if (player.phase == SimulatedPlayer.Phase.REDIRECTING) {
+      send(player, ClientMessageBuilder.hello(player.name, player.ticket));
+      return;
+    }
+    metrics.success(Step.CONNECT, now - player.stepStart);
+    player.phase = SimulatedPlayer.Phase.LOGGING_IN;
+    player.stepStart = now;
+    send(player, ClientMessageBuilder.hello(player.name));
+  }
+
+  /** Reads available bytes and handles every complete line. */
+  private void read(SimulatedPlayer player, long now) throws IOException {
+    ByteBuffer input = player.input;
+    if (player.channel.read(input) < 0) {
+      connectionLost(player);
+      return;
+    }
+    input.flip();
+    int lineStart = input.position();
+    for (int i = lineStart; i < input.limit(); i++) {
+      if (input.get(i) == '\n') {
+        int end = (i > lineStart && input.get(i - 1) == '\r') ? i - 1 : i;
+        String line =
+            new String(input.array(), lineStart, end - lineStart, StandardCharsets.UTF_8);
+        lineStart = i + 1;
+        handleLine(player, line, now);
+        if (player.channel == null || player.phase == SimulatedPlayer.Phase.REDIRECTING) {
+          // Closed, or moved to another node with fresh buffers
+          return;
+        }
+      }
+    }
+    input.position(lineStart);
+    input.compact();
+    if (!input.hasRemaining()) {
+      log.warn("Line too long from server, dropping buffer of {}", player.name);
+      input.clear();
+    }
+  }
+
+  /**
+   * Reacts to one server message.
+   *
+   * @param player the receiving player
+   * @param line the raw protocol line
+   * @param now current time in nanoseconds
+   */
+  private void handleLine(SimulatedPlayer player, String line, long now) throws IOException {
+    metrics.messagesReceived++;
+    String[] parts = line.split(" ");
+    ServerMessages type = ServerEnumHandler.enumFinder(parts[0]);
+    if (type == null) {
+      log.debug("Unknown message from server: {}", line);
+      return;
+    }
+
+    switch (type) {
+      case WELCOME -> {
+        if (player.phase == SimulatedPlayer.Phase.REDIRECTING) {
+          player.phase = SimulatedPlayer.Phase.QUEUED;
+          player.ticket = 0;
+          return;
+        }
+        metrics.success(Step.LOGIN, now - player.stepStart);
+        player.phase = SimulatedPlayer.Phase.QUEUED;
+        player.stepStart = now;
+      }
+      case START -> {
+        metrics.success(Step.MATCH, now - player.stepStart);
+        player.phase = SimulatedPlayer.Phase.PLAYING;
+        player.generation++;
+        player.board = 0;
+        player.rematchOffered = false;
+      }
+      case YOUR_TURN -> {
+        if (player.phase != SimulatedPlayer.Phase.PLAYING || !parts[1].equals(player.name)) {
+          return;
+        }
+        if (random.nextDouble() < config.abandonRate) {
+          metrics.gamesAbandoned++;
+          endSession(player);
+        } else if (config.thinkMillis > 0) {
+          pendingMoves.add(
+              new PendingMove(player, player.generation, now + config.thinkMillis * 1_000_000));
+        } else {
+          sendMove(player, now);
+        }
+      }
+      case MOVE -> {
+        int cell = Integer.parseInt(parts[2]) * 3 + Integer.parseInt(parts[3]);
+        player.board |= 1 << cell;
+        if (player.moveSentAt != 0 && parts[1].equals(player.name)) {
+          metrics.success(Step.MOVE, now - player.moveSentAt);
+          player.moveSentAt = 0;
+        }
+      }
+      case WINNER, DRAW -> {
+        metrics.gamesFinished++;
+        if (player.phase == SimulatedPlayer.Phase.PLAYING) {
+          gameOver(player, now);
+        }
+      }
+      case REMATCH -> {
+        if (player.phase == SimulatedPlayer.Phase.QUEUED && !player.rematchOffered) {
+          // Accepting takes the player out of the queue straight into the game
+          player.rematchOffered = true;
+          send(player, ClientMessageBuilder.rematch());
+        }
+      }
+      case PING -> send(player, ClientMessageBuilder.pong(parts[1]));
+      case REDIRECT -> {
+        if (player.phase == SimulatedPlayer.Phase.QUEUED) {
+          redirect(player, parts[1], Integer.parseInt(parts[2]), Long.parseLong(parts[3]), now);
+        }
+      }
+      case ERROR -> {
+        if (player.phase == SimulatedPlayer.Phase.REDIRECTING) {
+          metrics.failure(Step.MATCH);
+          closeSession(player, true);
+        } else if (player.phase == SimulatedPlayer.Phase.LOGGING_IN) {
+          metrics.failure(Step.LOGIN);
+          closeSession(player, true);
+        } else if (player.phase == SimulatedPlayer.Phase.QUEUED && player.rematchOffered) {
+          // Declined, unavailable or busy: wait for any opponent instead
+          player.rematchOffered = false;
+          requeue(player);
+        } else if (player.moveSentAt != 0) {
+          metrics.failure(Step.MOVE);
+          player.moveSentAt = 0;
+          sendMove(player, now);
+        } else {
+          metrics.failure(Step.SESSION);
+        }
+      }
+      default -> {
+        // DISCONNECT follows WINNER, so the session is already being closed or requeued
+      }
+    }
+  }
+
+  /**
+   * After a finished game, queues again on the same connection, offering the opponent a rematch
+   * first if configured, or ends the session.
+   */
+  private void gameOver(SimulatedPlayer player, long now) throws IOException {
+    if (!keepAlive || random.nextDouble() >= config.requeueRatio) {
+      endSession(player);
+      return;
+    }
+    player.phase = SimulatedPlayer.Phase.QUEUED;
+    player.stepStart = now;
+    player.moveSentAt = 0;
+    if (random.nextDouble() < config.rematchRatio) {
+      player.rematchOffered = true;
+      metrics.rematchOffers++;
+      send(player, ClientMessageBuilder.rematch());
+    } else {
+      requeue(player);
+    }
+  }
+
+  private void requeue(SimulatedPlayer player) throws IOException {
+    metrics.requeues++;
+    send(player, ClientMessageBuilder.requeue());
+  }
+
+  /** Sends the moves whose think time has elapsed. */
+  private void runDueMoves(long now) {
+    while (!pendingMoves.isEmpty() && pendingMoves.peek().dueAt() <= now) {
+      PendingMove move = pendingMoves.poll();
+      SimulatedPlayer player = move.player();
+      if (player.generation == move.generation()
+          && player.phase == SimulatedPlayer.Phase.PLAYING) {
+        try {
+          sendMove(player, now);
+        } catch (IOException e) {
+          connectionLost(player);
+        }
+      }
+    }
+  }
+
+  /** Picks a free cell (scripted preference first, otherwise random) and sends MOVE. */
+  private void sendMove(SimulatedPlayer player, long now) throws IOException {
+    int free = ~player.board & 0x1FF;
+    if (free == 0) {
+      return;
+    }
+    int cell = -1;
+    if (config.script != null) {
+      for (int candidate : config.script) {
+        if ((free & (1 << candidate)) != 0) {
+          cell = candidate;
+          break;
+        }
+      }
+    }
+    if (cell < 0) {
+      int skip = random.nextInt(Integer.bitCount(free));
+      for (int i = 0; i < skip; i++) {
+        free &= free - 1;
+      }
+      cell = Integer.numberOfTrailingZeros(free);
+    }
+    player.moveSentAt = now;
+    send(player, ClientMessageBuilder.move(cell / 3, cell % 3));
+  }
+
+  /** Appends a protocol line to the player's output buffer and writes as much as possible. */
+  private void send(SimulatedPlayer player, String message) throws IOException {
+    player.output.put(message.getBytes(StandardCharsets.UTF_8)).put((byte) '\n');
+    metrics.messagesSent++;
+    flush(player);
+  }
+
+  /** Writes buffered output, waiting for OP_WRITE if the socket buffer is full. */
+  private void flush(SimulatedPlayer player) throws IOException {
+    ByteBuffer output = player.output;
+    output.flip();
+    player.channel.write(output);
+    output.compact();
+    int ops = SelectionKey.OP_READ | (output.position() > 0 ? SelectionKey.OP_WRITE : 0);
+    player.key.interestOps(ops);
+  }
+
+  /** Ends a game session with QUIT and decides between reconnecting and leaving. */
+  private void endSession(SimulatedPlayer player) {
+    try {
+      send(player, ClientMessageBuilder.quit());
+    } catch (IOException e) {
+      // The server may already have closed the socket; nothing left to tell it
+    }
+    closeSession(player, keepAlive && random.nextDouble() < config.reconnectRatio);
+  }
+
+  /** Counts an unexpected disconnect against the current step and reconnects. */
+  private void connectionLost(SimulatedPlayer player) {
+    switch (player.phase) {
+      case CONNECTING -> metrics.failure(Step.CONNECT);
+      case LOGGING_IN -> metrics.failure(Step.LOGIN);
+      default -> metrics.failure(Step.SESSION);
+    }
+    closeSession(player, keepAlive);
+  }
+
+  /**
+   * Closes the player's socket and either queues it for a new session or retires it.
+   *
+   * @param player the player
+   * @param reconnect whether to start a new session later
+   */
+  private void closeSession(SimulatedPlayer player, boolean reconnect) {
+    if (player.channel != null) {
+      try {
+        player.channel.close();
+      } catch (IOException e) {
+        log.debug("Error closing channel", e);
+      }
+      player.channel = null;
+      player.key = null;
+    }
+    if (reconnect) {
+      player.phase = SimulatedPlayer.Phase.IDLE;
+      idle.add(player);
+    } else {
+      player.phase = SimulatedPlayer.Phase.DONE;
+      active--;
+    }
+  }
+
+  /** Sends QUIT to every connected player and closes the selector. */
+  private void shutdown() {
+    for (SelectionKey key : selector.keys()) {
+      SimulatedPlayer player = (SimulatedPlayer) key.attachment();
+      if (player.channel != null && player.phase != SimulatedPlayer.Phase.CONNECTING) {
+        try {
+          send(player, ClientMessageBuilder.quit());
+        } catch (IOException e) {
+          // Best effort only
+        }
+      }
+      closeSession(player, false);
+    }
+    try {
+      selector.close();
+    } catch (IOException e) {
+      log.debug("Error closing selector", e);
+    }
+  }
+}
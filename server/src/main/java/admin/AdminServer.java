@@ -0,0 +1,141 @@
+package admin;
+
+import cluster.Node;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import serverController.Server;
+
+/**
+ * Local admin interface: a text protocol on a loopback-only port that answers with {@link
+ * ServerSnapshot}s.
+ *
+ * <p>Commands, one per line: {@code SUMMARY} (counts only), {@code SNAPSHOT} (everything, ended
+ * by {@code END}), {@code DRAIN [host:port] [seconds]} (see {@link Server#drain}, default 60
+ * seconds) and {@code QUIT}. Admin clients are served one at a time on the admin thread;
+ * building a snapshot never blocks logins, matchmaking or games.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class AdminServer implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(AdminServer.class);
+
+  private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+  private final Server server;
+  private final int port;
+  private volatile boolean keepAlive = true;
+  private volatile ServerSocket serverSocket;
+
+  /**
+   * Creates the admin interface and starts its thread.
+   *
+   * @param server the server to report on
+   * @param port the loopback port to listen on
+   */
+  public AdminServer(Server server, int port) {
+    this.server = server;
+    this.port = port;
+
+    Thread thread = new Thread(this);
+    thread.setName("Admin");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Accepts admin clients until terminated. */
+  @Override
+  public void run() {
+    try (ServerSocket socket = new ServerSocket(port, 8, InetAddress.getLoopbackAddress())) {
+      serverSocket = socket;
+      log.info("Admin interface listening on {}:{}", socket.getInetAddress().getHostAddress(), port);
+      while (keepAlive) {
+        try (Socket client = socket.accept()) {
+          serve(client);
+        } catch (IOException e) {
+          if (keepAlive) {
+            log.warn("Admin client failed", e);
+          }
+        }
+      }
+    } catch (IOException e) {
+      if (keepAlive) {
+        log.error("Admin interface stopped", e);
+      }
+    }
+  }
+
+  /** Answers commands from one admin client until it quits or disconnects. */
+  private void serve(Socket client) throws IOException {
+    client.setSoTimeout(READ_TIMEOUT_MILLIS);
+    BufferedReader in =
+        new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+    Writer out =
+        new BufferedWriter(
+            new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8), 1 << 16);
+
+    String line;
+    while (keepAlive && (line = in.readLine()) != null) {
+      String command = line.trim().toUpperCase();
+      if (command.equals("SNAPSHOT")) {
+        long start = System.nanoTime();
+        ServerSnapshot snapshot = ServerSnapshot.capture(server);
+        snapshot.write(out);
+        log.debug(
+            "Admin snapshot of {} games in {} us",
+            snapshot.getGames().size(),
+            (System.nanoTime() - start) / 1000);
+      } else if (command.equals("SUMMARY")) {
+        ServerSnapshot.capture(server).writeSummary(out);
+      } else if (command.equals("DRAIN") || command.startsWith("DRAIN ")) {
+        out.write(drain(line.trim().split("\\s+")));
+      } else if (command.equals("QUIT")) {
+        return;
+      } else if (!command.isEmpty()) {
+        out.write("ERROR unknown command, use SUMMARY, SNAPSHOT, DRAIN or QUIT\n");
+      }
+      out.flush();
+    }
+  }
+
+  /**
+   * Starts draining the server, e.g. from a deploy script once the successor is up.
+   *
+   * @param command the split DRAIN command
+   * @return the reply line
+   */
+  private String drain(String[] command) {
+    Node successor;
+    long seconds;
+    try {
+      successor = command.length > 1 ? Node.parse(command[1]) : null;
+      seconds = command.length > 2 ? Long.parseLong(command[2]) : 60;
+    } catch (IllegalArgumentException e) {
+      return "ERROR usage: DRAIN [host:port] [seconds]\n";
+    }
+    return server.drain(successor, seconds * 1000) ? "OK draining\n" : "ERROR already draining\n";
+  }
+
+  /** Stops accepting admin clients. */
+  public void terminate() {
+    keepAlive = false;
+    ServerSocket socket = serverSocket;
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        log.debug("Failed to close admin socket", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,290 @@
+package admin;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import serverController.Connection;
+import serverController.GameManager;
+import serverController.GameState;
+import serverController.Server;
+
+/**
+ * Immutable picture of the server's live state for operators: connections, the matchmaking
+ * queue and every live game with its board and age.
+ *
+ * <p>Capturing never takes a lock. Connections, queue and games are read from concurrent
+ * collections, and each game's board, turn and status come from one read of its {@link GameState}
+ * word, checked again after its players have been read, so every game is internally consistent.
+ * Collections are read one after another, so a player who is being matched at that moment may
+ * show up in neither the queue nor a game.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class ServerSnapshot {
+
+  /** What an open connection is doing. */
+  public enum Activity {
+    /** Connected but not logged in, or finished with its game. */
+    IDLE,
+    /** Waiting for an opponent. */
+    QUEUED,
+    /** Playing a game. */
+    PLAYING
+  }
+
+  /**
+   * One open connection with its smoothed round-trip time and jitter in microseconds; the RTT is
+   * -1 until the client has answered a PING.
+   */
+  public record User(String name, Activity activity, long rttMicros, long jitterMicros) {}
+
+  /** One waiting player; {@code queue} is null for the login queue, else a named queue. */
+  public record Queued(String name, String queue) {}
+
+  /** One live game. */
+  public record Game(long id, String cross, String circle, long startedAt, long state) {
+
+    /**
+     * @return the board as nine characters, row by row: X, O or '.'
+     */
+    public String board() {
+      return GameState.board(state);
+    }
+  }
+
+  private final long takenAt;
+  private final List<User> users;
+  private final List<Queued> queue;
+  private final List<Game> games;
+
+  private ServerSnapshot(long takenAt, List<User> users, List<Queued> queue, List<Game> games) {
+    this.takenAt = takenAt;
+    this.users = users;
+    this.queue = queue;
+    this.games = games;
+  }
+
+  /**
+   * Captures the current state of a server without blocking it.
+   *
+   * @param server the server
+   * @return the snapshot
+   */
+  public static ServerSnapshot capture(Server server) {
+    long takenAt = System.currentTimeMillis();
+
+    Collection<GameManager> live = server.getGames().games();
+    List<Game> games = new ArrayList<>(live.size() + 16);
+    for (GameManager game : live) {
+      Game captured = capture(game);
+      if (captured != null) {
+        games.add(captured);
+      }
+    }
+
+    Collection<Connection> waiting = server.getWaiting();
+    List<Queued> queue = new ArrayList<>(waiting.size() + 16);
+    Set<Connection> queued = new HashSet<>(waiting);
+    for (Connection connection : waiting) {
+      String name = connection.getName();
+      if (name != null) {
+        queue.add(new Queued(name, null));
+      }
+    }
+    for (Map.Entry<String, Collection<Connection>> named : server.getNamedWaiting().entrySet()) {
+      for (Connection connection : named.getValue()) {
+        String name = connection.getName();
+        if (name != null) {
+          queue.add(new Queued(name, named.getKey()));
+          queued.add(connection);
+        }
+      }
+    }
+
+    Collection<Connection> open = server.getConnections();
+    List<User> users = new ArrayList<>(open.size() + 16);
+    for (Connection connection : open) {
+      Activity activity;
+      if (connection.getGameManager() != null || !connection.getGames().isEmpty()) {
+        activity = Activity.PLAYING;
+      } else if (queued.contains(connection)) {
+        activity = Activity.QUEUED;
+      } else {
+        activity = Activity.IDLE;
+      }
+      users.add(
+          new User(
+              connection.getName(),
+              activity,
+              connection.getRttMicros(),
+              connection.getJitterMicros()));
+    }
+
+    return new ServerSnapshot(takenAt, List.copyOf(users), List.copyOf(queue), List.copyOf(games));
+  }
+
+  /**
+   * Reads one game. A pooled GameManager may be settled and restarted for other players while its
+   * fields are read, so the state is read again afterwards: if it is still the same running
+   * generation, the fields belong to the game whose board was read; otherwise the read is retried.
+   *
+   * @param game a registered game
+   * @return the game, or null if it is not running
+   */
+  private static Game capture(GameManager game) {
+    while (true) {
+      long state = game.getState();
+      if (!GameState.isRunning(state)) {
+        return null;
+      }
+      long id = game.getId();
+      String cross = game.getCrossName();
+      String circle = game.getCircleName();
+      long startedAt = game.getStartedAt();
+      // Keeps the field reads above from moving past the second read of the state
+      VarHandle.acquireFence();
+      long again = game.getState();
+      if (GameState.isRunning(again)
+          && GameState.generation(again) == GameState.generation(state)) {
+        return new Game(id, cross, circle, startedAt, state);
+      }
+    }
+  }
+
+  /**
+   * @return epoch millis when the snapshot was taken
+   */
+  public long getTakenAt() {
+    return takenAt;
+  }
+
+  /**
+   * @return all open connections
+   */
+  public List<User> getUsers() {
+    return users;
+  }
+
+  /**
+   * @return the waiting players, in the login queue and in named queues
+   */
+  public List<Queued> getQueue() {
+    return queue;
+  }
+
+  /**
+   * @return the live games
+   */
+  public List<Game> getGames() {
+    return games;
+  }
+
+  /**
+   * Writes the one-line summary: counts, the age of the oldest game and the median and 99th
+   * percentile of the connections' smoothed RTT in microseconds (-1 if no client has answered a
+   * PING yet).
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void writeSummary(Appendable out) throws IOException {
+    long oldest = 0;
+    for (Game game : games) {
+      oldest = Math.max(oldest, takenAt - game.startedAt());
+    }
+    out.append("SNAPSHOT ")
+        .append(Long.toString(takenAt))
+        .append(" connections=")
+        .append(Integer.toString(users.size()))
+        .append(" queued=")
+        .append(Integer.toString(queue.size()))
+        .append(" games=")
+        .append(Integer.toString(games.size()))
+        .append(" oldestGameMs=")
+        .append(Long.toString(oldest))
+        .append(" rttP50Us=")
+        .append(Long.toString(rttPercentile(0.5)))
+        .append(" rttP99Us=")
+        .append(Long.toString(rttPercentile(0.99)))
+        .append('\n');
+  }
+
+  /**
+   * @param fraction the percentile, between 0 and 1
+   * @return that percentile of the smoothed RTT over all probed connections, or -1 if none is
+   */
+  public long rttPercentile(double fraction) {
+    long[] rtts = new long[users.size()];
+    int count = 0;
+    for (User user : users) {
+      if (user.rttMicros() >= 0) {
+        rtts[count++] = user.rttMicros();
+      }
+    }
+    if (count == 0) {
+      return -1;
+    }
+    Arrays.sort(rtts, 0, count);
+    return rtts[Math.min(count - 1, (int) (count * fraction))];
+  }
+
+  /**
+   * Writes the full snapshot as text lines: the summary, one {@code USER}, {@code QUEUE} and
+   * {@code GAME} line per entry, and a final {@code END}.
+   *
+   * <pre>
+   * USER &lt;name|-&gt; &lt;IDLE|QUEUED|PLAYING&gt; &lt;rtt us|-&gt; &lt;jitter us|-&gt;
+   * QUEUE &lt;name&gt; [&lt;named queue&gt;]
+   * GAME &lt;id&gt; &lt;X player&gt; &lt;O player&gt; &lt;age ms&gt; &lt;board&gt; &lt;X|O to move&gt; &lt;moves&gt;
+   * </pre>
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void write(Appendable out) throws IOException {
+    writeSummary(out);
+    for (User user : users) {
+      out.append("USER ")
+          .append(user.name() != null ? user.name() : "-")
+          .append(' ')
+          .append(user.activity().name())
+          .append(' ')
+          .append(user.rttMicros() >= 0 ? Long.toString(user.rttMicros()) : "-")
+          .append(' ')
+          .append(user.rttMicros() >= 0 ? Long.toString(user.jitterMicros()) : "-")
+          .append('\n');
+    }
+    for (Queued entry : queue) {
+      out.append("QUEUE ").append(entry.name());
+      if (entry.queue() != null) {
+        out.append(' ').append(entry.queue());
+      }
+      out.append('\n');
+    }
+    for (Game game : games) {
+      out.append("GAME ")
+          .append(Long.toString(game.id()))
+          .append(' ')
+          .append(game.cross())
+          .append(' ')
+          .append(game.circle())
+          .append(' ')
+          .append(Long.toString(takenAt - game.startedAt()))
+          .append(' ')
+          .append(game.board())
+          .append(' ')
+          .append(GameState.isCircleToMove(game.state()) ? 'O' : 'X')
+          .append(' ')
+          .append(Integer.toString(GameState.moveCount(game.state())))
+          .append('\n');
+    }
+    out.append("END\n");
+  }
+}
@@ -0,0 +1,103 @@
+package archive;
+
+/**
+ * Layout of the game archive file.
+ *
+ * <p>The file is a sequence of fixed-size blocks of {@link #BLOCK_GAMES} games each, stored
+ * column by column in little-endian order so that a scan touching one attribute reads one
+ * contiguous region:
+ *
+ * <pre>
+ * offset  size                 content
+ * 0       4                    magic "TTTA"
+ * 4       4                    number of games in the block (the last block may be partial)
+ * 8       8                    epoch millis when the first game of the block finished
+ * 16      8 * BLOCK_GAMES      moves: 4-bit cell indices (row * 3 + column), first move lowest
+ *         4 * BLOCK_GAMES      X player id
+ *         4 * BLOCK_GAMES      O player id
+ *         4 * BLOCK_GAMES      duration in milliseconds
+ *         1 * BLOCK_GAMES      result code
+ *         1 * BLOCK_GAMES      number of moves
+ * </pre>
+ *
+ * <p>Player ids index a sidecar file ({@code <archive>.names}) holding the usernames in id order.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class ArchiveFormat {
+
+  /** Marks the start of every block. */
+  public static final int MAGIC = 0x54545441;
+
+  /** Games per block. */
+  public static final int BLOCK_GAMES = 4096;
+
+  /** Offset of the game count within a block. */
+  public static final int COUNT_OFFSET = 4;
+
+  /** Offset of the block start timestamp within a block. */
+  public static final int START_OFFSET = 8;
+
+  /** Offset of the moves column. */
+  public static final int MOVES_OFFSET = 16;
+
+  /** Offset of the X player column. */
+  public static final int CROSS_OFFSET = MOVES_OFFSET + 8 * BLOCK_GAMES;
+
+  /** Offset of the O player column. */
+  public static final int CIRCLE_OFFSET = CROSS_OFFSET + 4 * BLOCK_GAMES;
+
+  /** Offset of the duration column. */
+  public static final int DURATION_OFFSET = CIRCLE_OFFSET + 4 * BLOCK_GAMES;
+
+  /** Offset of the result column. */
+  public static final int RESULT_OFFSET = DURATION_OFFSET + 4 * BLOCK_GAMES;
+
+  /** Offset of the move count column. */
+  public static final int LENGTH_OFFSET = RESULT_OFFSET + BLOCK_GAMES;
+
+  /** Size of one block in bytes. */
+  public static final int BLOCK_BYTES = LENGTH_OFFSET + BLOCK_GAMES;
+
+  /** X completed a line. */
+  public static final byte CROSS_WON = 0;
+
+  /** O completed a line. */
+  public static final byte CIRCLE_WON = 1;
+
+  /** The board filled up without a line. */
+  public static final byte DRAW = 2;
+
+  /** X left the game, O was awarded the win. */
+  public static final byte CROSS_QUIT = 3;
+
+  /** O left the game, X was awarded the win. */
+  public static final byte CIRCLE_QUIT = 4;
+
+  /** Number of distinct result codes. */
+  public static final int RESULTS = 5;
+
+  private ArchiveFormat() {}
+
+  /**
+   * Appends a move to a packed move sequence.
+   *
+   * @param moves the sequence so far
+   * @param count number of moves already in the sequence
+   * @param cell cell index of the new move (row * 3 + column)
+   * @return the extended sequence
+   */
+  public static long appendMove(long moves, int count, int cell) {
+    return moves | ((long) cell << (4 * count));
+  }
+
+  /**
+   * @param moves a packed move sequence
+   * @param index zero-based move number
+   * @return the cell index of that move
+   */
+  public static int moveAt(long moves, int index) {
+    return (int) (moves >>> (4 * index)) & 0xF;
+  }
+}
@@ -0,0 +1,243 @@
+package archive;
+
+import static archive.ArchiveFormat.*;
+
+import gameLogic.Board;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import simulation.Policies;
+import stateEnum.State;
+
+/**
+ * Computes aggregates over a game archive: result distribution, first-move advantage, opening
+ * frequencies with their outcomes, and average game length and duration.
+ *
+ * <p>The file is memory-mapped and blocks are scanned in parallel, each worker folding whole blocks
+ * into its own {@link Totals}. Every aggregate reads only the columns it needs, front to back.
+ *
+ * <p>Usage: {@code ArchiveScan --file=PATH [--generate=N] [--seed=S]}. With {@code --generate} the
+ * archive is first extended by N random self-play games, which is how large archives for
+ * measuring the scan are produced.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class ArchiveScan {
+
+  /** Blocks per mapping; one mapping cannot exceed 2 GB. */
+  private static final int SEGMENT_BLOCKS = Integer.MAX_VALUE / BLOCK_BYTES;
+
+  private static final String[] RESULT_NAMES = {
+    "X won", "O won", "draw", "X quit", "O quit"
+  };
+
+  /** Per-worker counters, merged at the end. */
+  static final class Totals {
+    long games;
+    long moves;
+    long durationMillis;
+    final long[] results = new long[RESULTS];
+    final long[] lengths = new long[Board.CELLS + 1];
+    final long[][] openings = new long[Board.CELLS][RESULTS];
+
+    /** Folds one block into the counters. */
+    void scan(MappedByteBuffer segment, int base) {
+      int count = segment.getInt(base + COUNT_OFFSET);
+      games += count;
+
+      for (int i = 0; i < count; i++) {
+        int length = segment.get(base + LENGTH_OFFSET + i);
+        lengths[length]++;
+        moves += length;
+      }
+      for (int i = 0; i < count; i++) {
+        durationMillis += segment.getInt(base + DURATION_OFFSET + 4 * i);
+      }
+      for (int i = 0; i < count; i++) {
+        int result = segment.get(base + RESULT_OFFSET + i);
+        results[result]++;
+        if (segment.get(base + LENGTH_OFFSET + i) > 0) {
+          int opening = moveAt(segment.getLong(base + MOVES_OFFSET + 8 * i), 0);
+          openings[opening][result]++;
+        }
+      }
+    }
+
+    void add(Totals other) {
+      games += other.games;
+      moves += other.moves;
+      durationMillis += other.durationMillis;
+      for (int i = 0; i < results.length; i++) {
+        results[i] += other.results[i];
+      }
+      for (int i = 0; i < lengths.length; i++) {
+        lengths[i] += other.lengths[i];
+      }
+      for (int cell = 0; cell < openings.length; cell++) {
+        for (int i = 0; i < RESULTS; i++) {
+          openings[cell][i] += other.openings[cell][i];
+        }
+      }
+    }
+  }
+
+  /**
+   * Optionally generates games, then scans the archive and prints the aggregates.
+   *
+   * @param args {@code --file} and optional {@code --generate} and {@code --seed}
+   * @throws IOException if the archive cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    File file = null;
+    long generate = 0;
+    long seed = 42;
+    for (String arg : args) {
+      if (arg.startsWith("--file=")) {
+        file = new File(arg.substring("--file=".length()));
+      } else if (arg.startsWith("--generate=")) {
+        generate = Long.parseLong(arg.substring("--generate=".length()));
+      } else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    if (file == null) {
+      throw new IllegalArgumentException("Missing --file=PATH");
+    }
+
+    if (generate > 0) {
+      long start = System.nanoTime();
+      generate(file, generate, seed);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("Generated %d games in %.1f s%n", generate, seconds);
+    }
+
+    long start = System.nanoTime();
+    Totals totals = scan(file);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    print(totals);
+    System.out.printf(
+        "%nScanned %d games (%.1f MB) in %.3f s, %.0f games/s%n",
+        totals.games,
+        file.length() / 1e6,
+        seconds,
+        totals.games / seconds);
+  }
+
+  /**
+   * Scans a whole archive in parallel.
+   *
+   * @param file the archive file
+   * @return merged totals
+   * @throws IOException if the file cannot be mapped
+   */
+  public static Totals scan(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long blocks = channel.size() / BLOCK_BYTES;
+      int segmentCount = (int) ((blocks + SEGMENT_BLOCKS - 1) / SEGMENT_BLOCKS);
+      MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+      for (int s = 0; s < segmentCount; s++) {
+        long first = (long) s * SEGMENT_BLOCKS;
+        long size = Math.min(SEGMENT_BLOCKS, blocks - first) * BLOCK_BYTES;
+        segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, first * BLOCK_BYTES, size);
+        segments[s].order(ByteOrder.LITTLE_ENDIAN);
+      }
+
+      // Absolute reads do not touch the buffer position, so workers can share the mappings
+      return IntStream.range(0, (int) blocks)
+          .parallel()
+          .collect(
+              Totals::new,
+              (totals, block) ->
+                  totals.scan(
+                      segments[block / SEGMENT_BLOCKS], (block % SEGMENT_BLOCKS) * BLOCK_BYTES),
+              Totals::add);
+    }
+  }
+
+  /** Appends random self-play games between a thousand generated players. */
+  private static void generate(File file, long games, long seed) throws IOException {
+    SplittableRandom random = new SplittableRandom(seed);
+    long now = System.currentTimeMillis();
+    try (BlockWriter blocks = new BlockWriter(file);
+        NameTable names = new NameTable(GameArchive.namesFile(file))) {
+      int players = 1000;
+      for (int i = 0; i < players; i++) {
+        names.idOf("bot" + i);
+      }
+      Board board = new Board();
+      for (long game = 0; game < games; game++) {
+        board.reset();
+        long moves = 0;
+        State symbol = State.X;
+        byte result = DRAW;
+        while (true) {
+          int cell = Policies.RANDOM.chooseCell(board, symbol, random);
+          moves = appendMove(moves, board.moveCount(), cell);
+          if (board.place(cell, symbol) != null) {
+            result = symbol == State.X ? CROSS_WON : CIRCLE_WON;
+            break;
+          }
+          if (board.isFull()) {
+            break;
+          }
+          symbol = symbol == State.X ? State.O : State.X;
+        }
+        int cross = random.nextInt(players);
+        int circle = (cross + 1 + random.nextInt(players - 1)) % players;
+        int duration = board.moveCount() * (500 + random.nextInt(3000));
+        blocks.add(cross, circle, result, moves, board.moveCount(), duration, now);
+      }
+    }
+  }
+
+  private static void print(Totals totals) {
+    long games = Math.max(1, totals.games);
+    System.out.printf("%-8s %12s %8s%n", "result", "games", "share");
+    for (int i = 0; i < RESULTS; i++) {
+      System.out.printf(
+          "%-8s %12d %7.2f%%%n", RESULT_NAMES[i], totals.results[i], 100.0 * totals.results[i] / games);
+    }
+
+    long crossWins = totals.results[CROSS_WON] + totals.results[CIRCLE_QUIT];
+    long circleWins = totals.results[CIRCLE_WON] + totals.results[CROSS_QUIT];
+    System.out.printf(
+        "%nFirst-move advantage: X scores %.2f%% (wins count 1, draws 0.5)%n",
+        100.0 * (crossWins + 0.5 * totals.results[DRAW]) / games);
+
+    System.out.printf("%n%-8s %12s %8s %8s %8s%n", "opening", "games", "share", "X win%", "O win%");
+    long opened = Math.max(1, totals.games - totals.lengths[0]);
+    for (int cell = 0; cell < Board.CELLS; cell++) {
+      long[] outcomes = totals.openings[cell];
+      long count = 0;
+      for (long outcome : outcomes) {
+        count += outcome;
+      }
+      long denominator = Math.max(1, count);
+      System.out.printf(
+          "(%d,%d)    %12d %7.2f%% %7.2f%% %7.2f%%%n",
+          cell / Board.SIZE,
+          cell % Board.SIZE,
+          count,
+          100.0 * count / opened,
+          100.0 * (outcomes[CROSS_WON] + outcomes[CIRCLE_QUIT]) / denominator,
+          100.0 * (outcomes[CIRCLE_WON] + outcomes[CROSS_QUIT]) / denominator);
+    }
+
+    System.out.printf(
+        "%nAverage length: %.2f moves, average duration: %.1f s%n",
+        (double) totals.moves / games,
+        totals.durationMillis / 1000.0 / games);
+    System.out.printf("%-8s %12s%n", "moves", "games");
+    for (int length = 0; length < totals.lengths.length; length++) {
+      System.out.printf("%-8d %12d%n", length, totals.lengths[length]);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package archive;
+
+import static archive.ArchiveFormat.*;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fills archive blocks in memory and writes them to their fixed position in the file.
+ *
+ * <p>A partial block can be written at any time and is simply overwritten when it grows, so the
+ * file is readable between flushes. Opening an existing archive continues its last partial block.
+ * Not thread-safe.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class BlockWriter implements Closeable {
+  private static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(BLOCK_BYTES);
+
+  private final FileChannel channel;
+  private final ByteBuffer block =
+      ByteBuffer.allocateDirect(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+  private long blockIndex;
+  private int count;
+  private boolean dirty;
+
+  /**
+   * Opens or creates an archive.
+   *
+   * @param file the archive file; its parent directories are created if needed
+   * @throws IOException if the file cannot be opened
+   */
+  BlockWriter(File file) throws IOException {
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null) {
+      parent.mkdirs();
+    }
+    channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+    // A torn trailing block from a crash is dropped
+    long blocks = channel.size() / BLOCK_BYTES;
+    channel.truncate(blocks * BLOCK_BYTES);
+    if (blocks > 0) {
+      readFully((blocks - 1) * BLOCK_BYTES);
+      int stored = block.getInt(COUNT_OFFSET);
+      if (block.getInt(0) == MAGIC && stored < BLOCK_GAMES) {
+        blockIndex = blocks - 1;
+        count = stored;
+        return;
+      }
+    }
+    blockIndex = blocks;
+  }
+
+  /**
+   * Adds one game, writing the block out when it becomes full.
+   *
+   * @param cross X player id
+   * @param circle O player id
+   * @param result result code
+   * @param moves packed move sequence
+   * @param length number of moves
+   * @param durationMillis game duration
+   * @param finishedAt epoch millis when the game finished
+   * @throws IOException if a full block cannot be written
+   */
+  void add(
+      int cross, int circle, byte result, long moves, int length, int durationMillis, long finishedAt)
+      throws IOException {
+    int i = count;
+    if (i == 0) {
+      block.clear();
+      block.put(EMPTY.duplicate());
+      block.putInt(0, MAGIC);
+      block.putLong(START_OFFSET, finishedAt);
+    }
+    block.putLong(MOVES_OFFSET + 8 * i, moves);
+    block.putInt(CROSS_OFFSET + 4 * i, cross);
+    block.putInt(CIRCLE_OFFSET + 4 * i, circle);
+    block.putInt(DURATION_OFFSET + 4 * i, durationMillis);
+    block.put(RESULT_OFFSET + i, result);
+    block.put(LENGTH_OFFSET + i, (byte) length);
+    count = i + 1;
+    block.putInt(COUNT_OFFSET, count);
+    dirty = true;
+
+    if (count == BLOCK_GAMES) {
+      flush();
+      blockIndex++;
+      count = 0;
+    }
+  }
+
+  /**
+   * Writes the current block, even if it is only partially filled.
+   *
+   * @throws IOException if writing fails
+   */
+  void flush() throws IOException {
+    if (!dirty) {
+      return;
+    }
+    ByteBuffer source = block.duplicate().clear();
+    long position = blockIndex * BLOCK_BYTES;
+    while (source.hasRemaining()) {
+      position += channel.write(source, position);
+    }
+    dirty = false;
+  }
+
+  /**
+   * @return number of games in the archive, including unwritten ones
+   */
+  long games() {
+    return blockIndex * BLOCK_GAMES + count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+  }
+
+  private void readFully(long position) throws IOException {
+    block.clear();
+    while (block.hasRemaining()) {
+      if (channel.read(block, position + block.position()) < 0) {
+        break;
+      }
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package archive;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records finished games into the columnar archive described by {@link ArchiveFormat}.
+ *
+ * <p>Game threads only enqueue a small record, so archiving never blocks the end-of-game path. A
+ * dedicated thread assigns player ids, fills the current block and writes it out when it is full
+ * and at least once per flush interval.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class GameArchive implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(GameArchive.class);
+
+  /** A finished game waiting to be archived. */
+  private record Game(
+      String cross,
+      String circle,
+      byte result,
+      long moves,
+      int length,
+      int durationMillis,
+      long finishedAt) {}
+
+  private final ConcurrentLinkedQueue<Game> games = new ConcurrentLinkedQueue<>();
+  private final BlockWriter blocks;
+  private final NameTable names;
+  private final long flushNanos;
+  private final Thread thread;
+
+  private volatile boolean keepAlive = true;
+
+  /**
+   * Opens the archive and starts the archive thread.
+   *
+   * @param file the archive file, or null to disable archiving
+   * @param flushMillis how long archived games may stay unwritten
+   */
+  public GameArchive(File file, long flushMillis) {
+    this.flushNanos = flushMillis * 1_000_000;
+
+    BlockWriter openedBlocks = null;
+    NameTable openedNames = null;
+    if (file != null) {
+      try {
+        openedBlocks = new BlockWriter(file);
+        openedNames = new NameTable(namesFile(file));
+        log.info("Archiving games to {} ({} archived so far)", file, openedBlocks.games());
+      } catch (IOException e) {
+        log.error("Failed to open game archive {}, archiving disabled", file, e);
+        if (openedBlocks != null) {
+          try {
+            openedBlocks.close();
+          } catch (IOException ex) {
+            log.error("Failed to close game archive {}", file, ex);
+          }
+        }
+        openedBlocks = null;
+      }
+    }
+    blocks = openedBlocks;
+    names = openedNames;
+
+    if (blocks != null) {
+      thread = new Thread(this);
+      thread.setName("Archive");
+      thread.setDaemon(true);
+      thread.start();
+    } else {
+      thread = null;
+    }
+  }
+
+  /**
+   * Creates an archive configured by the {@code tictactoe.archive.file} and {@code
+   * tictactoe.archive.flushMillis} system properties. Games are only archived when a file is given.
+   *
+   * @return the running archive
+   */
+  public static GameArchive fromSystemProperties() {
+    String path = System.getProperty("tictactoe.archive.file", "");
+    long flushMillis = Long.getLong("tictactoe.archive.flushMillis", 1000);
+    return new GameArchive(path.isEmpty() ? null : new File(path), flushMillis);
+  }
+
+  /**
+   * @param archive an archive file
+   * @return the sidecar file holding its player names
+   */
+  public static File namesFile(File archive) {
+    return new File(archive.getPath() + ".names");
+  }
+
+  /**
+   * Records a finished game. Never blocks.
+   *
+   * @param cross username of the X player
+   * @param circle username of the O player
+   * @param result one of the {@link ArchiveFormat} result codes
+   * @param moves moves packed with {@link ArchiveFormat#appendMove}
+   * @param length number of moves
+   * @param durationMillis time from START to the end of the game
+   */
+  public void record(
+      String cross, String circle, byte result, long moves, int length, int durationMillis) {
+    if (thread == null || cross == null || circle == null) {
+      return;
+    }
+    games.offer(
+        new Game(cross, circle, result, moves, length, durationMillis, System.currentTimeMillis()));
+    LockSupport.unpark(thread);
+  }
+
+  /** Stops the archive thread after writing all pending games. */
+  public void terminate() {
+    if (thread == null) {
+      return;
+    }
+    keepAlive = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Archive thread: moves queued games into blocks and flushes every interval. */
+  @Override
+  public void run() {
+    long nextFlush = System.nanoTime() + flushNanos;
+    while (keepAlive) {
+      drain();
+      long now = System.nanoTime();
+      if (now - nextFlush >= 0) {
+        flush();
+        nextFlush = now + flushNanos;
+      }
+      LockSupport.parkNanos(this, Math.max(1, nextFlush - now));
+    }
+    drain();
+    try {
+      names.close();
+      blocks.close();
+    } catch (IOException e) {
+      log.error("Failed to close game archive", e);
+    }
+  }
+
+  /** Adds every queued game to the current block. */
+  private void drain() {
+    Game game;
+    while ((game = games.poll()) != null) {
+      try {
+        blocks.add(
+            names.idOf(game.cross()),
+            names.idOf(game.circle()),
+            game.result(),
+            game.moves(),
+            game.length(),
+            game.durationMillis(),
+            game.finishedAt());
+      } catch (IOException e) {
+        log.error("Failed to archive game {} vs {}", game.cross(), game.circle(), e);
+      }
+    }
+  }
+
+  /** Writes names before blocks so that every stored id has a stored name. */
+  private void flush() {
+    try {
+      names.flush();
+      blocks.flush();
+    } catch (IOException e) {
+      log.error("Failed to write game archive, will retry", e);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import rating.PlayerIndex;
+
+/**
+ * Usernames of archived players: dense ids in memory, an append-only list of names on disk whose
+ * position is the id. Not thread-safe.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class NameTable implements Closeable {
+  private final PlayerIndex index;
+  private final DataOutputStream out;
+
+  /**
+   * Loads the existing names and opens the file for appending.
+   *
+   * @param file the names file
+   * @throws IOException if the file cannot be read or opened
+   */
+  NameTable(File file) throws IOException {
+    List<String> names = read(file);
+    index = new PlayerIndex(names.size());
+    for (String name : names) {
+      index.register(name);
+    }
+    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+  }
+
+  /**
+   * Returns the id of a name, appending it to the file when it is new.
+   *
+   * @param name a username
+   * @return the dense id
+   * @throws IOException if a new name cannot be written
+   */
+  int idOf(String name) throws IOException {
+    int size = index.size();
+    int id = index.register(name);
+    if (id == size) {
+      out.writeUTF(name);
+    }
+    return id;
+  }
+
+  /**
+   * @throws IOException if buffered names cannot be written
+   */
+  void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Reads a names file.
+   *
+   * @param file the names file
+   * @return the names in id order, empty if the file does not exist
+   * @throws IOException if reading fails
+   */
+  static List<String> read(File file) throws IOException {
+    List<String> names = new ArrayList<>();
+    if (!file.exists()) {
+      return names;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      while (true) {
+        names.add(in.readUTF());
+      }
+    } catch (EOFException e) {
+      return names;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring that maps keys to nodes.
+ *
+ * <p>Every node is placed on the ring at {@code replicas} pseudo-random points; a key belongs to
+ * the first point at or after its own hash. Adding or removing a node therefore only moves the keys
+ * next to that node's points, about 1/n of them, and the virtual points keep the share of each node
+ * even. Membership changes copy the ring, so lookups read an immutable map without locking.
+ *
+ * @param <T> the node type; its {@code toString()} must identify the node
+ * @version 1.0
+ * @created October 2026
+ */
+public final class ConsistentHashRing<T> {
+  private final int replicas;
+  private volatile NavigableMap<Long, T> ring = new TreeMap<>();
+
+  /**
+   * @param replicas virtual points per node; a few hundred give an even spread
+   */
+  public ConsistentHashRing(int replicas) {
+    if (replicas < 1) {
+      throw new IllegalArgumentException("replicas must be positive");
+    }
+    this.replicas = replicas;
+  }
+
+  /**
+   * Adds a node, taking over its share of keys from its neighbours.
+   *
+   * @param node the node
+   */
+  public synchronized void add(T node) {
+    TreeMap<Long, T> next = new TreeMap<>(ring);
+    for (int i = 0; i < replicas; i++) {
+      next.put(hash(node + "#" + i), node);
+    }
+    ring = next;
+  }
+
+  /**
+   * Removes a node; its keys move to the following points.
+   *
+   * @param node the node
+   */
+  public synchronized void remove(T node) {
+    TreeMap<Long, T> next = new TreeMap<>(ring);
+    next.values().removeIf(node::equals);
+    ring = next;
+  }
+
+  /**
+   * Finds the node that owns a key.
+   *
+   * @param key any key, e.g. the names of a pair of players
+   * @return the owning node, or null if the ring is empty
+   */
+  public T nodeFor(String key) {
+    NavigableMap<Long, T> current = ring;
+    if (current.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, T> entry = current.ceilingEntry(hash(key));
+    return (entry != null ? entry : current.firstEntry()).getValue();
+  }
+
+  /**
+   * @return number of distinct nodes on the ring
+   */
+  public int size() {
+    return (int) ring.values().stream().distinct().count();
+  }
+
+  /** FNV-1a over the UTF-8 bytes, finished with {@link #mix} to spread similar names. */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  /** The SplitMix64 finalizer: every input bit affects every output bit. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,94 @@
+package cluster;
+
+/**
+ * Cluster-wide state shared by all server nodes: which node each logged-in name belongs to and the
+ * global matchmaking queue.
+ *
+ * <p>Nodes register names at login and put players into the global queue instead of their own. The
+ * coordinator pairs queued players, picks the node that will host each game by consistent hashing
+ * and tells the players' nodes through their {@link Listener}. A node whose player has to play
+ * elsewhere redirects the client with a ticket; the client logs in on the game node with that
+ * ticket, which moves the name there.
+ *
+ * <p>{@link EmbeddedCoordinator} runs in process, for single-machine clusters and tests; {@link
+ * RemoteCoordinator} talks to a {@link CoordinatorServer} shared by separate server processes.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public interface Coordinator {
+
+  /** A game the coordinator has matched: two players and the node that hosts it. */
+  record Assignment(long ticket, String player1, String player2, Node node) {}
+
+  /** Receives assignments that involve a player of one node. */
+  interface Listener {
+
+    /**
+     * Called once per assignment for each node that hosts one of its players; may be called on
+     * any thread and must not block.
+     *
+     * @param assignment the matched game
+     */
+    void assigned(Assignment assignment);
+  }
+
+  /**
+   * Adds a node to the cluster; from now on games may be assigned to it.
+   *
+   * @param node the node
+   * @param listener receives the assignments of the node's players
+   */
+  void join(Node node, Listener listener);
+
+  /**
+   * Removes a node, together with its names and queued players.
+   *
+   * @param node the node
+   */
+  void leave(Node node);
+
+  /**
+   * Claims a name for a player logging in on a node.
+   *
+   * @param name the username
+   * @param node the player's node
+   * @return false if the name is taken anywhere in the cluster
+   */
+  boolean register(String name, Node node);
+
+  /**
+   * Moves a name to the node a game was assigned to, when the redirected player logs in there.
+   *
+   * @param name the username
+   * @param ticket the ticket of the assignment
+   * @param node the node the player logged in on
+   * @return false unless the ticket assigned this player to that node
+   */
+  boolean redirected(String name, long ticket, Node node);
+
+  /**
+   * Releases a name, unless it has moved to another node in the meantime; also takes the player
+   * out of the queue.
+   *
+   * @param name the username
+   * @param node the node releasing it
+   */
+  void unregister(String name, Node node);
+
+  /**
+   * Puts a player into the global queue.
+   *
+   * @param name the username, registered on the node
+   * @param node the node the player is connected to
+   */
+  void enqueue(String name, Node node);
+
+  /**
+   * Takes a player out of the global queue.
+   *
+   * @param name the username
+   * @param node the node the player is connected to
+   */
+  void dequeue(String name, Node node);
+}
@@ -0,0 +1,162 @@
+package cluster;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Standalone coordinator for server nodes in separate processes: an {@link EmbeddedCoordinator}
+ * behind a line-based TCP protocol that {@link RemoteCoordinator} speaks.
+ *
+ * <p>Each node keeps one connection. Requests from the node are {@code JOIN host port}, {@code
+ * REGISTER id name} and {@code REDIRECTED id name ticket} (answered with {@code REPLY id 1|0}), and
+ * {@code UNREGISTER name}, {@code ENQUEUE name} and {@code DEQUEUE name}. The coordinator pushes
+ * {@code ASSIGN ticket player1 player2 host port}. A node whose connection drops leaves the cluster
+ * with all its names.
+ *
+ * <p>Usage: {@code java -cp tictactoe-server.jar cluster.CoordinatorServer [--port=7070]}; the
+ * coordinator stops when standard input is closed or a line is entered.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class CoordinatorServer implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(CoordinatorServer.class);
+
+  private final EmbeddedCoordinator coordinator = new EmbeddedCoordinator();
+  private final ServerSocket serverSocket;
+
+  /**
+   * Opens the coordinator port.
+   *
+   * @param port the TCP port nodes connect to
+   * @throws IOException if the port cannot be bound
+   */
+  public CoordinatorServer(int port) throws IOException {
+    this.serverSocket = new ServerSocket(port);
+  }
+
+  /**
+   * Runs a coordinator until a line is read from standard input.
+   *
+   * @param args optional {@code --port=P}
+   * @throws IOException if the port cannot be bound
+   */
+  public static void main(String[] args) throws IOException {
+    int port = 7070;
+    for (String arg : args) {
+      if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+    CoordinatorServer server = new CoordinatorServer(port);
+    Thread thread = new Thread(server, "Coordinator");
+    thread.start();
+    System.out.println("Coordinator listening on port " + port + ", press Enter to stop");
+    System.in.read();
+    server.terminate();
+  }
+
+  /** Accepts node connections until terminated, one thread per node. */
+  @Override
+  public void run() {
+    log.info("Coordinator listening on port {}", serverSocket.getLocalPort());
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread thread = new Thread(() -> serve(socket), "Coordinator-" + socket.getPort());
+        thread.setDaemon(true);
+        thread.start();
+      } catch (IOException e) {
+        if (!serverSocket.isClosed()) {
+          log.error("Failed to accept node connection", e);
+        }
+      }
+    }
+  }
+
+  /** Handles the requests of one node until its connection closes. */
+  private void serve(Socket socket) {
+    Node node = null;
+    try (socket) {
+      BufferedReader in =
+          new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      PrintWriter out =
+          new PrintWriter(
+              new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+      String line;
+      while ((line = in.readLine()) != null) {
+        String[] parts = line.split(" ");
+        if (parts[0].equals("JOIN") && parts.length == 3 && node == null) {
+          node = new Node(parts[1], Integer.parseInt(parts[2]));
+          coordinator.join(node, assignment -> send(out, assignment));
+        } else if (node == null) {
+          log.warn("Request before JOIN: {}", line);
+        } else {
+          handle(node, parts, out);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("Node connection {} failed", node, e);
+    } finally {
+      if (node != null) {
+        coordinator.leave(node);
+      }
+    }
+  }
+
+  private void handle(Node node, String[] parts, PrintWriter out) {
+    switch (parts[0]) {
+      case "REGISTER" -> reply(out, parts[1], coordinator.register(parts[2], node));
+      case "REDIRECTED" ->
+          reply(
+              out,
+              parts[1],
+              coordinator.redirected(parts[2], Long.parseLong(parts[3]), node));
+      case "UNREGISTER" -> coordinator.unregister(parts[1], node);
+      case "ENQUEUE" -> coordinator.enqueue(parts[1], node);
+      case "DEQUEUE" -> coordinator.dequeue(parts[1], node);
+      default -> log.warn("Unknown request from {}: {}", node, parts[0]);
+    }
+  }
+
+  private static void reply(PrintWriter out, String id, boolean result) {
+    synchronized (out) {
+      out.println("REPLY " + id + " " + (result ? 1 : 0));
+    }
+  }
+
+  private static void send(PrintWriter out, Coordinator.Assignment assignment) {
+    synchronized (out) {
+      out.println(
+          "ASSIGN "
+              + assignment.ticket()
+              + " "
+              + assignment.player1()
+              + " "
+              + assignment.player2()
+              + " "
+              + assignment.node().host()
+              + " "
+              + assignment.node().port());
+    }
+  }
+
+  /** Stops accepting nodes. */
+  public void terminate() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      log.debug("Error closing coordinator socket", e);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package cluster;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process {@link Coordinator}: several server nodes in one JVM share an instance, and {@link
+ * CoordinatorServer} wraps one for nodes in separate processes.
+ *
+ * <p>Names live in a concurrent map. The queue is a small insertion-ordered set guarded by its own
+ * monitor; a player is paired with the one who has waited longest as soon as it is queued, so there
+ * is no matching interval. Listeners are called after the monitor is released.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class EmbeddedCoordinator implements Coordinator {
+  private static final Logger log = LoggerFactory.getLogger(EmbeddedCoordinator.class);
+
+  /** Virtual points per node on the ring. */
+  private static final int REPLICAS = 128;
+
+  /** Assignments remembered for redirected logins; older ones have long expired on the nodes. */
+  private static final int MAX_TICKETS = 65_536;
+
+  private final ConsistentHashRing<Node> ring = new ConsistentHashRing<>(REPLICAS);
+  private final Map<Node, Listener> listeners = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Node> names = new ConcurrentHashMap<>();
+
+  // Guarded by queue
+  private final Set<String> queue = new LinkedHashSet<>();
+
+  // Guarded by tickets
+  private final Map<Long, Assignment> tickets =
+      new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Assignment> eldest) {
+          return size() > MAX_TICKETS;
+        }
+      };
+
+  @Override
+  public void join(Node node, Listener listener) {
+    log.info("Node {} joined", node);
+    listeners.put(node, listener);
+    ring.add(node);
+  }
+
+  @Override
+  public void leave(Node node) {
+    log.info("Node {} left", node);
+    ring.remove(node);
+    listeners.remove(node);
+    List<String> gone = new ArrayList<>();
+    names.forEach(
+        (name, owner) -> {
+          if (owner.equals(node) && names.remove(name, owner)) {
+            gone.add(name);
+          }
+        });
+    synchronized (queue) {
+      queue.removeAll(gone);
+    }
+  }
+
+  @Override
+  public boolean register(String name, Node node) {
+    return names.putIfAbsent(name, node) == null;
+  }
+
+  @Override
+  public boolean redirected(String name, long ticket, Node node) {
+    Assignment assignment;
+    synchronized (tickets) {
+      assignment = tickets.get(ticket);
+    }
+    if (assignment == null
+        || !assignment.node().equals(node)
+        || !(name.equals(assignment.player1()) || name.equals(assignment.player2()))) {
+      return false;
+    }
+    names.put(name, node);
+    return true;
+  }
+
+  @Override
+  public void unregister(String name, Node node) {
+    if (names.remove(name, node)) {
+      synchronized (queue) {
+        queue.remove(name);
+      }
+    }
+  }
+
+  @Override
+  public void enqueue(String name, Node node) {
+    if (!node.equals(names.get(name))) {
+      return;
+    }
+    String player1;
+    String player2;
+    synchronized (queue) {
+      if (!queue.add(name) || queue.size() < 2) {
+        return;
+      }
+      Iterator<String> waiting = queue.iterator();
+      player1 = waiting.next();
+      waiting.remove();
+      player2 = waiting.next();
+      waiting.remove();
+    }
+    assign(player1, player2);
+  }
+
+  @Override
+  public void dequeue(String name, Node node) {
+    if (node.equals(names.get(name))) {
+      synchronized (queue) {
+        queue.remove(name);
+      }
+    }
+  }
+
+  /**
+   * Picks the game node for a new pair and tells the nodes of both players. The node follows from
+   * the pair's names, so the same two players meet on the same node again as long as membership
+   * does not change; the random ticket only lets them redeem the assignment.
+   */
+  private void assign(String player1, String player2) {
+    Node gameNode = ring.nodeFor(pairKey(player1, player2));
+    if (gameNode == null) {
+      return;
+    }
+    long ticket = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE | 1;
+    Assignment assignment = new Assignment(ticket, player1, player2, gameNode);
+    synchronized (tickets) {
+      tickets.put(ticket, assignment);
+    }
+    log.debug("Assigned {} and {} to {}", player1, player2, gameNode);
+
+    Node home1 = names.get(player1);
+    Node home2 = names.get(player2);
+    notify(home1, assignment);
+    if (home2 != null && !home2.equals(home1)) {
+      notify(home2, assignment);
+    }
+  }
+
+  /** Names cannot contain spaces, so the ordered pair joined by one is unique to the two players. */
+  private static String pairKey(String player1, String player2) {
+    return player1.compareTo(player2) < 0 ? player1 + " " + player2 : player2 + " " + player1;
+  }
+
+  private void notify(Node node, Assignment assignment) {
+    Listener listener = node != null ? listeners.get(node) : null;
+    if (listener != null) {
+      listener.assigned(assignment);
+    }
+  }
+
+  /**
+   * @return number of nodes in the cluster
+   */
+  public int getNodeCount() {
+    return ring.size();
+  }
+
+  /**
+   * @return number of players waiting in the global queue
+   */
+  public int getQueueSize() {
+    synchronized (queue) {
+      return queue.size();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package cluster;
+
+/**
+ * Address of one server node as clients reach it; also its identity within the cluster.
+ *
+ * @param host host name or address clients connect to
+ * @param port the node's game port
+ * @version 1.0
+ * @created October 2026
+ */
+public record Node(String host, int port) {
+
+  /**
+   * Parses "host:port".
+   *
+   * @param address the address
+   * @return the node
+   * @throws IllegalArgumentException if the address has no port
+   */
+  public static Node parse(String address) {
+    int colon = address.lastIndexOf(':');
+    if (colon <= 0) {
+      throw new IllegalArgumentException("Expected host:port but got " + address);
+    }
+    return new Node(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+  }
+
+  @Override
+  public String toString() {
+    return host + ":" + port;
+  }
+}
@@ -0,0 +1,169 @@
+package cluster;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Node-side client of a {@link CoordinatorServer}. Serves exactly one node.
+ *
+ * <p>Requests that need an answer wait for the matching {@code REPLY} for at most {@code
+ * tictactoe.cluster.timeoutMillis} (default 5000) and count as refused after that; the others are
+ * fire-and-forget. A reader thread delivers pushed assignments to the node's listener.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class RemoteCoordinator implements Coordinator {
+  private static final Logger log = LoggerFactory.getLogger(RemoteCoordinator.class);
+
+  private static final long TIMEOUT_MILLIS =
+      Long.getLong("tictactoe.cluster.timeoutMillis", 5000);
+
+  private final Socket socket;
+  private final BufferedReader in;
+  private final PrintWriter out;
+  private final AtomicLong requests = new AtomicLong();
+  private final Map<Long, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+  private volatile Listener listener;
+
+  /**
+   * Connects to a coordinator.
+   *
+   * @param coordinator the coordinator's address
+   * @throws IOException if the connection fails
+   */
+  public RemoteCoordinator(Node coordinator) throws IOException {
+    this.socket = new Socket(coordinator.host(), coordinator.port());
+    socket.setTcpNoDelay(true);
+    this.in =
+        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    this.out =
+        new PrintWriter(
+            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+    Thread reader = new Thread(this::read, "CoordinatorClient");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  /** Dispatches replies and assignments until the connection closes. */
+  private void read() {
+    try {
+      String line;
+      while ((line = in.readLine()) != null) {
+        String[] parts = line.split(" ");
+        if (parts[0].equals("REPLY") && parts.length == 3) {
+          CompletableFuture<Boolean> reply = pending.remove(Long.parseLong(parts[1]));
+          if (reply != null) {
+            reply.complete(parts[2].equals("1"));
+          }
+        } else if (parts[0].equals("ASSIGN") && parts.length == 6) {
+          Listener current = listener;
+          if (current != null) {
+            assign(current, parts);
+          }
+        } else {
+          log.warn("Unexpected message from coordinator: {}", line);
+        }
+      }
+    } catch (IOException e) {
+      if (!socket.isClosed()) {
+        log.error("Lost connection to coordinator", e);
+      }
+    } finally {
+      pending.values().forEach(reply -> reply.complete(false));
+    }
+  }
+
+  /** Delivers an assignment; a failing listener must not stop the reader. */
+  private static void assign(Listener listener, String[] parts) {
+    try {
+      listener.assigned(
+          new Assignment(
+              Long.parseLong(parts[1]),
+              parts[2],
+              parts[3],
+              new Node(parts[4], Integer.parseInt(parts[5]))));
+    } catch (RuntimeException e) {
+      log.error("Failed to handle assignment {}", parts[1], e);
+    }
+  }
+
+  @Override
+  public void join(Node node, Listener listener) {
+    this.listener = listener;
+    send("JOIN " + node.host() + " " + node.port());
+  }
+
+  @Override
+  public void leave(Node node) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      log.debug("Error closing coordinator connection", e);
+    }
+  }
+
+  @Override
+  public boolean register(String name, Node node) {
+    return request("REGISTER", name);
+  }
+
+  @Override
+  public boolean redirected(String name, long ticket, Node node) {
+    return request("REDIRECTED", name + " " + ticket);
+  }
+
+  @Override
+  public void unregister(String name, Node node) {
+    send("UNREGISTER " + name);
+  }
+
+  @Override
+  public void enqueue(String name, Node node) {
+    send("ENQUEUE " + name);
+  }
+
+  @Override
+  public void dequeue(String name, Node node) {
+    send("DEQUEUE " + name);
+  }
+
+  /** Sends a request and waits for its REPLY. */
+  private boolean request(String command, String arguments) {
+    long id = requests.incrementAndGet();
+    CompletableFuture<Boolean> reply = new CompletableFuture<>();
+    pending.put(id, reply);
+    send(command + " " + id + " " + arguments);
+    try {
+      return reply.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      log.warn("{} {} got no reply from coordinator", command, arguments);
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      pending.remove(id);
+    }
+  }
+
+  private void send(String line) {
+    synchronized (out) {
+      out.println(line);
+    }
+  }
+}
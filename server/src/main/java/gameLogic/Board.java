@@ -0,0 +1,156 @@
+package gameLogic;
+
+import stateEnum.State;
+
+/**
+ * Tic Tac Toe board and rules shared by the live {@code GameManager} and the offline simulator.
+ *
+ * <p>The 3×3 grid is stored as two 9-bit masks, one per symbol, with cell {@code x * 3 + y} at bit
+ * position {@code x * 3 + y}. Win detection compares the mover's mask against the eight winning
+ * lines.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class Board {
+
+  /** Board width and height. */
+  public static final int SIZE = 3;
+
+  /** Number of cells. */
+  public static final int CELLS = SIZE * SIZE;
+
+  /** Mask with a bit set for every cell. */
+  public static final int FULL = (1 << CELLS) - 1;
+
+  /** The three rows, three columns and two diagonals. */
+  private static final int[] LINES = {
+    0b000_000_111, 0b000_111_000, 0b111_000_000,
+    0b001_001_001, 0b010_010_010, 0b100_100_100,
+    0b100_010_001, 0b001_010_100
+  };
+
+  private int crosses;
+  private int circles;
+
+  /**
+   * Converts coordinates to a cell index.
+   *
+   * @param x row index (0-based)
+   * @param y column index (0-based)
+   * @return the cell index, {@code x * 3 + y}
+   */
+  public static int cell(int x, int y) {
+    return x * SIZE + y;
+  }
+
+  /**
+   * @param x row index
+   * @param y column index
+   * @return whether the coordinates lie on the board
+   */
+  public static boolean inBounds(int x, int y) {
+    return x >= 0 && y >= 0 && x < SIZE && y < SIZE;
+  }
+
+  /**
+   * Checks whether a symbol mask contains a complete line.
+   *
+   * @param mask the cells occupied by one symbol
+   * @return true if the mask wins
+   */
+  public static boolean isWinning(int mask) {
+    for (int line : LINES) {
+      if ((mask & line) == line) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Places a symbol and reports whether it completed a line.
+   *
+   * @param x row index (0-based)
+   * @param y column index (0-based)
+   * @param s the symbol to place (X or O)
+   * @return the symbol if this move wins the game; otherwise null
+   */
+  public State place(int x, int y, State s) {
+    return place(cell(x, y), s);
+  }
+
+  /**
+   * Places a symbol on a free cell and reports whether it completed a line.
+   *
+   * @param cell the cell index (0-8)
+   * @param s the symbol to place (X or O)
+   * @return the symbol if this move wins the game; otherwise null
+   */
+  public State place(int cell, State s) {
+    int bit = 1 << cell;
+    if (((crosses | circles) & bit) != 0) {
+      return null;
+    }
+    if (s == State.X) {
+      crosses |= bit;
+      return isWinning(crosses) ? s : null;
+    }
+    circles |= bit;
+    return isWinning(circles) ? s : null;
+  }
+
+  /**
+   * @param x row index
+   * @param y column index
+   * @return the symbol in the cell, BLANK if empty
+   */
+  public State get(int x, int y) {
+    int bit = 1 << cell(x, y);
+    if ((crosses & bit) != 0) {
+      return State.X;
+    }
+    return (circles & bit) != 0 ? State.O : State.BLANK;
+  }
+
+  /**
+   * @return mask of cells occupied by X
+   */
+  public int crosses() {
+    return crosses;
+  }
+
+  /**
+   * @return mask of cells occupied by O
+   */
+  public int circles() {
+    return circles;
+  }
+
+  /**
+   * @return mask of empty cells
+   */
+  public int free() {
+    return ~(crosses | circles) & FULL;
+  }
+
+  /**
+   * @return the number of symbols placed so far
+   */
+  public int moveCount() {
+    return Integer.bitCount(crosses | circles);
+  }
+
+  /**
+   * @return whether every cell is occupied
+   */
+  public boolean isFull() {
+    return (crosses | circles) == FULL;
+  }
+
+  /** Clears the board for a new game. */
+  public void reset() {
+    crosses = 0;
+    circles = 0;
+  }
+}
@@ -0,0 +1,278 @@
+package rating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incrementally maintained ranking of all rated players.
+ *
+ * <p>Players are kept in a persistent treap ordered by rating (highest first, ties by id) where
+ * every node knows the size of its subtree. Updating a player copies only the O(log n) nodes on
+ * the affected paths, so the previous root stays a valid, immutable tree. The writer (the rating
+ * thread) publishes a new root after each batch of updates; readers take a {@link Snapshot} and
+ * answer top-K and rank queries in O(log n + K) without any locking.
+ *
+ * <p>Each node key packs the rating and the player id into one {@code long} whose natural order is
+ * the ranking order, so comparisons are a single integer comparison.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class Leaderboard {
+
+  /** One ranked player. */
+  public record Entry(int id, float rating, int rank) {}
+
+  /** Immutable tree node. */
+  private static final class Node {
+    final long key;
+    final int priority;
+    final int size;
+    final Node left;
+    final Node right;
+
+    Node(long key, int priority, Node left, Node right) {
+      this.key = key;
+      this.priority = priority;
+      this.left = left;
+      this.right = right;
+      this.size = 1 + sizeOf(left) + sizeOf(right);
+    }
+  }
+
+  /** Read-only view of the leaderboard at one point in time. */
+  public static final class Snapshot {
+    private final Node root;
+
+    private Snapshot(Node root) {
+      this.root = root;
+    }
+
+    /**
+     * @return number of ranked players
+     */
+    public int size() {
+      return sizeOf(root);
+    }
+
+    /**
+     * Returns the best players.
+     *
+     * @param k maximum number of entries
+     * @return up to {@code k} entries, best first
+     */
+    public List<Entry> top(int k) {
+      List<Entry> entries = new ArrayList<>(Math.min(k, size()));
+      ArrayList<Node> stack = new ArrayList<>();
+      Node node = root;
+      while ((node != null || !stack.isEmpty()) && entries.size() < k) {
+        while (node != null) {
+          stack.add(node);
+          node = node.left;
+        }
+        node = stack.remove(stack.size() - 1);
+        entries.add(new Entry(idOf(node.key), ratingOf(node.key), entries.size() + 1));
+        node = node.right;
+      }
+      return entries;
+    }
+
+    /**
+     * Returns the rank a player with the given rating and id has in this snapshot.
+     *
+     * @param rating the player's rating
+     * @param id the player's id
+     * @return 1 for the best player; players not in the snapshot get the rank their rating would
+     *     have
+     */
+    public int rankOf(float rating, int id) {
+      long key = keyOf(rating, id);
+      int better = 0;
+      Node node = root;
+      while (node != null) {
+        if (node.key < key) {
+          better += sizeOf(node.left) + 1;
+          node = node.right;
+        } else {
+          node = node.left;
+        }
+      }
+      return better + 1;
+    }
+  }
+
+  private Node root;
+  private volatile Snapshot published = new Snapshot(null);
+
+  /**
+   * Replaces the content with the given players in O(n log n) for sorting plus O(n) for building.
+   * Writer only.
+   *
+   * @param ids player ids
+   * @param ratings ratings matching {@code ids}
+   * @param count number of players to take from the arrays
+   */
+  public void build(int[] ids, float[] ratings, int count) {
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = keyOf(ratings[i], ids[i]);
+    }
+    Arrays.sort(keys);
+
+    // Cartesian tree over the sorted keys: a stack holds the right spine, in index form
+    int[] left = new int[count];
+    int[] right = new int[count];
+    int[] stack = new int[count];
+    int top = -1;
+    Arrays.fill(left, -1);
+    Arrays.fill(right, -1);
+    for (int i = 0; i < count; i++) {
+      int last = -1;
+      while (top >= 0 && priorityOf(keys[stack[top]]) < priorityOf(keys[i])) {
+        last = stack[top--];
+      }
+      left[i] = last;
+      if (top >= 0) {
+        right[stack[top]] = i;
+      }
+      stack[++top] = i;
+    }
+
+    // Children precede parents in post-order, so nodes can be created bottom-up
+    Node[] nodes = new Node[count];
+    int[] order = new int[count];
+    int written = postOrder(top >= 0 ? stack[0] : -1, left, right, order);
+    for (int n = 0; n < written; n++) {
+      int i = order[n];
+      nodes[i] =
+          new Node(
+              keys[i],
+              priorityOf(keys[i]),
+              left[i] >= 0 ? nodes[left[i]] : null,
+              right[i] >= 0 ? nodes[right[i]] : null);
+    }
+    root = top >= 0 ? nodes[stack[0]] : null;
+  }
+
+  /**
+   * Adds a newly rated player. Writer only.
+   *
+   * @param id player id
+   * @param rating the player's rating
+   */
+  public void add(int id, float rating) {
+    long key = keyOf(rating, id);
+    Node[] parts = split(root, key);
+    root = merge(merge(parts[0], new Node(key, priorityOf(key), null, null)), parts[1]);
+  }
+
+  /**
+   * Moves a ranked player to a new rating. Writer only.
+   *
+   * @param id player id
+   * @param oldRating the rating the player is currently ranked with
+   * @param newRating the new rating
+   */
+  public void update(int id, float oldRating, float newRating) {
+    long oldKey = keyOf(oldRating, id);
+    Node[] lower = split(root, oldKey);
+    Node[] upper = split(lower[1], oldKey + 1);
+    root = merge(lower[0], upper[1]);
+    add(id, newRating);
+  }
+
+  /** Makes all changes so far visible to readers. Writer only. */
+  public void publish() {
+    published = new Snapshot(root);
+  }
+
+  /**
+   * @return the most recently published state
+   */
+  public Snapshot snapshot() {
+    return published;
+  }
+
+  /** Splits a tree into keys below {@code key} and keys at or above it. */
+  private static Node[] split(Node node, long key) {
+    if (node == null) {
+      return new Node[2];
+    }
+    if (node.key < key) {
+      Node[] parts = split(node.right, key);
+      parts[0] = new Node(node.key, node.priority, node.left, parts[0]);
+      return parts;
+    }
+    Node[] parts = split(node.left, key);
+    parts[1] = new Node(node.key, node.priority, parts[1], node.right);
+    return parts;
+  }
+
+  /** Joins two trees where every key of {@code a} is below every key of {@code b}. */
+  private static Node merge(Node a, Node b) {
+    if (a == null) return b;
+    if (b == null) return a;
+    if (a.priority > b.priority) {
+      return new Node(a.key, a.priority, a.left, merge(a.right, b));
+    }
+    return new Node(b.key, b.priority, merge(a, b.left), b.right);
+  }
+
+  /** Writes the post-order of the tree rooted at {@code start} into {@code order}. */
+  private static int postOrder(int start, int[] left, int[] right, int[] order) {
+    if (start < 0) {
+      return 0;
+    }
+    // Reverse of a root-right-left pre-order is a left-right-root post-order
+    int[] stack = new int[order.length];
+    int top = 0;
+    int written = 0;
+    stack[top++] = start;
+    while (top > 0) {
+      int node = stack[--top];
+      order[written++] = node;
+      if (left[node] >= 0) stack[top++] = left[node];
+      if (right[node] >= 0) stack[top++] = right[node];
+    }
+    for (int i = 0, j = written - 1; i < j; i++, j--) {
+      int swap = order[i];
+      order[i] = order[j];
+      order[j] = swap;
+    }
+    return written;
+  }
+
+  private static int sizeOf(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * Packs rating and id so that a higher rating sorts first and equal ratings sort by id.
+   *
+   * @param rating the rating
+   * @param id the player id
+   * @return the ordering key
+   */
+  static long keyOf(float rating, int id) {
+    int bits = Float.floatToIntBits(rating);
+    // Map floats to ints with the same order, then invert for descending ratings
+    int ordered = bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    return ((long) ~ordered << 32) | (id & 0xFFFFFFFFL);
+  }
+
+  private static int idOf(long key) {
+    return (int) key;
+  }
+
+  private static float ratingOf(long key) {
+    int ordered = ~(int) (key >>> 32);
+    return Float.intBitsToFloat(ordered ^ ((ordered >> 31) & 0x7FFFFFFF));
+  }
+
+  /** Deterministic pseudo-random priority derived from the key. */
+  private static int priorityOf(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
@@ -0,0 +1,148 @@
+package rating;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Maps usernames to dense integer player ids with open addressing and linear probing.
+ *
+ * <p>Ids are assigned in registration order starting at 0, so per-player data can live in plain
+ * primitive arrays indexed by id instead of boxed maps. Each table slot is a single {@code long}
+ * holding the name's hash and its id, and the names themselves sit in an array indexed by id, so a
+ * probe only dereferences a string when the full 32-bit hash matches.
+ *
+ * <p>There is a single writer (the rating thread); lookups from other threads are safe and see
+ * every name whose slot was published before the lookup.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class PlayerIndex {
+  private static final double MAX_LOAD = 0.6;
+
+  /** Slots are {@code hash << 32 | (id + 1)}; 0 marks an empty slot. */
+  private volatile AtomicLongArray slots;
+  private volatile String[] names;
+  private volatile int size;
+  private int threshold;
+
+  /**
+   * Creates an index sized for the expected number of players.
+   *
+   * @param expectedPlayers initial capacity hint
+   */
+  public PlayerIndex(int expectedPlayers) {
+    int expected = Math.max(16, expectedPlayers);
+    allocate(Integer.highestOneBit((int) Math.min(1 << 30, expected / MAX_LOAD)) << 1);
+    names = new String[expected];
+  }
+
+  /**
+   * Looks up a player id.
+   *
+   * @param name the username
+   * @return the id, or -1 if the name is unknown
+   */
+  public int idOf(String name) {
+    AtomicLongArray table = slots;
+    int hash = name.hashCode();
+    int mask = table.length() - 1;
+    for (int slot = home(hash, table.length()); ; slot = (slot + 1) & mask) {
+      long entry = table.get(slot);
+      if (entry == 0) {
+        return -1;
+      }
+      if ((int) (entry >>> 32) == hash) {
+        int id = (int) entry - 1;
+        if (names[id].equals(name)) {
+          return id;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the id of a name, registering it if necessary. Must only be called by the writer.
+   *
+   * @param name the username
+   * @return the existing or newly assigned id
+   */
+  public int register(String name) {
+    int hash = name.hashCode();
+    AtomicLongArray table = slots;
+    int mask = table.length() - 1;
+    String[] known = names;
+    int slot = home(hash, table.length());
+    for (long entry; (entry = table.get(slot)) != 0; slot = (slot + 1) & mask) {
+      if ((int) (entry >>> 32) == hash && known[(int) entry - 1].equals(name)) {
+        return (int) entry - 1;
+      }
+    }
+
+    int id = size;
+    if (id == known.length) {
+      String[] grown = new String[known.length * 2];
+      System.arraycopy(known, 0, grown, 0, id);
+      names = grown;
+      known = grown;
+    }
+    known[id] = name;
+    if (id + 1 > threshold) {
+      rehash(table.length() * 2);
+      insert(slots, hash, id);
+    } else {
+      table.lazySet(slot, ((long) hash << 32) | (id + 1));
+    }
+    size = id + 1;
+    return id;
+  }
+
+  /**
+   * @param id a registered player id
+   * @return the username of that player
+   */
+  public String nameOf(int id) {
+    return names[id];
+  }
+
+  /**
+   * @return the number of registered players
+   */
+  public int size() {
+    return size;
+  }
+
+  /** Replaces the table with an empty one of the given capacity. */
+  private void allocate(int capacity) {
+    slots = new AtomicLongArray(capacity);
+    threshold = (int) (capacity * MAX_LOAD);
+  }
+
+  /** Fibonacci hashing: the top bits of the product select the home slot. */
+  private static int home(int hash, int capacity) {
+    return (hash * 0x9E3779B9) >>> (Integer.numberOfLeadingZeros(capacity) + 1);
+  }
+
+  /** Stores an entry in the first free slot of its probe sequence. */
+  private static void insert(AtomicLongArray table, int hash, int id) {
+    int mask = table.length() - 1;
+    int slot = home(hash, table.length());
+    while (table.get(slot) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table.lazySet(slot, ((long) hash << 32) | (id + 1));
+  }
+
+  /** Builds a larger table with all entries of the old one and publishes it. */
+  private void rehash(int capacity) {
+    AtomicLongArray old = slots;
+    AtomicLongArray grown = new AtomicLongArray(capacity);
+    for (int i = 0; i < old.length(); i++) {
+      long entry = old.get(i);
+      if (entry != 0) {
+        insert(grown, (int) (entry >>> 32), (int) entry - 1);
+      }
+    }
+    slots = grown;
+    threshold = (int) (capacity * MAX_LOAD);
+  }
+}
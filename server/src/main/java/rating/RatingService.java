@@ -0,0 +1,330 @@
+package rating;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Elo ratings of all players, updated from game results on a dedicated thread.
+ *
+ * <p>Game threads only enqueue results into a lock-free queue, so recording a result never blocks.
+ * The rating thread owns all mutable state: it maps names to dense ids with {@link PlayerIndex},
+ * keeps ratings and game counts in primitive arrays indexed by id, and marks changed ids. Every
+ * write-behind interval the changed players are appended to the {@link RatingStore} in one batch.
+ * After each batch of results it publishes a new {@link Leaderboard} snapshot.
+ *
+ * <p>Ratings can be read from any thread; readers may see a value that is one update behind.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class RatingService implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+  /** Rating of a player without rated games. */
+  public static final float INITIAL_RATING = 1500f;
+
+  /** Maximum rating change per game. */
+  private static final float K_FACTOR = 32f;
+
+  /** A finished game; for wins, {@code first} is the winner. */
+  private record Result(String first, String second, boolean draw) {}
+
+  private final ConcurrentLinkedQueue<Result> results = new ConcurrentLinkedQueue<>();
+  private final PlayerIndex index;
+  private final RatingStore store;
+  private final long writeBehindNanos;
+  private final BitSet dirty = new BitSet();
+  private final Leaderboard leaderboard = new Leaderboard();
+  private final Thread thread;
+
+  private volatile float[] ratings;
+  private volatile int[] games;
+  private volatile boolean keepAlive = true;
+
+  /**
+   * Loads the stored ratings and starts the rating thread.
+   *
+   * @param store persistent store, or null to keep ratings in memory only
+   * @param writeBehindMillis how long changes may stay unwritten before a batch flush
+   */
+  public RatingService(RatingStore store, long writeBehindMillis) {
+    this.store = store;
+    this.writeBehindNanos = writeBehindMillis * 1_000_000;
+
+    int expected = store != null ? store.estimatePlayers() : 0;
+    index = new PlayerIndex(expected);
+    ratings = new float[Math.max(16, expected)];
+    games = new int[ratings.length];
+    Arrays.fill(ratings, INITIAL_RATING);
+
+    if (store != null) {
+      long start = System.nanoTime();
+      try {
+        store.load(
+            (name, rating, played) -> {
+              int id = index.register(name);
+              ensureCapacity(id);
+              ratings[id] = rating;
+              games[id] = played;
+            });
+      } catch (IOException e) {
+        log.error("Failed to load ratings, continuing with what was read", e);
+      }
+      log.info(
+          "Loaded {} player ratings in {} ms",
+          index.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    }
+    buildLeaderboard();
+
+    thread = new Thread(this);
+    thread.setName("Ratings");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Creates a service configured by the {@code tictactoe.ratings.file} and {@code
+   * tictactoe.ratings.writeBehindMillis} system properties. Ratings are only persisted when a file
+   * is given; otherwise they live in memory until the server stops.
+   *
+   * @return the running service
+   */
+  public static RatingService fromSystemProperties() {
+    String path = System.getProperty("tictactoe.ratings.file", "");
+    long writeBehind = Long.getLong("tictactoe.ratings.writeBehindMillis", 1000);
+    return new RatingService(
+        path.isEmpty() ? null : new RatingStore(new File(path)), writeBehind);
+  }
+
+  /**
+   * Records a decisive game. Never blocks.
+   *
+   * @param winner username of the winner
+   * @param loser username of the loser
+   */
+  public void recordWin(String winner, String loser) {
+    submit(new Result(winner, loser, false));
+  }
+
+  /**
+   * Records a drawn game. Never blocks.
+   *
+   * @param player1 username of one player
+   * @param player2 username of the other player
+   */
+  public void recordDraw(String player1, String player2) {
+    submit(new Result(player1, player2, true));
+  }
+
+  /**
+   * @param name a username
+   * @return the player's current rating, or {@link #INITIAL_RATING} if unrated
+   */
+  public float getRating(String name) {
+    int id = index.idOf(name);
+    float[] current = ratings;
+    return id >= 0 && id < current.length ? current[id] : INITIAL_RATING;
+  }
+
+  /**
+   * @param name a username
+   * @return the number of rated games the player has finished
+   */
+  public int getGames(String name) {
+    int id = index.idOf(name);
+    int[] current = games;
+    return id >= 0 && id < current.length ? current[id] : 0;
+  }
+
+  /**
+   * @return the most recently published leaderboard; safe to query from any thread
+   */
+  public Leaderboard.Snapshot getLeaderboard() {
+    return leaderboard.snapshot();
+  }
+
+  /**
+   * @param name a username
+   * @return the player's id, or -1 if the player has never been rated
+   */
+  public int idOf(String name) {
+    return index.idOf(name);
+  }
+
+  /**
+   * @param id a player id returned by {@link #idOf} or found in the leaderboard
+   * @return the player's username
+   */
+  public String nameOf(int id) {
+    return index.nameOf(id);
+  }
+
+  /** Stops the rating thread after applying and writing all pending results. */
+  public void terminate() {
+    keepAlive = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Rating thread: applies queued results and flushes changes every write-behind interval. */
+  @Override
+  public void run() {
+    long nextFlush = System.nanoTime() + writeBehindNanos;
+    while (keepAlive) {
+      applyPending();
+      long now = System.nanoTime();
+      if (now - nextFlush >= 0) {
+        flush();
+        nextFlush = now + writeBehindNanos;
+      }
+      LockSupport.parkNanos(this, Math.max(1, nextFlush - now));
+    }
+    applyPending();
+    flush();
+    close();
+  }
+
+  /** Enqueues a result and wakes the rating thread. */
+  private void submit(Result result) {
+    if (result.first() == null || result.second() == null) {
+      return;
+    }
+    results.offer(result);
+    LockSupport.unpark(thread);
+  }
+
+  /** Applies every queued result. */
+  private void applyPending() {
+    Result result;
+    boolean changed = false;
+    while ((result = results.poll()) != null) {
+      apply(result);
+      changed = true;
+    }
+    if (changed) {
+      leaderboard.publish();
+    }
+  }
+
+  /** Updates both players' Elo ratings for one game. */
+  private void apply(Result result) {
+    int first = index.register(result.first());
+    int second = index.register(result.second());
+    ensureCapacity(Math.max(first, second));
+
+    float[] current = ratings;
+    double expectedFirst = 1 / (1 + Math.pow(10, (current[second] - current[first]) / 400.0));
+    double scoreFirst = result.draw() ? 0.5 : 1.0;
+    float delta = (float) (K_FACTOR * (scoreFirst - expectedFirst));
+
+    rerank(first, current[first], current[first] + delta);
+    rerank(second, current[second], current[second] - delta);
+    current[first] += delta;
+    current[second] -= delta;
+    games[first]++;
+    games[second]++;
+    dirty.set(first);
+    dirty.set(second);
+  }
+
+  /** Moves a player in the leaderboard, adding them on their first rated game. */
+  private void rerank(int id, float oldRating, float newRating) {
+    if (games[id] == 0) {
+      leaderboard.add(id, newRating);
+    } else {
+      leaderboard.update(id, oldRating, newRating);
+    }
+  }
+
+  /** Builds the leaderboard from all loaded players with at least one rated game. */
+  private void buildLeaderboard() {
+    int size = index.size();
+    int[] ids = new int[size];
+    float[] ranked = new float[size];
+    int count = 0;
+    for (int id = 0; id < size; id++) {
+      if (games[id] > 0) {
+        ids[count] = id;
+        ranked[count++] = ratings[id];
+      }
+    }
+    leaderboard.build(ids, ranked, count);
+    leaderboard.publish();
+  }
+
+  /** Appends all changed players to the store as one batch. */
+  private void flush() {
+    if (store == null || dirty.isEmpty()) {
+      dirty.clear();
+      return;
+    }
+    try {
+      for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+        store.append(index.nameOf(id), ratings[id], games[id]);
+      }
+      store.flush();
+      dirty.clear();
+    } catch (IOException e) {
+      log.error("Failed to write ratings, will retry", e);
+    }
+  }
+
+  /** Compacts the log if it mostly holds superseded records, then closes it. */
+  private void close() {
+    if (store == null) {
+      return;
+    }
+    try {
+      if (store.records() > 2L * index.size()) {
+        store.compact(
+            new RatingStore.Source() {
+              @Override
+              public int size() {
+                return index.size();
+              }
+
+              @Override
+              public String name(int id) {
+                return index.nameOf(id);
+              }
+
+              @Override
+              public float rating(int id) {
+                return ratings[id];
+              }
+
+              @Override
+              public int games(int id) {
+                return games[id];
+              }
+            });
+      }
+      store.close();
+    } catch (IOException e) {
+      log.error("Failed to close rating store", e);
+    }
+  }
+
+  /** Grows the per-player arrays so that {@code id} is a valid index. */
+  private void ensureCapacity(int id) {
+    if (id < ratings.length) {
+      return;
+    }
+    int capacity = Math.max(ratings.length * 2, id + 1);
+    float[] grownRatings = Arrays.copyOf(ratings, capacity);
+    Arrays.fill(grownRatings, ratings.length, capacity, INITIAL_RATING);
+    games = Arrays.copyOf(games, capacity);
+    ratings = grownRatings;
+  }
+}
@@ -0,0 +1,228 @@
+package rating;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local file store for ratings: an append-only log of {@code (name, rating, games)} records where
+ * the last record of a name wins.
+ *
+ * <p>Batches of changed players are appended by the write-behind flush; {@link #compact} rewrites
+ * the file with one record per player when the log has grown well beyond the player count.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class RatingStore {
+
+  /** Receives records while loading. */
+  public interface Loader {
+    /**
+     * @param name the username
+     * @param rating the stored rating
+     * @param games the stored number of rated games
+     */
+    void accept(String name, float rating, int games);
+  }
+
+  /** Gives access to the current values while compacting. */
+  public interface Source {
+    /**
+     * @return number of players
+     */
+    int size();
+
+    /**
+     * @param id player id
+     * @return username
+     */
+    String name(int id);
+
+    /**
+     * @param id player id
+     * @return rating
+     */
+    float rating(int id);
+
+    /**
+     * @param id player id
+     * @return rated games
+     */
+    int games(int id);
+  }
+
+  private static final int BUFFER = 1 << 16;
+
+  private final File file;
+  private DataOutputStream out;
+  private long records;
+
+  /**
+   * @param file the log file; created with its parent directories on first write
+   */
+  public RatingStore(File file) {
+    this.file = file;
+  }
+
+  /**
+   * Estimates the number of stored players from the file size, for pre-sizing tables.
+   *
+   * @return the estimated player count, 0 if the file does not exist
+   */
+  public int estimatePlayers() {
+    // A record is a 2-byte length, the name, a float and an int: about 20 bytes for short names
+    return (int) Math.min(Integer.MAX_VALUE / 4, file.length() / 20);
+  }
+
+  /**
+   * Reads all records in file order. A truncated last record, e.g. after a crash, is ignored.
+   *
+   * <p>Records are decoded straight from a large byte buffer; ASCII names, the common case, become
+   * strings without going through the modified-UTF-8 decoder.
+   *
+   * @param loader receives every record
+   * @throws IOException if reading fails
+   */
+  public void load(Loader loader) throws IOException {
+    if (!file.exists()) {
+      return;
+    }
+    try (InputStream in = new FileInputStream(file)) {
+      byte[] buffer = new byte[BUFFER * 16];
+      int start = 0;
+      int end = 0;
+      while (true) {
+        // Need the 2-byte length, then name + 8 bytes
+        if (end - start < 2 || end - start < 2 + length(buffer, start) + 8) {
+          System.arraycopy(buffer, start, buffer, 0, end - start);
+          end -= start;
+          start = 0;
+          int read = in.read(buffer, end, buffer.length - end);
+          if (read < 0) {
+            return;
+          }
+          end += read;
+          continue;
+        }
+        int length = length(buffer, start);
+        String name = decode(buffer, start + 2, length);
+        int position = start + 2 + length;
+        float rating = Float.intBitsToFloat(readInt(buffer, position));
+        int games = readInt(buffer, position + 4);
+        loader.accept(name, rating, games);
+        records++;
+        start = position + 8;
+      }
+    }
+  }
+
+  /** Reads the unsigned 16-bit name length at the given offset. */
+  private static int length(byte[] buffer, int offset) {
+    return ((buffer[offset] & 0xFF) << 8) | (buffer[offset + 1] & 0xFF);
+  }
+
+  /** Reads a big-endian int at the given offset. */
+  private static int readInt(byte[] buffer, int offset) {
+    return ((buffer[offset] & 0xFF) << 24)
+        | ((buffer[offset + 1] & 0xFF) << 16)
+        | ((buffer[offset + 2] & 0xFF) << 8)
+        | (buffer[offset + 3] & 0xFF);
+  }
+
+  /** Decodes a name written by {@link DataOutputStream#writeUTF}. */
+  private static String decode(byte[] buffer, int offset, int length) throws IOException {
+    for (int i = offset; i < offset + length; i++) {
+      if (buffer[i] < 0) {
+        byte[] encoded = new byte[length + 2];
+        System.arraycopy(buffer, offset - 2, encoded, 0, length + 2);
+        return new DataInputStream(new ByteArrayInputStream(encoded)).readUTF();
+      }
+    }
+    return new String(buffer, offset, length, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Appends one record; call {@link #flush()} after a batch.
+   *
+   * @param name the username
+   * @param rating the current rating
+   * @param games the current number of rated games
+   * @throws IOException if writing fails
+   */
+  public void append(String name, float rating, int games) throws IOException {
+    if (out == null) {
+      File parent = file.getAbsoluteFile().getParentFile();
+      if (parent != null) {
+        parent.mkdirs();
+      }
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), BUFFER));
+    }
+    out.writeUTF(name);
+    out.writeFloat(rating);
+    out.writeInt(games);
+    records++;
+  }
+
+  /**
+   * Forces appended records to disk.
+   *
+   * @throws IOException if writing fails
+   */
+  public void flush() throws IOException {
+    if (out != null) {
+      out.flush();
+    }
+  }
+
+  /**
+   * @return number of records in the log, including superseded ones
+   */
+  public long records() {
+    return records;
+  }
+
+  /**
+   * Rewrites the log with exactly one record per player, atomically replacing the old file.
+   *
+   * @param source the current values
+   * @throws IOException if writing fails
+   */
+  public void compact(Source source) throws IOException {
+    close();
+    File parent = file.getAbsoluteFile().getParentFile();
+    parent.mkdirs();
+    File temp = new File(parent, file.getName() + ".tmp");
+    try (DataOutputStream compacted =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), BUFFER))) {
+      for (int id = 0; id < source.size(); id++) {
+        compacted.writeUTF(source.name(id));
+        compacted.writeFloat(source.rating(id));
+        compacted.writeInt(source.games(id));
+      }
+    }
+    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    records = source.size();
+  }
+
+  /**
+   * Flushes and closes the log.
+   *
+   * @throws IOException if writing fails
+   */
+  public void close() throws IOException {
+    if (out != null) {
+      out.close();
+      out = null;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package serverController;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +53,13 @@ public class Acceptor implements Runnable {
         log.info("Waiting for client on port {}", port);
         Socket socket = serverSocket.accept();
         log.debug("New client connected");
+        try {
+          // Messages that belong together are written with one flush, so Nagle's algorithm would
+          // only hold back the next one until the client's delayed ACK
+          socket.setTcpNoDelay(true);
+        } catch (SocketException e) {
+          log.debug("Could not disable Nagle's algorithm", e);
+        }
         server.addConnection(socket);
       }
     } catch (IOException e) {
@@ -0,0 +1,92 @@
+package serverController;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded pool of I/O buffers shared by all connections, so that a connection only holds a buffer
+ * while bytes are moving through it instead of for its whole life.
+ *
+ * <p>Buffers are plain heap arrays: connections do blocking stream I/O, which copies through a
+ * {@code byte[]} anyway, so a direct buffer would only add a copy. Released buffers beyond the
+ * capacity are left to the garbage collector.
+ *
+ * <p>Idle buffers sit in an array of slots taken and filled by compare-and-set, without a lock.
+ * Each thread starts looking at its own place in the array and gives up after a few slots, so
+ * threads reading and writing at the same time mostly touch different slots; a thread that finds
+ * nothing allocates a buffer or, on release, drops it.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class BufferPool {
+  /** The pool shared by all connections, sized by system properties. */
+  static final BufferPool SHARED =
+      new BufferPool(
+          Math.max(256, Integer.getInteger("tictactoe.io.bufferSize", 8192)),
+          Math.max(0, Integer.getInteger("tictactoe.io.poolCapacity", 256)));
+
+  /** Slots a thread looks at before it allocates or drops a buffer. */
+  private static final int PROBES = 8;
+
+  private final int bufferSize;
+  private final AtomicReferenceArray<byte[]> idle;
+
+  /**
+   * @param bufferSize length of every buffer in bytes
+   * @param capacity maximum number of idle buffers kept; 0 disables pooling
+   */
+  BufferPool(int bufferSize, int capacity) {
+    this.bufferSize = bufferSize;
+    this.idle = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Takes an idle buffer or creates one if there is none. Its contents are undefined.
+   *
+   * @return a buffer of {@link #getBufferSize()} bytes
+   */
+  byte[] acquire() {
+    int slots = idle.length();
+    int slot = start(slots);
+    for (int probe = Math.min(PROBES, slots); probe > 0; probe--) {
+      byte[] buffer = idle.get(slot);
+      if (buffer != null && idle.compareAndSet(slot, buffer, null)) {
+        return buffer;
+      }
+      slot = slot + 1 == slots ? 0 : slot + 1;
+    }
+    return new byte[bufferSize];
+  }
+
+  /**
+   * Returns a buffer that the caller no longer touches.
+   *
+   * @param buffer a buffer taken from this pool
+   */
+  void release(byte[] buffer) {
+    int slots = idle.length();
+    int slot = start(slots);
+    for (int probe = Math.min(PROBES, slots); probe > 0; probe--) {
+      if (idle.get(slot) == null && idle.compareAndSet(slot, null, buffer)) {
+        return;
+      }
+      slot = slot + 1 == slots ? 0 : slot + 1;
+    }
+  }
+
+  /**
+   * @return length of every buffer in bytes
+   */
+  int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** The calling thread's first slot, spread so that neighbouring thread ids land apart. */
+  private static int start(int slots) {
+    if (slots == 0) {
+      return 0;
+    }
+    long mixed = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return (int) ((mixed >>> 32) % slots);
+  }
+}
@@ -0,0 +1,209 @@
+package serverController;
+
+import cluster.Coordinator;
+import cluster.Node;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import serverEnumUtils.ServerMessageBuilder;
+
+/**
+ * A server's membership in a cluster of nodes that share one {@link Coordinator}.
+ *
+ * <p>Logins claim their name cluster-wide and waiting players go into the coordinator's global
+ * queue instead of the server's own. For each matched pair the coordinator names the node that
+ * hosts the game. Players connected elsewhere are sent {@code REDIRECT host port ticket} and log in
+ * on the game node with the ticket; players already there join the ticket directly. The game
+ * starts as soon as both players of a ticket have arrived, without the MatchMaker. A player whose
+ * opponent does not show up within {@code tictactoe.cluster.ticketMillis} (default 10000) is queued
+ * again.
+ *
+ * <p>Named queues, tagged games, rematches and spectators stay local to each node.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class ClusterNode implements Coordinator.Listener {
+  private static final Logger log = LoggerFactory.getLogger(ClusterNode.class);
+
+  private static final long TICKET_NANOS =
+      Long.getLong("tictactoe.cluster.ticketMillis", 10_000) * 1_000_000L;
+
+  /** The first player to arrive for a ticket, waiting for the second. */
+  private record Arrival(Connection connection, long since) {}
+
+  private final Server server;
+  private final Coordinator coordinator;
+  private final Node self;
+  private final Map<Long, Arrival> arrivals = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService expiry;
+  private final AtomicBoolean left = new AtomicBoolean();
+
+  /**
+   * Joins the cluster.
+   *
+   * @param server the local server
+   * @param coordinator the cluster's coordinator
+   * @param self the address clients reach this node at
+   */
+  ClusterNode(Server server, Coordinator coordinator, Node self) {
+    this.server = server;
+    this.coordinator = coordinator;
+    this.self = self;
+    this.expiry =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "ClusterTickets");
+              thread.setDaemon(true);
+              return thread;
+            });
+    expiry.scheduleWithFixedDelay(this::expire, 1, 1, TimeUnit.SECONDS);
+    coordinator.join(self, this);
+  }
+
+  /**
+   * Claims a name cluster-wide.
+   *
+   * @param name the username
+   * @param ticket the ticket of a redirected login, or 0
+   * @return false if the name is taken or the ticket does not assign the player to this node
+   */
+  boolean login(String name, long ticket) {
+    return ticket != 0
+        ? coordinator.redirected(name, ticket, self)
+        : coordinator.register(name, self);
+  }
+
+  /**
+   * Releases a name that was claimed on this node.
+   *
+   * @param name the username
+   */
+  void logout(String name) {
+    coordinator.unregister(name, self);
+  }
+
+  /**
+   * Puts a logged-in player into the global queue.
+   *
+   * @param connection the player
+   */
+  void enqueue(Connection connection) {
+    String name = connection.getName();
+    if (name != null) {
+      coordinator.enqueue(name, self);
+    }
+  }
+
+  /**
+   * Takes a player out of the global queue.
+   *
+   * @param connection the player
+   */
+  void dequeue(Connection connection) {
+    String name = connection.getName();
+    if (name != null) {
+      coordinator.dequeue(name, self);
+    }
+  }
+
+  /** Redirects or admits this node's players of a matched pair. */
+  @Override
+  public void assigned(Coordinator.Assignment assignment) {
+    admit(assignment, assignment.player1());
+    admit(assignment, assignment.player2());
+  }
+
+  private void admit(Coordinator.Assignment assignment, String name) {
+    Connection connection = server.getUser(name);
+    if (connection == null || !connection.isOpen() || connection.isPlaying()) {
+      // Gone or already in a local game; the opponent's ticket expires and requeues it
+      return;
+    }
+    if (assignment.node().equals(self)) {
+      arrived(assignment.ticket(), connection);
+    } else {
+      log.debug("Redirecting {} to {}", name, assignment.node());
+      connection.sendMessage(
+          ServerMessageBuilder.redirect(
+              assignment.node().host(), assignment.node().port(), assignment.ticket()));
+    }
+  }
+
+  /**
+   * Records that a player of a ticket is here and starts the game once the other one is too.
+   *
+   * @param ticket the ticket of the assignment
+   * @param connection the arriving player
+   */
+  void arrived(long ticket, Connection connection) {
+    Arrival arrival = new Arrival(connection, System.nanoTime());
+    while (true) {
+      Arrival first = arrivals.putIfAbsent(ticket, arrival);
+      if (first == null) {
+        return;
+      }
+      if (!first.connection().isOpen()) {
+        // The first player left while waiting; wait in its place
+        if (arrivals.replace(ticket, first, arrival)) {
+          return;
+        }
+        continue;
+      }
+      if (!arrivals.remove(ticket, first)) {
+        continue;
+      }
+      if (server.startNow(first.connection(), connection) == null) {
+        log.warn("Could not start assigned game {}", ticket);
+        server.addAuthenticatedConnection(first.connection());
+        server.addAuthenticatedConnection(connection);
+      }
+      return;
+    }
+  }
+
+  /** Queues players again whose opponent never arrived. */
+  private void expire() {
+    long now = System.nanoTime();
+    Iterator<Map.Entry<Long, Arrival>> entries = arrivals.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<Long, Arrival> entry = entries.next();
+      Arrival arrival = entry.getValue();
+      if (now - arrival.since() > TICKET_NANOS && arrivals.remove(entry.getKey(), arrival)) {
+        log.info("Opponent of {} did not arrive, requeueing", arrival.connection().getName());
+        if (arrival.connection().isOpen()) {
+          server.addAuthenticatedConnection(arrival.connection());
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the address clients reach this node at
+   */
+  Node getSelf() {
+    return self;
+  }
+
+  /**
+   * Leaves the cluster while games already assigned here can still start and finish, e.g. when the
+   * server drains. Players still waiting for their opponent are requeued through the server.
+   */
+  void leave() {
+    if (left.compareAndSet(false, true)) {
+      coordinator.leave(self);
+    }
+  }
+
+  /** Leaves the cluster and stops expiring tickets. */
+  void terminate() {
+    expiry.shutdownNow();
+    leave();
+  }
+}
@@ -1,19 +1,45 @@
 package serverController;
 
+import captureUtils.CaptureWriter;
 import clientEnumUtils.ClientEnumHandler;
 import enums.ClientMessages;
 import java.io.*;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rating.Leaderboard;
+import rating.RatingService;
 import serverEnumUtils.ServerMessageBuilder;
 
 /**
  * Manages a single client connection: reads incoming commands, invokes appropriate server logic,
  * and sends responses.
  *
- * <p>Handles login (HELLO), moves, readiness (OK), and quit (QUIT) according to the custom
- * protocol.
+ * <p>Handles login (HELLO), moves, readiness (OK), spectating (WATCH, UNWATCH) and quit (QUIT)
+ * according to the custom protocol. A client redirected here by another node of a cluster logs in
+ * with {@code HELLO <name> <ticket>} and is handed to its assigned game. After a game the client
+ * stays logged in and can ask for the next one on the same connection: REQUEUE waits for any
+ * opponent, REMATCH for the previous one; while the server drains, each of them is answered with a
+ * REDIRECT to its successor instead. A gateway sends LINK instead of HELLO and the connection
+ * becomes an {@link UpstreamLink} for many client sessions.
+ *
+ * <p>The {@link Pinger} probes logged-in clients with PING; the PONG answers keep a smoothed
+ * round-trip time and jitter per connection, which the MatchMaker pairs by. A client may PING the
+ * server too and gets a PONG back.
+ *
+ * <p>Besides the single game it is queued for at login, a connection can take part in any number
+ * of tagged games: JOIN asks for one from a named queue, and the game's messages in both
+ * directions are wrapped in {@code GAME <id>}. The first JOIN takes the connection out of the
+ * login queue. All of them share this connection's socket and thread.
  *
  * @version 1.0
  * @created April 2025
@@ -21,21 +47,61 @@ import serverEnumUtils.ServerMessageBuilder;
 public class Connection implements Runnable {
   private static final Logger log = LoggerFactory.getLogger(Connection.class);
 
+  private static final int MAX_TAGGED_GAMES = Integer.getInteger("tictactoe.maxTaggedGames", 64);
+
+  // Rejections are answered with shared strings, so invalid moves cost no allocation
+  private static final String MOVE_PREFIX = ClientMessages.MOVE + " ";
+  private static final String GAME_NOT_ACTIVE = ServerMessageBuilder.error("Game not active");
+  private static final String INVALID_MOVE = ServerMessageBuilder.error("InvalidMove");
+  private static final int MALFORMED = Integer.MIN_VALUE;
+  private static final int COORDINATE_LIMIT = 1_000_000;
+  private static final Map<Long, GameManager> NO_GAMES = Map.of();
+  private static final String PONG_PREFIX = ClientMessages.PONG + " ";
+  private static final String LINK_PREFIX = ClientMessages.LINK + " ";
+
+  private static final boolean POOLED =
+      Boolean.parseBoolean(System.getProperty("tictactoe.io.pooled", "true"));
+  private static final int TRACE_CAPACITY =
+      Integer.getInteger("tictactoe.trace.connectionCapacity", 8);
+
   private final Server server;
   private final Socket socket;
 
-  private BufferedReader in;
-  private PrintWriter out;
+  // The socket's own streams; buffers are borrowed from the pool only while bytes move
+  private InputStream in;
+  private OutputStream out;
+  private byte[] readBuffer;
+  private int readStart;
+  private int readEnd;
+  private byte[] writeBuffer;
 
   private String username = null;
   private boolean ready = false;
-  private GameManager gameManager;
+  private volatile GameManager gameManager;
+  private final AtomicBoolean claimed = new AtomicBoolean();
+  private volatile Connection lastOpponent;
+  private volatile long lastGameId;
+  // Replaced by a concurrent map at the first tagged game; most players never start one
+  private volatile Map<Long, GameManager> games = NO_GAMES;
+
+  // Round-trip probing: the Pinger sends, the reading thread times the PONG
+  private long lastPingAt = System.nanoTime();
+  private volatile long pingSentAt;
+  private volatile boolean probeQueued;
+  private volatile long rttMicros = -1;
+  private volatile long jitterMicros;
 
   private volatile boolean keepAlive = true;
-  private final Object lock = new Object();
+  // Set when the server closes the socket on purpose, so the failing read is no error
+  private volatile boolean closedByServer;
+  private final ProtocolTrace trace;
+  private final CaptureWriter capture;
+  private final int captureSession;
+  private final AtomicBoolean captureClosed = new AtomicBoolean();
 
   /**
-   * Creates a new Connection for the given socket and server. Initializes text‐based I/O streams.
+   * Creates a new Connection for the given socket and server. Unless {@code tictactoe.io.pooled} is
+   * false, no I/O buffers are allocated here: they come from the {@link BufferPool} when needed.
    *
    * @param server the server managing this connection
    * @param socket the client socket to communicate over
@@ -43,11 +109,17 @@ public class Connection implements Runnable {
   public Connection(Server server, Socket socket) {
     this.server = server;
     this.socket = socket;
+    this.trace = new ProtocolTrace("Connection-" + socket.getPort(), TRACE_CAPACITY);
+    this.capture = server.getCapture();
+    this.captureSession = capture != null ? capture.openSession() : 0;
 
     try {
-      log.info("Creating IOStreams (text-based)");
-      in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-      out = new PrintWriter(socket.getOutputStream(), true); // auto-flush
+      in = socket.getInputStream();
+      out = socket.getOutputStream();
+      if (!POOLED) {
+        readBuffer = new byte[BufferPool.SHARED.getBufferSize()];
+        writeBuffer = new byte[BufferPool.SHARED.getBufferSize()];
+      }
     } catch (IOException e) {
       log.error("Failed to create IOStreams", e);
       try {
@@ -56,6 +128,7 @@ public class Connection implements Runnable {
         log.error("Failed to close socket", ex);
       }
     }
+    server.connectionOpened(this);
   }
 
   /**
@@ -64,96 +137,785 @@ public class Connection implements Runnable {
    * @param message the formatted message string
    */
   public void sendMessage(String message) {
-    log.info("Sending message {}", message);
-    out.println(message);
+    trace.record(ProtocolTrace.Kind.OUT, message);
+    send(message);
+  }
+
+  /** Captures and writes one message without recording it in the trace. */
+  private void send(String message) {
+    synchronized (out) {
+      // Recorded under the lock, so the capture has the order of the wire
+      if (capture != null) {
+        capture.outbound(captureSession, message);
+      }
+      byte[] buffer = POOLED ? BufferPool.SHARED.acquire() : writeBuffer;
+      try {
+        write(buffer, append(buffer, 0, message));
+      } catch (IOException e) {
+        log.debug("Failed to send to {}", username, e);
+      } finally {
+        if (POOLED) {
+          BufferPool.SHARED.release(buffer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends several protocol messages with a single flush, so that they reach the client together.
+   *
+   * @param messages the formatted message strings, in order
+   */
+  public void sendMessages(List<String> messages) {
+    for (String message : messages) {
+      trace.record(ProtocolTrace.Kind.OUT, message);
+    }
+    synchronized (out) {
+      byte[] buffer = POOLED ? BufferPool.SHARED.acquire() : writeBuffer;
+      try {
+        int length = 0;
+        for (String message : messages) {
+          if (capture != null) {
+            capture.outbound(captureSession, message);
+          }
+          length = append(buffer, length, message);
+        }
+        write(buffer, length);
+      } catch (IOException e) {
+        log.debug("Failed to send to {}", username, e);
+      } finally {
+        if (POOLED) {
+          BufferPool.SHARED.release(buffer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Encodes a message and its line break into the buffer as UTF-8, writing the buffer to the socket
+   * whenever it is full. The caller holds the lock on {@link #out}.
+   *
+   * @param buffer the write buffer
+   * @param length number of bytes already in the buffer
+   * @param message the message to append
+   * @return number of bytes in the buffer afterwards
+   * @throws IOException if writing a full buffer fails
+   */
+  private int append(byte[] buffer, int length, String message) throws IOException {
+    for (int i = 0; i < message.length(); i++) {
+      char c = message.charAt(i);
+      if (c >= 0x80) {
+        // Only names and chat go beyond ASCII; let the JDK encode the rest of those
+        for (byte b : message.substring(i).getBytes(StandardCharsets.UTF_8)) {
+          length = put(buffer, length, b);
+        }
+        break;
+      }
+      length = put(buffer, length, (byte) c);
+    }
+    return put(buffer, length, (byte) '\n');
+  }
+
+  private int put(byte[] buffer, int length, byte b) throws IOException {
+    if (length == buffer.length) {
+      out.write(buffer, 0, length);
+      length = 0;
+    }
+    buffer[length] = b;
+    return length + 1;
+  }
+
+  private void write(byte[] buffer, int length) throws IOException {
+    out.write(buffer, 0, length);
+    out.flush();
   }
 
   /**
-   * Main loop: reads lines from the client, parses commands, and dispatches login, move, quit, etc.
+   * Sends a message that is already encoded as one protocol line including its line break, e.g. a
+   * spectator event shared by many connections. Write errors are ignored like those of {@link
+   * #sendMessage}; the reading thread notices the broken connection.
+   *
+   * @param message the UTF-8 encoded line
+   */
+  void sendBytes(byte[] message) {
+    synchronized (out) {
+      if (capture != null) {
+        capture.outbound(
+            captureSession, new String(message, 0, message.length - 1, StandardCharsets.UTF_8));
+      }
+      try {
+        out.write(message);
+        out.flush();
+      } catch (IOException e) {
+        log.debug("Failed to send to {}", username, e);
+      }
+    }
+  }
+
+  /**
+   * Main loop: reads lines from the client and hands each one to {@link #handleMessage(String)}.
    */
   @Override
   public void run() {
     log.info("Connection to {}:{}", socket.getInetAddress().getHostAddress(), socket.getPort());
     try {
       String incomingMessage;
-      while (keepAlive && (incomingMessage = in.readLine()) != null) {
-        log.info("Received message: {}", incomingMessage);
-        String[] command = incomingMessage.split(" ");
-        ClientMessages keyword = ClientEnumHandler.enumFinder(command[0]);
-
-        if (keyword == ClientMessages.HELLO) {
-          username = command[1];
-          if (server.nameExists(username)) {
-            log.info("User {} already exists", username);
-            sendMessage(ServerMessageBuilder.error("Invalid username"));
-            continue;
-          }
-          log.info("User {} logged in", username);
-          sendMessage(ServerMessageBuilder.welcome(username));
-          ready = true;
-          server.addAuthenticatedConnection(this);
-        } else if (keyword == ClientMessages.QUIT) {
-          log.info("User {} sent QUIT", username);
-          ready = false;
-          keepAlive = false;
-
-          sendMessage(ServerMessageBuilder.disconnect());
-
-          if (gameManager != null) {
-            gameManager.quit(this);
-          } else {
-            server.removeConnection(this);
-          }
-
-          // Free username for new connections
-          username = null;
-
+      while (keepAlive && (incomingMessage = readLine()) != null) {
+        if (!handleMessage(incomingMessage)) {
           return;
-        } else if (keyword == null) {
-          log.error("Incorrect incoming message");
-          sendMessage(ServerMessageBuilder.error("InvalidCommand"));
-
-        } else if (keyword == ClientMessages.OK) {
-          log.info("User {} sent OK", username);
-          gameManager.playerReady(this);
-
-        } else if (keyword == ClientMessages.MOVE) {
-          if (gameManager == null) {
-            sendMessage(ServerMessageBuilder.error("Game not active"));
-            continue;
-          }
-          if (command.length < 3) {
-            sendMessage(ServerMessageBuilder.error("InvalidMove"));
-            continue;
-          }
-          int x = Integer.parseInt(command[1]);
-          int y = Integer.parseInt(command[2]);
-          log.debug("Move x=" + x + " y=" + y);
-          gameManager.playerMove(this, x, y);
-
-        } else {
-          log.warn("Unknown command received: {}", command[0]);
-          sendMessage(ServerMessageBuilder.error("InvalidCommand"));
         }
       }
 
     } catch (IOException e) {
-      log.error("IOException during client communication", e);
+      if (closedByServer || !keepAlive) {
+        log.debug("Connection to {} closed by the server", username, e);
+      } else {
+        log.error("IOException during client communication", e);
+        trace.dump("I/O error");
+      }
+    } catch (RuntimeException e) {
+      log.error("Unexpected error during client communication", e);
+      trace.dump("unexpected error");
+      throw e;
     } finally {
+      if (POOLED && readBuffer != null) {
+        releaseReadBuffer();
+      }
+      // A client that disconnects without QUIT forfeits its games or leaves the queues
+      leaveAll();
+      GameManager game = gameManager;
+      if (game != null) {
+        game.quit(this);
+      } else {
+        server.removeConnection(this);
+      }
       terminate();
     }
   }
 
+  /**
+   * Reads the next line without its line break. Waits for the first byte of a burst without holding
+   * a buffer and borrows one from the pool until every line in the burst has been handed out.
+   *
+   * @return the line, or null at the end of the stream
+   * @throws IOException if reading fails or a line does not fit into a buffer
+   */
+  private String readLine() throws IOException {
+    int from = readStart;
+    while (true) {
+      for (int i = from; i < readEnd; i++) {
+        if (readBuffer[i] == '\n') {
+          int end = i > readStart && readBuffer[i - 1] == '\r' ? i - 1 : i;
+          String line = new String(readBuffer, readStart, end - readStart, StandardCharsets.UTF_8);
+          readStart = i + 1;
+          if (readStart == readEnd) {
+            releaseReadBuffer();
+          }
+          return line;
+        }
+      }
+      if (readBuffer == null) {
+        // Idle: block on the socket holding nothing
+        int first = in.read();
+        if (first < 0) {
+          return null;
+        }
+        readBuffer = BufferPool.SHARED.acquire();
+        readBuffer[0] = (byte) first;
+        readEnd = 1;
+        from = 0;
+        continue;
+      }
+      if (readStart > 0) {
+        System.arraycopy(readBuffer, readStart, readBuffer, 0, readEnd - readStart);
+        readEnd -= readStart;
+        readStart = 0;
+      }
+      if (readEnd == readBuffer.length) {
+        throw new IOException("Line longer than " + readBuffer.length + " bytes");
+      }
+      from = readEnd;
+      int count = in.read(readBuffer, readEnd, readBuffer.length - readEnd);
+      if (count < 0) {
+        if (readEnd == 0) {
+          return null;
+        }
+        // Like BufferedReader, an unterminated last line is still a line
+        String line = new String(readBuffer, 0, readEnd, StandardCharsets.UTF_8);
+        releaseReadBuffer();
+        return line;
+      }
+      readEnd += count;
+    }
+  }
+
+  /** Forgets the consumed read buffer and returns it to the pool unless connections keep theirs. */
+  private void releaseReadBuffer() {
+    readStart = 0;
+    readEnd = 0;
+    if (POOLED) {
+      BufferPool.SHARED.release(readBuffer);
+      readBuffer = null;
+    }
+  }
+
+  /**
+   * Hands the rest of the stream to a gateway link, starting with whatever followed the LINK line
+   * in the read buffer.
+   *
+   * @return a reader positioned after the LINK line
+   */
+  private BufferedReader linkReader() {
+    InputStream rest = in;
+    if (readStart < readEnd) {
+      byte[] pending = Arrays.copyOfRange(readBuffer, readStart, readEnd);
+      rest = new SequenceInputStream(new ByteArrayInputStream(pending), in);
+    }
+    if (readBuffer != null) {
+      releaseReadBuffer();
+    }
+    return new BufferedReader(new InputStreamReader(rest, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses one protocol line and dispatches login, move, quit, etc.
+   *
+   * @param incomingMessage the raw line received from the client
+   * @return false if the client quit and the connection should stop reading
+   */
+  boolean handleMessage(String incomingMessage) {
+    // A gateway's secret must not end up in trace dumps or capture files
+    String recorded =
+        incomingMessage.startsWith(LINK_PREFIX) ? LINK_PREFIX + "***" : incomingMessage;
+    if (!incomingMessage.startsWith(PONG_PREFIX)) {
+      trace.record(ProtocolTrace.Kind.IN, recorded);
+    }
+    if (capture != null) {
+      capture.inbound(captureSession, recorded);
+    }
+    if (incomingMessage.startsWith(MOVE_PREFIX)) {
+      // The bulk of the traffic: validated without splitting the line
+      move(incomingMessage);
+      return true;
+    }
+    String[] command = incomingMessage.split(" ");
+    ClientMessages keyword = ClientEnumHandler.enumFinder(command[0]);
+
+    if (keyword == ClientMessages.LINK && username == null && !(socket instanceof LinkSocket)) {
+      String secret = command.length == 2 ? command[1] : "";
+      if (command.length > 2 || !UpstreamLink.accepts(socket.getInetAddress(), secret)) {
+        log.warn("Refused LINK from {}", socket.getInetAddress().getHostAddress());
+        sendMessage(ServerMessageBuilder.error("Not a gateway"));
+        return true;
+      }
+      // A gateway: this thread serves the sessions on its link until the link closes
+      new UpstreamLink(server, socket, linkReader(), out).run();
+      return false;
+    }
+    if (keyword == ClientMessages.HELLO) {
+      long ticket = command.length == 3 ? parseTicket(command[2]) : 0;
+      if (command.length < 2 || command.length > 3 || ticket < 0 || username != null) {
+        sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+        return true;
+      }
+      if (!server.login(command[1], this, ticket)) {
+        log.info("User {} already exists", command[1]);
+        sendMessage(ServerMessageBuilder.error("Invalid username"));
+        return true;
+      }
+      username = command[1];
+      log.info("User {} logged in", username);
+      sendMessage(ServerMessageBuilder.welcome(username));
+      ready = true;
+      if (ticket != 0) {
+        server.arrived(ticket, this);
+      } else {
+        server.addAuthenticatedConnection(this);
+      }
+    } else if (keyword == ClientMessages.QUIT) {
+      log.info("User {} sent QUIT", username);
+      ready = false;
+      keepAlive = false;
+
+      sendMessage(ServerMessageBuilder.disconnect());
+
+      leaveAll();
+      if (gameManager != null) {
+        gameManager.quit(this);
+      } else {
+        server.removeConnection(this);
+      }
+
+      // Free username for new connections
+      server.logout(username, this);
+      username = null;
+
+      return false;
+    } else if (keyword == ClientMessages.PONG) {
+      pong(command);
+
+    } else if (keyword == ClientMessages.PING) {
+      sendMessage(ServerMessageBuilder.pong(command.length > 1 ? command[1] : "0"));
+
+    } else if (keyword == null) {
+      log.error("Incorrect incoming message");
+      sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+
+    } else if (keyword == ClientMessages.OK) {
+      log.info("User {} sent OK", username);
+      GameManager game = gameManager;
+      if (game != null) {
+        game.playerReady(this);
+      } else {
+        sendMessage(GAME_NOT_ACTIVE);
+      }
+
+    } else if (keyword == ClientMessages.MOVE) {
+      move(incomingMessage);
+
+    } else if (keyword == ClientMessages.PREMOVE) {
+      // Without a game the opponent's last move ended it, which is no error
+      if (gameManager != null) {
+        premove(gameManager, command, 1);
+      }
+
+    } else if (keyword == ClientMessages.LEADERBOARD) {
+      sendLeaderboard(command);
+
+    } else if (keyword == ClientMessages.WATCH) {
+      watch(command);
+
+    } else if (keyword == ClientMessages.UNWATCH) {
+      server.getSpectators().unwatch(this);
+
+    } else if (keyword == ClientMessages.JOIN) {
+      join(command);
+
+    } else if (keyword == ClientMessages.LEAVE) {
+      if (command.length < 2) {
+        sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+        return true;
+      }
+      server.leave(command[1], this);
+
+    } else if (keyword == ClientMessages.GAME) {
+      handleTagged(command);
+
+    } else if (keyword == ClientMessages.REQUEUE) {
+      requeue();
+
+    } else if (keyword == ClientMessages.REMATCH) {
+      rematch();
+
+    } else {
+      log.warn("Unknown command received: {}", command[0]);
+      sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+    }
+    return true;
+  }
+
+  /**
+   * Queues a round-trip probe; called by the {@link Pinger} only. Until the sender writes it, the
+   * probe is only marked as queued: its token and the time its timeout counts from are taken right
+   * before the write, so waiting for a sender adds neither to the RTT nor to the timeout.
+   *
+   * @param now the current {@link System#nanoTime()}, from which the next probe is scheduled
+   * @param sender runs the write, which may block while the client does not read
+   */
+  void ping(long now, Executor sender) {
+    lastPingAt = now;
+    probeQueued = true;
+    try {
+      sender.execute(this::sendPing);
+    } catch (RejectedExecutionException e) {
+      // The Pinger is terminating
+      probeQueued = false;
+    }
+  }
+
+  private void sendPing() {
+    long token = System.nanoTime();
+    pingSentAt = token;
+    // Cleared after the token is set, so the Pinger sees either the queued probe or the sent one
+    probeQueued = false;
+    // Keep-alives would push everything worth a dump out of an idle connection's trace
+    send(ServerMessageBuilder.ping(token));
+  }
+
+  /**
+   * Times the answer to the probe in flight and updates the smoothed RTT and jitter like a TCP
+   * retransmission timer does (RFC 6298): gains of 1/8 and 1/4. Stale or foreign tokens are
+   * ignored.
+   *
+   * @param command the split PONG; the second token is the probe's token
+   */
+  private void pong(String[] command) {
+    long token;
+    try {
+      token = command.length > 1 ? Long.parseLong(command[1]) : 0;
+    } catch (NumberFormatException e) {
+      token = 0;
+    }
+    long sent = pingSentAt;
+    if (token == 0 || token != sent) {
+      return;
+    }
+    long sample = (System.nanoTime() - sent) / 1000;
+    long smoothed = rttMicros;
+    if (smoothed < 0) {
+      jitterMicros = sample / 2;
+      rttMicros = sample;
+    } else {
+      jitterMicros = (3 * jitterMicros + Math.abs(smoothed - sample)) / 4;
+      rttMicros = (7 * smoothed + sample) / 8;
+    }
+    pingSentAt = 0;
+  }
+
+  /**
+   * @return the ticket of a redirected login, or -1 if it is malformed
+   */
+  private static long parseTicket(String token) {
+    try {
+      long ticket = Long.parseLong(token);
+      return ticket > 0 ? ticket : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /** Puts this connection back into the login queue once its game is over. */
+  private void requeue() {
+    if (username == null) {
+      sendMessage(ServerMessageBuilder.error("Not logged in"));
+    } else if (isPlaying()) {
+      sendMessage(ServerMessageBuilder.error("Already playing"));
+    } else {
+      server.addAuthenticatedConnection(this);
+    }
+  }
+
+  /**
+   * Offers the opponent of the last game a rematch, or accepts the offer the opponent has made, in
+   * which case the new game starts at once. The offer stays pending while this connection waits in
+   * the queue; whichever game is found first wins.
+   */
+  private void rematch() {
+    Connection opponent = lastOpponent;
+    long gameId = lastGameId;
+    if (username == null || opponent == null || !opponent.isOpen()) {
+      sendMessage(ServerMessageBuilder.error("Rematch unavailable"));
+      return;
+    }
+    if (isPlaying()) {
+      sendMessage(ServerMessageBuilder.error("Already playing"));
+      return;
+    }
+    if (server.handOff(this)) {
+      return;
+    }
+    while (true) {
+      Connection offered = server.offerRematch(gameId, this);
+      if (offered == null) {
+        opponent.sendMessage(ServerMessageBuilder.rematch(username));
+        return;
+      }
+      if (offered == this) {
+        return;
+      }
+      // The opponent offered first; if it takes the offer back meanwhile, offer ourselves
+      if (server.withdrawRematch(gameId, offered)) {
+        if (server.startNow(offered, this) == null) {
+          sendMessage(ServerMessageBuilder.error("Opponent busy"));
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Takes back this connection's rematch offer for its last game and declines the opponent's, once
+   * another game starts or the connection goes away.
+   */
+  private void cancelRematch() {
+    Connection opponent = lastOpponent;
+    if (opponent == null) {
+      return;
+    }
+    long gameId = lastGameId;
+    server.withdrawRematch(gameId, this);
+    if (server.withdrawRematch(gameId, opponent)) {
+      opponent.sendMessage(ServerMessageBuilder.error("Rematch declined"));
+    }
+  }
+
+  /**
+   * @return whether this connection's untagged game is still running
+   */
+  boolean isPlaying() {
+    GameManager game = gameManager;
+    return game != null && game.isGameRunning();
+  }
+
+  /**
+   * Queues this connection for one more tagged game from a named queue.
+   *
+   * @param command the split request; the second token is the queue name
+   */
+  private void join(String[] command) {
+    if (command.length < 2 || !isQueueName(command[1])) {
+      sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+      return;
+    }
+    if (username == null) {
+      sendMessage(ServerMessageBuilder.error("Not logged in"));
+      return;
+    }
+    if (server.handOff(this)) {
+      return;
+    }
+    if (games.size() >= MAX_TAGGED_GAMES) {
+      sendMessage(ServerMessageBuilder.error("Too many games"));
+      return;
+    }
+    if (!server.join(command[1], this)) {
+      sendMessage(ServerMessageBuilder.error("Already queued"));
+      return;
+    }
+    // A client asking for tagged games is not matched into an untagged one as well
+    server.removeConnection(this);
+  }
+
+  private static boolean isQueueName(String name) {
+    if (name.isEmpty() || name.length() > 32) {
+      return false;
+    }
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Dispatches "GAME id MOVE x y", "GAME id PREMOVE [x y]", "GAME id OK" and "GAME id QUIT" to one
+   * of the tagged games.
+   *
+   * @param command the split request
+   */
+  private void handleTagged(String[] command) {
+    long id;
+    try {
+      id = command.length >= 3 ? Long.parseLong(command[1]) : -1;
+    } catch (NumberFormatException e) {
+      id = -1;
+    }
+    if (id < 0) {
+      sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+      return;
+    }
+    GameManager game = games.get(id);
+    if (game == null && command[2].equals(ClientMessages.PREMOVE.toString())) {
+      // The opponent's last move ended the game
+      return;
+    }
+    if (game == null) {
+      sendMessage(ServerMessageBuilder.game(id, ServerMessageBuilder.error("Game not active")));
+      return;
+    }
+
+    ClientMessages keyword = ClientEnumHandler.enumFinder(command[2]);
+    if (keyword == ClientMessages.MOVE && command.length >= 5) {
+      try {
+        game.playerMove(this, Integer.parseInt(command[3]), Integer.parseInt(command[4]));
+      } catch (NumberFormatException e) {
+        sendMessage(ServerMessageBuilder.game(id, ServerMessageBuilder.error("InvalidMove")));
+      }
+    } else if (keyword == ClientMessages.PREMOVE) {
+      premove(game, command, 3);
+    } else if (keyword == ClientMessages.OK) {
+      game.playerReady(this);
+    } else if (keyword == ClientMessages.QUIT) {
+      game.resign(this);
+    } else {
+      sendMessage(ServerMessageBuilder.game(id, ServerMessageBuilder.error("InvalidCommand")));
+    }
+  }
+
+  /**
+   * Handles "MOVE x y" for the untagged game. Malformed coordinates and moves without a game are
+   * answered here; the game rejects out-of-range, out-of-turn and occupied-cell moves from its
+   * state word before attempting any update. Neither path allocates.
+   *
+   * @param line the request
+   */
+  private void move(String line) {
+    GameManager game = gameManager;
+    if (game == null) {
+      sendMessage(GAME_NOT_ACTIVE);
+      return;
+    }
+    int from = MOVE_PREFIX.length();
+    int space = from <= line.length() ? line.indexOf(' ', from) : -1;
+    if (space < 0) {
+      sendMessage(INVALID_MOVE);
+      return;
+    }
+    int end = line.indexOf(' ', space + 1);
+    int x = parseCoordinate(line, from, space);
+    int y = parseCoordinate(line, space + 1, end < 0 ? line.length() : end);
+    if (x == MALFORMED || y == MALFORMED) {
+      sendMessage(INVALID_MOVE);
+      return;
+    }
+    game.playerMove(this, x, y);
+  }
+
+  /**
+   * Parses a decimal coordinate without allocating. Values too large for any board saturate
+   * instead of overflowing, so they are still rejected as out of range.
+   *
+   * @param text the text containing the coordinate
+   * @param from index of the first character
+   * @param to index after the last character
+   * @return the coordinate, or {@link #MALFORMED} if the text is not an optionally negative number
+   */
+  static int parseCoordinate(String text, int from, int to) {
+    boolean negative = from < to && text.charAt(from) == '-';
+    int i = negative ? from + 1 : from;
+    if (i >= to) {
+      return MALFORMED;
+    }
+    int value = 0;
+    for (; i < to; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return MALFORMED;
+      }
+      value = Math.min(value * 10 + (c - '0'), COORDINATE_LIMIT);
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Queues a premove in a game; without coordinates the pending premove is dropped.
+   *
+   * @param game the game the premove belongs to
+   * @param command the split request
+   * @param from index of the x coordinate in the request
+   */
+  private void premove(GameManager game, String[] command, int from) {
+    if (command.length < from + 2) {
+      game.playerPremove(this, -1, -1);
+      return;
+    }
+    try {
+      game.playerPremove(
+          this, Integer.parseInt(command[from]), Integer.parseInt(command[from + 1]));
+    } catch (NumberFormatException e) {
+      String error = ServerMessageBuilder.error("InvalidMove");
+      sendMessage(game.isTagged() ? ServerMessageBuilder.game(game.getId(), error) : error);
+    }
+  }
+
+  /**
+   * Stops spectating, cancels rematch offers, leaves every named queue and gives up every tagged
+   * game.
+   */
+  private void leaveAll() {
+    server.getSpectators().unwatch(this);
+    cancelRematch();
+    server.leaveAll(this);
+    for (GameManager game : games.values()) {
+      game.resign(this);
+    }
+  }
+
+  /**
+   * Subscribes this connection to the live game of another player. Players can only watch while
+   * they are not in a game themselves; starting a game ends the subscription.
+   *
+   * @param command the split request; the second token is the player to watch
+   */
+  private void watch(String[] command) {
+    if (command.length < 2) {
+      sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+      return;
+    }
+    if (gameManager != null) {
+      sendMessage(ServerMessageBuilder.error("Already playing"));
+      return;
+    }
+    GameManager game = server.gameOf(command[1]);
+    if (game == null || !server.getSpectators().watch(this, game, command[1])) {
+      sendMessage(ServerMessageBuilder.error("Game not active"));
+    }
+  }
+
+  /**
+   * Answers a LEADERBOARD request from the latest published leaderboard snapshot.
+   *
+   * @param command the split request; an optional second token is the number of entries (1-100)
+   */
+  private void sendLeaderboard(String[] command) {
+    int count = 10;
+    if (command.length > 1) {
+      try {
+        count = Math.max(1, Math.min(100, Integer.parseInt(command[1])));
+      } catch (NumberFormatException e) {
+        sendMessage(ServerMessageBuilder.error("InvalidCommand"));
+        return;
+      }
+    }
+
+    RatingService ratings = server.getRatings();
+    Leaderboard.Snapshot snapshot = ratings.getLeaderboard();
+    List<Leaderboard.Entry> top = snapshot.top(count);
+    String[] names = new String[top.size()];
+    int[] values = new int[top.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = ratings.nameOf(top.get(i).id());
+      values[i] = Math.round(top.get(i).rating());
+    }
+
+    int rank = 0;
+    int id = username != null ? ratings.idOf(username) : -1;
+    if (id >= 0 && ratings.getGames(username) > 0) {
+      rank = snapshot.rankOf(ratings.getRating(username), id);
+    }
+    sendMessage(ServerMessageBuilder.leaderboard(rank, snapshot.size(), names, values));
+  }
+
   /** Stops reading new messages. */
   public void close() {
-    synchronized (lock) {
-      keepAlive = false;
+    keepAlive = false;
+  }
+
+  /**
+   * Closes only the socket, which makes blocked reads and writes on other threads fail so that the
+   * reading thread cleans up.
+   */
+  void disconnect() {
+    closedByServer = true;
+    try {
+      if (socket != null) socket.close();
+    } catch (IOException e) {
+      log.error("Error closing socket", e);
     }
   }
 
   /** Cleans up I/O and socket resources. */
   public void terminate() {
     close();
+    server.connectionClosed(this);
+    server.logout(username, this);
+    // Recorded once however the connection ended, including when the server closed the socket
+    if (capture != null && captureClosed.compareAndSet(false, true)) {
+      capture.closeSession(captureSession);
+      capture.flush();
+    }
     try {
       if (in != null) in.close();
       if (out != null) out.close();
@@ -164,12 +926,84 @@ public class Connection implements Runnable {
   }
 
   /**
-   * Assigns this connection to a GameManager when a match is found.
+   * Assigns this connection to a GameManager when a match is found, or clears it when the game has
+   * ended, which also releases the connection's {@link #claim}.
    *
-   * @param gameManager the game manager for a specific match
+   * @param gameManager the game manager for a specific match, or null
    */
   public void setGameManager(GameManager gameManager) {
+    if (gameManager == null) {
+      this.gameManager = null;
+      claimed.set(false);
+      return;
+    }
+    cancelRematch();
+    lastGameId = gameManager.getId();
+    lastOpponent =
+        gameManager.getPlayerCross() == this
+            ? gameManager.getPlayerCircle()
+            : gameManager.getPlayerCross();
     this.gameManager = gameManager;
+    server.getSpectators().unwatch(this);
+  }
+
+  /**
+   * Reserves this connection for an untagged game that is about to start. Held until the game ends
+   * and unlinks itself.
+   *
+   * @return false if the connection is already reserved or playing
+   */
+  boolean claim() {
+    return claimed.compareAndSet(false, true);
+  }
+
+  /** Gives up a {@link #claim} when the partner could not be claimed. */
+  void release() {
+    claimed.set(false);
+  }
+
+  /**
+   * @return false once the connection has quit or is being closed
+   */
+  boolean isOpen() {
+    return keepAlive;
+  }
+
+  /**
+   * Registers a tagged game this connection plays in; called when the game starts.
+   *
+   * @param game the started game
+   */
+  void addGame(GameManager game) {
+    Map<Long, GameManager> map = games;
+    if (map == NO_GAMES) {
+      synchronized (this) {
+        if (games == NO_GAMES) {
+          games = new ConcurrentHashMap<>();
+        }
+        map = games;
+      }
+    }
+    map.put(game.getId(), game);
+  }
+
+  /**
+   * Forgets a tagged game once it has ended.
+   *
+   * @param game the ended game
+   */
+  void removeGame(GameManager game) {
+    Map<Long, GameManager> map = games;
+    if (map != NO_GAMES) {
+      map.remove(game.getId(), game);
+    }
+  }
+
+  /**
+   * @return a weakly consistent view of the tagged games this connection plays in
+   */
+  public Collection<GameManager> getGames() {
+    return games.values();
   }
 
   /**
@@ -186,6 +1020,48 @@ public class Connection implements Runnable {
     return ready;
   }
 
+  /**
+   * @return the ring buffer of recent protocol events for this connection
+   */
+  public ProtocolTrace getTrace() {
+    return trace;
+  }
+
+  /**
+   * @return whether a probe waits for a sender and has not been written yet
+   */
+  boolean isProbeQueued() {
+    return probeQueued;
+  }
+
+  /**
+   * @return the token of the probe in flight, or 0 if the last one was answered
+   */
+  long getPingSentAt() {
+    return pingSentAt;
+  }
+
+  /**
+   * @return when the last probe was sent, or the connection was opened if it has not been probed
+   */
+  long getLastPingAt() {
+    return lastPingAt;
+  }
+
+  /**
+   * @return the smoothed round-trip time in microseconds, or -1 before the first PONG
+   */
+  public long getRttMicros() {
+    return rttMicros;
+  }
+
+  /**
+   * @return the smoothed mean deviation of the round-trip time in microseconds
+   */
+  public long getJitterMicros() {
+    return jitterMicros;
+  }
+
   /**
    * @return the current GameManager this connection is part of, or null
    */
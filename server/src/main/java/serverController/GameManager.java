@@ -1,56 +1,114 @@
 package serverController;
 
-import java.util.HashSet;
-import java.util.Set;
+import archive.ArchiveFormat;
+import gameLogic.Board;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import serverEnumUtils.ServerMessageBuilder;
-import stateEnum.State;
 
 /**
  * Manages the lifecycle of a single Tic Tac Toe game between two clients.
  *
- * <p>Handles move logic, win/draw detection, turn notifications, and clean-up on termination. Uses
- * simple synchronization on an internal lock to coordinate move readiness and turns.
+ * <p>Handles move logic, win/draw detection, turn notifications, and clean-up on termination. The
+ * board, turn, move counter and status live in one {@link GameState} word: moves, quits and
+ * terminations are compare-and-set transitions on it, called directly from the players' connection
+ * threads, with no monitors and no game thread. Instances are recycled through the {@link
+ * GamePool}: {@link #start} begins a new generation of the state word.
+ *
+ * <p>A successful move marks the state busy until its MOVE messages are out; the opponent cannot
+ * move before that, so both clients always see moves in order. The thread whose transition ends
+ * the game sends the result and marks the state settled. Whichever transition leaves the game
+ * settled with no move busy reports it to the server, which deregisters and recycles it.
+ *
+ * <p>A player may premove during the opponent's turn: the cell is kept in the state word, and the
+ * thread that applies the opponent's move plays the premove right after it in the same busy phase
+ * if the cell is still free, sending both moves to each player in one write. If the opponent took
+ * the cell, the premove is dropped and the player is told so.
+ *
+ * <p>A game started from a named queue is tagged: every message to its players is wrapped in {@code
+ * GAME <id>}, and it is linked to its players as one of their tagged games instead of as their
+ * single game, so one connection can play many games at once.
+ *
+ * <p>Spectators are served by a {@link SpectatorChannel} that is attached on the first WATCH. The
+ * players' threads only publish events to it while the move is still busy, which keeps the events
+ * in move order.
  *
  * @version 1.0
  * @created April 2025
  */
-public class GameManager implements Runnable {
+public class GameManager {
   private static final Logger log = LoggerFactory.getLogger(GameManager.class);
+  private static final AtomicLong ids = new AtomicLong();
 
-  private final Connection playerCross;
-  private final Connection playerCircle;
-  private final Server server;
-
-  private boolean crossReady = false;
-  private boolean circleReady = false;
-
-  private final int n = 3;
-  private final State[][] board = new State[n][n];
+  // Shared answers to rejected moves; start() wraps them in GAME once per tagged game
+  private static final String INVALID_POSITION = ServerMessageBuilder.error("Invalid position");
+  private static final String GAME_OVER = ServerMessageBuilder.error("Game over");
+  private static final String CELL_OCCUPIED = ServerMessageBuilder.error("Cell already occupied");
+  private static final String NOT_YOUR_MOVE = ServerMessageBuilder.error("Not your move");
 
-  // ----------------------------------------- THREADING DANGER TODO Sync and stuff
-  private int moveCounter = 0;
-  private boolean crossMove = true;
-  private final Object lock = new Object();
-  private boolean wait = true;
-  boolean gameRunning = true;
+  private final Server server;
+  private final ProtocolTrace trace = new ProtocolTrace("Game");
+  private final Connection[] players = new Connection[2];
+  private final List<Connection> connections = Collections.unmodifiableList(Arrays.asList(players));
+  private final AtomicLong state = new AtomicLong(GameState.idle());
+  private final AtomicReference<SpectatorChannel> spectators = new AtomicReference<>();
+
+  private Connection playerCross;
+  private Connection playerCircle;
+  private String crossName;
+  private String circleName;
+  private boolean tagged;
+  private String invalidPosition = INVALID_POSITION;
+  private String gameOver = GAME_OVER;
+  private String cellOccupied = CELL_OCCUPIED;
+  private String notYourMove = NOT_YOUR_MOVE;
+  private long id;
+  private long startedAt;
+
+  // Packed move sequence for the archive. Only the thread entitled to place the next cell writes
+  // it, before the CAS that places the cell, so whoever sees that state also sees the move
+  private volatile long moves;
 
-  // -----------------------------------------
+  /**
+   * Creates an idle GameManager to be started with {@link #start}, used by the {@link GamePool}.
+   *
+   * @param server reference to the central Server for cleanup
+   */
+  GameManager(Server server) {
+    this.server = server;
+  }
 
   /**
-   * Creates a new GameManager for two players and immediately starts the game. Randomly assigns who
-   * plays X (cross) and O (circle), initializes the board, notifies both players of the START and
-   * first turn.
+   * Creates a new GameManager for two players and immediately starts the game.
    *
    * @param player1 one client connection
    * @param player2 the other client connection
    * @param server reference to the central Server for cleanup
    */
   public GameManager(Connection player1, Connection player2, Server server) {
-    this.server = server;
+    this(server);
+    start(player1, player2, false);
+    announce(id);
+  }
 
+  /**
+   * Starts a game on this instance. Randomly assigns who plays X (cross) and O (circle), publishes
+   * a fresh state and links the players, but sends nothing: the server registers the game first and
+   * then calls {@link #announce}, so that a player who quits right after START finds the game
+   * registered. Must only be called on a new or settled instance.
+   *
+   * @param player1 one client connection
+   * @param player2 the other client connection
+   * @param tagged whether the players receive this game's messages wrapped in GAME
+   */
+  void start(Connection player1, Connection player2, boolean tagged) {
     log.info("Designating states to players");
 
     // Randomly decide who is cross
@@ -61,229 +119,529 @@ public class GameManager implements Runnable {
       this.playerCross = player2;
       this.playerCircle = player1;
     }
-
-    // Initialize board
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 3; j++) {
-        board[i][j] = State.BLANK;
-      }
-    }
+    players[0] = playerCross;
+    players[1] = playerCircle;
+    crossName = playerCross.getName();
+    circleName = playerCircle.getName();
+    this.tagged = tagged;
+    id = ids.incrementAndGet();
+    invalidPosition = tag(INVALID_POSITION);
+    gameOver = tag(GAME_OVER);
+    cellOccupied = tag(CELL_OCCUPIED);
+    notYourMove = tag(NOT_YOUR_MOVE);
+    trace.reset("Game-" + crossName + "-" + circleName);
+    startedAt = System.currentTimeMillis();
+    moves = 0;
+    spectators.set(null);
+
+    // Publishes the fields above to every thread that reads the state
+    state.set(GameState.initial(GameState.generation(state.get()) + 1));
 
     // Link back
-    playerCross.setGameManager(this);
-    playerCircle.setGameManager(this);
+    link(playerCross);
+    link(playerCircle);
+  }
 
+  /**
+   * Sends both players the START of the game started by {@link #start} and X the first turn,
+   * unless that game has already ended and the instance was recycled for another one.
+   *
+   * @param startedId the id the game got in {@link #start}
+   */
+  void announce(long startedId) {
+    if (!GameState.isRunning(state.get()) || id != startedId) {
+      return;
+    }
     // Notify both players
     log.debug("Sending start messages to players");
-    String startMessage = ServerMessageBuilder.start(playerCross.getName(), playerCircle.getName());
+    String startMessage =
+        tag(ServerMessageBuilder.start(playerCross.getName(), playerCircle.getName()));
     playerCross.sendMessage(startMessage);
     playerCircle.sendMessage(startMessage);
 
     // Notify first turn
-    if (crossMove) {
-      playerCross.sendMessage(ServerMessageBuilder.turn(playerCross.getName()));
+    trace.record(ProtocolTrace.Kind.EVENT, "waiting for X");
+    playerCross.sendMessage(tag(ServerMessageBuilder.turn(playerCross.getName())));
+  }
+
+  /** Makes the game known to a player's connection, as its single game or as a tagged one. */
+  private void link(Connection player) {
+    if (tagged) {
+      player.addGame(this);
     } else {
-      playerCircle.sendMessage(ServerMessageBuilder.turn(playerCircle.getName()));
+      player.setGameManager(this);
+    }
+  }
+
+  /** Undoes {@link #link} unless the connection has already moved on to another game. */
+  private void unlink(Connection player) {
+    if (tagged) {
+      player.removeGame(this);
+    } else if (player.getGameManager() == this) {
+      player.setGameManager(null);
     }
   }
 
-  // https://stackoverflow.com/questions/1056316/algorithm-for-determining-tic-tac-toe-game-over
+  /**
+   * @return the message as the players of this game receive it: wrapped in GAME if it is tagged
+   */
+  private String tag(String message) {
+    return tagged ? ServerMessageBuilder.game(id, message) : message;
+  }
 
   /**
-   * Checks the given move for a win condition after placing the symbol.
+   * Processes a player's move request: validates turn order and coordinates, updates the board,
+   * broadcasts the move, and handles win/draw logic. Requests from connections that do not play in
+   * the current game (left over from an earlier game on a recycled instance) are ignored. Invalid
+   * moves are rejected from one read of the state word, before any update is attempted, so spam
+   * from one player does not contend with the other player's moves.
    *
-   * @param x row index (0-based)
-   * @param y column index (0-based)
-   * @param s the State symbol (X or O)
-   * @return the winning State if this move wins the game; otherwise null
+   * @param player the Connection issuing the move
+   * @param x row index of the move
+   * @param y column index of the move
    */
-  private State move(int x, int y, State s) {
-    if (board[x][y] == State.BLANK) {
-      board[x][y] = s;
-    }
-    moveCounter++;
+  public void playerMove(Connection player, int x, int y) {
+    while (true) {
+      long current = state.get();
+      Connection cross = playerCross;
+      Connection circle = playerCircle;
+      if (player != cross && player != circle) {
+        return;
+      }
 
-    for (int i = 0; true; i++) {
-      if (board[x][i] != s) break;
-      if (i == n - 1) {
-        return s;
+      if (!Board.inBounds(x, y)) {
+        player.sendMessage(invalidPosition);
+        return;
       }
-    }
-    for (int i = 0; true; i++) {
-      if (board[i][y] != s) break;
-      if (i == n - 1) {
-        return s;
+
+      if (!GameState.isRunning(current)) {
+        player.sendMessage(gameOver);
+        return;
       }
-    }
 
-    if (x == y) {
-      for (int i = 0; true; i++) {
-        if (board[i][i] != s) break;
-        if (i == n - 1) {
-          return s;
-        }
+      int cell = Board.cell(x, y);
+      if (GameState.isOccupied(current, cell)) {
+        player.sendMessage(cellOccupied);
+        return;
       }
-    }
 
-    if (x + y == n - 1) {
-      for (int i = 0; true; i++) {
-        if (board[i][(n - 1) - i] != s) break;
-        if (i == n - 1) {
-          return s;
-        }
+      if (GameState.isBusy(current)
+          || (player == cross) == GameState.isCircleToMove(current)) {
+        player.sendMessage(notYourMove);
+        return;
       }
-    }
 
-    return null;
+      long next = GameState.place(current, cell) | GameState.BUSY;
+      moves = ArchiveFormat.appendMove(moves, GameState.moveCount(current), cell);
+      if (state.compareAndSet(current, next)) {
+        afterMove(player, cross, circle, next, x, y);
+        return;
+      }
+    }
   }
 
   /**
-   * Processes a player's move request: validates turn order and coordinates, updates the board,
-   * broadcasts the move, and handles win/draw logic.
+   * Keeps a player's move for its next turn, or plays it right away if it already is its turn. A
+   * new premove replaces the previous one; a premove for an invalid position drops it. Premoves
+   * that arrive after the game ended are ignored, as the opponent's last move may well end it.
    *
-   * @param player the Connection issuing the move
-   * @param x row index of the move
+   * @param player the Connection issuing the premove
+   * @param x row index of the move, or -1 to only drop the premove
    * @param y column index of the move
    */
-  public void playerMove(Connection player, int x, int y) {
-    synchronized (lock) {
-      if (x >= n || y >= n || x < 0 || y < 0) {
-        player.sendMessage(ServerMessageBuilder.error("Invalid position"));
+  public void playerPremove(Connection player, int x, int y) {
+    while (true) {
+      long current = state.get();
+      Connection cross = playerCross;
+      Connection circle = playerCircle;
+      if (player != cross && player != circle) {
         return;
       }
-
-      if (board[x][y] != State.BLANK) {
-        player.sendMessage(ServerMessageBuilder.error("Cell already occupied"));
+      if (!GameState.isRunning(current)) {
         return;
       }
+      boolean isCross = player == cross;
+      int cell = Board.inBounds(x, y) ? Board.cell(x, y) : -1;
+      if (cell >= 0
+          && isCross != GameState.isCircleToMove(current)
+          && !GameState.isBusy(current)) {
+        playerMove(player, x, y);
+        return;
+      }
+      if (cell >= 0 && GameState.isOccupied(current, cell)) {
+        player.sendMessage(cellOccupied);
+        cell = -1;
+      }
+      // While the opponent's move is busy, the thread sending it picks the premove up
+      if (state.compareAndSet(current, GameState.withPremove(current, isCross, cell))) {
+        return;
+      }
+    }
+  }
 
-      if ((player == playerCross && crossMove) || (player == playerCircle && !crossMove)) {
-
-        State symbol = (player == playerCross) ? State.X : State.O;
-        State winner = move(x, y, symbol);
-
-        // Send move first
-        sendMoveToBothPlayers(player.getName(), x, y);
-
-        // Winner check then
-        if (winner != null) {
+  /**
+   * Sends the messages of a move that was just applied and ends the game or passes the turn.
+   * Premoves of the player to move are played in the same busy phase, and the messages of all moves
+   * played in a row reach each player in one write.
+   *
+   * @param player the mover
+   * @param cross the X player of the game the move belongs to
+   * @param circle the O player
+   * @param next the state the move produced
+   * @param x row index of the move
+   * @param y column index of the move
+   */
+  private void afterMove(
+      Connection player, Connection cross, Connection circle, long next, int x, int y) {
+    List<String> batch = new ArrayList<>(4);
+    String moveMessage = ServerMessageBuilder.move(player.getName(), x, y);
+    while (true) {
+      batch.add(tag(moveMessage));
+      publish(next, moveMessage, false);
+      Connection nextPlayer = GameState.isCircleToMove(next) ? circle : cross;
+
+      long after = GameState.isRunning(next) ? advance(next, cross, circle, false) : next;
+      if (!isPremovePlayed(next, after)) {
+        int status = GameState.status(next);
+        if (status == GameState.WON) {
           String winMessage = ServerMessageBuilder.winner(player.getName());
-          playerCross.sendMessage(winMessage);
-          playerCircle.sendMessage(winMessage);
-          gameRunning = false;
-        } else if (moveCounter == n * n) {
+          batch.add(tag(winMessage));
+          cross.sendMessages(batch);
+          circle.sendMessages(batch);
+          publish(next, winMessage, true);
+          Connection loser = (player == cross) ? circle : cross;
+          server.getRatings().recordWin(player.getName(), loser.getName());
+          archive(
+              cross, circle, player == cross ? ArchiveFormat.CROSS_WON : ArchiveFormat.CIRCLE_WON);
+          settle(cross, circle, next, GameState.BUSY);
+          return;
+        } else if (status == GameState.DRAWN) {
           String drawMessage = ServerMessageBuilder.draw();
-          playerCross.sendMessage(drawMessage);
-          playerCircle.sendMessage(drawMessage);
-          gameRunning = false;
-        } else {
-          crossMove = !crossMove;
-          wait = false;
-          lock.notifyAll();
+          batch.add(tag(drawMessage));
+          cross.sendMessages(batch);
+          circle.sendMessages(batch);
+          publish(next, drawMessage, true);
+          server.getRatings().recordDraw(cross.getName(), circle.getName());
+          archive(cross, circle, ArchiveFormat.DRAW);
+          settle(cross, circle, next, GameState.BUSY);
+          return;
+        }
+        cross.sendMessages(batch);
+        circle.sendMessages(batch);
+        batch.clear();
+        after = advance(next, cross, circle, true);
+        if (!isPremovePlayed(next, after)) {
+          if (GameState.isRunning(after)) {
+            trace.record(
+                ProtocolTrace.Kind.EVENT, nextPlayer == cross ? "waiting for X" : "waiting for O");
+            nextPlayer.sendMessage(tag(ServerMessageBuilder.turn(nextPlayer.getName())));
+          }
+          return;
         }
+      }
+      // The next player's premove was played; report it like a move of its own
+      int played = GameState.occupied(after) & ~GameState.occupied(next);
+      int cell = Integer.numberOfTrailingZeros(played);
+      trace.record(ProtocolTrace.Kind.EVENT, "premove " + nextPlayer.getName());
+      player = nextPlayer;
+      moveMessage =
+          ServerMessageBuilder.move(player.getName(), cell / Board.SIZE, cell % Board.SIZE);
+      next = after;
+    }
+  }
 
-      } else {
-        player.sendMessage(ServerMessageBuilder.error("Not your move"));
+  /**
+   * Moves a busy, running game on after a move: plays the premove of the player to move if its cell
+   * is free, or drops it and tells the player. Without a premove the state stays as it is, unless
+   * {@code release} asks to clear the busy bit and so pass the turn. Clearing only succeeds while
+   * no premove is pending, so one that arrives meanwhile is played instead.
+   *
+   * @param seen the state the last move produced
+   * @param release whether to clear the busy bit if there is no premove
+   * @return the state with the premove played and still busy, {@code seen} if nothing changed, or
+   *     the state after releasing; a newer generation's state if the game was recycled meanwhile
+   */
+  private long advance(long seen, Connection cross, Connection circle, boolean release) {
+    while (true) {
+      long current = state.get();
+      if (GameState.generation(current) != GameState.generation(seen)) {
+        return current;
+      }
+      boolean crossToMove = !GameState.isCircleToMove(current);
+      int cell = GameState.premove(current, crossToMove);
+      if (cell >= 0 && GameState.isRunning(current)) {
+        if (!GameState.isOccupied(current, cell)) {
+          long next = GameState.place(current, cell) | GameState.BUSY;
+          moves = ArchiveFormat.appendMove(moves, GameState.moveCount(current), cell);
+          if (state.compareAndSet(current, next)) {
+            return next;
+          }
+        } else if (state.compareAndSet(current, GameState.withPremove(current, crossToMove, -1))) {
+          Connection premover = crossToMove ? cross : circle;
+          premover.sendMessage(tag(ServerMessageBuilder.error("Premove cancelled")));
+        }
+        continue;
       }
+      if (!release) {
+        return seen;
+      }
+      long next = current & ~GameState.BUSY;
+      if (state.compareAndSet(current, next)) {
+        finishIfRecyclable(current, next);
+        return next;
+      }
+    }
+  }
+
+  /**
+   * @return whether {@link #advance} played a premove rather than releasing or leaving the state
+   */
+  private static boolean isPremovePlayed(long seen, long after) {
+    return GameState.generation(after) == GameState.generation(seen)
+        && GameState.moveCount(after) != GameState.moveCount(seen);
+  }
+
+  /**
+   * Hands an event to the spectators of this game, if there are any.
+   *
+   * @param state the state the event produced
+   * @param message the protocol message, or null to end the spectator channel silently
+   * @param last whether the event ends the game
+   */
+  private void publish(long state, String message, boolean last) {
+    SpectatorChannel channel = spectators.get();
+    if (channel != null) {
+      channel.publish(state, message, last);
     }
   }
 
   /**
-   * Sends a MOVE notification to both players.
+   * Returns the spectator channel of the running game, attaching a new one on first use.
    *
-   * @param playerName the name of the player who moved
-   * @param x row index of the move
-   * @param y column index of the move
+   * @param hub the hub that runs the channel
+   * @return the channel, or null if no game is running
    */
-  private void sendMoveToBothPlayers(String playerName, int x, int y) {
-    String moveMessage = ServerMessageBuilder.move(playerName, x, y);
-    playerCross.sendMessage(moveMessage);
-    playerCircle.sendMessage(moveMessage);
+  SpectatorChannel spectate(SpectatorHub hub) {
+    while (true) {
+      long current = state.get();
+      if (!GameState.isRunning(current)) {
+        return null;
+      }
+      int generation = GameState.generation(current);
+      SpectatorChannel channel = spectators.get();
+      if (channel != null && channel.getGeneration() == generation) {
+        return channel;
+      }
+      SpectatorChannel created = new SpectatorChannel(hub, this, generation);
+      if (spectators.compareAndSet(channel, created)) {
+        return created;
+      }
+    }
   }
 
   /**
-   * Marks a player as ready; once both players are ready, notifies the main game loop to proceed.
+   * Clears and sets state bits, as long as the state still belongs to the same generation as
+   * {@code seen}.
    *
-   * @param player the Connection that sent OK
+   * @return the state after the update, or the newer generation's state
    */
-  public void playerReady(Connection player) {
-    synchronized (lock) {
-      if (player == playerCross) {
-        crossReady = true;
-      } else {
-        circleReady = true;
+  private long update(long seen, long clear, long set) {
+    while (true) {
+      long current = state.get();
+      if (GameState.generation(current) != GameState.generation(seen)) {
+        return current;
       }
-      if (crossReady && circleReady) {
-        log.info("Both players ready");
-        wait = false;
-        lock.notifyAll();
+      long next = (current & ~clear) | set;
+      if (state.compareAndSet(current, next)) {
+        finishIfRecyclable(current, next);
+        return next;
       }
     }
   }
 
   /**
-   * Main game loop: waits for readiness or move completion, then notifies the appropriate player
-   * that it’s their turn.
+   * Hands the game back to the server when a transition made it recyclable. At most one transition
+   * per generation does, so the game is released exactly once; it must not be touched afterwards.
    */
-  @Override
-  public void run() {
-    while (gameRunning) {
-      synchronized (lock) {
-        log.info("Waiting for player move");
-        while (wait && gameRunning) {
-          try {
-            lock.wait();
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("GameManager thread interrupted");
-            return;
-          }
-        }
+  private void finishIfRecyclable(long previous, long next) {
+    if (isRecyclable(next) && !isRecyclable(previous)) {
+      server.gameFinished(this);
+    }
+  }
 
-        if (!gameRunning) break;
+  private static boolean isRecyclable(long state) {
+    return !GameState.isRunning(state) && GameState.isSettled(state) && !GameState.isBusy(state);
+  }
 
-        if (crossMove) {
-          playerCross.sendMessage(ServerMessageBuilder.turn(playerCross.getName()));
-        } else {
-          playerCircle.sendMessage(ServerMessageBuilder.turn(playerCircle.getName()));
-        }
+  /**
+   * Unlinks both players and marks the ended game settled, so it may be recycled once no move is
+   * busy.
+   *
+   * @param clear state bits the caller owns and releases together with settling
+   */
+  private void settle(Connection cross, Connection circle, long seen, long clear) {
+    log.debug("Game ended, clearing GameManager from players.");
+    trace.record(ProtocolTrace.Kind.EVENT, "game over");
+    unlink(cross);
+    unlink(circle);
+    update(seen, clear, GameState.SETTLED);
+  }
 
-        wait = true;
+  /**
+   * Hands the finished game to the server's game archive.
+   *
+   * @param cross the X player
+   * @param circle the O player
+   * @param result one of the {@link ArchiveFormat} result codes
+   */
+  private void archive(Connection cross, Connection circle, byte result) {
+    int length = GameState.moveCount(state.get());
+    // A move whose CAS lost against the end of the game may have left a cell past the end
+    long played = moves & ((1L << (4 * length)) - 1);
+    server
+        .getArchive()
+        .record(
+            cross.getName(),
+            circle.getName(),
+            result,
+            played,
+            length,
+            (int) (System.currentTimeMillis() - startedAt));
+  }
+
+  /**
+   * Marks a player as ready; once both players are ready, the player to move is reminded of the
+   * turn.
+   *
+   * @param player the Connection that sent OK
+   */
+  public void playerReady(Connection player) {
+    while (true) {
+      long current = state.get();
+      Connection cross = playerCross;
+      Connection circle = playerCircle;
+      if ((player != cross && player != circle) || !GameState.isRunning(current)) {
+        return;
+      }
+      long next = GameState.withReady(current, player == cross);
+      if (next == current) {
+        return;
+      }
+      if (state.compareAndSet(current, next)) {
+        if (GameState.bothReady(next) && !GameState.isBusy(next)) {
+          log.info("Both players ready");
+          Connection toMove = GameState.isCircleToMove(next) ? circle : cross;
+          toMove.sendMessage(tag(ServerMessageBuilder.turn(toMove.getName())));
+        }
+        return;
       }
     }
-
-    log.info("Game ended, clearing GameManager from players.");
-    if (playerCross != null) playerCross.setGameManager(null);
-    if (playerCircle != null) playerCircle.setGameManager(null);
   }
 
   /**
-   * Returns both participating connections.
+   * Returns both participating connections without allocating.
    *
-   * @return a Set containing the two Connection objects
+   * @return a read-only view of the two Connection objects
    */
-  public Set<Connection> getConnections() {
-    Set<Connection> connections = new HashSet<>();
-    connections.add(playerCross);
-    connections.add(playerCircle);
+  public List<Connection> getConnections() {
     return connections;
   }
 
+  /**
+   * @return the id of the current game, unique within the server process
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * @return the username of the X player, captured when the game started
+   */
+  public String getCrossName() {
+    return crossName;
+  }
+
+  /**
+   * @return the username of the O player, captured when the game started
+   */
+  public String getCircleName() {
+    return circleName;
+  }
+
+  /**
+   * @return epoch millis when the current game started
+   */
+  public long getStartedAt() {
+    return startedAt;
+  }
+
+  /**
+   * @return whether the players receive this game's messages wrapped in GAME
+   */
+  public boolean isTagged() {
+    return tagged;
+  }
+
+  /**
+   * @return the connection playing X
+   */
+  public Connection getPlayerCross() {
+    return playerCross;
+  }
+
+  /**
+   * @return the connection playing O
+   */
+  public Connection getPlayerCircle() {
+    return playerCircle;
+  }
+
+  /**
+   * @return the ring buffer of recent events for this game
+   */
+  public ProtocolTrace getTrace() {
+    return trace;
+  }
+
+  /**
+   * @return the current {@link GameState} word
+   */
+  public long getState() {
+    return state.get();
+  }
+
   /**
    * Indicates whether the game is still running.
    *
    * @return true if the game has not yet ended
    */
-  public synchronized boolean isGameRunning() {
-    return gameRunning;
+  public boolean isGameRunning() {
+    return GameState.isRunning(state.get());
+  }
+
+  /**
+   * @return true once the game has ended, its end-of-game work is done and no move is in flight
+   */
+  boolean isRecyclable() {
+    return isRecyclable(state.get());
   }
 
-  /** Forces termination of the game loop and unblocks any waiting threads. */
-  public synchronized void terminate() {
-    gameRunning = false;
-    synchronized (lock) {
-      wait = false;
-      lock.notifyAll();
+  /** Forces termination of a running game without a result, e.g. on server shutdown. */
+  public void terminate() {
+    while (true) {
+      long current = state.get();
+      if (!GameState.isRunning(current)) {
+        return;
+      }
+      long next = GameState.withStatus(current, GameState.ABORTED) | GameState.SETTLED;
+      if (state.compareAndSet(current, next)) {
+        trace.record(ProtocolTrace.Kind.EVENT, "terminated");
+        publish(next, null, true);
+        unlink(playerCross);
+        unlink(playerCircle);
+        finishIfRecyclable(current, next);
+        return;
+      }
     }
   }
 
@@ -295,25 +653,52 @@ public class GameManager implements Runnable {
    */
   public void quit(Connection player) {
     log.info("User {} sent quit to GameManager", player.getName());
-
-    if (!gameRunning) {
-      log.info("Game already ended. No need to process quit logic.");
-      return;
+    if (resign(player)) {
+      player.terminate();
+      server.removeConnection(player);
     }
+  }
 
-    terminate();
-
-    Connection otherPlayer = (player == playerCross) ? playerCircle : playerCross;
+  /**
+   * Ends the game in favour of the other player while the resigning player stays connected, e.g.
+   * when one of several tagged games is given up.
+   *
+   * @param player the Connection that gives up
+   * @return false if the player does not take part in the running game
+   */
+  public boolean resign(Connection player) {
+    long aborted;
+    Connection cross;
+    Connection circle;
+    while (true) {
+      long current = state.get();
+      cross = playerCross;
+      circle = playerCircle;
+      if (player != cross && player != circle) {
+        return false;
+      }
+      if (!GameState.isRunning(current)) {
+        log.info("Game already ended. No need to process quit logic.");
+        return false;
+      }
+      aborted = GameState.withStatus(current, GameState.ABORTED);
+      if (state.compareAndSet(current, aborted)) {
+        break;
+      }
+    }
+    trace.record(ProtocolTrace.Kind.EVENT, "quit " + player.getName());
 
-    playerCross.setGameManager(null);
-    playerCircle.setGameManager(null);
+    Connection otherPlayer = (player == cross) ? circle : cross;
 
+    String winMessage = ServerMessageBuilder.winner(otherPlayer.getName());
     if (otherPlayer.getReady()) {
-      otherPlayer.sendMessage(ServerMessageBuilder.winner(otherPlayer.getName()));
-      otherPlayer.sendMessage(ServerMessageBuilder.disconnect());
+      otherPlayer.sendMessage(tag(winMessage));
+      otherPlayer.sendMessage(tag(ServerMessageBuilder.disconnect()));
     }
-
-    player.terminate();
-    server.removeConnection(player);
+    publish(aborted, winMessage, true);
+    server.getRatings().recordWin(otherPlayer.getName(), player.getName());
+    archive(cross, circle, player == cross ? ArchiveFormat.CROSS_QUIT : ArchiveFormat.CIRCLE_QUIT);
+    settle(cross, circle, aborted, 0);
+    return true;
   }
 }
@@ -0,0 +1,94 @@
+package serverController;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounded pool of finished {@link GameManager} instances, so that matchmaking reuses games and
+ * their boards instead of allocating new ones for every match.
+ *
+ * <p>A game may only be released once it is {@link GameManager#isRecyclable() recyclable} and has
+ * been removed from the server, because nothing may start it again while another thread still
+ * works on it.
+ * Released games beyond the capacity are left to the garbage collector.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class GamePool {
+  private final Server server;
+  private final int capacity;
+  private final ArrayDeque<GameManager> idle;
+  private long created;
+  private long reused;
+
+  /**
+   * @param server the server new games are created for
+   * @param capacity maximum number of idle games kept; 0 disables pooling
+   */
+  GamePool(Server server, int capacity) {
+    this.server = server;
+    this.capacity = capacity;
+    this.idle = new ArrayDeque<>(Math.min(capacity, 1024));
+  }
+
+  /**
+   * Creates a pool sized by the {@code tictactoe.gamePool.capacity} system property (default 1024).
+   *
+   * @param server the server new games are created for
+   * @return the pool
+   */
+  static GamePool fromSystemProperties(Server server) {
+    return new GamePool(server, Math.max(0, Integer.getInteger("tictactoe.gamePool.capacity", 1024)));
+  }
+
+  /**
+   * Starts a game between two players on a pooled or new instance. Nothing is sent to the players
+   * until the caller has registered the game and calls {@link GameManager#announce}.
+   *
+   * @param player1 one client connection
+   * @param player2 the other client connection
+   * @param tagged whether the players receive the game's messages wrapped in GAME
+   * @return the started game
+   */
+  GameManager acquire(Connection player1, Connection player2, boolean tagged) {
+    GameManager gameManager;
+    synchronized (this) {
+      gameManager = idle.pollLast();
+      if (gameManager == null) {
+        created++;
+      } else {
+        reused++;
+      }
+    }
+    if (gameManager == null) {
+      gameManager = new GameManager(server);
+    }
+    gameManager.start(player1, player2, tagged);
+    return gameManager;
+  }
+
+  /**
+   * Returns a finished game to the pool.
+   *
+   * @param gameManager a recyclable game that the server no longer tracks
+   */
+  synchronized void release(GameManager gameManager) {
+    if (idle.size() < capacity) {
+      idle.addLast(gameManager);
+    }
+  }
+
+  /**
+   * @return number of games created because the pool was empty
+   */
+  synchronized long getCreated() {
+    return created;
+  }
+
+  /**
+   * @return number of games served from the pool
+   */
+  synchronized long getReused() {
+    return reused;
+  }
+}
@@ -0,0 +1,72 @@
+package serverController;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent index of live games by game id and by player name.
+ *
+ * <p>Games are registered when they start and deregister themselves when they become recyclable,
+ * so no periodic sweep over all games is needed and every operation is O(1) no matter how many
+ * games are running. Lookups never block registration or each other.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class GameRegistry {
+  private final ConcurrentHashMap<Long, GameManager> byId = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, GameManager> byPlayer = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a started game.
+   *
+   * @param gameManager the game, already started
+   */
+  void register(GameManager gameManager) {
+    byId.put(gameManager.getId(), gameManager);
+    byPlayer.put(gameManager.getCrossName(), gameManager);
+    byPlayer.put(gameManager.getCircleName(), gameManager);
+  }
+
+  /**
+   * Removes a finished game. Entries that already point to a newer game are left alone.
+   *
+   * @param gameManager the game
+   * @return true if the game was registered
+   */
+  boolean deregister(GameManager gameManager) {
+    byPlayer.remove(gameManager.getCrossName(), gameManager);
+    byPlayer.remove(gameManager.getCircleName(), gameManager);
+    return byId.remove(gameManager.getId(), gameManager);
+  }
+
+  /**
+   * @param id a game id
+   * @return the live game with that id, or null
+   */
+  public GameManager get(long id) {
+    return byId.get(id);
+  }
+
+  /**
+   * @param name a username
+   * @return the live game the player takes part in, or null
+   */
+  public GameManager byPlayer(String name) {
+    return name == null ? null : byPlayer.get(name);
+  }
+
+  /**
+   * @return number of live games
+   */
+  public int size() {
+    return byId.size();
+  }
+
+  /**
+   * @return a weakly consistent view of the live games, safe to iterate during updates
+   */
+  public Collection<GameManager> games() {
+    return byId.values();
+  }
+}
@@ -0,0 +1,244 @@
+package serverController;
+
+import gameLogic.Board;
+
+/**
+ * Encoding of a game's complete mutable state in one {@code long}, so that every transition is a
+ * single compare-and-set.
+ *
+ * <pre>
+ * bits 0-8    cells taken by X
+ * bits 9-17   cells taken by O
+ * bit  18     O to move
+ * bits 19-22  number of moves played
+ * bits 23-24  status: RUNNING, WON, DRAWN or ABORTED
+ * bit  25     busy: the last move's messages are still being sent
+ * bit  26     settled: the end-of-game messages and bookkeeping are done
+ * bit  27/28  X / O sent OK
+ * bits 29-32  X's premove: cell index + 1, or 0 for none
+ * bits 33-36  O's premove
+ * bits 40-63  generation, incremented each time a pooled game is started again
+ * </pre>
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class GameState {
+
+  /** The game accepts moves. */
+  public static final int RUNNING = 0;
+
+  /** A player completed a line. */
+  public static final int WON = 1;
+
+  /** The board is full without a line. */
+  public static final int DRAWN = 2;
+
+  /** A player quit or the server terminated the game. */
+  public static final int ABORTED = 3;
+
+  private static final int CIRCLE_SHIFT = 9;
+  private static final long CIRCLE_TO_MOVE = 1L << 18;
+  private static final int COUNT_SHIFT = 19;
+  private static final int STATUS_SHIFT = 23;
+  private static final long STATUS_MASK = 3L << STATUS_SHIFT;
+  static final long BUSY = 1L << 25;
+  static final long SETTLED = 1L << 26;
+  private static final long CROSS_READY = 1L << 27;
+  private static final long CIRCLE_READY = 1L << 28;
+  private static final int CROSS_PREMOVE_SHIFT = 29;
+  private static final int CIRCLE_PREMOVE_SHIFT = 33;
+  private static final long PREMOVE_MASK = 0xFL;
+  private static final int GENERATION_SHIFT = 40;
+
+  private GameState() {}
+
+  /**
+   * @param generation the generation of the new game
+   * @return the state of a freshly started game, X to move
+   */
+  static long initial(int generation) {
+    return (long) generation << GENERATION_SHIFT;
+  }
+
+  /**
+   * @return the state of a GameManager that has never been started
+   */
+  static long idle() {
+    return ((long) ABORTED << STATUS_SHIFT) | SETTLED;
+  }
+
+  /**
+   * Plays the next move and drops the mover's premove, if any. The caller must have checked that
+   * the game is running and the cell free.
+   *
+   * @param state current state
+   * @param cell cell index of the move
+   * @return the state after the move, with WON or DRAWN status if it ended the game
+   */
+  static long place(long state, int cell) {
+    boolean circle = isCircleToMove(state);
+    long next = withPremove(state, !circle, -1) + (1L << COUNT_SHIFT);
+    next |= 1L << (cell + (circle ? CIRCLE_SHIFT : 0));
+    next ^= CIRCLE_TO_MOVE;
+    int mask = circle ? circles(next) : crosses(next);
+    if (Board.isWinning(mask)) {
+      return withStatus(next, WON);
+    }
+    if ((crosses(next) | circles(next)) == Board.FULL) {
+      return withStatus(next, DRAWN);
+    }
+    return next;
+  }
+
+  /**
+   * @param state a state
+   * @param status the new status
+   * @return the state with the status replaced
+   */
+  static long withStatus(long state, int status) {
+    return (state & ~STATUS_MASK) | ((long) status << STATUS_SHIFT);
+  }
+
+  /**
+   * @param state a state
+   * @param cross whether X or O sent OK
+   * @return the state with that player marked ready
+   */
+  static long withReady(long state, boolean cross) {
+    return state | (cross ? CROSS_READY : CIRCLE_READY);
+  }
+
+  /**
+   * @param state a state
+   * @param cross whether X's or O's premove is replaced
+   * @param cell the cell the player wants to take once it is its turn, or -1 to drop the premove
+   * @return the state with the player's premove replaced
+   */
+  static long withPremove(long state, boolean cross, int cell) {
+    int shift = cross ? CROSS_PREMOVE_SHIFT : CIRCLE_PREMOVE_SHIFT;
+    return (state & ~(PREMOVE_MASK << shift)) | ((long) (cell + 1) << shift);
+  }
+
+  /**
+   * @param state a state
+   * @param cross whether X's or O's premove is read
+   * @return the cell of the player's premove, or -1 if it has none
+   */
+  public static int premove(long state, boolean cross) {
+    int shift = cross ? CROSS_PREMOVE_SHIFT : CIRCLE_PREMOVE_SHIFT;
+    return (int) ((state >>> shift) & PREMOVE_MASK) - 1;
+  }
+
+  /**
+   * @param state a state
+   * @return the cells taken by either player
+   */
+  public static int occupied(long state) {
+    return crosses(state) | circles(state);
+  }
+
+  /**
+   * @param state a state
+   * @return the cells taken by X
+   */
+  public static int crosses(long state) {
+    return (int) state & Board.FULL;
+  }
+
+  /**
+   * @param state a state
+   * @return the cells taken by O
+   */
+  public static int circles(long state) {
+    return (int) (state >>> CIRCLE_SHIFT) & Board.FULL;
+  }
+
+  /**
+   * @param state a state
+   * @return the board as nine characters, row by row: X, O or '.'
+   */
+  public static String board(long state) {
+    char[] cells = new char[9];
+    int crosses = crosses(state);
+    int circles = circles(state);
+    for (int cell = 0; cell < cells.length; cell++) {
+      int bit = 1 << cell;
+      cells[cell] = (crosses & bit) != 0 ? 'X' : (circles & bit) != 0 ? 'O' : '.';
+    }
+    return new String(cells);
+  }
+
+  /**
+   * @param state a state
+   * @param cell a cell index
+   * @return whether the cell is taken
+   */
+  public static boolean isOccupied(long state, int cell) {
+    return ((crosses(state) | circles(state)) & (1 << cell)) != 0;
+  }
+
+  /**
+   * @param state a state
+   * @return whether O moves next
+   */
+  public static boolean isCircleToMove(long state) {
+    return (state & CIRCLE_TO_MOVE) != 0;
+  }
+
+  /**
+   * @param state a state
+   * @return number of moves played
+   */
+  public static int moveCount(long state) {
+    return (int) (state >>> COUNT_SHIFT) & 0xF;
+  }
+
+  /**
+   * @param state a state
+   * @return RUNNING, WON, DRAWN or ABORTED
+   */
+  public static int status(long state) {
+    return (int) ((state & STATUS_MASK) >>> STATUS_SHIFT);
+  }
+
+  /**
+   * @param state a state
+   * @return whether the game accepts moves
+   */
+  public static boolean isRunning(long state) {
+    return status(state) == RUNNING;
+  }
+
+  /**
+   * @param state a state
+   * @return whether the messages of the last move are still being sent
+   */
+  public static boolean isBusy(long state) {
+    return (state & BUSY) != 0;
+  }
+
+  /**
+   * @param state a state
+   * @return whether the game has ended and its end-of-game work is complete
+   */
+  public static boolean isSettled(long state) {
+    return (state & SETTLED) != 0;
+  }
+
+  /**
+   * @param state a state
+   * @return whether both players sent OK
+   */
+  public static boolean bothReady(long state) {
+    return (state & (CROSS_READY | CIRCLE_READY)) == (CROSS_READY | CIRCLE_READY);
+  }
+
+  /**
+   * @param state a state
+   * @return the generation of the game the state belongs to
+   */
+  public static int generation(long state) {
+    return (int) (state >>> GENERATION_SHIFT);
+  }
+}
@@ -0,0 +1,211 @@
+package serverController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unconnected socket standing for one client session of an {@link UpstreamLink}, so that the
+ * clients of a gateway are served by ordinary {@link Connection}s. Reads return the lines the link
+ * delivers for the session; every line written is sent back over the link as a frame of the
+ * session.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class LinkSocket extends Socket {
+
+  /** Lines a session may have waiting before it counts as stuck and is closed. */
+  private static final int MAX_PENDING = 1024;
+
+  private final UpstreamLink link;
+  private final long session;
+  private final Input input = new Input();
+  private final Output output = new Output();
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * @param link the link carrying the session
+   * @param session the session id the gateway picked
+   */
+  LinkSocket(UpstreamLink link, long session) {
+    this.link = link;
+    this.session = session;
+  }
+
+  /**
+   * Hands the session a line received on the link.
+   *
+   * @param line the UTF-8 encoded line including its line break
+   * @return false if the session is not reading and was closed
+   */
+  boolean deliver(byte[] line) {
+    if (input.offer(line)) {
+      return true;
+    }
+    try {
+      close();
+    } catch (IOException e) {
+      // Never thrown for an unconnected socket
+    }
+    return false;
+  }
+
+  /** Ends the session's input, as if the client had closed its socket. */
+  void endOfStream() {
+    input.finish();
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return input;
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return output;
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return link.getInetAddress();
+  }
+
+  /** The session id, shown where a real socket shows the client's port. */
+  @Override
+  public int getPort() {
+    return (int) session;
+  }
+
+  /** Closes the session on the gateway too, unless the gateway closed it. */
+  @Override
+  public synchronized void close() throws IOException {
+    super.close();
+    input.finish();
+    if (closed.compareAndSet(false, true)) {
+      link.sessionClosed(session);
+    }
+  }
+
+  /** Lines delivered by the link, read by the session's connection thread. */
+  private static final class Input extends InputStream {
+    private final ArrayDeque<byte[]> lines = new ArrayDeque<>();
+    private byte[] current;
+    private int position;
+    private boolean finished;
+
+    synchronized boolean offer(byte[] line) {
+      if (finished) {
+        return true;
+      }
+      if (lines.size() >= MAX_PENDING) {
+        return false;
+      }
+      lines.add(line);
+      notifyAll();
+      return true;
+    }
+
+    synchronized void finish() {
+      finished = true;
+      notifyAll();
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      return next() ? current[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (!next()) {
+        return -1;
+      }
+      int count = Math.min(length, current.length - position);
+      System.arraycopy(current, position, buffer, offset, count);
+      position += count;
+      return count;
+    }
+
+    /** Waits until a line has unread bytes; false at the end of the stream. */
+    private boolean next() throws IOException {
+      while (current == null || position == current.length) {
+        current = lines.poll();
+        position = 0;
+        if (current == null) {
+          if (finished) {
+            return false;
+          }
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+          }
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Sends each written line as a frame. Complete lines go straight from the caller's bytes; only a
+   * line split across writes is collected, in a buffer that is dropped once it is sent.
+   */
+  private final class Output extends OutputStream {
+    private byte[] line;
+    private int length;
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int count) throws IOException {
+      if (closed.get()) {
+        throw new IOException("Socket closed");
+      }
+      int start = offset;
+      for (int i = offset; i < offset + count; i++) {
+        if (bytes[i] != '\n') {
+          continue;
+        }
+        if (line == null) {
+          int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+          link.send(session, bytes, start, end - start);
+        } else {
+          collect(bytes, start, i - start);
+          int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+          link.send(session, line, 0, end);
+          line = null;
+          length = 0;
+        }
+        start = i + 1;
+      }
+      collect(bytes, start, offset + count - start);
+    }
+
+    private void collect(byte[] bytes, int from, int count) {
+      if (count == 0) {
+        return;
+      }
+      if (line == null) {
+        line = new byte[Math.max(128, count)];
+      } else if (length + count > line.length) {
+        line = Arrays.copyOf(line, Math.max(length * 2, length + count));
+      }
+      System.arraycopy(bytes, from, line, length, count);
+      length += count;
+    }
+  }
+}
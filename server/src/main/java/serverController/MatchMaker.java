@@ -1,7 +1,12 @@
 package serverController;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,7 +14,11 @@ import org.slf4j.LoggerFactory;
  * Continuously pairs available clients into new games.
  *
  * <p>Monitors the server's waiting queue and, every 500ms, matches clients in pairs, removes them
- * from the queue, creates a GameManager for each pair, and starts it.
+ * from the queue, creates a GameManager for each pair, and starts it. Players in the login queue
+ * are paired in order of their smoothed round-trip time, so opponents have similar network
+ * latency; with an odd number of players a random one waits for the next round. The named queues
+ * are matched the same way into tagged games, in arrival order; a client waiting in several of them
+ * can be matched in each.
  *
  * <p>Runs in its own thread until terminated.
  *
@@ -19,6 +28,9 @@ import org.slf4j.LoggerFactory;
 public class MatchMaker implements Runnable {
   private static final Logger log = LoggerFactory.getLogger(MatchMaker.class);
 
+  /** A waiting player with its RTT read once, so the sort sees stable keys. */
+  private record Candidate(Connection connection, long rttMicros) {}
+
   private final Server server;
   private volatile boolean keepAlive;
 
@@ -28,17 +40,30 @@ public class MatchMaker implements Runnable {
    * @param server the Server instance whose queue is monitored
    */
   public MatchMaker(Server server) {
+    this(server, true);
+  }
+
+  /**
+   * Constructs the MatchMaker, optionally without starting its thread so that {@link
+   * #matchPlayers()} can be driven directly.
+   *
+   * @param server the Server instance whose queue is monitored
+   * @param start whether to start the matching thread
+   */
+  MatchMaker(Server server, boolean start) {
     this.server = server;
     keepAlive = true;
 
-    Thread thread = new Thread(this);
-    thread.setName("MatchMaker");
-    thread.start();
+    if (start) {
+      Thread thread = new Thread(this);
+      thread.setName("MatchMaker");
+      thread.start();
+    }
   }
 
   /**
-   * Main loop: sleeps briefly, then attempts to match pairs from the queue. Creates and starts a
-   * new GameManager for each matched pair.
+   * Main loop: sleeps briefly, then attempts to match pairs from the queue. Finished games remove
+   * themselves from the server.
    */
   @Override
   public void run() {
@@ -47,41 +72,7 @@ public class MatchMaker implements Runnable {
       try {
         Thread.sleep(500);
 
-        Set<Connection> queue = server.getQueue();
-        if (queue.size() < 2) {
-          continue;
-        }
-
-        Iterator<Connection> iterator = queue.iterator();
-
-        while (iterator.hasNext() && keepAlive) {
-          Connection player1 = iterator.next();
-          if (!iterator.hasNext()) {
-            log.info("Odd number of players in queue");
-            break;
-          }
-          Connection player2 = iterator.next();
-
-          if (player1.getName() != null
-              && player2.getName() != null
-              && player1.getGameManager() == null
-              && player2.getGameManager() == null) {
-
-            log.info("Matching players: {} and {}", player1.getName(), player2.getName());
-
-            server.removeConnection(player1);
-            server.removeConnection(player2);
-
-            GameManager gameManager = new GameManager(player1, player2, server);
-            server.addGame(gameManager);
-
-            Thread gameThread = new Thread(gameManager);
-            gameThread.setName("Game-" + player1.getName() + "-" + player2.getName());
-            gameThread.start();
-          }
-        }
-
-        server.cleanupGames();
+        matchPlayers();
       } catch (InterruptedException e) {
         log.error("MatchMaker interrupted", e);
         Thread.currentThread().interrupt();
@@ -93,6 +84,103 @@ public class MatchMaker implements Runnable {
     log.info("MatchMaker terminating");
   }
 
+  /**
+   * Performs one matching pass over the queue and the named queues. Starts a pooled GameManager for
+   * each matched pair.
+   *
+   * @return the number of games started
+   */
+  int matchPlayers() {
+    int started = matchQueue();
+    for (Map.Entry<String, Set<Connection>> queue : server.getNamedQueues().entrySet()) {
+      started += matchNamedQueue(queue.getKey(), queue.getValue());
+    }
+    return started;
+  }
+
+  /**
+   * Pairs the connections waiting in one named queue into tagged games. A pair is only started if
+   * both connections could be taken out of the queue, so a concurrent LEAVE wins.
+   */
+  private int matchNamedQueue(String name, Set<Connection> queue) {
+    int started = 0;
+    Connection waiting = null;
+    for (Connection connection : queue) {
+      if (!keepAlive) {
+        break;
+      }
+      if (connection.getName() == null) {
+        queue.remove(connection);
+      } else if (waiting == null) {
+        waiting = connection;
+      } else if (queue.remove(waiting)) {
+        if (queue.remove(connection)) {
+          log.info("Matching {} and {} from queue {}", waiting.getName(), connection.getName(), name);
+          server.startGame(waiting, connection, true);
+          started++;
+          waiting = null;
+        } else {
+          // The queue may have been pruned when the other player left
+          server.requeue(name, waiting);
+        }
+      } else {
+        waiting = connection;
+      }
+    }
+    server.pruneQueue(name);
+    return started;
+  }
+
+  /**
+   * Pairs the connections waiting in the login queue into untagged games, neighbours by round-trip
+   * time first. Players without an RTT sample yet sort first and are paired with each other.
+   */
+  private int matchQueue() {
+    Set<Connection> waiting = server.getQueue();
+    if (waiting.size() < 2) {
+      return 0;
+    }
+    List<Candidate> queue = new ArrayList<>(waiting.size());
+    for (Connection connection : waiting) {
+      queue.add(new Candidate(connection, connection.getRttMicros()));
+    }
+    if (queue.size() % 2 != 0) {
+      // Otherwise the slowest player would always be the one left over
+      queue.remove(ThreadLocalRandom.current().nextInt(queue.size()));
+    }
+    queue.sort(Comparator.comparingLong(Candidate::rttMicros));
+
+    int started = 0;
+    Iterator<Candidate> iterator = queue.iterator();
+
+    while (iterator.hasNext() && keepAlive) {
+      Connection player1 = iterator.next().connection();
+      if (!iterator.hasNext()) {
+        log.info("Odd number of players in queue");
+        break;
+      }
+      Connection player2 = iterator.next().connection();
+
+      if (player1.getName() == null || player2.getName() == null || !player1.claim()) {
+        continue;
+      }
+      // Claims keep a rematch from starting a game with either player at the same time
+      if (!player2.claim()) {
+        player1.release();
+        continue;
+      }
+
+      log.info("Matching players: {} and {}", player1.getName(), player2.getName());
+
+      server.removeConnection(player1);
+      server.removeConnection(player2);
+
+      server.startGame(player1, player2);
+      started++;
+    }
+    return started;
+  }
+
   /** Signals the MatchMaker to stop matching and terminate its thread. */
   public void terminate() {
     log.info("Terminating MatchMaker");
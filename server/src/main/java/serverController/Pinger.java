@@ -0,0 +1,146 @@
+package serverController;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Probes the round-trip time of every logged-in connection and closes the ones that stopped
+ * answering.
+ *
+ * <p>Every tenth of the interval the Pinger walks over all connections. A connection is sent
+ * {@code PING <token>} once the interval has passed since its last probe and the previous one has
+ * been answered; the reading thread times the {@code PONG} and updates the connection's smoothed
+ * RTT and jitter. There is at most one probe in flight per connection, so a client that stops
+ * reading is never sent more than one. A probe left unanswered for the timeout means the client is
+ * gone rather than slow, and its socket is closed, which makes the reading thread forfeit its games
+ * and log it out.
+ *
+ * <p>A walk does nothing but a few reads of volatile fields for connections that are not due, and
+ * because clients log in at different times the probes spread over the interval by themselves.
+ * The walk never writes to a socket itself: it checks a connection's timeout before anything else
+ * and hands due probes to a few sender threads. A probe's token and its timeout start when a
+ * sender writes it, so time spent waiting for a sender counts neither as RTT nor against the
+ * client. A client that stops reading, or a writer stuck on a connection, can hold up one sender
+ * until the timeout closes that socket, but never the walk.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class Pinger implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(Pinger.class);
+
+  /** Threads writing probes; each one can only be held up by a connection that is timing out. */
+  private static final int SENDERS = 4;
+
+  private final Server server;
+  private final long intervalNanos;
+  private final long timeoutNanos;
+  private final ExecutorService senders;
+  private final Executor sender;
+  private volatile boolean keepAlive = true;
+
+  /**
+   * Creates the Pinger, optionally without starting its thread so that {@link #sweep} can be
+   * driven directly; probes are then written by the thread calling it.
+   *
+   * @param server the server whose connections are probed
+   * @param intervalMillis time between two probes of one connection
+   * @param timeoutMillis time after which an unanswered probe closes the connection
+   * @param start whether to start the probing thread
+   */
+  Pinger(Server server, long intervalMillis, long timeoutMillis, boolean start) {
+    this.server = server;
+    this.intervalNanos = intervalMillis * 1_000_000L;
+    this.timeoutNanos = timeoutMillis * 1_000_000L;
+    if (start) {
+      AtomicInteger threads = new AtomicInteger();
+      this.senders =
+          Executors.newFixedThreadPool(
+              SENDERS,
+              task -> {
+                Thread thread = new Thread(task, "PingSender-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+      this.sender = senders;
+
+      Thread thread = new Thread(this);
+      thread.setName("Pinger");
+      thread.setDaemon(true);
+      thread.start();
+    } else {
+      this.senders = null;
+      this.sender = Runnable::run;
+    }
+  }
+
+  /**
+   * Starts a Pinger configured by {@code tictactoe.ping.intervalMillis} (default 5000) and {@code
+   * tictactoe.ping.timeoutMillis} (default 30000).
+   *
+   * @param server the server whose connections are probed
+   * @return the running Pinger, or null if the interval is 0 or less
+   */
+  static Pinger fromSystemProperties(Server server) {
+    long interval = Long.getLong("tictactoe.ping.intervalMillis", 5000);
+    long timeout = Long.getLong("tictactoe.ping.timeoutMillis", 30_000);
+    return interval > 0 ? new Pinger(server, interval, Math.max(timeout, interval), true) : null;
+  }
+
+  /** Main loop: walks over the connections ten times per interval. */
+  @Override
+  public void run() {
+    log.info("Pinger started");
+    long tickMillis = Math.max(10, intervalNanos / 10_000_000L);
+    while (keepAlive) {
+      try {
+        Thread.sleep(tickMillis);
+        sweep(System.nanoTime());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Exception e) {
+        log.error("Pinger error", e);
+      }
+    }
+    log.info("Pinger terminating");
+  }
+
+  /**
+   * Probes every logged-in connection that is due and closes the ones whose probe timed out.
+   *
+   * @param now the current {@link System#nanoTime()}
+   * @return the number of probes sent
+   */
+  int sweep(long now) {
+    int sent = 0;
+    for (Connection connection : server.getConnections()) {
+      if (connection.getName() == null || connection.isProbeQueued()) {
+        continue;
+      }
+      long pending = connection.getPingSentAt();
+      if (pending != 0) {
+        if (now - pending > timeoutNanos) {
+          log.info("{} did not answer PING, closing", connection.getName());
+          connection.disconnect();
+        }
+      } else if (now - connection.getLastPingAt() >= intervalNanos) {
+        connection.ping(now, sender);
+        sent++;
+      }
+    }
+    return sent;
+  }
+
+  /** Stops probing. */
+  public void terminate() {
+    keepAlive = false;
+    if (senders != null) {
+      senders.shutdownNow();
+    }
+  }
+}
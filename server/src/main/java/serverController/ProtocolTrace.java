@@ -0,0 +1,159 @@
+package serverController;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fixed-size, lock-free ring buffer of recent protocol events for one connection or one game.
+ *
+ * <p>Recording an event costs one atomic increment and a few array stores, so it can stay on the
+ * hot path where per-message INFO logging used to be. The buffer is dumped to the log when
+ * something goes wrong or when an operator asks for it. Every {@code tictactoe.trace.sampleEvery}th
+ * event is additionally written to the persistent log (0 disables sampling, which is the default).
+ *
+ * <p>Writers claim a slot with {@code getAndIncrement} and publish it with a per-slot sequence
+ * number; readers use that sequence as a seqlock to skip slots that are being overwritten.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class ProtocolTrace {
+  private static final Logger log = LoggerFactory.getLogger("protocolTrace");
+
+  private static final int DEFAULT_CAPACITY = Integer.getInteger("tictactoe.trace.capacity", 64);
+  private static final long SAMPLE_EVERY = Long.getLong("tictactoe.trace.sampleEvery", 0);
+
+  /** Kind of recorded event. */
+  public enum Kind {
+    /** Message received from the client. */
+    IN,
+    /** Message sent to the client. */
+    OUT,
+    /** Internal state change worth keeping for post-mortems. */
+    EVENT
+  }
+
+  private static final Kind[] KINDS = Kind.values();
+
+  private volatile String owner;
+  private volatile long base;
+  private final int mask;
+  private final AtomicLong cursor = new AtomicLong();
+  private final AtomicLongArray sequences;
+  private final long[] timestamps;
+  private final byte[] kinds;
+  private final String[] messages;
+
+  /**
+   * Creates an empty trace of {@code tictactoe.trace.capacity} events.
+   *
+   * @param owner label printed with every dumped event (e.g. "Connection-Alice")
+   */
+  public ProtocolTrace(String owner) {
+    this(owner, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty trace of the given size.
+   *
+   * @param owner label printed with every dumped event (e.g. "Connection-Alice")
+   * @param capacity number of events kept, rounded down to a power of two of at least 2
+   */
+  public ProtocolTrace(String owner, int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity));
+    this.owner = owner;
+    this.mask = size - 1;
+    this.sequences = new AtomicLongArray(size);
+    this.timestamps = new long[size];
+    this.kinds = new byte[size];
+    this.messages = new String[size];
+  }
+
+  /**
+   * Records one event. Never blocks and never allocates.
+   *
+   * @param kind direction or type of the event
+   * @param message the raw protocol line or event description
+   */
+  public void record(Kind kind, String message) {
+    long seq = cursor.getAndIncrement();
+    int index = (int) (seq & mask);
+
+    // Seqlock: 0 marks the slot as being written, seq + 1 publishes it
+    sequences.set(index, 0);
+    // Keeps the plain stores below from becoming visible before the marker
+    VarHandle.releaseFence();
+    timestamps[index] = System.currentTimeMillis();
+    kinds[index] = (byte) kind.ordinal();
+    messages[index] = message;
+    sequences.set(index, seq + 1);
+
+    if (SAMPLE_EVERY > 0 && seq % SAMPLE_EVERY == 0) {
+      log.info("[{}] #{} {} {}", owner, seq, kind, message);
+    }
+  }
+
+  /**
+   * Returns the buffered events, oldest first, formatted as text lines. Slots overwritten while
+   * reading are skipped.
+   *
+   * @return a list of formatted events
+   */
+  public List<String> snapshot() {
+    long end = cursor.get();
+    long start = Math.max(base, end - mask - 1);
+    List<String> lines = new ArrayList<>((int) (end - start));
+
+    for (long seq = start; seq < end; seq++) {
+      int index = (int) (seq & mask);
+      if (sequences.get(index) != seq + 1) {
+        continue;
+      }
+      long timestamp = timestamps[index];
+      Kind kind = KINDS[kinds[index]];
+      String message = messages[index];
+      VarHandle.acquireFence();
+      if (sequences.get(index) != seq + 1) {
+        continue;
+      }
+      lines.add(timestamp + " #" + seq + " " + kind + " " + message);
+    }
+    return lines;
+  }
+
+  /**
+   * Writes the buffered events to the log at WARN level.
+   *
+   * @param reason short explanation printed in the dump header
+   */
+  public void dump(String reason) {
+    List<String> lines = snapshot();
+    log.warn("[{}] trace dump ({}), {} events", owner, reason, lines.size());
+    for (String line : lines) {
+      log.warn("[{}] {}", owner, line);
+    }
+  }
+
+  /**
+   * Starts over for a new owner when the traced object is reused. Earlier events stay in the ring
+   * but are no longer part of snapshots.
+   *
+   * @param owner the new label
+   */
+  public void reset(String owner) {
+    this.owner = owner;
+    base = cursor.get();
+  }
+
+  /**
+   * @return the label of this trace
+   */
+  public String getOwner() {
+    return owner;
+  }
+}
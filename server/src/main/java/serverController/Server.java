@@ -1,16 +1,39 @@
 package serverController;
 
+import admin.AdminServer;
+import archive.GameArchive;
+import captureUtils.CaptureWriter;
+import cluster.Coordinator;
+import cluster.Node;
+import cluster.RemoteCoordinator;
+import java.io.IOException;
 import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
+import rating.RatingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import serverEnumUtils.ServerMessageBuilder;
 
 /**
  * Central server class for managing client connections, matchmaking, and active games.
  *
- * <p>Starts the Acceptor and MatchMaker threads, maintains the waiting queue and active GameManager
- * instances, and handles graceful shutdown on user request.
+ * <p>Starts the Acceptor and MatchMaker threads, maintains the logged-in users, the waiting queue,
+ * the named queues for tagged games and the {@link GameRegistry} of live games, and handles
+ * graceful shutdown on user request.
+ *
+ * <p>With {@code -Dtictactoe.cluster.coordinator=host:port} the server runs as one node of a
+ * cluster (see {@link ClusterNode}): names and the waiting queue are shared through the
+ * coordinator, and {@code -Dtictactoe.cluster.advertise=host:port} is the address other nodes send
+ * this node's players to (default localhost and the game port, {@code -Dtictactoe.port}, default
+ * 8080).
+ *
+ * <p>For a deploy without downtime the server can be drained instead of terminated: it stops
+ * accepting connections and matching players, sends every player who is not in a game a {@code
+ * REDIRECT} to a successor instance, lets the running games finish and then terminates; games
+ * still running at the deadline are aborted.
  *
  * @version 1.0
  * @created April 2025
@@ -18,15 +41,38 @@ import org.slf4j.LoggerFactory;
 public class Server {
   private static final Logger log = LoggerFactory.getLogger(Server.class);
 
-  private final Object queueLock = new Object();
+  private static final int MAX_QUEUES = 256;
+  private static final int CLAIM_ATTEMPTS = 10_000;
+  private static final long DRAIN_POLL_MILLIS = 100;
+
+  private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+  private final ConcurrentHashMap<String, Connection> users = new ConcurrentHashMap<>();
   private final Set<Connection> queue;
-  private final Set<GameManager> gameManagerSet;
+  private final ConcurrentHashMap<String, Set<Connection>> namedQueues = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, Connection> rematches = new ConcurrentHashMap<>();
+  private final GameRegistry games = new GameRegistry();
+  private final SpectatorHub spectators = SpectatorHub.fromSystemProperties();
 
   private final Acceptor acceptor;
   private final MatchMaker mm;
+  private final Pinger pinger;
+  private final AdminServer admin;
+  private final CaptureWriter capture;
+  private final RatingService ratings;
+  private final GameArchive archive;
+  private final GamePool gamePool;
+  private final ClusterNode cluster;
+
+  private volatile boolean draining;
+  private volatile Node successor;
+  private final CountDownLatch terminated = new CountDownLatch(1);
 
   /**
    * Application entry point. Starts the server and waits for the user to press Enter to terminate.
+   * Typing {@code trace} instead dumps the protocol traces of all queued and playing connections,
+   * and {@code drain [host:port] [seconds]} drains the server to the given successor (default
+   * {@code -Dtictactoe.drain.successor}) within the given time (default {@code
+   * -Dtictactoe.drain.seconds}, 60) and exits once it is done.
    *
    * @param args command-line arguments (unused)
    */
@@ -35,9 +81,36 @@ public class Server {
 
     Server server = new Server();
 
-    System.out.println("Server started, press Enter to stop");
+    System.out.println(
+        "Server started, type 'trace' to dump protocol traces, 'drain [host:port] [seconds]' to"
+            + " hand over to another instance, press Enter to stop");
     Scanner scanner = new Scanner(System.in);
-    scanner.nextLine();
+    while (scanner.hasNextLine()) {
+      String[] command = scanner.nextLine().trim().split("\\s+");
+      if (command[0].equals("trace")) {
+        server.dumpTraces();
+      } else if (command[0].equals("drain")) {
+        try {
+          String address =
+              command.length > 1 ? command[1] : System.getProperty("tictactoe.drain.successor");
+          long seconds =
+              command.length > 2
+                  ? Long.parseLong(command[2])
+                  : Long.getLong("tictactoe.drain.seconds", 60);
+          server.drain(address != null ? Node.parse(address) : null, seconds * 1000);
+          server.awaitTermination();
+          log.info("Server is drained");
+          return;
+        } catch (IllegalArgumentException e) {
+          System.out.println("Usage: drain [host:port] [seconds]");
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      } else {
+        break;
+      }
+    }
 
     log.info("Server is terminated");
     server.terminate();
@@ -48,54 +121,391 @@ public class Server {
    * and MatchMaker threads.
    */
   public Server() {
-    queue = new HashSet<>();
-    gameManagerSet = new HashSet<>();
+    this(Integer.getInteger("tictactoe.port", 8080));
+  }
+
+  private Server(int port) {
+    this(port, true, openCoordinator(System.getProperty("tictactoe.cluster.coordinator")));
+  }
+
+  /**
+   * Constructs the Server on the given port. Without background threads, no socket is opened, no
+   * MatchMaker or admin interface runs, ratings are kept in memory only and games are not
+   * archived, which lets benchmarks drive the server logic directly.
+   *
+   * @param port the TCP port for the Acceptor
+   * @param startThreads whether to launch the Acceptor and MatchMaker threads
+   */
+  Server(int port, boolean startThreads) {
+    this(port, startThreads, null);
+  }
+
+  /**
+   * Constructs the Server on the given port as a node of a cluster, e.g. several nodes in one
+   * process that share an {@link cluster.EmbeddedCoordinator}.
+   *
+   * @param port the TCP port for the Acceptor
+   * @param startThreads whether to launch the Acceptor and MatchMaker threads
+   * @param coordinator the cluster's coordinator, or null to run standalone
+   */
+  Server(int port, boolean startThreads, Coordinator coordinator) {
+    queue = ConcurrentHashMap.newKeySet();
+    capture = openCapture(System.getProperty("tictactoe.capture.file"));
+    ratings = startThreads ? RatingService.fromSystemProperties() : new RatingService(null, 0);
+    archive = startThreads ? GameArchive.fromSystemProperties() : new GameArchive(null, 0);
+    gamePool = GamePool.fromSystemProperties(this);
+
+    acceptor = startThreads ? new Acceptor(this, port) : null;
+    mm = startThreads ? new MatchMaker(this) : null;
+    pinger = startThreads ? Pinger.fromSystemProperties(this) : null;
+    int adminPort = Integer.getInteger("tictactoe.admin.port", 8081);
+    admin = startThreads && adminPort > 0 ? new AdminServer(this, adminPort) : null;
+
+    String advertise = System.getProperty("tictactoe.cluster.advertise");
+    Node self = advertise != null ? Node.parse(advertise) : new Node("localhost", port);
+    cluster = coordinator != null ? new ClusterNode(this, coordinator, self) : null;
+  }
+
+  /**
+   * Connects to the cluster coordinator if one is configured.
+   *
+   * @param address "host:port" of a {@link cluster.CoordinatorServer}, or null to run standalone
+   * @return the coordinator, or null if standalone or the coordinator cannot be reached
+   */
+  private static Coordinator openCoordinator(String address) {
+    if (address == null || address.isBlank()) {
+      return null;
+    }
+    try {
+      log.info("Joining cluster coordinated by {}", address);
+      return new RemoteCoordinator(Node.parse(address));
+    } catch (IOException e) {
+      log.error("Failed to reach coordinator {}, running standalone", address, e);
+      return null;
+    }
+  }
 
-    acceptor = new Acceptor(this, 8080);
-    mm = new MatchMaker(this);
+  /**
+   * Opens the traffic capture file if capturing was requested.
+   *
+   * @param path the capture file, or null when capturing is disabled
+   * @return the writer, or null if disabled or the file cannot be created
+   */
+  private static CaptureWriter openCapture(String path) {
+    if (path == null || path.isBlank()) {
+      return null;
+    }
+    try {
+      log.info("Capturing protocol traffic to {}", path);
+      return new CaptureWriter(path);
+    } catch (IOException e) {
+      log.error("Failed to open capture file {}, capturing disabled", path, e);
+      return null;
+    }
   }
 
   /**
-   * Adds a new GameManager to the active games set.
+   * @return the traffic capture writer, or null if capturing is disabled
+   */
+  public CaptureWriter getCapture() {
+    return capture;
+  }
+
+  /**
+   * @return the rating service updated with every finished game
+   */
+  public RatingService getRatings() {
+    return ratings;
+  }
+
+  /**
+   * @return the archive every finished game is written to
+   */
+  public GameArchive getArchive() {
+    return archive;
+  }
+
+  /**
+   * Registers a started GameManager with the live games.
    *
    * @param gameManager the GameManager instance to add
    */
-  public synchronized void addGame(GameManager gameManager) {
-    gameManagerSet.add(gameManager);
+  public void addGame(GameManager gameManager) {
+    games.register(gameManager);
   }
 
   /**
-   * Cleans up completed games by removing any GameManager whose game is no longer running and
-   * clearing references.
+   * Starts a game between two players on a pooled GameManager and registers it.
+   *
+   * @param player1 one client connection
+   * @param player2 the other client connection
+   * @return the started game
    */
-  public synchronized void cleanupGames() {
-    Iterator<GameManager> iterator = gameManagerSet.iterator();
-    while (iterator.hasNext()) {
-      GameManager gameManager = iterator.next();
-      if (!gameManager.isGameRunning()) {
-        for (Connection conn : gameManager.getConnections()) {
-          conn.setGameManager(null);
-        }
-        iterator.remove();
+  GameManager startGame(Connection player1, Connection player2) {
+    return startGame(player1, player2, false);
+  }
+
+  /**
+   * Starts a game between two players on a pooled GameManager and registers it.
+   *
+   * @param player1 one client connection
+   * @param player2 the other client connection
+   * @param tagged whether the players receive the game's messages wrapped in GAME, as for games
+   *     from named queues
+   * @return the started game
+   */
+  GameManager startGame(Connection player1, Connection player2, boolean tagged) {
+    GameManager gameManager = gamePool.acquire(player1, player2, tagged);
+    long id = gameManager.getId();
+    // Registered before START goes out, or a quick quit would deregister it too early
+    addGame(gameManager);
+    if (gameManager.isRecyclable()) {
+      // A player left between start and registration, when deregistering found nothing
+      gameFinished(gameManager);
+    } else {
+      gameManager.announce(id);
+    }
+    return gameManager;
+  }
+
+  /**
+   * Records a player's rematch offer for a finished game, unless an offer is already pending. Both
+   * players of a game share its id, so two simultaneous offers meet in one entry.
+   *
+   * @param gameId the id of the finished game
+   * @param player the connection offering the rematch
+   * @return null if the offer was recorded, otherwise the connection whose offer is pending
+   */
+  Connection offerRematch(long gameId, Connection player) {
+    return rematches.putIfAbsent(gameId, player);
+  }
+
+  /**
+   * Takes back a pending rematch offer, to accept or cancel it.
+   *
+   * @param gameId the id of the finished game
+   * @param player the connection that made the offer
+   * @return false if that offer is no longer pending
+   */
+  boolean withdrawRematch(long gameId, Connection player) {
+    return rematches.remove(gameId, player);
+  }
+
+  /**
+   * Starts a game between two known players right away instead of waiting for the MatchMaker: an
+   * accepted rematch or a game the cluster assigned to this node. Both players are claimed first,
+   * so neither can be matched into another game at the same time.
+   *
+   * @param player1 one player
+   * @param player2 the other player
+   * @return the started game, or null if one of the players is in another game or has quit
+   */
+  GameManager startNow(Connection player1, Connection player2) {
+    if (!claimAfterGame(player1)) {
+      return null;
+    }
+    if (!claimAfterGame(player2)) {
+      player1.release();
+      return null;
+    }
+    if (player1.getName() == null || player2.getName() == null) {
+      // One of them quit in the meantime
+      player1.release();
+      player2.release();
+      return null;
+    }
+    removeConnection(player1);
+    removeConnection(player2);
+    return startGame(player1, player2);
+  }
+
+  /**
+   * Claims a connection for a new game. A player can answer the end of a game before the thread
+   * that ended it has unlinked it, so a claim that is about to be released is waited out.
+   */
+  private static boolean claimAfterGame(Connection connection) {
+    for (int attempt = 0; !connection.claim(); attempt++) {
+      GameManager game = connection.getGameManager();
+      if ((game != null && game.isGameRunning()) || attempt == CLAIM_ATTEMPTS) {
+        return false;
       }
+      Thread.yield();
+    }
+    return true;
+  }
+
+  /**
+   * Called by a game once it has ended and settled: removes it from the live games and returns it
+   * to the pool.
+   *
+   * @param gameManager the finished game
+   */
+  void gameFinished(GameManager gameManager) {
+    if (games.deregister(gameManager)) {
+      gamePool.release(gameManager);
     }
   }
 
+  /**
+   * @return the live games, indexed by game id and by player
+   */
+  public GameRegistry getGames() {
+    return games;
+  }
+
+  /**
+   * @return the spectator subscriptions and their delivery threads
+   */
+  SpectatorHub getSpectators() {
+    return spectators;
+  }
+
+  /**
+   * @return the pool finished games are recycled through
+   */
+  GamePool getGamePool() {
+    return gamePool;
+  }
+
   /**
    * Terminates the server by stopping the Acceptor and MatchMaker, closing all queued connections
    * and active games.
    */
   public void terminate() {
-    acceptor.terminate();
-    mm.terminate();
-    synchronized (queue) {
-      for (Connection connection : new HashSet<>(queue)) {
-        connection.terminate();
+    if (acceptor != null) acceptor.terminate();
+    if (mm != null) mm.terminate();
+    if (admin != null) admin.terminate();
+    if (pinger != null) pinger.terminate();
+    spectators.terminate();
+    if (cluster != null) {
+      cluster.terminate();
+    }
+    for (Connection connection : queue) {
+      connection.terminate();
+    }
+    for (GameManager gameManager : games.games()) {
+      gameManager.terminate();
+    }
+    if (capture != null) {
+      capture.close();
+    }
+    ratings.terminate();
+    archive.terminate();
+    terminated.countDown();
+  }
+
+  /**
+   * Starts draining the server on a background thread. Accepting and matching stop at once, a
+   * cluster node leaves its cluster, and from then on every logged-in player who is not in a game
+   * is handed off (see {@link #handOff}), including those who log in on already open connections.
+   * Once no player is left, or at the deadline, the server terminates and closes the remaining
+   * connections.
+   *
+   * @param successor the instance to send players to, or null to only tell them that this server
+   *     is shutting down
+   * @param timeoutMillis how long running games may take to finish
+   * @return false if the server is already draining
+   */
+  public synchronized boolean drain(Node successor, long timeoutMillis) {
+    if (draining) {
+      return false;
+    }
+    log.info("Draining to {} within {} ms", successor, timeoutMillis);
+    this.successor = successor;
+    draining = true;
+    if (acceptor != null) acceptor.terminate();
+    if (mm != null) mm.terminate();
+    if (cluster != null) {
+      cluster.leave();
+    }
+    long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+    Thread thread = new Thread(() -> finishDrain(deadline), "Drain");
+    thread.start();
+    return true;
+  }
+
+  /** Hands off idle players until all games are over or the deadline passes, then terminates. */
+  private void finishDrain(long deadline) {
+    try {
+      while (System.nanoTime() - deadline < 0) {
+        for (Connection connection : users.values()) {
+          handOff(connection);
+        }
+        if (users.isEmpty() && games.size() == 0) {
+          break;
+        }
+        Thread.sleep(DRAIN_POLL_MILLIS);
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (games.size() > 0) {
+      log.warn("Drain deadline passed, aborting {} games", games.size());
     }
-    synchronized (gameManagerSet) {
-      for (GameManager gameManager : new HashSet<>(gameManagerSet)) {
-        gameManager.terminate();
+    terminate();
+    for (Connection connection : connections) {
+      connection.disconnect();
+    }
+    log.info("Drain complete");
+  }
+
+  /**
+   * Sends a logged-in player who is not in a game to the successor while the server drains. The
+   * player is claimed for good and logged out, so no game can start with it any more; the client
+   * closes the connection when it follows the REDIRECT.
+   *
+   * @param connection the player
+   * @return false if the server is not draining, so the player can be queued or matched as usual
+   */
+  boolean handOff(Connection connection) {
+    if (!draining) {
+      return false;
+    }
+    String name = connection.getName();
+    if (name == null || !connection.getGames().isEmpty() || !connection.claim()) {
+      // Not logged in, or still in a game; the drain thread tries again later
+      return true;
+    }
+    removeConnection(connection);
+    leaveAll(connection);
+    logout(name, connection);
+    Node next = successor;
+    if (next != null) {
+      log.info("Handing {} off to {}", name, next);
+      connection.sendMessage(ServerMessageBuilder.redirect(next.host(), next.port()));
+    } else {
+      connection.sendMessage(ServerMessageBuilder.error("Server shutting down"));
+    }
+    return true;
+  }
+
+  /**
+   * @return whether the server is draining
+   */
+  public boolean isDraining() {
+    return draining;
+  }
+
+  /**
+   * Waits until the server has terminated, e.g. at the end of a {@link #drain}.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void awaitTermination() throws InterruptedException {
+    terminated.await();
+  }
+
+  /**
+   * Dumps the protocol trace of every queued connection, every active game and its players.
+   */
+  public void dumpTraces() {
+    for (Connection connection : queue) {
+      connection.getTrace().dump("on demand");
+    }
+    for (GameManager gameManager : games.games()) {
+      gameManager.getTrace().dump("on demand");
+      for (Connection connection : gameManager.getConnections()) {
+        connection.getTrace().dump("on demand");
       }
     }
   }
@@ -112,13 +522,50 @@ public class Server {
     connectionThread.start();
   }
 
+  /**
+   * Tracks a newly created connection until {@link #connectionClosed}.
+   *
+   * @param connection the new connection
+   */
+  void connectionOpened(Connection connection) {
+    connections.add(connection);
+  }
+
+  /**
+   * Stops tracking a terminated connection.
+   *
+   * @param connection the terminated connection
+   */
+  void connectionClosed(Connection connection) {
+    connections.remove(connection);
+  }
+
+  /**
+   * @return a weakly consistent, read-only view of all open connections, logged in or not
+   */
+  public Collection<Connection> getConnections() {
+    return Collections.unmodifiableCollection(connections);
+  }
+
+  /**
+   * @return a weakly consistent, read-only view of the matchmaking queue
+   */
+  public Collection<Connection> getWaiting() {
+    return Collections.unmodifiableCollection(queue);
+  }
+
   /**
    * Adds an authenticated Connection to the matchmaking queue.
    *
    * @param connection the authenticated Connection to add
    */
   public void addAuthenticatedConnection(Connection connection) {
-    synchronized (queue) {
+    if (handOff(connection)) {
+      return;
+    }
+    if (cluster != null) {
+      cluster.enqueue(connection);
+    } else {
       queue.add(connection);
     }
   }
@@ -129,8 +576,9 @@ public class Server {
    * @param connection the Connection to remove
    */
   public void removeConnection(Connection connection) {
-    synchronized (queue) {
-      queue.remove(connection);
+    queue.remove(connection);
+    if (cluster != null) {
+      cluster.dequeue(connection);
     }
   }
 
@@ -140,44 +588,198 @@ public class Server {
    * @return a Set of ready Connection objects
    */
   public Set<Connection> getQueue() {
-    synchronized (queueLock) {
-      return queue.stream().filter(Connection::getReady).collect(Collectors.toSet());
+    return queue.stream().filter(Connection::getReady).collect(Collectors.toSet());
+  }
+
+  /**
+   * Claims a username for a connection until {@link #logout}.
+   *
+   * @param name the requested username
+   * @param connection the connection logging in
+   * @return false if another connection holds the name
+   */
+  boolean login(String name, Connection connection) {
+    return login(name, connection, 0);
+  }
+
+  /**
+   * Claims a username for a connection until {@link #logout}, in the whole cluster if this server
+   * is a node of one.
+   *
+   * @param name the requested username
+   * @param connection the connection logging in
+   * @param ticket the ticket of a player redirected here by another node, or 0
+   * @return false if another connection holds the name or the ticket is not valid here
+   */
+  boolean login(String name, Connection connection, long ticket) {
+    if (ticket != 0 && cluster == null) {
+      return false;
+    }
+    if (users.putIfAbsent(name, connection) != null) {
+      return false;
     }
+    if (cluster != null && !cluster.login(name, ticket)) {
+      users.remove(name, connection);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Hands a player who logged in with a ticket to the game the cluster assigned to this node.
+   *
+   * @param ticket the ticket from the login
+   * @param connection the player
+   */
+  void arrived(long ticket, Connection connection) {
+    cluster.arrived(ticket, connection);
   }
 
   /**
-   * Checks if a given username is already in use by any queued or active player.
+   * Releases a username claimed by {@link #login}.
+   *
+   * @param name the username, or null if the connection never logged in
+   * @param connection the connection that holds it
+   */
+  void logout(String name, Connection connection) {
+    if (name != null && users.remove(name, connection) && cluster != null) {
+      cluster.logout(name);
+    }
+  }
+
+  /**
+   * @param name a username
+   * @return the connection logged in with that name on this server, or null
+   */
+  Connection getUser(String name) {
+    return users.get(name);
+  }
+
+  /**
+   * Checks if a given username is held by a logged-in connection.
    *
    * @param name the username to check
    * @return true if the name is already taken; false otherwise
    */
   public boolean nameExists(String name) {
-    if (name == null) {
-      return false;
+    return name != null && users.containsKey(name);
+  }
+
+  /**
+   * Finds a live game of a player, whether it is the player's single game or one of several tagged
+   * ones.
+   *
+   * @param name a username
+   * @return one of the player's live games, or null
+   */
+  public GameManager gameOf(String name) {
+    GameManager game = games.byPlayer(name);
+    if (game != null) {
+      return game;
+    }
+    Connection connection = name != null ? users.get(name) : null;
+    if (connection == null) {
+      return null;
     }
+    game = connection.getGameManager();
+    if (game != null) {
+      return game;
+    }
+    Iterator<GameManager> tagged = connection.getGames().iterator();
+    return tagged.hasNext() ? tagged.next() : null;
+  }
 
-    Set<String> names = new HashSet<>();
-    synchronized (queueLock) {
-      for (Connection connection : queue) {
-        String connectionName = connection.getName();
-        if (connectionName != null) { // Only add non-null names
-          names.add(connectionName);
-        }
-      }
+  /**
+   * Puts a connection into a named queue, to be matched into one tagged game. Only queues that have
+   * someone waiting count against the limit of {@value #MAX_QUEUES}.
+   *
+   * @param queueName the queue
+   * @param connection a logged-in connection
+   * @return false if the connection already waits in that queue or there are too many queues
+   */
+  boolean join(String queueName, Connection connection) {
+    return enqueue(queueName, connection, true);
+  }
+
+  /**
+   * Puts a connection back into a named queue it was taken out of, even if the queue was removed
+   * meanwhile and the limit has been reached since.
+   *
+   * @param queueName the queue
+   * @param connection the connection
+   */
+  void requeue(String queueName, Connection connection) {
+    enqueue(queueName, connection, false);
+  }
+
+  /**
+   * Adds to a queue inside the map's lock for that name, so that {@link #pruneQueue} cannot remove
+   * the queue between finding it and adding to it.
+   */
+  private boolean enqueue(String queueName, Connection connection, boolean limited) {
+    boolean[] added = new boolean[1];
+    namedQueues.compute(
+        queueName,
+        (name, waiting) -> {
+          if (waiting == null) {
+            if (limited && namedQueues.size() >= MAX_QUEUES) {
+              return null;
+            }
+            waiting = ConcurrentHashMap.newKeySet();
+          }
+          added[0] = waiting.add(connection);
+          return waiting;
+        });
+    return added[0];
+  }
+
+  /**
+   * Removes a named queue if nobody waits in it any more.
+   *
+   * @param queueName the queue
+   */
+  void pruneQueue(String queueName) {
+    namedQueues.computeIfPresent(queueName, (name, waiting) -> waiting.isEmpty() ? null : waiting);
+  }
+
+  /**
+   * Takes a connection out of a named queue.
+   *
+   * @param queueName the queue
+   * @param connection the connection
+   */
+  void leave(String queueName, Connection connection) {
+    Set<Connection> waiting = namedQueues.get(queueName);
+    if (waiting != null && waiting.remove(connection)) {
+      pruneQueue(queueName);
     }
-    synchronized (gameManagerSet) {
-      for (GameManager gameManager : gameManagerSet) {
-        gameManager
-            .getConnections()
-            .forEach(
-                connection -> {
-                  String connectionName = connection.getName();
-                  if (connectionName != null) {
-                    names.add(connectionName);
-                  }
-                });
+  }
+
+  /**
+   * Takes a connection out of every named queue.
+   *
+   * @param connection the connection
+   */
+  void leaveAll(Connection connection) {
+    for (Map.Entry<String, Set<Connection>> queue : namedQueues.entrySet()) {
+      if (queue.getValue().remove(connection)) {
+        pruneQueue(queue.getKey());
       }
     }
-    return names.contains(name);
   }
+
+  /**
+   * @return the named queues by name; each set holds the connections waiting for a tagged game
+   */
+  Map<String, Set<Connection>> getNamedQueues() {
+    return namedQueues;
+  }
+
+  /**
+   * @return a weakly consistent view of the named queues and their waiting connections, for reading
+   */
+  public Map<String, Collection<Connection>> getNamedWaiting() {
+    return Collections.unmodifiableMap(namedQueues);
+  }
+
 }
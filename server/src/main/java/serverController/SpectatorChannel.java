@@ -0,0 +1,263 @@
+package serverController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import serverEnumUtils.ServerMessageBuilder;
+
+/**
+ * Fan-out of one game to its spectators.
+ *
+ * <p>Players publish events without waiting: an event is encoded once, appended to the channel's
+ * inbox and the channel is scheduled on the {@link SpectatorHub}'s pool. The channel task handles
+ * joins, leaves and game events strictly in order, and is the only thread that touches the
+ * spectator list, so the list needs no locking. It copies each encoded event into every
+ * spectator's bounded queue. Spectators with new events are drained to their sockets by pool tasks
+ * of up to {@value #BATCH} spectators each, so one slow socket only holds up its own batch until
+ * the hub's watchdog cuts it off.
+ *
+ * <p>A joining spectator gets the board as read from the game state when the join is handled. The
+ * channel is attached to the game before that read, so every later move is published to it; moves
+ * already contained in the board are skipped by their move number.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class SpectatorChannel implements Runnable {
+  private static final Logger log = LoggerFactory.getLogger(SpectatorChannel.class);
+
+  private static final int JOIN = 0;
+  private static final int LEAVE = 1;
+  private static final int MOVE = 2;
+  private static final int END = 3;
+
+  /** Spectators drained by one pool task. */
+  private static final int BATCH = 128;
+
+  private static final byte[] NOT_ACTIVE = encode(ServerMessageBuilder.error("Game not active"));
+
+  /** An inbox entry: a join or leave of a connection, or an encoded game event. */
+  private record Event(int kind, int moves, byte[] message, Connection connection, String player) {}
+
+  private final SpectatorHub hub;
+  private final GameManager game;
+  private final int generation;
+  private final ConcurrentLinkedQueue<Event> inbox = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  // Owned by the channel task
+  private final List<Spectator> spectators = new ArrayList<>();
+  private List<Spectator> batch = new ArrayList<>(BATCH);
+  private boolean closed;
+
+  /**
+   * @param hub the hub whose pool runs the channel
+   * @param game the watched game
+   * @param generation the generation of the game's state this channel belongs to
+   */
+  SpectatorChannel(SpectatorHub hub, GameManager game, int generation) {
+    this.hub = hub;
+    this.game = game;
+    this.generation = generation;
+  }
+
+  /**
+   * @return the generation of the game's state this channel belongs to
+   */
+  int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Adds a spectator; the game must still include the given player when the join is handled.
+   *
+   * @param connection the spectator
+   * @param player the name of the watched player
+   */
+  void join(Connection connection, String player) {
+    submit(new Event(JOIN, 0, null, connection, player));
+  }
+
+  /**
+   * Removes a spectator.
+   *
+   * @param connection the spectator
+   */
+  void leave(Connection connection) {
+    submit(new Event(LEAVE, 0, null, connection, null));
+  }
+
+  /**
+   * Publishes a game event. Called by the players' threads; never blocks.
+   *
+   * @param state the game state the event produced
+   * @param message the protocol message, or null to end the channel silently
+   * @param last whether the event ends the game
+   */
+  void publish(long state, String message, boolean last) {
+    if (GameState.generation(state) != generation) {
+      return;
+    }
+    byte[] encoded = message != null ? encode(message) : null;
+    submit(new Event(last ? END : MOVE, GameState.moveCount(state), encoded, null, null));
+  }
+
+  private void submit(Event event) {
+    inbox.offer(event);
+    if (scheduled.compareAndSet(false, true)) {
+      hub.execute(this);
+    }
+  }
+
+  /** Handles the inbox in order until it is empty. */
+  @Override
+  public void run() {
+    do {
+      Event event;
+      while ((event = inbox.poll()) != null) {
+        switch (event.kind()) {
+          case JOIN -> handleJoin(event.connection(), event.player());
+          case LEAVE -> remove(event.connection());
+          case MOVE -> handleMove(event.moves(), event.message());
+          default -> handleEnd(event.message());
+        }
+        flush();
+      }
+      scheduled.set(false);
+    } while (!inbox.isEmpty() && scheduled.compareAndSet(false, true));
+  }
+
+  private void handleJoin(Connection connection, String player) {
+    remove(connection);
+    Spectator spectator = new Spectator(connection);
+    byte[] board = closed ? null : board(spectator, player);
+    if (board == null) {
+      deliver(spectator, NOT_ACTIVE);
+      hub.ended(connection, this);
+      return;
+    }
+    deliver(spectator, board);
+    spectators.add(spectator);
+  }
+
+  private void handleMove(int moves, byte[] message) {
+    for (Spectator spectator : spectators) {
+      if (moves > spectator.moves) {
+        spectator.moves = moves;
+        deliver(spectator, message);
+      }
+    }
+  }
+
+  private void handleEnd(byte[] message) {
+    closed = true;
+    for (Spectator spectator : spectators) {
+      if (message != null) {
+        deliver(spectator, message);
+      }
+      hub.ended(spectator.connection, this);
+    }
+    spectators.clear();
+  }
+
+  /**
+   * Queues an event for one spectator. On overflow the backlog is replaced by the current board,
+   * which contains every move the spectator has missed.
+   */
+  private void deliver(Spectator spectator, byte[] message) {
+    if (!spectator.queue.offer(message)) {
+      log.debug("Resyncing spectator {}", spectator.connection.getName());
+      spectator.queue.clear();
+      byte[] board = board(spectator, null);
+      spectator.queue.offer(board != null ? board : message);
+    }
+    if (spectator.draining.compareAndSet(false, true)) {
+      batch.add(spectator);
+      if (batch.size() == BATCH) {
+        flush();
+      }
+    }
+  }
+
+  /** Hands the spectators collected since the last flush to a pool task. */
+  private void flush() {
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<Spectator> drained = batch;
+    batch = new ArrayList<>(BATCH);
+    hub.execute(
+        () -> {
+          for (Spectator spectator : drained) {
+            spectator.drain();
+          }
+        });
+  }
+
+  /**
+   * Encodes the current board for a spectator and records the move number it contains.
+   *
+   * @param player a name the game must include, or null
+   * @return the BOARD message, or null if the game is no longer running
+   */
+  private byte[] board(Spectator spectator, String player) {
+    long state = game.getState();
+    long id = game.getId();
+    String cross = game.getCrossName();
+    String circle = game.getCircleName();
+    if (GameState.generation(game.getState()) != generation
+        || GameState.generation(state) != generation
+        || !GameState.isRunning(state)
+        || (player != null && !player.equals(cross) && !player.equals(circle))) {
+      return null;
+    }
+    spectator.moves = GameState.moveCount(state);
+    return encode(
+        ServerMessageBuilder.board(
+            id, cross, circle, GameState.board(state), GameState.isCircleToMove(state)));
+  }
+
+  private void remove(Connection connection) {
+    for (int i = 0; i < spectators.size(); i++) {
+      if (spectators.get(i).connection == connection) {
+        spectators.set(i, spectators.get(spectators.size() - 1));
+        spectators.remove(spectators.size() - 1);
+        return;
+      }
+    }
+  }
+
+  private static byte[] encode(String message) {
+    return (message + "\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** One subscriber: a bounded queue of encoded events, drained to its socket on the pool. */
+  private final class Spectator {
+    final Connection connection;
+    final ArrayBlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(hub.getQueueCapacity());
+    final AtomicBoolean draining = new AtomicBoolean();
+
+    // Highest move number sent or contained in a sent board; owned by the channel task
+    int moves;
+
+    Spectator(Connection connection) {
+      this.connection = connection;
+    }
+
+    /** Writes queued events until the queue is empty; only one drain per spectator runs. */
+    void drain() {
+      do {
+        byte[] message;
+        while ((message = queue.poll()) != null) {
+          hub.write(connection, message);
+        }
+        draining.set(false);
+      } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+  }
+}
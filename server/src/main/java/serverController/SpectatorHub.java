@@ -0,0 +1,196 @@
+package serverController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spectator subscriptions of a server and the shared thread pool that delivers game events to
+ * spectators.
+ *
+ * <p>Each watched game has a {@link SpectatorChannel}. Players only hand an event to the channel;
+ * encoding it once, copying it to every spectator and writing it to their sockets all happen on
+ * this pool, so a game with thousands of spectators plays as fast as one without.
+ *
+ * <p>Every spectator has a small bounded queue ({@code tictactoe.spectator.queue}, default 4). A
+ * spectator whose queue overflows gets its backlog replaced by a fresh board. Socket writes block,
+ * so a watchdog thread disconnects spectators that have been stuck in one write for {@code
+ * tictactoe.spectator.stallMillis} (default 5000), which fails the write and frees the pool thread.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class SpectatorHub {
+  private static final Logger log = LoggerFactory.getLogger(SpectatorHub.class);
+
+  private final ExecutorService executor;
+  private final ScheduledExecutorService watchdog;
+  private final int queueCapacity;
+  private final long stallNanos;
+  private final Map<Connection, SpectatorChannel> watching = new ConcurrentHashMap<>();
+  private final List<DeliveryThread> threads = new CopyOnWriteArrayList<>();
+
+  /** A pool thread that publishes which connection it is writing to and since when. */
+  private static final class DeliveryThread extends Thread {
+    volatile long since;
+    volatile Connection writing;
+
+    DeliveryThread(Runnable task, String name) {
+      super(task, name);
+      setDaemon(true);
+    }
+  }
+
+  /**
+   * @param threads number of delivery threads
+   * @param queueCapacity pending events per spectator before it is resynced
+   * @param stallMillis time a spectator may block a write before it is dropped
+   */
+  SpectatorHub(int threads, int queueCapacity, long stallMillis) {
+    AtomicInteger count = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            threads,
+            task -> {
+              DeliveryThread thread =
+                  new DeliveryThread(task, "Spectators-" + count.incrementAndGet());
+              this.threads.add(thread);
+              return thread;
+            });
+    this.queueCapacity = queueCapacity;
+    this.stallNanos = stallMillis * 1_000_000L;
+
+    this.watchdog =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "SpectatorWatchdog");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long period = Math.max(10, stallMillis / 4);
+    watchdog.scheduleWithFixedDelay(this::dropStalled, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates a hub configured by the {@code tictactoe.spectator.*} system properties ({@code
+   * threads} defaults to the number of processors).
+   *
+   * @return the hub
+   */
+  static SpectatorHub fromSystemProperties() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    return new SpectatorHub(
+        Math.max(1, Integer.getInteger("tictactoe.spectator.threads", processors)),
+        Math.max(1, Integer.getInteger("tictactoe.spectator.queue", 4)),
+        Math.max(1, Long.getLong("tictactoe.spectator.stallMillis", 5000)));
+  }
+
+  /**
+   * Subscribes a connection to the game of a player, ending any earlier subscription. The BOARD
+   * message, or an error if the game has ended by then, is sent asynchronously.
+   *
+   * @param spectator the watching connection
+   * @param game the game the player was found in
+   * @param player the name of the watched player
+   * @return false if the game is not running
+   */
+  boolean watch(Connection spectator, GameManager game, String player) {
+    SpectatorChannel channel = game.spectate(this);
+    if (channel == null) {
+      return false;
+    }
+    SpectatorChannel previous = watching.put(spectator, channel);
+    if (previous != null && previous != channel) {
+      previous.leave(spectator);
+    }
+    channel.join(spectator, player);
+    return true;
+  }
+
+  /**
+   * Ends the subscription of a connection, if it has one.
+   *
+   * @param spectator the watching connection
+   */
+  void unwatch(Connection spectator) {
+    SpectatorChannel channel = watching.remove(spectator);
+    if (channel != null) {
+      channel.leave(spectator);
+    }
+  }
+
+  /**
+   * Forgets a subscription that a channel ended, unless the connection has moved on to another
+   * game in the meantime.
+   */
+  void ended(Connection spectator, SpectatorChannel channel) {
+    watching.remove(spectator, channel);
+  }
+
+  /**
+   * Writes an encoded message to a spectator, visible to the watchdog while it blocks.
+   *
+   * @param connection the spectator
+   * @param message the encoded line
+   */
+  void write(Connection connection, byte[] message) {
+    if (!(Thread.currentThread() instanceof DeliveryThread thread)) {
+      connection.sendBytes(message);
+      return;
+    }
+    thread.since = System.nanoTime();
+    thread.writing = connection;
+    try {
+      connection.sendBytes(message);
+    } finally {
+      thread.writing = null;
+    }
+  }
+
+  /** Disconnects every spectator stuck in one write for longer than the stall limit. */
+  private void dropStalled() {
+    long now = System.nanoTime();
+    for (DeliveryThread thread : threads) {
+      Connection connection = thread.writing;
+      if (connection != null && now - thread.since > stallNanos) {
+        log.info("Dropping stalled spectator {}", connection.getName());
+        connection.disconnect();
+      }
+    }
+  }
+
+  /**
+   * @return number of connections currently watching a game
+   */
+  int size() {
+    return watching.size();
+  }
+
+  int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /** Runs a delivery task on the pool; tasks submitted after {@link #terminate} are dropped. */
+  void execute(Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // Shutting down
+    }
+  }
+
+  /** Stops the delivery and watchdog threads. */
+  void terminate() {
+    watchdog.shutdownNow();
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,257 @@
+package serverController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import linkUtils.LinkFrames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server end of a gateway's multiplexed link (see {@link LinkFrames}).
+ *
+ * <p>Runs on the thread of the connection that sent {@code LINK}. Each client session on the link
+ * gets a {@link LinkSocket} and an ordinary {@link Connection} with its own thread, so logins,
+ * games and everything else work exactly as for a direct client. Replies from all sessions are
+ * written to the link as they come, each as one frame, without waiting for the gateway.
+ *
+ * <p>Only gateways may open links: the peer's address must be listed in {@code
+ * tictactoe.link.allow} (loopback by default, {@code *} for any) and, if {@code
+ * tictactoe.link.secret} is set, LINK must carry the same secret. A link carries at most {@code
+ * tictactoe.link.maxSessions} sessions; further ones are closed right away. Session connections run
+ * on a shared pool that reuses the threads of ended sessions.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+final class UpstreamLink {
+  private static final Logger log = LoggerFactory.getLogger(UpstreamLink.class);
+
+  private static final Set<InetAddress> ALLOWED =
+      addresses(System.getProperty("tictactoe.link.allow", "127.0.0.1,::1"));
+  private static final boolean ALLOW_ANY =
+      System.getProperty("tictactoe.link.allow", "").trim().equals("*");
+  private static final byte[] SECRET =
+      System.getProperty("tictactoe.link.secret", "").getBytes(StandardCharsets.UTF_8);
+  private static final int MAX_SESSIONS = Integer.getInteger("tictactoe.link.maxSessions", 10_000);
+
+  private static final AtomicInteger threads = new AtomicInteger();
+  private static final ExecutorService sessionThreads =
+      Executors.newCachedThreadPool(
+          task -> {
+            Thread thread = new Thread(task, "LinkSession-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Server server;
+  private final Socket socket;
+  private final BufferedReader in;
+  private final OutputStream out;
+  private final Map<Long, LinkSocket> sessions = new ConcurrentHashMap<>();
+  /** Highest session id opened so far; the gateway numbers new sessions upwards. */
+  private long lastOpened;
+  /** Frames are assembled here while holding the lock on {@link #out}. */
+  private byte[] frame = new byte[256];
+
+  /**
+   * @param server the server the sessions log in to
+   * @param socket the link's socket
+   * @param in the link's reader, positioned after the LINK line
+   * @param out the link's raw output stream
+   */
+  UpstreamLink(Server server, Socket socket, BufferedReader in, OutputStream out) {
+    this.server = server;
+    this.socket = socket;
+    this.in = in;
+    this.out = out;
+  }
+
+  /**
+   * Decides whether a connection that sent LINK is a gateway.
+   *
+   * @param address the peer's address
+   * @param secret the secret sent with LINK, empty if none
+   * @return true if the address is allowed and the secret matches
+   */
+  static boolean accepts(InetAddress address, String secret) {
+    return (ALLOW_ANY || ALLOWED.contains(address))
+        && MessageDigest.isEqual(SECRET, secret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Resolves a comma-separated list of hosts; entries that do not resolve are left out. */
+  private static Set<InetAddress> addresses(String hosts) {
+    Set<InetAddress> addresses = new HashSet<>();
+    for (String host : hosts.split(",")) {
+      if (host.isBlank() || host.trim().equals("*")) {
+        continue;
+      }
+      try {
+        addresses.addAll(Set.of(InetAddress.getAllByName(host.trim())));
+      } catch (UnknownHostException e) {
+        log.warn("Unknown gateway host {} in tictactoe.link.allow", host);
+      }
+    }
+    return addresses;
+  }
+
+  /** Dispatches frames until the gateway closes the link, then ends every session on it. */
+  void run() {
+    log.info("Gateway link from {}", socket.getRemoteSocketAddress());
+    try {
+      // Frames of many sessions follow each other closely; Nagle would hold them for the ACK
+      socket.setTcpNoDelay(true);
+      String frame;
+      while ((frame = in.readLine()) != null) {
+        dispatch(frame);
+      }
+    } catch (IOException e) {
+      if (!socket.isClosed()) {
+        log.warn("Gateway link from {} failed", socket.getRemoteSocketAddress(), e);
+      }
+    } finally {
+      sessions.values().forEach(LinkSocket::endOfStream);
+      log.info("Gateway link from {} closed", socket.getRemoteSocketAddress());
+    }
+  }
+
+  private void dispatch(String frame) {
+    long session;
+    try {
+      session = LinkFrames.session(frame);
+    } catch (RuntimeException e) {
+      log.warn("Malformed link frame: {}", frame);
+      return;
+    }
+    switch (LinkFrames.kind(frame)) {
+      case LinkFrames.DATA -> {
+        LinkSocket socket = sessions.get(session);
+        if (socket == null) {
+          if (session <= lastOpened) {
+            // Sent before the gateway learned that this server closed the session
+            return;
+          }
+          lastOpened = session;
+          if (sessions.size() >= MAX_SESSIONS) {
+            log.warn(
+                "Link from {} is at {} sessions, closed session {}",
+                this.socket.getRemoteSocketAddress(),
+                MAX_SESSIONS,
+                session);
+            write((LinkFrames.close(session) + "\n").getBytes(StandardCharsets.US_ASCII));
+            return;
+          }
+          socket = open(session);
+        }
+        byte[] line = (LinkFrames.payload(frame) + "\n").getBytes(StandardCharsets.UTF_8);
+        if (!socket.deliver(line)) {
+          log.warn("Session {} is not reading, closed it", session);
+        }
+      }
+      case LinkFrames.CLOSE -> {
+        LinkSocket socket = sessions.remove(session);
+        if (socket != null) {
+          socket.endOfStream();
+        }
+      }
+      default -> log.warn("Unknown link frame: {}", frame);
+    }
+  }
+
+  /** Starts a connection for a new session. */
+  private LinkSocket open(long session) {
+    LinkSocket socket = new LinkSocket(this, session);
+    sessions.put(session, socket);
+    sessionThreads.execute(new Connection(server, socket));
+    return socket;
+  }
+
+  /**
+   * Sends one line of a session to the gateway.
+   *
+   * @param session the session id
+   * @param line buffer holding the UTF-8 encoded line
+   * @param offset start of the line in the buffer
+   * @param length length of the line, without line break
+   */
+  void send(long session, byte[] line, int offset, int length) {
+    synchronized (out) {
+      // Kind, two spaces, up to 19 digits and the line break
+      int size = length + 23;
+      if (frame.length < size) {
+        frame = new byte[Math.max(size, frame.length * 2)];
+      }
+      frame[0] = (byte) LinkFrames.DATA;
+      frame[1] = ' ';
+      int at = putDecimal(frame, 2, session);
+      frame[at++] = ' ';
+      System.arraycopy(line, offset, frame, at, length);
+      at += length;
+      frame[at++] = '\n';
+      write(frame, at);
+    }
+  }
+
+  /** Writes a non-negative number in ASCII and returns the index after its last digit. */
+  private static int putDecimal(byte[] buffer, int at, long value) {
+    int end = at;
+    for (long rest = value; ; rest /= 10) {
+      end++;
+      if (rest < 10) {
+        break;
+      }
+    }
+    for (int i = end - 1; i >= at; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    return end;
+  }
+
+  /**
+   * Forgets a session whose connection closed its socket and tells the gateway, unless the gateway
+   * closed it first.
+   *
+   * @param session the session id
+   */
+  void sessionClosed(long session) {
+    if (sessions.remove(session) != null) {
+      write((LinkFrames.close(session) + "\n").getBytes(StandardCharsets.US_ASCII));
+    }
+  }
+
+  /**
+   * @return the gateway's address
+   */
+  InetAddress getInetAddress() {
+    return socket.getInetAddress();
+  }
+
+  private void write(byte[] frame) {
+    write(frame, frame.length);
+  }
+
+  private void write(byte[] frame, int length) {
+    synchronized (out) {
+      try {
+        out.write(frame, 0, length);
+        out.flush();
+      } catch (IOException e) {
+        // The reading thread notices the broken link and ends the sessions
+        log.debug("Failed to write to gateway link", e);
+      }
+    }
+  }
+}
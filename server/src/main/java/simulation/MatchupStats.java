@@ -0,0 +1,78 @@
+package simulation;
+
+/**
+ * Outcome counters for one pairing of policies. Each simulation thread fills its own instance and
+ * instances are merged at the end, so no counter is ever shared between threads.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class MatchupStats {
+  long crossWins;
+  long circleWins;
+  long draws;
+  long moves;
+
+  /**
+   * Records a finished game.
+   *
+   * @param outcome 1 for an X win, 2 for an O win, 0 for a draw, plus the move count shifted left
+   *     by two bits
+   */
+  void record(int outcome) {
+    switch (outcome & 3) {
+      case 1 -> crossWins++;
+      case 2 -> circleWins++;
+      default -> draws++;
+    }
+    moves += outcome >>> 2;
+  }
+
+  /**
+   * Adds another instance's counters to this one.
+   *
+   * @param other the counters to merge
+   */
+  void add(MatchupStats other) {
+    crossWins += other.crossWins;
+    circleWins += other.circleWins;
+    draws += other.draws;
+    moves += other.moves;
+  }
+
+  /**
+   * @return the number of games recorded
+   */
+  public long games() {
+    return crossWins + circleWins + draws;
+  }
+
+  /**
+   * @return games won by the X player
+   */
+  public long getCrossWins() {
+    return crossWins;
+  }
+
+  /**
+   * @return games won by the O player
+   */
+  public long getCircleWins() {
+    return circleWins;
+  }
+
+  /**
+   * @return drawn games
+   */
+  public long getDraws() {
+    return draws;
+  }
+
+  /**
+   * @return average number of moves per game
+   */
+  public double averageMoves() {
+    long games = games();
+    return games == 0 ? 0 : (double) moves / games;
+  }
+}
@@ -0,0 +1,33 @@
+package simulation;
+
+import gameLogic.Board;
+import java.util.SplittableRandom;
+import stateEnum.State;
+
+/**
+ * Strategy that picks the next move of a simulated player.
+ *
+ * <p>Implementations must be stateless or thread-safe, because one instance is shared by all
+ * simulation threads; all randomness must come from the supplied generator to keep runs
+ * reproducible.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public interface MovePolicy {
+
+  /**
+   * Chooses a free cell.
+   *
+   * @param board the current board, with at least one free cell
+   * @param symbol the symbol of the player to move
+   * @param random the game's deterministic random generator
+   * @return the chosen cell index (row * 3 + column)
+   */
+  int chooseCell(Board board, State symbol, SplittableRandom random);
+
+  /**
+   * @return short name used in reports and on the command line
+   */
+  String name();
+}
@@ -0,0 +1,121 @@
+package simulation;
+
+import gameLogic.Board;
+import java.util.List;
+import java.util.SplittableRandom;
+import stateEnum.State;
+
+/**
+ * Built-in move policies for the self-play simulator.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public final class Policies {
+
+  /** Uniformly random free cell. */
+  public static final MovePolicy RANDOM =
+      new MovePolicy() {
+        @Override
+        public int chooseCell(Board board, State symbol, SplittableRandom random) {
+          return randomCell(board.free(), random);
+        }
+
+        @Override
+        public String name() {
+          return "random";
+        }
+      };
+
+  /** Center, then a random corner, then a random edge. */
+  public static final MovePolicy POSITIONAL =
+      new MovePolicy() {
+        @Override
+        public int chooseCell(Board board, State symbol, SplittableRandom random) {
+          return positionalCell(board.free(), random);
+        }
+
+        @Override
+        public String name() {
+          return "positional";
+        }
+      };
+
+  /** Wins if possible, otherwise blocks the opponent, otherwise plays positionally. */
+  public static final MovePolicy TACTICAL =
+      new MovePolicy() {
+        @Override
+        public int chooseCell(Board board, State symbol, SplittableRandom random) {
+          int free = board.free();
+          int own = symbol == State.X ? board.crosses() : board.circles();
+          int other = symbol == State.X ? board.circles() : board.crosses();
+          int cell = completingCell(own, free);
+          if (cell < 0) {
+            cell = completingCell(other, free);
+          }
+          return cell >= 0 ? cell : positionalCell(free, random);
+        }
+
+        @Override
+        public String name() {
+          return "tactical";
+        }
+      };
+
+  private static final int CENTER = 1 << 4;
+  private static final int CORNERS = 0b101_000_101;
+
+  private Policies() {}
+
+  /**
+   * @return all built-in policies
+   */
+  public static List<MovePolicy> all() {
+    return List.of(RANDOM, POSITIONAL, TACTICAL);
+  }
+
+  /**
+   * Looks up a built-in policy.
+   *
+   * @param name the policy name
+   * @return the policy
+   * @throws IllegalArgumentException if there is no such policy
+   */
+  public static MovePolicy byName(String name) {
+    for (MovePolicy policy : all()) {
+      if (policy.name().equals(name)) {
+        return policy;
+      }
+    }
+    throw new IllegalArgumentException("Unknown policy: " + name);
+  }
+
+  /** Returns a uniformly chosen set bit of a non-empty mask. */
+  static int randomCell(int mask, SplittableRandom random) {
+    int skip = random.nextInt(Integer.bitCount(mask));
+    for (int i = 0; i < skip; i++) {
+      mask &= mask - 1;
+    }
+    return Integer.numberOfTrailingZeros(mask);
+  }
+
+  /** Prefers the center, then corners, then edges. */
+  private static int positionalCell(int free, SplittableRandom random) {
+    if ((free & CENTER) != 0) {
+      return 4;
+    }
+    int corners = free & CORNERS;
+    return randomCell(corners != 0 ? corners : free, random);
+  }
+
+  /** Returns a free cell that completes a line for the given mask, or -1. */
+  private static int completingCell(int mask, int free) {
+    for (int candidates = free; candidates != 0; candidates &= candidates - 1) {
+      int cell = Integer.numberOfTrailingZeros(candidates);
+      if (Board.isWinning(mask | (1 << cell))) {
+        return cell;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,150 @@
+package simulation;
+
+import gameLogic.Board;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import stateEnum.State;
+
+/**
+ * Offline self-play: plays games between move policies with the same {@link Board} rules as the
+ * server's {@code GameManager}, but without sockets or threads per game.
+ *
+ * <p>Games are spread over all cores with a parallel stream. Every game seeds its own generator
+ * from the run seed and its index, so results are identical for a given seed no matter how the
+ * work is split. Each worker thread counts into its own {@link MatchupStats}, merged once at the
+ * end.
+ *
+ * <p>Usage: {@code SelfPlay [--games=N] [--seed=S] [--policies=random,positional,tactical]}. Every
+ * ordered pair of the listed policies plays N games, X moving first.
+ *
+ * @version 1.0
+ * @created October 2026
+ */
+public class SelfPlay {
+
+  private final long seed;
+
+  /**
+   * @param seed base seed of the run
+   */
+  public SelfPlay(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Runs the round-robin tournament and prints per-matchup and per-policy statistics.
+   *
+   * @param args optional {@code --games}, {@code --seed} and {@code --policies}
+   */
+  public static void main(String[] args) {
+    long games = 1_000_000;
+    long seed = 42;
+    List<MovePolicy> policies = Policies.all();
+    for (String arg : args) {
+      if (arg.startsWith("--games=")) {
+        games = Long.parseLong(arg.substring("--games=".length()));
+      } else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring("--seed=".length()));
+      } else if (arg.startsWith("--policies=")) {
+        policies = new ArrayList<>();
+        for (String name : arg.substring("--policies=".length()).split(",")) {
+          policies.add(Policies.byName(name.trim()));
+        }
+      } else {
+        throw new IllegalArgumentException("Unknown argument " + arg);
+      }
+    }
+
+    SelfPlay selfPlay = new SelfPlay(seed);
+    Map<String, long[]> perPolicy = new LinkedHashMap<>();
+    System.out.printf(
+        "%-12s %-12s %10s %8s %8s %8s %6s %12s%n",
+        "X", "O", "games", "X win%", "O win%", "draw%", "moves", "games/s");
+
+    for (MovePolicy cross : policies) {
+      for (MovePolicy circle : policies) {
+        long start = System.nanoTime();
+        MatchupStats stats = selfPlay.play(cross, circle, games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(
+            "%-12s %-12s %10d %7.2f%% %7.2f%% %7.2f%% %6.2f %12.0f%n",
+            cross.name(),
+            circle.name(),
+            stats.games(),
+            100.0 * stats.getCrossWins() / stats.games(),
+            100.0 * stats.getCircleWins() / stats.games(),
+            100.0 * stats.getDraws() / stats.games(),
+            stats.averageMoves(),
+            stats.games() / seconds);
+
+        // wins, draws, losses
+        long[] crossTotals = perPolicy.computeIfAbsent(cross.name(), k -> new long[3]);
+        long[] circleTotals = perPolicy.computeIfAbsent(circle.name(), k -> new long[3]);
+        crossTotals[0] += stats.getCrossWins();
+        crossTotals[1] += stats.getDraws();
+        crossTotals[2] += stats.getCircleWins();
+        circleTotals[0] += stats.getCircleWins();
+        circleTotals[1] += stats.getDraws();
+        circleTotals[2] += stats.getCrossWins();
+      }
+    }
+
+    System.out.println();
+    System.out.printf("%-12s %8s %8s %8s%n", "policy", "win%", "draw%", "loss%");
+    for (Map.Entry<String, long[]> entry : perPolicy.entrySet()) {
+      long[] totals = entry.getValue();
+      double played = totals[0] + totals[1] + totals[2];
+      System.out.printf(
+          "%-12s %7.2f%% %7.2f%% %7.2f%%%n",
+          entry.getKey(),
+          100 * totals[0] / played,
+          100 * totals[1] / played,
+          100 * totals[2] / played);
+    }
+  }
+
+  /**
+   * Plays a batch of games between two policies in parallel.
+   *
+   * @param cross policy playing X (moves first)
+   * @param circle policy playing O
+   * @param games number of games
+   * @return merged outcome counters
+   */
+  public MatchupStats play(MovePolicy cross, MovePolicy circle, long games) {
+    long matchupSeed = seed ^ (31L * cross.name().hashCode() + circle.name().hashCode());
+    return LongStream.range(0, games)
+        .parallel()
+        .collect(
+            MatchupStats::new,
+            (stats, game) -> stats.record(playGame(cross, circle, matchupSeed, game)),
+            MatchupStats::add);
+  }
+
+  /**
+   * Plays one game.
+   *
+   * @return the outcome code accepted by {@link MatchupStats#record(int)}
+   */
+  private static int playGame(MovePolicy cross, MovePolicy circle, long seed, long game) {
+    SplittableRandom random = new SplittableRandom(seed + game * 0x9E3779B97F4A7C15L);
+    Board board = new Board();
+    State symbol = State.X;
+    while (true) {
+      MovePolicy policy = symbol == State.X ? cross : circle;
+      int cell = policy.chooseCell(board, symbol, random);
+      if (board.place(cell, symbol) != null) {
+        return (board.moveCount() << 2) | (symbol == State.X ? 1 : 2);
+      }
+      if (board.isFull()) {
+        return board.moveCount() << 2;
+      }
+      symbol = symbol == State.X ? State.O : State.X;
+    }
+  }
+}